@@ -0,0 +1,168 @@
+package com.example.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+import com.example.model.Categoria;
+import com.example.model.Evento;
+import com.example.model.Usuario;
+import com.example.persistence.ArquivoBinario;
+import com.example.persistence.ArquivoEventos;
+import com.example.persistence.CodecUsuario;
+
+/**
+ * Geração dos dados usados pelos benchmarks. Os arquivos são gravados em um diretório temporário,
+ * no mesmo formato usado pelos controllers, de modo que os benchmarks medem o carregamento real
+ * sem alterar os dados do diretório atual. A geração usa uma semente fixa para que as execuções
+ * sejam comparáveis entre si.
+ *
+ * @author Sistema de Eventos
+ * @version 1.0
+ */
+final class DadosBenchmark {
+    
+    // Quantidade de eventos futuros em que cada participante está inscrito
+    static final int INSCRICOES_POR_PARTICIPANTE = 5;
+    
+    // Palavras usadas nos nomes dos eventos e nas buscas
+    static final String[] PALAVRAS = {
+        "Festa", "Show", "Feira", "Corrida", "Palestra", "Workshop", "Teatro", "Festival",
+        "Encontro", "Torneio", "Exposição", "Degustação", "Seminário", "Campeonato", "Sarau"
+    };
+    
+    private static final String[] CIDADES = {
+        "São Paulo", "Campinas", "Santos", "Sorocaba", "Ribeirão Preto", "São José dos Campos"
+    };
+    
+    private static final long SEMENTE = 20240601L;
+    
+    // Intervalo de horários dos eventos, centrado no momento da geração
+    private static final int DIAS_INTERVALO = 365;
+    
+    private DadosBenchmark() {
+    }
+    
+    /**
+     * Descarta as mensagens que os controllers escrevem no console, para que os benchmarks
+     * não meçam a escrita no terminal
+     */
+    static void silenciarConsole() {
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+    
+    /**
+     * Cria um diretório temporário para os arquivos de dados
+     * @return diretório criado
+     * @throws IOException se o diretório não puder ser criado
+     */
+    static File criarDiretorio() throws IOException {
+        return Files.createTempDirectory("eventos-benchmark").toFile();
+    }
+    
+    /**
+     * Remove o diretório temporário e os arquivos gravados nele
+     * @param diretorio diretório a ser removido
+     * @throws IOException se algum arquivo não puder ser removido
+     */
+    static void apagar(File diretorio) throws IOException {
+        // Arquivos antes dos diretórios que os contêm
+        try (Stream<Path> caminhos = Files.walk(diretorio.toPath())) {
+            for (Path caminho : caminhos.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(caminho);
+            }
+        }
+    }
+    
+    /**
+     * Gera usuários válidos com emails únicos
+     * @param quantidade quantidade de usuários
+     * @return usuários gerados
+     */
+    static List<Usuario> gerarUsuarios(int quantidade) {
+        SplittableRandom aleatorio = new SplittableRandom(SEMENTE);
+        List<Usuario> usuarios = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            usuarios.add(new Usuario("Usuário " + i, email(i), "11987654321",
+                    CIDADES[aleatorio.nextInt(CIDADES.length)], 13 + aleatorio.nextInt(80)));
+        }
+        return usuarios;
+    }
+    
+    /**
+     * Obtém o email do usuário gerado na posição informada
+     * @param indice posição do usuário
+     * @return email do usuário
+     */
+    static String email(int indice) {
+        return "usuario" + indice + "@benchmark.com";
+    }
+    
+    /**
+     * Gera eventos com horários distribuídos em um ano antes e um ano depois de agora e inscreve
+     * cada participante em {@link #INSCRICOES_POR_PARTICIPANTE} eventos futuros (sem limite de vagas)
+     * @param quantidade quantidade de eventos
+     * @param participantes usuários a serem inscritos
+     * @return eventos gerados, em ordem de ID
+     */
+    static List<Evento> gerarEventos(int quantidade, List<Usuario> participantes) {
+        SplittableRandom aleatorio = new SplittableRandom(SEMENTE);
+        LocalDateTime agora = LocalDateTime.now();
+        long primeiroId = Evento.getProximoId();
+        Categoria[] categorias = Categoria.values();
+        
+        List<Evento> eventos = new ArrayList<>(quantidade);
+        List<Evento> futuros = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            String nome = PALAVRAS[aleatorio.nextInt(PALAVRAS.length)] + " "
+                    + CIDADES[aleatorio.nextInt(CIDADES.length)] + " " + i;
+            LocalDateTime horario = agora.plusMinutes(aleatorio.nextLong(-DIAS_INTERVALO * 24L * 60, DIAS_INTERVALO * 24L * 60));
+            Evento evento = new Evento(primeiroId + i, nome, "Rua " + PALAVRAS[aleatorio.nextInt(PALAVRAS.length)]
+                    + ", " + aleatorio.nextInt(1, 2000), categorias[aleatorio.nextInt(categorias.length)], horario,
+                    "Evento gerado para benchmark: " + PALAVRAS[aleatorio.nextInt(PALAVRAS.length)].toLowerCase());
+            eventos.add(evento);
+            if (horario.isAfter(agora)) {
+                futuros.add(evento);
+            }
+        }
+        
+        if (!futuros.isEmpty()) {
+            for (Usuario participante : participantes) {
+                for (int i = 0; i < INSCRICOES_POR_PARTICIPANTE; i++) {
+                    futuros.get(aleatorio.nextInt(futuros.size())).adicionarParticipante(participante);
+                }
+            }
+        }
+        return eventos;
+    }
+    
+    /**
+     * Grava o arquivo de eventos no diretório
+     * @param diretorio diretório dos arquivos de dados
+     * @param eventos eventos a serem gravados
+     * @throws IOException se ocorrer erro de gravação
+     */
+    static void gravarEventos(File diretorio, List<Evento> eventos) throws IOException {
+        ArquivoEventos.gravar(new File(diretorio, "events.data"), Evento.getProximoId(), eventos);
+    }
+    
+    /**
+     * Grava o arquivo de usuários no diretório
+     * @param diretorio diretório dos arquivos de dados
+     * @param usuarios usuários a serem gravados
+     * @throws IOException se ocorrer erro de gravação
+     */
+    static void gravarUsuarios(File diretorio, List<Usuario> usuarios) throws IOException {
+        ArquivoBinario.gravar(new File(diretorio, "usuarios.data"), ArquivoBinario.TIPO_USUARIOS, 0,
+                usuarios, CodecUsuario.INSTANCIA);
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.controller.EventoController;
+import com.example.controller.UsuarioController;
+import com.example.model.Evento;
+import com.example.model.Usuario;
+import com.example.persistence.ModoGravacao;
+
+/**
+ * Benchmarks das consultas e inscrições do {@link EventoController}, com os eventos carregados
+ * do arquivo de dados como na inicialização do sistema.
+ *
+ * Parâmetros: quantidade de eventos e de participantes (cada participante inscrito em
+ * {@link DadosBenchmark#INSCRICOES_POR_PARTICIPANTE} eventos futuros).
+ *
+ * @author Sistema de Eventos
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class EventoBenchmark {
+    
+    @Param({"1000", "100000", "1000000"})
+    private int eventos;
+    
+    @Param({"0", "100", "10000"})
+    private int participantes;
+    
+    private File diretorio;
+    private UsuarioController usuarioController;
+    private EventoController eventoController;
+    
+    // IDs de todos os eventos e dos eventos futuros (que aceitam inscrições)
+    private long[] ids;
+    private long[] idsFuturos;
+    
+    // Participantes cadastrados e um usuário que não participa de nenhum evento
+    private List<Usuario> inscritos;
+    private Usuario visitante;
+    
+    @Setup(Level.Trial)
+    public void preparar() throws IOException {
+        DadosBenchmark.silenciarConsole();
+        diretorio = DadosBenchmark.criarDiretorio();
+        inscritos = DadosBenchmark.gerarUsuarios(participantes);
+        List<Evento> gerados = DadosBenchmark.gerarEventos(eventos, inscritos);
+        DadosBenchmark.gravarUsuarios(diretorio, inscritos);
+        DadosBenchmark.gravarEventos(diretorio, gerados);
+        
+        ids = gerados.stream().mapToLong(Evento::getId).toArray();
+        LocalDateTime agora = LocalDateTime.now();
+        idsFuturos = gerados.stream().filter(evento -> evento.getHorario().isAfter(agora))
+                .mapToLong(Evento::getId).toArray();
+        
+        usuarioController = new UsuarioController(diretorio);
+        eventoController = new EventoController(diretorio, usuarioController::buscarUsuarioPorEmail);
+        // Mede o processamento das inscrições, não a sincronização do journal com o disco
+        eventoController.setModoGravacao(ModoGravacao.ASSINCRONO);
+        inscritos = usuarioController.listarTodosUsuarios();
+        visitante = new Usuario("Visitante", "visitante@benchmark.com", "11987654321", "São Paulo", 30);
+    }
+    
+    @TearDown(Level.Trial)
+    public void encerrar() throws IOException {
+        eventoController.encerrar();
+        usuarioController.encerrar();
+        DadosBenchmark.apagar(diretorio);
+    }
+    
+    @Benchmark
+    public Optional<Evento> buscarEventoPorId() {
+        return eventoController.buscarEventoPorId(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+    
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Evento> listarEventosProximos() {
+        return eventoController.listarEventosProximos();
+    }
+    
+    @Benchmark
+    public List<Evento> buscarEventosPorNome() {
+        String[] palavras = DadosBenchmark.PALAVRAS;
+        return eventoController.buscarEventosPorNome(palavras[ThreadLocalRandom.current().nextInt(palavras.length)]);
+    }
+    
+    /**
+     * Inscrição seguida do cancelamento, para que a quantidade de participantes não cresça
+     * ao longo das iterações
+     */
+    @Benchmark
+    public boolean inscreverECancelar() {
+        long id = idsFuturos[ThreadLocalRandom.current().nextInt(idsFuturos.length)];
+        eventoController.adicionarParticipante(id, visitante);
+        return eventoController.removerParticipante(id, visitante);
+    }
+    
+    @Benchmark
+    public List<Evento> listarEventosDoUsuario() {
+        Usuario usuario = inscritos.isEmpty() ? visitante
+                : inscritos.get(ThreadLocalRandom.current().nextInt(inscritos.size()));
+        return eventoController.listarEventosDoUsuario(usuario);
+    }
+    
+    @Benchmark
+    public String obterEstatisticas() {
+        return eventoController.obterEstatisticas();
+    }
+}
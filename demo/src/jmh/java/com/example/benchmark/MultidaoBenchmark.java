@@ -0,0 +1,120 @@
+package com.example.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import com.example.controller.EventoController;
+import com.example.model.Categoria;
+import com.example.model.Evento;
+import com.example.model.ResultadoInscricao;
+import com.example.model.Usuario;
+import com.example.persistence.ModoGravacao;
+
+/**
+ * Benchmark de uma multidão de inscrições simultâneas em um único evento com capacidade limitada,
+ * como na abertura das inscrições de um show: todas as threads começam juntas, as primeiras
+ * ocupam as vagas e as demais vão para a lista de espera.
+ *
+ * Cada iteração cria um evento novo e mede o tempo até que cada thread conclua
+ * {@link #INSCRICOES_POR_THREAD} inscrições, cada uma de um usuário diferente.
+ * Parâmetro: capacidade do evento.
+ *
+ * @author Sistema de Eventos
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, batchSize = MultidaoBenchmark.INSCRICOES_POR_THREAD)
+@Measurement(iterations = 20, batchSize = MultidaoBenchmark.INSCRICOES_POR_THREAD)
+@Threads(8)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MultidaoBenchmark {
+
+    // Inscrições feitas por thread em cada iteração
+    static final int INSCRICOES_POR_THREAD = 1000;
+
+    @Param({"100", "1000"})
+    private int capacidade;
+
+    private File diretorio;
+    private EventoController eventoController;
+    private volatile long eventoId;
+
+    /**
+     * Usuários de uma thread: cada inscrição usa o próximo, sem repetir usuários entre threads
+     */
+    @State(Scope.Thread)
+    public static class Participantes {
+        private Usuario[] usuarios;
+        private int proximo;
+
+        @Setup(Level.Iteration)
+        public void preparar(ThreadParams thread) {
+            usuarios = new Usuario[INSCRICOES_POR_THREAD];
+            int primeiro = thread.getThreadIndex() * INSCRICOES_POR_THREAD;
+            for (int i = 0; i < usuarios.length; i++) {
+                usuarios[i] = new Usuario("Participante " + (primeiro + i), DadosBenchmark.email(primeiro + i),
+                        "11987654321", "São Paulo", 30);
+            }
+            proximo = 0;
+        }
+
+        Usuario proximo() {
+            return usuarios[proximo++];
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void preparar() throws IOException {
+        DadosBenchmark.silenciarConsole();
+        diretorio = DadosBenchmark.criarDiretorio();
+        eventoController = new EventoController(diretorio, email -> Optional.empty());
+        // Mede a disputa pelas vagas, não a sincronização do journal com o disco
+        eventoController.setModoGravacao(ModoGravacao.ASSINCRONO);
+    }
+
+    @Setup(Level.Iteration)
+    public void abrirInscricoes() {
+        Evento evento = new Evento("Show", "Arena", Categoria.SHOW, LocalDateTime.now().plusDays(30),
+                "Abertura das inscrições");
+        evento.setCapacidade(capacidade);
+        eventoController.adicionarEvento(evento);
+        eventoId = evento.getId();
+    }
+
+    @TearDown(Level.Iteration)
+    public void encerrarInscricoes() {
+        eventoController.removerEvento(eventoId);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() throws IOException {
+        eventoController.encerrar();
+        DadosBenchmark.apagar(diretorio);
+    }
+
+    @Benchmark
+    public ResultadoInscricao inscrever(Participantes participantes) {
+        return eventoController.adicionarParticipante(eventoId, participantes.proximo());
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.controller.EventoController;
+import com.example.controller.UsuarioController;
+import com.example.model.Usuario;
+
+/**
+ * Benchmarks da gravação e do carregamento do arquivo de eventos (events.data).
+ * O carregamento mede a inicialização do controller, que apenas indexa o diretório do arquivo;
+ * a leitura completa mede também a decodificação de todos os eventos.
+ *
+ * @author Sistema de Eventos
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class PersistenciaBenchmark {
+    
+    @Param({"1000", "100000", "1000000"})
+    private int eventos;
+    
+    @Param({"0", "100", "10000"})
+    private int participantes;
+    
+    private File diretorio;
+    private UsuarioController usuarioController;
+    private EventoController eventoController;
+    
+    @Setup(Level.Trial)
+    public void preparar() throws IOException {
+        DadosBenchmark.silenciarConsole();
+        diretorio = DadosBenchmark.criarDiretorio();
+        List<Usuario> inscritos = DadosBenchmark.gerarUsuarios(participantes);
+        DadosBenchmark.gravarUsuarios(diretorio, inscritos);
+        DadosBenchmark.gravarEventos(diretorio, DadosBenchmark.gerarEventos(eventos, inscritos));
+        
+        usuarioController = new UsuarioController(diretorio);
+        eventoController = new EventoController(diretorio, usuarioController::buscarUsuarioPorEmail);
+    }
+    
+    @TearDown(Level.Trial)
+    public void encerrar() throws IOException {
+        eventoController.encerrar();
+        usuarioController.encerrar();
+        DadosBenchmark.apagar(diretorio);
+    }
+    
+    @Benchmark
+    public boolean salvarEventos() {
+        return eventoController.salvarEventos();
+    }
+    
+    @Benchmark
+    public int carregarEventos() {
+        EventoController carregado = new EventoController(diretorio, usuarioController::buscarUsuarioPorEmail);
+        try {
+            return carregado.getTotalEventos();
+        } finally {
+            carregado.encerrar();
+        }
+    }
+    
+    @Benchmark
+    public int carregarEDecodificarEventos() {
+        EventoController carregado = new EventoController(diretorio, usuarioController::buscarUsuarioPorEmail);
+        try {
+            // Os eventos são decodificados do arquivo mapeado, que deixa de existir ao encerrar
+            return carregado.listarEventosOrdenados().size();
+        } finally {
+            carregado.encerrar();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.example.controller.EventoController;
+import com.example.model.Evento;
+
+/**
+ * Benchmarks da exibição de listas de eventos: horário formatado e status de cada evento,
+ * como nas listagens do menu (status obtido da agenda do {@link EventoController}),
+ * e a representação textual do {@link Evento}.
+ *
+ * Os métodos "SemCache" repetem a exibição como era feita antes do cache do horário formatado
+ * (um formatador criado por chamada, o relógio consultado por evento e String.format), como
+ * referência. Executados com "-prof gc", mostram a diferença de alocação por operação.
+ *
+ * @author Sistema de Eventos
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RenderizacaoBenchmark {
+    
+    @Param({"100", "10000"})
+    private int eventos;
+    
+    private File diretorio;
+    private EventoController eventoController;
+    private List<Evento> lista;
+    
+    @Setup(Level.Trial)
+    public void preparar() throws IOException {
+        DadosBenchmark.silenciarConsole();
+        diretorio = DadosBenchmark.criarDiretorio();
+        DadosBenchmark.gravarEventos(diretorio, DadosBenchmark.gerarEventos(eventos, List.of()));
+        eventoController = new EventoController(diretorio, email -> Optional.empty());
+        lista = eventoController.listarEventosOrdenados();
+    }
+    
+    @TearDown(Level.Trial)
+    public void encerrar() throws IOException {
+        eventoController.encerrar();
+        DadosBenchmark.apagar(diretorio);
+    }
+    
+    @Benchmark
+    public void exibirLista(Blackhole blackhole) {
+        for (Evento evento : lista) {
+            blackhole.consume(evento.getHorarioFormatado());
+            blackhole.consume(eventoController.obterStatusEvento(evento.getId()));
+        }
+    }
+    
+    @Benchmark
+    public void exibirListaSemCache(Blackhole blackhole) {
+        for (Evento evento : lista) {
+            blackhole.consume(evento.getHorario().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm")));
+            blackhole.consume(statusSemCache(evento));
+        }
+    }
+    
+    @Benchmark
+    public void representacaoTextual(Blackhole blackhole) {
+        for (Evento evento : lista) {
+            blackhole.consume(evento.toString());
+        }
+    }
+    
+    @Benchmark
+    public void representacaoTextualSemCache(Blackhole blackhole) {
+        for (Evento evento : lista) {
+            blackhole.consume(String.format("Evento{id=%d, nome='%s', endereco='%s', categoria=%s, "
+                    + "horario=%s, participantes=%d}",
+                    evento.getId(), evento.getNome(), evento.getEndereco(), evento.getCategoria(),
+                    evento.getHorario().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm")),
+                    evento.getNumeroParticipantes()));
+        }
+    }
+    
+    /**
+     * Status calculado como antes, consultando o relógio a cada verificação
+     */
+    private static String statusSemCache(Evento evento) {
+        LocalDateTime horario = evento.getHorario();
+        LocalDateTime agora = LocalDateTime.now();
+        if (!agora.isBefore(horario) && agora.isBefore(horario.plusHours(1))) {
+            return "Acontecendo agora";
+        } else if (horario.isBefore(LocalDateTime.now())) {
+            return "Já aconteceu";
+        } else {
+            return "Próximo evento";
+        }
+    }
+}
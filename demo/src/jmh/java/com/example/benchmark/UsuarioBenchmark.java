@@ -0,0 +1,79 @@
+package com.example.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.controller.UsuarioController;
+import com.example.model.Usuario;
+
+/**
+ * Benchmarks do {@link UsuarioController}: busca por email e gravação e carregamento do
+ * arquivo de usuários, para diferentes quantidades de usuários cadastrados.
+ *
+ * @author Sistema de Eventos
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class UsuarioBenchmark {
+    
+    @Param({"1000", "100000", "1000000"})
+    private int usuarios;
+    
+    private File diretorio;
+    private UsuarioController controller;
+    
+    @Setup(Level.Trial)
+    public void preparar() throws IOException {
+        DadosBenchmark.silenciarConsole();
+        diretorio = DadosBenchmark.criarDiretorio();
+        DadosBenchmark.gravarUsuarios(diretorio, DadosBenchmark.gerarUsuarios(usuarios));
+        controller = new UsuarioController(diretorio);
+    }
+    
+    @TearDown(Level.Trial)
+    public void encerrar() throws IOException {
+        controller.encerrar();
+        DadosBenchmark.apagar(diretorio);
+    }
+    
+    @Benchmark
+    public Optional<Usuario> buscarUsuarioPorEmail() {
+        return controller.buscarUsuarioPorEmail(DadosBenchmark.email(ThreadLocalRandom.current().nextInt(usuarios)));
+    }
+    
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public boolean salvarUsuarios() {
+        return controller.salvarUsuarios();
+    }
+    
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int carregarUsuarios() {
+        UsuarioController carregado = new UsuarioController(diretorio);
+        carregado.encerrar();
+        return carregado.getTotalUsuarios();
+    }
+}
@@ -0,0 +1,439 @@
+package com.example.controller;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.example.model.StatusEvento;
+
+/**
+ * Agenda das transições de status dos eventos (próximo, acontecendo e encerrado).
+ *
+ * Em vez de consultar o relógio para cada evento, a agenda mantém duas fronteiras no índice
+ * temporal: os eventos com chave até a fronteira de início já começaram, e os eventos com chave
+ * até a fronteira de término ({@link StatusEvento#DURACAO} antes) já terminaram. Os eventos
+ * próximos, acontecendo e encerrados são as três faixas do índice separadas pelas fronteiras,
+ * e o status de um evento é obtido comparando a sua chave com elas.
+ *
+ * As inserções e remoções no índice temporal passam pela agenda, que mantém a quantidade de
+ * eventos em cada faixa: cada mudança ajusta a faixa da chave e cada movimento das fronteiras
+ * soma os eventos que atravessaram. Como as fronteiras só se movem sob o mesmo bloqueio, as
+ * quantidades (usadas nas estatísticas) sempre correspondem às faixas das listagens.
+ *
+ * Uma thread em segundo plano aguarda o próximo horário de início ou de término presente no
+ * índice, move as fronteiras até o instante atual e avisa os ouvintes dos eventos que mudaram
+ * de status. Não há uma tarefa agendada por evento: o próprio índice ordenado é a fila de
+ * transições, e o custo de cada transição é O(log n). Eventos indexados (ou reindexados com
+ * outro horário) com uma transição anterior ao próximo despertar antecipam a thread; se a
+ * transição já passou, as fronteiras são movidas na própria indexação, para que o evento nunca
+ * seja visto com o status anterior. As fronteiras nunca recuam, mesmo que o relógio do sistema
+ * seja atrasado.
+ *
+ * @author Sistema de Eventos
+ * @version 1.0
+ */
+final class AgendaStatusEventos implements AutoCloseable {
+    
+    // Espera máxima da thread, para que ajustes no relógio do sistema sejam percebidos
+    private static final Duration ESPERA_MAXIMA = Duration.ofMinutes(10);
+    
+    /**
+     * Fronteiras vigentes, publicadas juntas para que as faixas sejam consistentes entre si
+     */
+    private record Fronteiras(ChaveEvento inicio, ChaveEvento termino) {
+        static Fronteiras em(LocalDateTime instante) {
+            return new Fronteiras(new ChaveEvento(instante, Long.MAX_VALUE),
+                    new ChaveEvento(instante.minus(StatusEvento.DURACAO), Long.MAX_VALUE));
+        }
+    }
+    
+    /**
+     * Quantidade de eventos que já começaram e que já terminaram, nas fronteiras vigentes
+     * @param iniciados eventos acontecendo ou encerrados
+     * @param encerrados eventos encerrados
+     */
+    record Contagem(int iniciados, int encerrados) {
+    }
+    
+    /**
+     * Mudança de status de um evento, a ser avisada aos ouvintes
+     */
+    private record Transicao(EntradaEvento entrada, StatusEvento anterior, StatusEvento novo) {
+    }
+    
+    private final NavigableMap<ChaveEvento, EntradaEvento> indice;
+    private final List<OuvinteStatusEvento> ouvintes = new CopyOnWriteArrayList<>();
+    private volatile Fronteiras fronteiras;
+    
+    // Guarda as alterações do índice, o movimento das fronteiras e as quantidades por faixa
+    private final ReentrantLock bloqueio = new ReentrantLock();
+    private final Condition sinal = bloqueio.newCondition();
+    private int iniciados;
+    private int encerrados;
+    private Thread thread;
+    private volatile boolean iniciada;
+    private boolean encerrada;
+    // Índice alterado desde o último cálculo do próximo despertar (guardado pelo bloqueio)
+    private boolean reavaliar;
+    // Próximo despertar da thread: null enquanto ela está calculando, LocalDateTime.MAX se não
+    // há transições pendentes
+    private volatile LocalDateTime proximoDespertar;
+    // Transições ainda não avisadas aos ouvintes (guardadas pelo bloqueio)
+    private List<Transicao> pendentes = new ArrayList<>();
+    
+    /**
+     * Construtor. As fronteiras começam no instante informado; a thread só é iniciada por
+     * {@link #iniciar()}, depois do carregamento dos eventos.
+     * @param indice índice temporal dos eventos, vazio e alterado apenas pela agenda
+     * @param inicio instante inicial das fronteiras
+     */
+    AgendaStatusEventos(NavigableMap<ChaveEvento, EntradaEvento> indice, LocalDateTime inicio) {
+        this.indice = indice;
+        this.fronteiras = Fronteiras.em(inicio);
+    }
+    
+    /**
+     * Inicia a thread da agenda
+     */
+    void iniciar() {
+        bloqueio.lock();
+        try {
+            if (thread == null && !encerrada) {
+                thread = new Thread(this::executar, "agenda-status-eventos");
+                thread.setDaemon(true);
+                thread.start();
+                iniciada = true;
+            }
+        } finally {
+            bloqueio.unlock();
+        }
+    }
+    
+    /**
+     * Registra um ouvinte das mudanças de status
+     * @param ouvinte ouvinte a ser registrado
+     */
+    void adicionarOuvinte(OuvinteStatusEvento ouvinte) {
+        ouvintes.add(ouvinte);
+    }
+    
+    /**
+     * Remove um ouvinte das mudanças de status
+     * @param ouvinte ouvinte a ser removido
+     */
+    void removerOuvinte(OuvinteStatusEvento ouvinte) {
+        ouvintes.remove(ouvinte);
+    }
+    
+    /**
+     * Obtém o status de um evento indexado, sem consultar o relógio
+     * @param chave chave do evento no índice temporal
+     * @return status do evento
+     */
+    StatusEvento status(ChaveEvento chave) {
+        Fronteiras atuais = fronteiras;
+        if (chave.compareTo(atuais.termino()) <= 0) {
+            return StatusEvento.ENCERRADO;
+        }
+        return chave.compareTo(atuais.inicio()) <= 0 ? StatusEvento.ACONTECENDO : StatusEvento.PROXIMO;
+    }
+    
+    /**
+     * Visão dos eventos que ainda não começaram, em ordem cronológica
+     * @param visao índice temporal (ou de uma categoria) a ser filtrado
+     * @return visão dos eventos próximos
+     */
+    NavigableMap<ChaveEvento, EntradaEvento> proximos(NavigableMap<ChaveEvento, EntradaEvento> visao) {
+        return visao.tailMap(fronteiras.inicio(), false);
+    }
+    
+    /**
+     * Visão dos eventos que já começaram (acontecendo ou encerrados), em ordem cronológica
+     * @param visao índice temporal (ou de uma categoria) a ser filtrado
+     * @return visão dos eventos iniciados
+     */
+    NavigableMap<ChaveEvento, EntradaEvento> iniciados(NavigableMap<ChaveEvento, EntradaEvento> visao) {
+        return visao.headMap(fronteiras.inicio(), true);
+    }
+    
+    /**
+     * Visão dos eventos que estão acontecendo, em ordem cronológica
+     * @param visao índice temporal (ou de uma categoria) a ser filtrado
+     * @return visão dos eventos acontecendo
+     */
+    NavigableMap<ChaveEvento, EntradaEvento> acontecendo(NavigableMap<ChaveEvento, EntradaEvento> visao) {
+        Fronteiras atuais = fronteiras;
+        return visao.subMap(atuais.termino(), false, atuais.inicio(), true);
+    }
+    
+    /**
+     * Obtém a quantidade de eventos que já começaram e que já terminaram, sem percorrer o índice
+     * @return quantidades nas fronteiras vigentes
+     */
+    Contagem contagem() {
+        bloqueio.lock();
+        try {
+            return new Contagem(iniciados, encerrados);
+        } finally {
+            bloqueio.unlock();
+        }
+    }
+    
+    /**
+     * Insere a entrada no índice temporal, contando-a na faixa da sua chave. Se a próxima
+     * transição do evento já passou (ex.: evento cadastrado ou remarcado para um horário já
+     * iniciado), as fronteiras são movidas até agora antes do retorno; se ela for anterior ao
+     * próximo despertar da thread, a thread é acordada para reavaliar. Os ouvintes são avisados
+     * pela thread.
+     * @param entrada entrada do evento
+     * @return true se a chave ainda não estava no índice (se estava, a entrada apenas a substitui)
+     */
+    boolean inserir(EntradaEvento entrada) {
+        ChaveEvento chave = entrada.getChave();
+        StatusEvento status;
+        bloqueio.lock();
+        try {
+            if (indice.put(chave, entrada) != null) {
+                return false;
+            }
+            status = status(chave);
+            contar(status, 1);
+        } finally {
+            bloqueio.unlock();
+        }
+        antecipar(chave, status);
+        return true;
+    }
+    
+    /**
+     * Remove a entrada do índice temporal, se ela ainda estiver indexada com a sua chave
+     * @param entrada entrada do evento
+     * @return true se a entrada foi removida
+     */
+    boolean remover(EntradaEvento entrada) {
+        ChaveEvento chave = entrada.getChave();
+        bloqueio.lock();
+        try {
+            if (!indice.remove(chave, entrada)) {
+                return false;
+            }
+            contar(status(chave), -1);
+            return true;
+        } finally {
+            bloqueio.unlock();
+        }
+    }
+    
+    /**
+     * Remove todos os eventos do índice temporal
+     */
+    void limpar() {
+        bloqueio.lock();
+        try {
+            indice.clear();
+            iniciados = 0;
+            encerrados = 0;
+        } finally {
+            bloqueio.unlock();
+        }
+    }
+    
+    /**
+     * Encerra a thread da agenda. As fronteiras deixam de avançar.
+     */
+    @Override
+    public void close() {
+        Thread executando;
+        bloqueio.lock();
+        try {
+            encerrada = true;
+            sinal.signal();
+            executando = thread;
+        } finally {
+            bloqueio.unlock();
+        }
+        
+        if (executando != null) {
+            boolean interrompida = false;
+            while (executando.isAlive()) {
+                try {
+                    executando.join();
+                } catch (InterruptedException e) {
+                    interrompida = true;
+                }
+            }
+            if (interrompida) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+    
+    // Métodos auxiliares
+    
+    /**
+     * Ajusta as quantidades por faixa após uma inserção ou remoção. Deve ser chamado com o bloqueio obtido.
+     * @param status status da chave inserida ou removida
+     * @param diferenca 1 na inserção, -1 na remoção
+     */
+    private void contar(StatusEvento status, int diferenca) {
+        if (status != StatusEvento.PROXIMO) {
+            iniciados += diferenca;
+        }
+        if (status == StatusEvento.ENCERRADO) {
+            encerrados += diferenca;
+        }
+    }
+    
+    /**
+     * Antecipa a thread (ou move as fronteiras, se a transição já passou) quando a próxima
+     * transição de um evento recém-indexado é anterior ao próximo despertar
+     * @param chave chave inserida
+     * @param status status da chave na inserção
+     */
+    private void antecipar(ChaveEvento chave, StatusEvento status) {
+        LocalDateTime despertar = proximoDespertar;
+        if (!iniciada || status == StatusEvento.ENCERRADO) {
+            return;
+        }
+        LocalDateTime transicao = status == StatusEvento.PROXIMO
+                ? chave.horario() : chave.horario().plus(StatusEvento.DURACAO);
+        if (despertar != null && !transicao.isBefore(despertar)) {
+            return;
+        }
+        LocalDateTime agora = LocalDateTime.now();
+        bloqueio.lock();
+        try {
+            if (!transicao.isAfter(agora)) {
+                avancar(agora);
+            }
+            reavaliar = true;
+            sinal.signal();
+        } finally {
+            bloqueio.unlock();
+        }
+    }
+    
+    /**
+     * Laço da thread: move as fronteiras até o instante atual, avisa os ouvintes e aguarda
+     * a próxima transição (ou uma alteração do índice que a antecipe)
+     */
+    private void executar() {
+        bloqueio.lock();
+        try {
+            while (!encerrada) {
+                proximoDespertar = null;
+                reavaliar = false;
+                LocalDateTime agora = LocalDateTime.now();
+                avancar(agora);
+                if (!pendentes.isEmpty()) {
+                    List<Transicao> transicoes = pendentes;
+                    pendentes = new ArrayList<>();
+                    // Os ouvintes são avisados sem o bloqueio, para não atrasar a indexação de eventos
+                    bloqueio.unlock();
+                    try {
+                        avisar(transicoes);
+                    } finally {
+                        bloqueio.lock();
+                    }
+                    continue;
+                }
+                
+                LocalDateTime proxima = proximaTransicao();
+                proximoDespertar = proxima != null ? proxima : LocalDateTime.MAX;
+                if (reavaliar || encerrada) {
+                    continue;
+                }
+                Duration espera = proxima != null ? Duration.between(agora, proxima) : ESPERA_MAXIMA;
+                if (espera.compareTo(ESPERA_MAXIMA) > 0) {
+                    espera = ESPERA_MAXIMA;
+                }
+                if (!espera.isNegative() && !espera.isZero()) {
+                    try {
+                        sinal.awaitNanos(espera.toNanos());
+                    } catch (InterruptedException e) {
+                        // A thread da agenda só termina pelo encerramento
+                    }
+                }
+            }
+        } finally {
+            bloqueio.unlock();
+        }
+    }
+    
+    /**
+     * Move as fronteiras até o instante informado, soma às quantidades por faixa os eventos que
+     * as atravessaram e acrescenta às transições pendentes os eventos que mudaram de status, em
+     * ordem cronológica de início e depois de término. Deve ser chamado com o bloqueio obtido.
+     * @param agora instante atual
+     */
+    private void avancar(LocalDateTime agora) {
+        Fronteiras anteriores = fronteiras;
+        Fronteiras novas = Fronteiras.em(agora);
+        if (novas.inicio().compareTo(anteriores.inicio()) <= 0) {
+            return;
+        }
+        
+        List<Transicao> transicoes = pendentes;
+        for (EntradaEvento entrada : indice.subMap(anteriores.inicio(), false, novas.inicio(), true).values()) {
+            boolean encerrado = entrada.getChave().compareTo(novas.termino()) <= 0;
+            transicoes.add(new Transicao(entrada, StatusEvento.PROXIMO,
+                    encerrado ? StatusEvento.ENCERRADO : StatusEvento.ACONTECENDO));
+            iniciados++;
+        }
+        // Eventos que começaram agora e já terminaram foram incluídos acima
+        for (EntradaEvento entrada : indice.subMap(anteriores.termino(), false, novas.termino(), true).values()) {
+            encerrados++;
+            if (entrada.getChave().compareTo(anteriores.inicio()) <= 0) {
+                transicoes.add(new Transicao(entrada, StatusEvento.ACONTECENDO, StatusEvento.ENCERRADO));
+            }
+        }
+        fronteiras = novas;
+    }
+    
+    /**
+     * Obtém o instante da próxima transição: o início do primeiro evento ainda não iniciado
+     * ou o término do primeiro evento ainda não encerrado
+     * @return instante da próxima transição ou null se não há eventos pendentes
+     */
+    private LocalDateTime proximaTransicao() {
+        Fronteiras atuais = fronteiras;
+        ChaveEvento proximoInicio = indice.higherKey(atuais.inicio());
+        ChaveEvento proximoTermino = indice.higherKey(atuais.termino());
+        LocalDateTime inicio = proximoInicio != null ? proximoInicio.horario() : null;
+        LocalDateTime termino = proximoTermino != null ? proximoTermino.horario().plus(StatusEvento.DURACAO) : null;
+        if (inicio == null || (termino != null && termino.isBefore(inicio))) {
+            return termino;
+        }
+        return inicio;
+    }
+    
+    /**
+     * Avisa os ouvintes das transições de eventos que continuam indexados. Erros de um ouvinte
+     * não impedem os avisos seguintes.
+     * @param transicoes transições ocorridas
+     */
+    private void avisar(List<Transicao> transicoes) {
+        if (ouvintes.isEmpty()) {
+            return;
+        }
+        for (Transicao transicao : transicoes) {
+            EntradaEvento entrada = transicao.entrada();
+            if (indice.get(entrada.getChave()) != entrada) {
+                continue;
+            }
+            for (OuvinteStatusEvento ouvinte : ouvintes) {
+                try {
+                    ouvinte.statusAlterado(entrada.getEvento(), transicao.anterior(), transicao.novo());
+                } catch (RuntimeException e) {
+                    System.err.println("Erro ao avisar mudança de status do evento " + entrada.getId()
+                            + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.controller;
+
+import java.time.LocalDateTime;
+
+import com.example.model.Evento;
+
+/**
+ * Chave de ordenação dos eventos no índice temporal: horário do evento,
+ * com desempate pelo ID para que eventos no mesmo horário sejam distintos.
+ *
+ * @param horario horário do evento
+ * @param id ID do evento
+ * @author Sistema de Eventos
+ * @version 1.0
+ */
+record ChaveEvento(LocalDateTime horario, long id) implements Comparable<ChaveEvento> {
+    
+    /**
+     * Cria a chave correspondente ao estado atual do evento
+     * @param evento evento indexado
+     * @return chave do evento
+     */
+    static ChaveEvento de(Evento evento) {
+        return new ChaveEvento(evento.getHorario(), evento.getId());
+    }
+    
+    /**
+     * Compara chaves pelo horário e, em caso de empate, pelo ID
+     * @param outra chave a ser comparada
+     * @return resultado da comparação
+     */
+    @Override
+    public int compareTo(ChaveEvento outra) {
+        int comparacao = horario.compareTo(outra.horario);
+        return comparacao != 0 ? comparacao : Long.compare(id, outra.id);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posição de uma listagem paginada de eventos: a chave (horário e ID) do evento na borda da
+ * página atual e o sentido da navegação a partir dela. É repassada aos clientes como um texto
+ * opaco, e a página seguinte (ou anterior) começa logo após essa chave no índice ordenado,
+ * de modo que eventos cadastrados ou removidos entre as consultas não deslocam as páginas.
+ *
+ * @param chave chave do último evento da página (ou do primeiro, na navegação para trás)
+ * @param anterior true se a navegação é para a página anterior
+ * @author Sistema de Eventos
+ * @version 1.0
+ */
+record CursorEventos(ChaveEvento chave, boolean anterior) {
+    
+    private static final char PROXIMA = 'P';
+    private static final char ANTERIOR = 'A';
+    private static final char SEPARADOR = '/';
+    
+    /**
+     * Codifica o cursor como texto opaco
+     * @return cursor codificado
+     */
+    String codificar() {
+        String texto = (anterior ? ANTERIOR : PROXIMA) + chave.horario().toString() + SEPARADOR + chave.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Decodifica um cursor gerado por {@link #codificar()}
+     * @param cursor cursor codificado
+     * @return cursor decodificado
+     * @throws IllegalArgumentException se o cursor não foi gerado por esta classe
+     */
+    static CursorEventos decodificar(String cursor) {
+        String texto;
+        try {
+            texto = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw invalido(cursor, e);
+        }
+        int separador = texto.lastIndexOf(SEPARADOR);
+        char sentido = texto.isEmpty() ? 0 : texto.charAt(0);
+        if (separador < 0 || (sentido != PROXIMA && sentido != ANTERIOR)) {
+            throw invalido(cursor, null);
+        }
+        try {
+            ChaveEvento chave = new ChaveEvento(LocalDateTime.parse(texto.substring(1, separador)),
+                    Long.parseLong(texto.substring(separador + 1)));
+            return new CursorEventos(chave, sentido == ANTERIOR);
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw invalido(cursor, e);
+        }
+    }
+    
+    private static IllegalArgumentException invalido(String cursor, Exception causa) {
+        return new IllegalArgumentException("Cursor de paginação inválido: " + cursor, causa);
+    }
+}
@@ -0,0 +1,234 @@
+package com.example.controller;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import com.example.model.Categoria;
+import com.example.model.Evento;
+import com.example.model.Usuario;
+import com.example.persistence.ArquivoEventos;
+
+/**
+ * Entrada dos índices de eventos. Guarda a chave e a categoria com que o evento foi indexado
+ * e o próprio evento, que pode estar ainda não decodificado no arquivo mapeado:
+ * nesse caso ele é decodificado, e seus participantes vinculados, no primeiro acesso.
+ * A decodificação ocorre uma única vez mesmo com acessos simultâneos, para que todas as
+ * threads operem sobre a mesma instância do evento.
+ *
+ * @author Sistema de Eventos
+ * @version 1.0
+ */
+final class EntradaEvento {
+    
+    private final ChaveEvento chave;
+    private final Categoria categoria;
+    private volatile Evento evento;
+    
+    // Origem do evento ainda não decodificado (null depois da decodificação)
+    private ArquivoEventos arquivo;
+    private int posicao;
+    private Function<String, Optional<Usuario>> resolvedorUsuarios;
+    
+    // Total de participações em que os participantes do evento estão somados (null enquanto não
+    // estiverem) e quantos foram somados. Acessados com o evento bloqueado
+    private LongAdder totalParticipacoes;
+    private int participacoesSomadas;
+    
+    private EntradaEvento(ChaveEvento chave, Categoria categoria) {
+        this.chave = chave;
+        this.categoria = categoria;
+    }
+    
+    /**
+     * Cria a entrada de um evento já em memória
+     * @param evento evento indexado
+     * @return entrada do evento
+     */
+    static EntradaEvento de(Evento evento) {
+        EntradaEvento entrada = new EntradaEvento(ChaveEvento.de(evento), evento.getCategoria());
+        entrada.evento = evento;
+        return entrada;
+    }
+    
+    /**
+     * Cria a entrada de um evento do arquivo mapeado, lendo apenas o diretório do arquivo
+     * @param arquivo arquivo de eventos aberto
+     * @param posicao posição do evento no arquivo
+     * @param resolvedorUsuarios busca de usuários usada ao decodificar os participantes
+     * @return entrada do evento
+     */
+    static EntradaEvento doArquivo(ArquivoEventos arquivo, int posicao,
+                                   Function<String, Optional<Usuario>> resolvedorUsuarios) {
+        EntradaEvento entrada = new EntradaEvento(
+                new ChaveEvento(arquivo.getHorario(posicao), arquivo.getId(posicao)), arquivo.getCategoria(posicao));
+        entrada.arquivo = arquivo;
+        entrada.posicao = posicao;
+        entrada.resolvedorUsuarios = resolvedorUsuarios;
+        return entrada;
+    }
+    
+    /**
+     * Obtém o ID do evento
+     * @return ID do evento
+     */
+    long getId() {
+        return chave.id();
+    }
+    
+    /**
+     * Obtém a chave com que o evento foi indexado no índice temporal
+     * @return chave do evento
+     */
+    ChaveEvento getChave() {
+        return chave;
+    }
+    
+    /**
+     * Obtém a categoria com que o evento foi indexado
+     * @return categoria do evento
+     */
+    Categoria getCategoria() {
+        return categoria;
+    }
+    
+    /**
+     * Obtém o evento, decodificando-o do arquivo no primeiro acesso
+     * @return evento completo
+     * @throws UncheckedIOException se o registro do evento estiver corrompido
+     */
+    Evento getEvento() {
+        Evento carregado = evento;
+        return carregado != null ? carregado : decodificar();
+    }
+    
+    /**
+     * Obtém o evento para uma leitura única, como a exportação: se ele ainda não foi decodificado,
+     * é lido do arquivo sem ser mantido na entrada, para que percorrer todos os eventos
+     * não carregue o arquivo inteiro em memória
+     * @return evento completo (uma cópia desvinculada dos índices, se ainda não decodificado)
+     * @throws UncheckedIOException se o registro do evento estiver corrompido
+     */
+    Evento lerEvento() {
+        Evento carregado = evento;
+        if (carregado != null) {
+            return carregado;
+        }
+        ArquivoEventos origem;
+        int posicaoOrigem;
+        Function<String, Optional<Usuario>> resolvedor;
+        synchronized (this) {
+            if (evento != null) {
+                return evento;
+            }
+            origem = arquivo;
+            posicaoOrigem = posicao;
+            resolvedor = resolvedorUsuarios;
+        }
+        try {
+            Evento lido = origem.lerEvento(posicaoOrigem);
+            lido.vincularParticipantes(resolvedor);
+            return lido;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler evento " + chave.id() + " do arquivo", e);
+        }
+    }
+    
+    /**
+     * Adiciona o evento à gravação de um novo arquivo: o evento em memória é codificado e o
+     * ainda não decodificado tem o registro copiado do arquivo, sem ser decodificado
+     * @param gravacao gravação do novo arquivo
+     * @throws IOException se o evento não puder ser lido do arquivo
+     */
+    void gravarEm(ArquivoEventos.Gravacao gravacao) throws IOException {
+        Evento carregado;
+        ArquivoEventos origem;
+        int posicaoOrigem;
+        synchronized (this) {
+            carregado = evento;
+            origem = arquivo;
+            posicaoOrigem = posicao;
+        }
+        if (carregado != null) {
+            gravacao.adicionar(carregado);
+        } else {
+            gravacao.copiar(origem, posicaoOrigem);
+        }
+    }
+    
+    /**
+     * Passa a ler o evento ainda não decodificado do arquivo que substituiu o anterior
+     * @param novoArquivo arquivo gravado
+     * @param novaPosicao posição do evento no novo arquivo
+     */
+    synchronized void reapontar(ArquivoEventos novoArquivo, int novaPosicao) {
+        if (evento == null) {
+            arquivo = novoArquivo;
+            posicao = novaPosicao;
+        }
+    }
+    
+    /**
+     * Soma os participantes do evento ao total de participações, se ainda não estiverem somados.
+     * Se o evento ainda não foi decodificado, a quantidade é lida do diretório do arquivo.
+     * Chamado com o evento bloqueado (ou, na indexação do arquivo, antes de a entrada ser publicada).
+     * @param total total de participações do controller
+     */
+    void somarParticipacoes(LongAdder total) {
+        if (totalParticipacoes == null) {
+            participacoesSomadas = contarParticipantes();
+            total.add(participacoesSomadas);
+            totalParticipacoes = total;
+        }
+    }
+    
+    /**
+     * Ajusta o total de participações após inscrições ou cancelamentos no evento.
+     * Ignorado se os participantes ainda não foram somados (eles serão somados já atualizados).
+     * Chamado com o evento bloqueado.
+     * @param diferenca variação na quantidade de participantes
+     */
+    void ajustarParticipacoes(int diferenca) {
+        if (totalParticipacoes != null) {
+            participacoesSomadas += diferenca;
+            totalParticipacoes.add(diferenca);
+        }
+    }
+    
+    /**
+     * Retira do total de participações os participantes somados, quando a entrada deixa os índices.
+     * Chamado com o evento bloqueado.
+     */
+    void descontarParticipacoes() {
+        if (totalParticipacoes != null) {
+            totalParticipacoes.add(-participacoesSomadas);
+            totalParticipacoes = null;
+            participacoesSomadas = 0;
+        }
+    }
+    
+    /**
+     * Obtém a quantidade de participantes do evento em memória ou, se ele ainda não foi
+     * decodificado, a gravada no arquivo (que só muda depois da decodificação)
+     */
+    private synchronized int contarParticipantes() {
+        return evento != null ? evento.getNumeroParticipantes() : arquivo.getNumeroParticipantes(posicao);
+    }
+    
+    private synchronized Evento decodificar() {
+        if (evento == null) {
+            try {
+                Evento decodificado = arquivo.lerEvento(posicao);
+                decodificado.vincularParticipantes(resolvedorUsuarios);
+                evento = decodificado;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Erro ao ler evento " + chave.id() + " do arquivo", e);
+            }
+            arquivo = null;
+            resolvedorUsuarios = null;
+        }
+        return evento;
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.controller;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Contadores das estatísticas do cadastro de usuários: total, usuários por cidade e por faixa
+ * etária. Mantidos de forma incremental a cada cadastro, alteração e remoção, para que as
+ * estatísticas sejam obtidas sem percorrer os usuários; também podem ser calculados em uma única
+ * passagem paralela sobre os usuários, para conferir os contadores mantidos.
+ *
+ * Não é sincronizado: quem mantém os contadores controla o acesso.
+ *
+ * @author Sistema de Eventos
+ * @version 1.0
+ */
+final class EstatisticasUsuarios {
+    
+    // Limites das faixas etárias (inclusivos)
+    private static final int IDADE_MAXIMA_JOVEM = 25;
+    private static final int IDADE_MAXIMA_ADULTO = 60;
+    
+    private final Map<String, Integer> totalPorCidade = new HashMap<>();
+    private int total;
+    private int jovens;
+    private int adultos;
+    private int idosos;
+    
+    /**
+     * Calcula as estatísticas em uma única passagem paralela
+     * @param usuarios usuários (ou registros de usuários) a serem contados
+     * @param cidade cidade de cada usuário
+     * @param idade idade de cada usuário
+     * @return estatísticas calculadas
+     */
+    static <T> EstatisticasUsuarios calcular(Collection<T> usuarios, Function<T, String> cidade,
+                                             ToIntFunction<T> idade) {
+        return usuarios.parallelStream().collect(EstatisticasUsuarios::new,
+                (estatisticas, usuario) -> estatisticas.adicionar(cidade.apply(usuario), idade.applyAsInt(usuario)),
+                EstatisticasUsuarios::combinar);
+    }
+    
+    /**
+     * Conta um usuário
+     * @param cidade cidade do usuário
+     * @param idade idade do usuário
+     */
+    void adicionar(String cidade, int idade) {
+        ajustar(cidade, idade, 1);
+    }
+    
+    /**
+     * Desconta um usuário contado anteriormente
+     * @param cidade cidade com que o usuário foi contado
+     * @param idade idade com que o usuário foi contado
+     */
+    void remover(String cidade, int idade) {
+        ajustar(cidade, idade, -1);
+    }
+    
+    /**
+     * Soma aos contadores os de outras estatísticas
+     * @param outras estatísticas a serem somadas
+     */
+    void combinar(EstatisticasUsuarios outras) {
+        outras.totalPorCidade.forEach((cidade, quantidade) -> totalPorCidade.merge(cidade, quantidade, Integer::sum));
+        total += outras.total;
+        jovens += outras.jovens;
+        adultos += outras.adultos;
+        idosos += outras.idosos;
+    }
+    
+    /**
+     * Cria uma cópia dos contadores
+     * @return cópia independente
+     */
+    EstatisticasUsuarios copiar() {
+        EstatisticasUsuarios copia = new EstatisticasUsuarios();
+        copia.combinar(this);
+        return copia;
+    }
+    
+    /**
+     * Zera os contadores
+     */
+    void limpar() {
+        totalPorCidade.clear();
+        total = jovens = adultos = idosos = 0;
+    }
+    
+    /**
+     * Obtém o total de usuários
+     * @return total de usuários
+     */
+    int getTotal() {
+        return total;
+    }
+    
+    /**
+     * Obtém a quantidade de usuários de cada cidade (apenas cidades com usuários)
+     * @return cidade -> quantidade de usuários
+     */
+    Map<String, Integer> getTotalPorCidade() {
+        return totalPorCidade;
+    }
+    
+    /**
+     * Obtém a quantidade de usuários com até 25 anos
+     * @return quantidade de jovens
+     */
+    int getJovens() {
+        return jovens;
+    }
+    
+    /**
+     * Obtém a quantidade de usuários de 26 a 60 anos
+     * @return quantidade de adultos
+     */
+    int getAdultos() {
+        return adultos;
+    }
+    
+    /**
+     * Obtém a quantidade de usuários com mais de 60 anos
+     * @return quantidade de idosos
+     */
+    int getIdosos() {
+        return idosos;
+    }
+    
+    // Métodos auxiliares
+    
+    private void ajustar(String cidade, int idade, int diferenca) {
+        // Cidades sem usuários são retiradas do mapa; uma remoção nunca cria a cidade com contagem negativa
+        if (diferenca > 0) {
+            totalPorCidade.merge(cidade, diferenca, Integer::sum);
+        } else {
+            totalPorCidade.computeIfPresent(cidade, (c, atual) -> atual + diferenca <= 0 ? null : atual + diferenca);
+        }
+        total += diferenca;
+        if (idade <= IDADE_MAXIMA_JOVEM) {
+            jovens += diferenca;
+        } else if (idade <= IDADE_MAXIMA_ADULTO) {
+            adultos += diferenca;
+        } else {
+            idosos += diferenca;
+        }
+    }
+    
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof EstatisticasUsuarios)) {
+            return false;
+        }
+        EstatisticasUsuarios outras = (EstatisticasUsuarios) obj;
+        return total == outras.total && jovens == outras.jovens && adultos == outras.adultos
+                && idosos == outras.idosos && totalPorCidade.equals(outras.totalPorCidade);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(totalPorCidade, total, jovens, adultos, idosos);
+    }
+}
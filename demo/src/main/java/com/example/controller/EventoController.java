@@ -1,104 +1,726 @@
 package com.example.controller;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.IntStream;
 
 import com.example.model.Categoria;
 import com.example.model.Evento;
+import com.example.model.PaginaEventos;
+import com.example.model.ResultadoImportacao;
+import com.example.model.ResultadoInscricao;
+import com.example.model.StatusEvento;
 import com.example.model.Usuario;
+import com.example.persistence.ArquivoBinario;
+import com.example.persistence.ArquivoEventos;
+import com.example.persistence.EscritorExportacao;
+import com.example.persistence.FormatoImportacao;
+import com.example.persistence.JournalEventos;
+import com.example.persistence.LeitorImportacao;
+import com.example.persistence.ModoGravacao;
+import com.example.persistence.RegistroJournal;
+import com.example.persistence.SerializacaoLegada;
+import com.example.util.IndiceTextual;
+import com.example.util.MapaLongConcorrente;
 
 /**
  * Controller responsável por gerenciar os eventos do sistema.
  * Implementa funcionalidades de CRUD, ordenação, filtragem e persistência.
  * 
+ * A persistência combina um snapshot completo (events.data) com um journal de mutações
+ * (events.journal): cada alteração apenas anexa um registro ao journal, que é reproduzido
+ * na inicialização e compactado em um novo snapshot periodicamente. Os registros são gravados
+ * em lote por uma thread em segundo plano; conforme o {@link ModoGravacao}, as operações
+ * aguardam ou não a gravação do lote que contém a sua alteração.
+ * 
+ * O snapshot é mapeado em memória: a inicialização lê apenas o diretório do arquivo
+ * (ID, horário e categoria de cada evento) e cada evento é decodificado no primeiro acesso.
+ * 
+ * O controller pode ser usado por várias threads ao mesmo tempo. Consultas não bloqueiam;
+ * inscrições bloqueiam apenas o evento afetado; cadastro, atualização e remoção de eventos
+ * são serializados entre si. Toda mutação é aplicada em memória e registrada no journal
+ * com o evento bloqueado, de modo que o journal preserva a ordem das alterações de cada evento.
+ * 
+ * A importação em lote ({@link #importarEventos(Reader, FormatoImportacao)}) não usa o journal:
+ * os eventos importados são indexados em lotes e persistidos em um único snapshot ao final.
+ * 
+ * O status dos eventos (próximo, acontecendo, encerrado) é mantido por uma agenda de transições
+ * ({@link AgendaStatusEventos}): as listagens por status e a verificação de inscrições não
+ * consultam o relógio, e ouvintes ({@link OuvinteStatusEvento}) são avisados quando eventos
+ * começam e terminam.
+ * 
  * @author Sistema de Eventos
  * @version 1.0
  */
 public class EventoController {
     
-    // Lista de eventos em memória
-    private final List<Evento> eventos;
+    // Eventos ordenados por horário (desempate pelo ID)
+    private final ConcurrentNavigableMap<ChaveEvento, EntradaEvento> eventosPorHorario;
+    
+    // Índice de chave primária (ID do evento), mantido em sincronia com o índice temporal
+    private final MapaLongConcorrente<EntradaEvento> eventosPorId;
+    
+    // Índice por categoria: eventos de cada categoria em ordem cronológica, com a quantidade mantida
+    // à parte (o tamanho de um ConcurrentSkipListMap é calculado percorrendo o mapa).
+    // Criado com todas as categorias na construção, os mapas nunca são substituídos
+    private final Map<Categoria, ConcurrentNavigableMap<ChaveEvento, EntradaEvento>> eventosPorCategoria;
+    private final Map<Categoria, AtomicInteger> totalPorCategoria;
+    
+    // Agenda das transições de status: separa os eventos próximos, acontecendo e encerrados
+    // sem consultar o relógio, conta os eventos de cada faixa e avisa os ouvintes quando eventos
+    // começam ou terminam. Toda inserção e remoção no índice temporal passa pela agenda
+    private final AgendaStatusEventos agenda;
+    
+    // Total de participações confirmadas. Os eventos são somados ao serem indexados, os do arquivo
+    // mapeado pela quantidade guardada no diretório. Protegido pelo bloqueio de estrutura
+    private LongAdder totalParticipacoes = new LongAdder();
+    
+    // Índice reverso de participação: email normalizado do usuário -> IDs dos eventos.
+    // Construído apenas no primeiro uso, pois exige decodificar todos os eventos (null até lá)
+    private volatile Map<String, Set<Long>> eventosPorParticipante;
+    private volatile boolean indiceParticipacaoCompleto;
+    
+    // Índice textual do nome, endereço e descrição (nessa ordem de campos e de peso na relevância).
+    // Também construído apenas no primeiro uso (null até lá)
+    private volatile IndiceTextual indiceTextual;
+    private static final int[] PESOS_BUSCA = {3, 2, 1};
+    private static final int CAMPO_NOME = 1;
+    
+    // Serializa cadastro, atualização e remoção de eventos (inscrições bloqueiam apenas o evento)
+    private final Object bloqueioEstrutura = new Object();
+    
+    // Garante que apenas um snapshot seja gravado por vez
+    private final ReentrantLock bloqueioSnapshot = new ReentrantLock();
+    
+    // Arquivo de eventos vigente, de onde os eventos não decodificados são lidos e copiados
+    // para o próximo snapshot (guardado pelo bloqueio de snapshot)
+    private ArquivoEventos arquivoEventos;
     
     // Arquivo de persistência
     private static final String ARQUIVO_EVENTOS = "events.data";
     private final File arquivo;
     
+    // Journal de mutações e limite de registros antes da compactação em snapshot
+    private static final String ARQUIVO_JOURNAL = "events.journal";
+    private static final int LIMITE_COMPACTACAO = 1000;
+    
+    // Quantidade de linhas convertidas em paralelo e indexadas de uma vez na importação em lote
+    private static final int TAMANHO_LOTE_IMPORTACAO = 10000;
+    private final JournalEventos journal;
+    
+    // Define se as mutações aguardam a gravação do journal antes de retornar
+    private volatile ModoGravacao modoGravacao = ModoGravacao.DURAVEL;
+    
+    // Busca de usuários pelo email, usada para resolver os participantes persistidos apenas pela chave
+    private final Function<String, Optional<Usuario>> resolvedorUsuarios;
+    
+    // Indica que o arquivo carregado estava no formato de serialização Java e deve ser migrado
+    private boolean formatoLegado;
+    
+    // Indica que o arquivo carregado estava danificado e os eventos recuperados devem ser regravados
+    private boolean arquivoRecuperado;
+    
     /**
-     * Construtor que inicializa o controller e carrega eventos do arquivo
+     * Construtor que inicializa o controller e carrega eventos do arquivo.
+     * Sem um cadastro de usuários, os participantes ficam apenas com o email.
      */
     public EventoController() {
-        this.arquivo = new File(ARQUIVO_EVENTOS);
-        this.eventos = carregarEventos();
+        this(email -> Optional.empty());
     }
     
-    // Métodos de persistência
+    /**
+     * Construtor que inicializa o controller e carrega eventos do arquivo,
+     * resolvendo os participantes no cadastro de usuários
+     * @param resolvedorUsuarios função que busca um usuário pelo email
+     */
+    public EventoController(Function<String, Optional<Usuario>> resolvedorUsuarios) {
+        this(new File("."), resolvedorUsuarios);
+    }
     
     /**
-     * Carrega eventos do arquivo de dados
-     * @return lista de eventos carregados ou lista vazia se arquivo não existir
+     * Construtor que inicializa o controller com os arquivos de dados em outro diretório
+     * (ex.: benchmarks, que não devem alterar os dados do diretório atual)
+     * @param diretorio diretório dos arquivos de dados
+     * @param resolvedorUsuarios função que busca um usuário pelo email
      */
-    @SuppressWarnings("unchecked")
-    private List<Evento> carregarEventos() {
-        List<Evento> eventosCarregados = new ArrayList<>();
+    public EventoController(File diretorio, Function<String, Optional<Usuario>> resolvedorUsuarios) {
+        this.resolvedorUsuarios = resolvedorUsuarios;
+        this.arquivo = new File(diretorio, ARQUIVO_EVENTOS);
+        this.journal = new JournalEventos(new File(diretorio, ARQUIVO_JOURNAL));
+        this.eventosPorHorario = new ConcurrentSkipListMap<>();
+        this.eventosPorId = new MapaLongConcorrente<>();
+        this.eventosPorCategoria = new EnumMap<>(Categoria.class);
+        this.totalPorCategoria = new EnumMap<>(Categoria.class);
+        for (Categoria categoria : Categoria.values()) {
+            eventosPorCategoria.put(categoria, new ConcurrentSkipListMap<>());
+            totalPorCategoria.put(categoria, new AtomicInteger());
+        }
+        this.agenda = new AgendaStatusEventos(eventosPorHorario, LocalDateTime.now());
+        carregarEventos();
+        reproduzirJournal();
         
+        if (formatoLegado) {
+            migrarFormatoLegado();
+        } else if (arquivoRecuperado) {
+            salvarEventos();
+        }
+        agenda.iniciar();
+    }
+    
+    // Métodos de persistência
+    
+    /**
+     * Carrega e indexa os eventos do arquivo de dados (formato binário ou serialização Java legada).
+     * No formato binário, os eventos são apenas indexados e decodificados sob demanda.
+     */
+    private void carregarEventos() {
         if (arquivo.exists() && arquivo.length() > 0) {
-            try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(arquivo))) {
-                Object objeto = ois.readObject();
-                if (objeto instanceof List<?>) {
-                    eventosCarregados = (List<Evento>) objeto;
-                    System.out.println("Eventos carregados com sucesso: " + eventosCarregados.size() + " eventos encontrados.");
+            try {
+                if (SerializacaoLegada.isSerializacaoJava(arquivo)) {
+                    for (Evento evento : SerializacaoLegada.lerLista(arquivo, Evento.class)) {
+                        indexar(evento);
+                    }
+                    formatoLegado = true;
+                } else {
+                    indexarArquivo(ArquivoEventos.abrir(arquivo));
                 }
-            } catch (IOException | ClassNotFoundException e) {
+                System.out.println("Eventos carregados com sucesso: " + eventosPorId.size() + " eventos encontrados.");
+            } catch (IOException e) {
                 System.err.println("Erro ao carregar eventos do arquivo: " + e.getMessage());
-                // Se houver erro na leitura, cria arquivo de backup
-                criarBackupArquivo();
+                recuperarEventos();
             }
         } else {
             System.out.println("Arquivo de eventos não encontrado. Iniciando com lista vazia.");
         }
-        
-        return eventosCarregados;
     }
     
     /**
-     * Salva eventos no arquivo de dados
+     * Indexa os eventos do arquivo binário, sem decodificá-los. Os participantes de cada evento
+     * são somados pela quantidade guardada no diretório.
+     * @param arquivoEventos arquivo de eventos aberto
+     */
+    private void indexarArquivo(ArquivoEventos arquivoEventos) {
+        adotarArquivo(arquivoEventos);
+        // O cabeçalho guarda o próximo ID, incluindo IDs de eventos já removidos
+        Evento.reservarId(arquivoEventos.getProximoId() - 1);
+        for (int i = 0; i < arquivoEventos.getQuantidade(); i++) {
+            EntradaEvento entrada = EntradaEvento.doArquivo(arquivoEventos, i, resolvedorUsuarios);
+            entrada.somarParticipacoes(totalParticipacoes);
+            indexar(entrada);
+        }
+    }
+    
+    /**
+     * Passa a ler os eventos não decodificados do arquivo informado, avisando o usuário quando
+     * um evento danificado nele for lido da geração anterior do arquivo
+     * @param arquivoEventos arquivo de eventos vigente
+     */
+    private void adotarArquivo(ArquivoEventos arquivoEventos) {
+        arquivoEventos.setOuvinteRecuperacao(id -> System.err.println("Registro do evento " + id
+                + " corrompido no arquivo " + ARQUIVO_EVENTOS + ". Usando a versão anterior do arquivo."));
+        this.arquivoEventos = arquivoEventos;
+    }
+    
+    /**
+     * Recupera os eventos de um arquivo danificado. O arquivo é separado para análise, os eventos
+     * íntegros são mantidos e os perdidos são buscados na geração anterior do arquivo; o resultado
+     * é regravado após a reprodução do journal.
+     */
+    private void recuperarEventos() {
+        File danificado = separarArquivoDanificado();
+        try {
+            ArquivoEventos recuperado = ArquivoEventos.recuperar(danificado, ArquivoBinario.geracaoAnterior(arquivo));
+            indexarArquivo(recuperado);
+            arquivoRecuperado = true;
+            System.out.println("Eventos recuperados: " + recuperado.getQuantidade() + " eventos ("
+                    + recuperado.getRestaurados() + " da versão anterior do arquivo).");
+        } catch (IOException e) {
+            System.err.println("Não foi possível recuperar os eventos: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Salva eventos no arquivo de dados (snapshot completo) e descarta do journal
+     * as mutações que passam a estar contidas no snapshot
      * @return true se salvou com sucesso, false caso contrário
      */
     public boolean salvarEventos() {
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(arquivo))) {
-            oos.writeObject(eventos);
-            System.out.println("Eventos salvos com sucesso no arquivo " + ARQUIVO_EVENTOS);
-            return true;
-        } catch (IOException e) {
+        bloqueioSnapshot.lock();
+        try {
+            return gravarSnapshot();
+        } finally {
+            bloqueioSnapshot.unlock();
+        }
+    }
+    
+    /**
+     * Grava o snapshot sem interromper as mutações concorrentes. Todo registro anexado ao journal
+     * antes do ponto de corte já foi aplicado em memória e entra no snapshot; os registros
+     * posteriores permanecem no journal e são reproduzidos sobre ele.
+     * Deve ser chamado com o bloqueio de snapshot obtido.
+     * @return true se salvou com sucesso, false caso contrário
+     */
+    private boolean gravarSnapshot() {
+        long corte = journal.getTamanho();
+        try {
+            // Os eventos não decodificados são copiados do arquivo atual sem passar pelo codec
+            ArquivoEventos.Gravacao gravacao = ArquivoEventos.gravacao(arquivoEventos);
+            List<EntradaEvento> gravadas = listarEntradasIndexadas();
+            for (EntradaEvento entrada : gravadas) {
+                entrada.gravarEm(gravacao);
+            }
+            ArquivoEventos gravado = gravacao.gravar(arquivo, Evento.getProximoId());
+            adotarArquivo(gravado);
+            for (int i = 0; i < gravadas.size(); i++) {
+                gravadas.get(i).reapontar(gravado, i);
+            }
+        } catch (IOException | UncheckedIOException e) {
             System.err.println("Erro ao salvar eventos: " + e.getMessage());
             return false;
         }
+        
+        try {
+            journal.descartarAte(corte);
+        } catch (IOException e) {
+            // O journal é idempotente sobre o snapshot, então pode ser reproduzido novamente
+            System.err.println("Erro ao compactar journal de eventos: " + e.getMessage());
+        }
+        System.out.println("Eventos salvos com sucesso no arquivo " + ARQUIVO_EVENTOS);
+        return true;
+    }
+    
+    /**
+     * Obtém o modo de gravação das mutações
+     * @return modo de gravação atual
+     */
+    public ModoGravacao getModoGravacao() {
+        return modoGravacao;
+    }
+    
+    /**
+     * Define se as mutações aguardam a gravação em disco antes de retornar
+     * @param modoGravacao modo de gravação
+     */
+    public void setModoGravacao(ModoGravacao modoGravacao) {
+        this.modoGravacao = modoGravacao;
+    }
+    
+    /**
+     * Antecipa a gravação das mutações pendentes (útil no modo assíncrono)
+     * @return future concluído quando todas as mutações feitas até agora estiverem gravadas
+     */
+    public CompletableFuture<Void> sincronizar() {
+        return journal.sincronizar();
+    }
+    
+    /**
+     * Grava as mutações pendentes, encerra a thread de gravação do journal e libera o arquivo de eventos mapeado
+     */
+    public void encerrar() {
+        agenda.close();
+        try {
+            journal.close();
+        } catch (IOException e) {
+            System.err.println("Erro ao fechar journal de eventos: " + e.getMessage());
+        }
+        bloqueioSnapshot.lock();
+        try {
+            // Libera o mapeamento, para que o arquivo possa ser substituído ou removido
+            if (arquivoEventos != null) {
+                arquivoEventos.close();
+            }
+        } finally {
+            bloqueioSnapshot.unlock();
+        }
+    }
+    
+    /**
+     * Reproduz o journal de mutações sobre os eventos carregados do snapshot
+     */
+    private void reproduzirJournal() {
+        try {
+            int registros = journal.reproduzir(this::aplicarRegistro);
+            if (registros > 0) {
+                System.out.println("Journal de eventos reproduzido: " + registros + " alterações aplicadas.");
+            }
+        } catch (IOException e) {
+            System.err.println("Erro ao ler journal de eventos: " + e.getMessage());
+        }
+        
+        if (journal.getTotalRegistros() >= LIMITE_COMPACTACAO) {
+            salvarEventos();
+        }
+    }
+    
+    /**
+     * Aplica um registro do journal aos eventos em memória.
+     * A aplicação é idempotente, pois o journal pode conter mutações já presentes no snapshot.
+     * @param registro mutação a ser aplicada
+     */
+    private void aplicarRegistro(RegistroJournal registro) {
+        switch (registro.getTipo()) {
+            case EVENTO_CRIADO:
+            case EVENTO_ATUALIZADO:
+                EntradaEvento anterior = eventosPorId.get(registro.getEventoId());
+                if (anterior == null) {
+                    indexar(registro.getEvento());
+                } else {
+                    substituir(anterior, registro.getEvento());
+                }
+                break;
+            case EVENTO_REMOVIDO:
+                desindexar(registro.getEventoId());
+                break;
+            case PARTICIPANTE_ADICIONADO:
+                Optional.ofNullable(eventosPorId.get(registro.getEventoId())).ifPresent(entrada -> {
+                    Usuario participante = resolverUsuario(registro.getUsuario());
+                    if (entrada.getEvento().adicionarParticipante(participante)) {
+                        indexarParticipacao(participante, entrada.getId());
+                        entrada.ajustarParticipacoes(1);
+                    }
+                });
+                break;
+            case PARTICIPANTE_REMOVIDO:
+                // A promoção da lista de espera, se houve, está no registro seguinte
+                Optional.ofNullable(eventosPorId.get(registro.getEventoId())).ifPresent(entrada -> {
+                    if (entrada.getEvento().removerParticipante(registro.getUsuario())) {
+                        desindexarParticipacao(registro.getUsuario(), entrada.getId());
+                        entrada.ajustarParticipacoes(-1);
+                    }
+                });
+                break;
+            case LISTA_ESPERA_ADICIONADO:
+                buscarEventoPorId(registro.getEventoId()).ifPresent(
+                        evento -> evento.adicionarListaEspera(resolverUsuario(registro.getUsuario())));
+                break;
+            case LISTA_ESPERA_REMOVIDO:
+                buscarEventoPorId(registro.getEventoId()).ifPresent(
+                        evento -> evento.removerListaEspera(registro.getUsuario()));
+                break;
+            default:
+                break;
+        }
+    }
+    
+    /**
+     * Registra uma mutação no journal. Chamado com o evento alterado bloqueado,
+     * logo após a mutação ser aplicada em memória; a gravação ocorre no próximo lote.
+     * @param registro mutação a ser registrada
+     * @return future concluído quando o registro estiver gravado
+     */
+    private CompletableFuture<Void> registrarMutacao(RegistroJournal registro) {
+        return journal.anexar(registro);
+    }
+    
+    /**
+     * Conclui uma mutação fora de qualquer bloqueio de evento. No modo durável, aguarda a
+     * gravação do lote que contém a mutação e, se ela falhar, salva o snapshot completo para
+     * não perdê-la (no modo assíncrono, o lote com erro é gravado novamente junto com o próximo).
+     * Em seguida, compacta o journal em snapshot quando o limite é atingido (se outra thread já
+     * estiver compactando, não aguarda).
+     * @param gravacao gravação dos registros da mutação no journal
+     */
+    private void concluirMutacao(CompletableFuture<Void> gravacao) {
+        if (modoGravacao == ModoGravacao.DURAVEL && !aguardarGravacao(gravacao)) {
+            salvarEventos();
+        } else if (journal.getTotalRegistros() >= LIMITE_COMPACTACAO && bloqueioSnapshot.tryLock()) {
+            try {
+                if (journal.getTotalRegistros() >= LIMITE_COMPACTACAO) {
+                    gravarSnapshot();
+                }
+            } finally {
+                bloqueioSnapshot.unlock();
+            }
+        }
+    }
+    
+    /**
+     * Aguarda a gravação de registros no journal
+     * @param gravacao gravação a ser aguardada
+     * @return true se os registros foram gravados, false se a gravação falhou
+     */
+    private static boolean aguardarGravacao(CompletableFuture<Void> gravacao) {
+        try {
+            gravacao.join();
+            return true;
+        } catch (CompletionException e) {
+            System.err.println("Erro ao gravar journal de eventos: " + e.getCause().getMessage());
+            return false;
+        }
+    }
+    
+    // Métodos de indexação
+    
+    /**
+     * Insere o evento e seus participantes nos índices
+     * @param evento evento a ser indexado
+     */
+    private void indexar(Evento evento) {
+        evento.vincularParticipantes(resolvedorUsuarios);
+        EntradaEvento entrada = EntradaEvento.de(evento);
+        indexar(entrada);
+        entrada.somarParticipacoes(totalParticipacoes);
+        for (Usuario participante : evento.getParticipantes()) {
+            indexarParticipacao(participante, evento.getId());
+        }
+        indexarTexto(evento);
+    }
+    
+    /**
+     * Insere a entrada nos índices de ID e de horário
+     * @param entrada entrada do evento
+     */
+    private void indexar(EntradaEvento entrada) {
+        eventosPorId.put(entrada.getId(), entrada);
+        agenda.inserir(entrada);
+        indexarCategoria(entrada);
+    }
+    
+    /**
+     * Substitui o evento indexado pela nova versão. A nova entrada é inserida antes de a anterior
+     * ser removida, para que consultas simultâneas não deixem de encontrar o evento.
+     * @param anterior entrada atualmente indexada
+     * @param evento nova versão do evento
+     * @return nova entrada do evento
+     */
+    private EntradaEvento substituir(EntradaEvento anterior, Evento evento) {
+        evento.vincularParticipantes(resolvedorUsuarios);
+        EntradaEvento nova = EntradaEvento.de(evento);
+        eventosPorId.put(nova.getId(), nova);
+        agenda.inserir(nova);
+        // Se o horário não mudou, a chave já aponta para a nova entrada e nada é removido
+        agenda.remover(anterior);
+        indexarCategoria(nova);
+        desindexarCategoria(anterior);
+        nova.somarParticipacoes(totalParticipacoes);
+        anterior.descontarParticipacoes();
+        
+        if (eventosPorParticipante != null) {
+            for (Usuario participante : anterior.getEvento().getParticipantes()) {
+                desindexarParticipacao(participante, nova.getId());
+            }
+            for (Usuario participante : evento.getParticipantes()) {
+                indexarParticipacao(participante, nova.getId());
+            }
+        }
+        indexarTexto(evento);
+        return nova;
+    }
+    
+    /**
+     * Remove o evento e seus participantes dos índices
+     * @param eventoId ID do evento a ser removido
+     * @return entrada removida ou null se o evento não estava indexado
+     */
+    private EntradaEvento desindexar(long eventoId) {
+        EntradaEvento entrada = eventosPorId.remove(eventoId);
+        if (entrada == null) {
+            return null;
+        }
+        
+        // A entrada guarda a chave com que foi indexada, mesmo que o horário do evento tenha mudado
+        agenda.remover(entrada);
+        desindexarCategoria(entrada);
+        entrada.descontarParticipacoes();
+        if (eventosPorParticipante != null) {
+            for (Usuario participante : entrada.getEvento().getParticipantes()) {
+                desindexarParticipacao(participante, eventoId);
+            }
+        }
+        IndiceTextual indice = indiceTextual;
+        if (indice != null) {
+            indice.remover(eventoId);
+        }
+        return entrada;
+    }
+    
+    /**
+     * Insere a entrada no índice da sua categoria. A quantidade só muda se a chave ainda não
+     * estava no índice (na substituição sem mudança de horário, a chave já existe)
+     * @param entrada entrada do evento
+     */
+    private void indexarCategoria(EntradaEvento entrada) {
+        Categoria categoria = entrada.getCategoria();
+        if (categoria != null && eventosPorCategoria.get(categoria).put(entrada.getChave(), entrada) == null) {
+            totalPorCategoria.get(categoria).incrementAndGet();
+        }
+    }
+    
+    /**
+     * Remove a entrada do índice da sua categoria, se ela ainda estiver indexada
+     * @param entrada entrada do evento
+     */
+    private void desindexarCategoria(EntradaEvento entrada) {
+        Categoria categoria = entrada.getCategoria();
+        if (categoria != null && eventosPorCategoria.get(categoria).remove(entrada.getChave(), entrada)) {
+            totalPorCategoria.get(categoria).decrementAndGet();
+        }
+    }
+    
+    /**
+     * Resolve uma referência de usuário (apenas email) no cadastro de usuários
+     * @param referencia usuário lido do journal
+     * @return usuário do cadastro ou a própria referência se não for encontrado
+     */
+    private Usuario resolverUsuario(Usuario referencia) {
+        return resolvedorUsuarios.apply(referencia.getEmail()).orElse(referencia);
+    }
+    
+    /**
+     * Obtém o índice reverso de participação, construindo-o no primeiro uso.
+     * O índice é publicado antes de ser preenchido, para que inscrições feitas durante a construção
+     * já sejam registradas nele; cada evento é lido com o próprio bloqueio.
+     * @return índice reverso de participação
+     */
+    private Map<String, Set<Long>> indiceParticipacao() {
+        if (!indiceParticipacaoCompleto) {
+            synchronized (bloqueioEstrutura) {
+                if (!indiceParticipacaoCompleto) {
+                    eventosPorParticipante = new ConcurrentHashMap<>();
+                    eventosPorId.forEachValor(entrada -> {
+                        Evento evento = entrada.getEvento();
+                        synchronized (evento) {
+                            for (Usuario participante : evento.getParticipantes()) {
+                                indexarParticipacao(participante, entrada.getId());
+                            }
+                        }
+                    });
+                    indiceParticipacaoCompleto = true;
+                }
+            }
+        }
+        return eventosPorParticipante;
+    }
+    
+    /**
+     * Registra no índice reverso que o usuário participa do evento (se o índice já foi construído)
+     * @param usuario participante
+     * @param eventoId ID do evento
+     */
+    private void indexarParticipacao(Usuario usuario, long eventoId) {
+        Map<String, Set<Long>> indice = eventosPorParticipante;
+        if (indice != null) {
+            indice.compute(usuario.getEmailNormalizado(), (email, ids) -> {
+                Set<Long> eventosDoUsuario = ids != null ? ids : ConcurrentHashMap.newKeySet();
+                eventosDoUsuario.add(eventoId);
+                return eventosDoUsuario;
+            });
+        }
+    }
+    
+    /**
+     * Remove do índice reverso a participação do usuário no evento
+     * @param usuario participante
+     * @param eventoId ID do evento
+     */
+    private void desindexarParticipacao(Usuario usuario, long eventoId) {
+        Map<String, Set<Long>> indice = eventosPorParticipante;
+        if (indice != null) {
+            indice.computeIfPresent(usuario.getEmailNormalizado(), (email, ids) -> {
+                ids.remove(eventoId);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+    
+    /**
+     * Obtém o índice textual, construindo-o no primeiro uso. A construção decodifica todos os
+     * eventos e é feita com o bloqueio de estrutura, o mesmo que protege as alterações de nome,
+     * endereço e descrição, de modo que nenhuma alteração é perdida durante a construção.
+     * @return índice textual
+     */
+    private IndiceTextual indiceTextual() {
+        IndiceTextual indice = indiceTextual;
+        if (indice == null) {
+            synchronized (bloqueioEstrutura) {
+                indice = indiceTextual;
+                if (indice == null) {
+                    IndiceTextual novo = new IndiceTextual(PESOS_BUSCA);
+                    eventosPorId.forEachValor(entrada -> indexarTexto(novo, entrada.getEvento()));
+                    indiceTextual = indice = novo;
+                }
+            }
+        }
+        return indice;
+    }
+    
+    /**
+     * Atualiza o evento no índice textual (se o índice já foi construído)
+     * @param evento evento a ser indexado
+     */
+    private void indexarTexto(Evento evento) {
+        IndiceTextual indice = indiceTextual;
+        if (indice != null) {
+            indexarTexto(indice, evento);
+        }
+    }
+    
+    private static void indexarTexto(IndiceTextual indice, Evento evento) {
+        indice.indexar(evento.getId(), evento.getNome(), evento.getEndereco(), evento.getDescricao());
     }
     
     /**
-     * Cria backup do arquivo em caso de erro
+     * Converte o arquivo de serialização Java para o formato binário, mantendo uma cópia do original
      */
-    private void criarBackupArquivo() {
-        String nomeBackup = ARQUIVO_EVENTOS + ".backup." + System.currentTimeMillis();
+    private void migrarFormatoLegado() {
+        File copiaLegado = new File(arquivo.getPath() + ".serializado.bak");
         try {
-            if (arquivo.exists()) {
-                Files.copy(arquivo.toPath(), new File(nomeBackup).toPath());
-                System.out.println("Backup criado: " + nomeBackup);
+            if (!copiaLegado.exists()) {
+                Files.copy(arquivo.toPath(), copiaLegado.toPath());
             }
+        } catch (IOException e) {
+            System.err.println("Erro ao copiar arquivo de eventos antes da migração: " + e.getMessage());
+            return;
+        }
+        
+        if (salvarEventos()) {
+            formatoLegado = false;
+            System.out.println("Arquivo de eventos migrado para o formato binário. Original mantido em "
+                    + copiaLegado.getName());
+        }
+    }
+    
+    /**
+     * Move o arquivo danificado para um backup, para que a próxima gravação não o torne
+     * a geração anterior do arquivo
+     * @return arquivo danificado (o backup, ou o original se não puder ser movido)
+     */
+    private File separarArquivoDanificado() {
+        File backup = new File(arquivo.getPath() + ".backup." + System.currentTimeMillis());
+        try {
+            Files.move(arquivo.toPath(), backup.toPath());
+            System.out.println("Backup criado: " + backup.getName());
+            return backup;
         } catch (Exception e) {
             System.err.println("Erro ao criar backup: " + e.getMessage());
+            return arquivo;
         }
     }
     
@@ -115,12 +737,22 @@ public class EventoController {
             return false;
         }
         
-        boolean adicionado = eventos.add(evento);
-        if (adicionado) {
-            salvarEventos();
-            System.out.println("Evento '" + evento.getNome() + "' adicionado com sucesso!");
+        CompletableFuture<Void> gravacao;
+        synchronized (bloqueioEstrutura) {
+            if (eventosPorId.containsKey(evento.getId())) {
+                System.err.println("Já existe um evento com o ID " + evento.getId() + ".");
+                return false;
+            }
+            
+            // Bloqueia o evento para que nenhuma inscrição seja registrada antes da criação
+            synchronized (evento) {
+                indexar(evento);
+                gravacao = registrarMutacao(RegistroJournal.eventoCriado(evento));
+            }
         }
-        return adicionado;
+        concluirMutacao(gravacao);
+        System.out.println("Evento '" + evento.getNome() + "' adicionado com sucesso!");
+        return true;
     }
     
     /**
@@ -129,17 +761,22 @@ public class EventoController {
      * @return true se removido com sucesso, false caso contrário
      */
     public boolean removerEvento(long eventoId) {
-        Optional<Evento> eventoOpt = buscarEventoPorId(eventoId);
-        if (eventoOpt.isPresent()) {
-            boolean removido = eventos.remove(eventoOpt.get());
-            if (removido) {
-                salvarEventos();
-                System.out.println("Evento removido com sucesso!");
+        CompletableFuture<Void> gravacao;
+        synchronized (bloqueioEstrutura) {
+            EntradaEvento entrada = eventosPorId.get(eventoId);
+            if (entrada == null) {
+                System.err.println("Evento com ID " + eventoId + " não encontrado.");
+                return false;
+            }
+            
+            synchronized (entrada.getEvento()) {
+                desindexar(eventoId);
+                gravacao = registrarMutacao(RegistroJournal.eventoRemovido(eventoId));
             }
-            return removido;
         }
-        System.err.println("Evento com ID " + eventoId + " não encontrado.");
-        return false;
+        concluirMutacao(gravacao);
+        System.out.println("Evento removido com sucesso!");
+        return true;
     }
     
     /**
@@ -152,15 +789,237 @@ public class EventoController {
             return false;
         }
         
-        for (int i = 0; i < eventos.size(); i++) {
-            if (eventos.get(i).getId() == eventoAtualizado.getId()) {
-                eventos.set(i, eventoAtualizado);
+        CompletableFuture<Void> gravacao;
+        synchronized (bloqueioEstrutura) {
+            EntradaEvento anterior = eventosPorId.get(eventoAtualizado.getId());
+            if (anterior == null) {
+                return false;
+            }
+            
+            // Bloqueia as duas versões (que podem ser o mesmo objeto) até o registro no journal
+            synchronized (anterior.getEvento()) {
+                synchronized (eventoAtualizado) {
+                    // Reindexa mesmo quando é o próprio objeto indexado, pois o horário pode ter mudado
+                    EntradaEvento nova = substituir(anterior, eventoAtualizado);
+                    gravacao = registrarMutacao(RegistroJournal.eventoAtualizado(eventoAtualizado));
+                    // A capacidade pode ter aumentado
+                    gravacao = CompletableFuture.allOf(gravacao,
+                            registrarPromocoes(nova, eventoAtualizado.promoverListaEspera()));
+                }
+            }
+        }
+        concluirMutacao(gravacao);
+        System.out.println("Evento atualizado com sucesso!");
+        return true;
+    }
+    
+    /**
+     * Importa eventos em lote de um arquivo CSV (.csv) ou JSON Lines (.jsonl ou .ndjson)
+     * @param arquivoImportacao arquivo a ser importado, em UTF-8
+     * @return resultado da importação
+     * @throws IOException se o arquivo não puder ser lido ou o formato não for reconhecido
+     * @see #importarEventos(Reader, FormatoImportacao)
+     */
+    public ResultadoImportacao importarEventos(File arquivoImportacao) throws IOException {
+        FormatoImportacao formato = formatoPorExtensao(arquivoImportacao);
+        try (Reader entrada = Files.newBufferedReader(arquivoImportacao.toPath(), StandardCharsets.UTF_8)) {
+            return importarEventos(entrada, formato);
+        }
+    }
+    
+    /**
+     * Importa eventos em lote, com seus participantes confirmados (colunas descritas em
+     * {@link LeitorImportacao}). O conteúdo é lido em lotes: as linhas de cada lote são convertidas
+     * e validadas em paralelo, recebem um bloco de IDs e são indexadas com um único bloqueio.
+     * Ao contrário do cadastro individual, os eventos importados não passam pelo journal:
+     * um único snapshot é gravado ao final da importação.
+     * 
+     * Linhas mal formadas, com campos inválidos, participantes não cadastrados ou mais
+     * participantes que a capacidade são rejeitadas sem interromper a importação.
+     * @param entrada conteúdo a ser importado
+     * @param formato formato do conteúdo
+     * @return resultado da importação, com as linhas rejeitadas
+     * @throws IOException se ocorrer erro de leitura ou faltar uma coluna obrigatória no cabeçalho CSV
+     *         (os eventos dos lotes já lidos permanecem importados)
+     */
+    public ResultadoImportacao importarEventos(Reader entrada, FormatoImportacao formato) throws IOException {
+        LeitorImportacao leitor = new LeitorImportacao(entrada, formato);
+        ResultadoImportacao resultado = new ResultadoImportacao();
+        try {
+            List<LeitorImportacao.Linha> lote;
+            while (!(lote = leitor.lerLote(TAMANHO_LOTE_IMPORTACAO)).isEmpty()) {
+                importarLote(leitor, lote, resultado);
+            }
+        } finally {
+            // Os eventos dos lotes já indexados só são persistidos pelo snapshot
+            if (resultado.getImportados() > 0) {
                 salvarEventos();
-                System.out.println("Evento atualizado com sucesso!");
-                return true;
             }
         }
-        return false;
+        System.out.println(resultado);
+        return resultado;
+    }
+    
+    /**
+     * Converte em paralelo e indexa um lote da importação
+     * @param leitor leitor da importação
+     * @param lote linhas do lote
+     * @param resultado resultado em que os eventos importados e as rejeições são registrados
+     */
+    private void importarLote(LeitorImportacao leitor, List<LeitorImportacao.Linha> lote,
+                              ResultadoImportacao resultado) {
+        // IDs das linhas rejeitadas ficam sem uso, como os de eventos removidos
+        long primeiroId = Evento.reservarBlocoIds(lote.size());
+        List<EventoImportado> convertidos = IntStream.range(0, lote.size()).parallel()
+                .mapToObj(i -> converterImportacao(leitor, lote.get(i), primeiroId + i))
+                .toList();
+        
+        synchronized (bloqueioEstrutura) {
+            for (int i = 0; i < convertidos.size(); i++) {
+                Evento evento = convertidos.get(i).evento();
+                if (evento != null) {
+                    // Bloqueia o evento para que nenhuma inscrição ocorra antes de a indexação terminar
+                    synchronized (evento) {
+                        indexar(evento);
+                    }
+                    resultado.registrarImportado();
+                } else {
+                    resultado.registrarRejeicao(lote.get(i).numero(), convertidos.get(i).rejeicao());
+                }
+            }
+        }
+    }
+    
+    /**
+     * Converte uma linha da importação em evento, resolvendo os participantes no cadastro de usuários
+     * @param leitor leitor da importação
+     * @param linha linha a ser convertida
+     * @param id ID reservado para o evento
+     * @return evento convertido ou o motivo da rejeição
+     */
+    private EventoImportado converterImportacao(LeitorImportacao leitor, LeitorImportacao.Linha linha, long id) {
+        try {
+            LeitorImportacao.Registro registro = leitor.converter(linha);
+            Evento evento = new Evento(id, registro.nome(), registro.endereco(), registro.categoria(),
+                    registro.horario(), registro.descricao());
+            evento.setCapacidade(registro.capacidade());
+            for (String email : registro.participantes()) {
+                Usuario participante = resolvedorUsuarios.apply(email).orElseThrow(
+                        () -> new IllegalArgumentException("Participante não cadastrado: " + email));
+                evento.adicionarParticipante(participante);
+            }
+            if (evento.getCapacidade() > 0 && evento.getNumeroParticipantes() > evento.getCapacidade()) {
+                return new EventoImportado(null, "Participantes (" + evento.getNumeroParticipantes()
+                        + ") acima da capacidade (" + evento.getCapacidade() + ")");
+            }
+            return new EventoImportado(evento, null);
+        } catch (IllegalArgumentException e) {
+            return new EventoImportado(null, e.getMessage());
+        }
+    }
+    
+    /**
+     * Evento convertido de uma linha da importação, ou o motivo da rejeição da linha
+     * @param evento evento convertido (null se a linha foi rejeitada)
+     * @param rejeicao motivo da rejeição (null se a linha foi convertida)
+     */
+    private record EventoImportado(Evento evento, String rejeicao) {
+    }
+    
+    /**
+     * Exporta todos os eventos para um arquivo CSV (.csv) ou JSON Lines (.jsonl ou .ndjson)
+     * @param arquivoExportacao arquivo de destino (substituído se existir)
+     * @return quantidade de eventos exportados
+     * @throws IOException se o arquivo não puder ser gravado ou o formato não for reconhecido
+     * @see #exportarEventos(WritableByteChannel, FormatoImportacao)
+     */
+    public int exportarEventos(File arquivoExportacao) throws IOException {
+        FormatoImportacao formato = formatoPorExtensao(arquivoExportacao);
+        try (FileChannel canal = abrirExportacao(arquivoExportacao)) {
+            return exportarEventos(canal, formato);
+        }
+    }
+    
+    /**
+     * Exporta todos os eventos, em ordem de horário, com os emails dos participantes.
+     * Os eventos são percorridos diretamente no índice temporal, sem montar listas: eventos ainda
+     * não decodificados do arquivo mapeado são lidos apenas para a escrita, e a memória usada não
+     * depende da quantidade de eventos nem de participantes. O formato é o aceito por
+     * {@link #importarEventos(Reader, FormatoImportacao)}.
+     * 
+     * A exportação não bloqueia o controller: eventos cadastrados ou removidos durante
+     * a exportação podem ou não ser incluídos.
+     * @param canal canal de destino (não é fechado)
+     * @param formato formato da exportação
+     * @return quantidade de eventos exportados
+     * @throws IOException se ocorrer erro de gravação
+     */
+    public int exportarEventos(WritableByteChannel canal, FormatoImportacao formato) throws IOException {
+        EscritorExportacao escritor = EscritorExportacao.eventos(canal, formato);
+        for (EntradaEvento entrada : eventosPorHorario.values()) {
+            escritor.escreverEvento(entrada.lerEvento());
+        }
+        escritor.descarregar();
+        System.out.println("Eventos exportados: " + escritor.getRegistros());
+        return escritor.getRegistros();
+    }
+    
+    /**
+     * Exporta a lista de participantes de um evento para um arquivo CSV (.csv) ou JSON Lines
+     * (.jsonl ou .ndjson)
+     * @param id ID do evento
+     * @param arquivoExportacao arquivo de destino (substituído se existir)
+     * @return true se exportada, false se o evento não existe (nesse caso o arquivo não é criado)
+     * @throws IOException se o arquivo não puder ser gravado ou o formato não for reconhecido
+     * @see #exportarParticipantes(long, WritableByteChannel, FormatoImportacao)
+     */
+    public boolean exportarParticipantes(long id, File arquivoExportacao) throws IOException {
+        FormatoImportacao formato = formatoPorExtensao(arquivoExportacao);
+        if (!eventosPorId.containsKey(id)) {
+            System.out.println("Evento não encontrado!");
+            return false;
+        }
+        try (FileChannel canal = abrirExportacao(arquivoExportacao)) {
+            return exportarParticipantes(id, canal, formato);
+        }
+    }
+    
+    /**
+     * Exporta a lista de participantes de um evento (nome, email e cidade), em ordem de inscrição.
+     * Os participantes são escritos diretamente a partir do evento, sem cópia da lista;
+     * o evento fica bloqueado para inscrições enquanto isso.
+     * @param id ID do evento
+     * @param canal canal de destino (não é fechado)
+     * @param formato formato da exportação
+     * @return true se exportada, false se o evento não existe
+     * @throws IOException se ocorrer erro de gravação
+     */
+    public boolean exportarParticipantes(long id, WritableByteChannel canal, FormatoImportacao formato)
+            throws IOException {
+        EntradaEvento entrada = eventosPorId.get(id);
+        if (entrada == null) {
+            System.out.println("Evento não encontrado!");
+            return false;
+        }
+        Evento evento = entrada.lerEvento();
+        EscritorExportacao escritor = EscritorExportacao.participantes(canal, formato);
+        escritor.escreverParticipantes(evento);
+        escritor.descarregar();
+        System.out.println("Participantes de '" + evento.getNome() + "' exportados: " + escritor.getRegistros());
+        return true;
+    }
+    
+    private static FormatoImportacao formatoPorExtensao(File arquivo) throws IOException {
+        FormatoImportacao formato = FormatoImportacao.porExtensao(arquivo.getName());
+        if (formato == null) {
+            throw new IOException("Formato não reconhecido (use .csv ou .jsonl): " + arquivo.getName());
+        }
+        return formato;
+    }
+    
+    private static FileChannel abrirExportacao(File arquivoExportacao) throws IOException {
+        return FileChannel.open(arquivoExportacao.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
     }
     
     // Métodos de busca e listagem
@@ -171,9 +1030,8 @@ public class EventoController {
      * @return Optional contendo o evento se encontrado
      */
     public Optional<Evento> buscarEventoPorId(long id) {
-        return eventos.stream()
-                .filter(evento -> evento.getId() == id)
-                .findFirst();
+        EntradaEvento entrada = eventosPorId.get(id);
+        return entrada == null ? Optional.empty() : Optional.of(entrada.getEvento());
     }
     
     /**
@@ -181,21 +1039,54 @@ public class EventoController {
      * @return lista de eventos ordenada
      */
     public List<Evento> listarEventosOrdenados() {
-        return eventos.stream()
-                .sorted(Comparator.comparing(Evento::getHorario))
-                .collect(Collectors.toList());
+        return listarEventos(eventosPorHorario.values());
+    }
+    
+    /**
+     * Lista uma página dos eventos ordenados por data
+     * @param cursor cursor de uma página obtida anteriormente (null para a primeira página)
+     * @param tamanhoPagina quantidade máxima de eventos na página
+     * @return página de eventos, em ordem cronológica
+     * @throws IllegalArgumentException se o cursor for inválido
+     */
+    public PaginaEventos listarEventosOrdenados(String cursor, int tamanhoPagina) {
+        return paginar(eventosPorHorario, cursor, tamanhoPagina);
     }
     
     /**
      * Lista eventos por categoria
      * @param categoria categoria dos eventos
-     * @return lista de eventos da categoria especificada
+     * @return lista de eventos da categoria especificada, em ordem cronológica
      */
     public List<Evento> listarEventosPorCategoria(Categoria categoria) {
-        return eventos.stream()
-                .filter(evento -> evento.getCategoria() == categoria)
-                .sorted(Comparator.comparing(Evento::getHorario))
-                .collect(Collectors.toList());
+        if (categoria == null) {
+            return new ArrayList<>();
+        }
+        return listarEventos(eventosPorCategoria.get(categoria).values());
+    }
+    
+    /**
+     * Lista uma página dos eventos da categoria
+     * @param categoria categoria dos eventos
+     * @param cursor cursor de uma página obtida anteriormente (null para a primeira página)
+     * @param tamanhoPagina quantidade máxima de eventos na página
+     * @return página de eventos da categoria, em ordem cronológica
+     * @throws IllegalArgumentException se o cursor for inválido
+     */
+    public PaginaEventos listarEventosPorCategoria(Categoria categoria, String cursor, int tamanhoPagina) {
+        if (categoria == null) {
+            return new PaginaEventos(List.of(), null, null);
+        }
+        return paginar(eventosPorCategoria.get(categoria), cursor, tamanhoPagina);
+    }
+    
+    /**
+     * Obtém a quantidade de eventos da categoria, sem percorrer os eventos
+     * @param categoria categoria dos eventos
+     * @return quantidade de eventos da categoria
+     */
+    public int contarEventosPorCategoria(Categoria categoria) {
+        return categoria != null ? totalPorCategoria.get(categoria).get() : 0;
     }
     
     /**
@@ -203,11 +1094,18 @@ public class EventoController {
      * @return lista de eventos que ainda vão acontecer
      */
     public List<Evento> listarEventosProximos() {
-        LocalDateTime agora = LocalDateTime.now();
-        return eventos.stream()
-                .filter(evento -> evento.getHorario().isAfter(agora))
-                .sorted(Comparator.comparing(Evento::getHorario))
-                .collect(Collectors.toList());
+        return listarEventos(eventosProximos().values());
+    }
+    
+    /**
+     * Lista uma página dos eventos próximos (futuros)
+     * @param cursor cursor de uma página obtida anteriormente (null para a primeira página)
+     * @param tamanhoPagina quantidade máxima de eventos na página
+     * @return página de eventos que ainda vão acontecer, em ordem cronológica
+     * @throws IllegalArgumentException se o cursor for inválido
+     */
+    public PaginaEventos listarEventosProximos(String cursor, int tamanhoPagina) {
+        return paginar(eventosProximos(), cursor, tamanhoPagina);
     }
     
     /**
@@ -215,11 +1113,18 @@ public class EventoController {
      * @return lista de eventos passados
      */
     public List<Evento> listarEventosPassados() {
-        LocalDateTime agora = LocalDateTime.now();
-        return eventos.stream()
-                .filter(evento -> evento.getHorario().isBefore(agora))
-                .sorted(Comparator.comparing(Evento::getHorario).reversed())
-                .collect(Collectors.toList());
+        return listarEventos(eventosPassados().values());
+    }
+    
+    /**
+     * Lista uma página dos eventos que já aconteceram
+     * @param cursor cursor de uma página obtida anteriormente (null para a primeira página)
+     * @param tamanhoPagina quantidade máxima de eventos na página
+     * @return página de eventos passados, do mais recente ao mais antigo
+     * @throws IllegalArgumentException se o cursor for inválido
+     */
+    public PaginaEventos listarEventosPassados(String cursor, int tamanhoPagina) {
+        return paginar(eventosPassados(), cursor, tamanhoPagina);
     }
     
     /**
@@ -227,80 +1132,340 @@ public class EventoController {
      * @return lista de eventos atuais
      */
     public List<Evento> listarEventosAtuais() {
-        return eventos.stream()
-                .filter(Evento::estaOcorrendo)
-                .sorted(Comparator.comparing(Evento::getHorario))
-                .collect(Collectors.toList());
+        return listarEventos(eventosAtuais().values());
     }
     
     /**
-     * Busca eventos por nome (busca parcial, case-insensitive)
+     * Lista uma página dos eventos que estão acontecendo agora
+     * @param cursor cursor de uma página obtida anteriormente (null para a primeira página)
+     * @param tamanhoPagina quantidade máxima de eventos na página
+     * @return página de eventos atuais, em ordem cronológica
+     * @throws IllegalArgumentException se o cursor for inválido
+     */
+    public PaginaEventos listarEventosAtuais(String cursor, int tamanhoPagina) {
+        return paginar(eventosAtuais(), cursor, tamanhoPagina);
+    }
+    
+    /**
+     * Visão dos eventos que ainda não começaram, em ordem cronológica (delimitada pela agenda,
+     * sem consultar o relógio)
+     * @return visão ordenada dos eventos futuros
+     */
+    private NavigableMap<ChaveEvento, EntradaEvento> eventosProximos() {
+        return agenda.proximos(eventosPorHorario);
+    }
+    
+    /**
+     * Visão dos eventos que já começaram, do mais recente ao mais antigo
+     * @return visão ordenada dos eventos passados
+     */
+    private NavigableMap<ChaveEvento, EntradaEvento> eventosPassados() {
+        return agenda.iniciados(eventosPorHorario).descendingMap();
+    }
+    
+    /**
+     * Visão dos eventos em andamento (iniciados há menos de 1 hora), em ordem cronológica
+     * @return visão ordenada dos eventos atuais
+     */
+    private NavigableMap<ChaveEvento, EntradaEvento> eventosAtuais() {
+        return agenda.acontecendo(eventosPorHorario);
+    }
+    
+    /**
+     * Obtém o status atual de um evento. O status é mantido pela agenda de transições,
+     * então a consulta não percorre eventos nem consulta o relógio.
+     * @param id ID do evento
+     * @return Optional contendo o status se o evento existir
+     */
+    public Optional<StatusEvento> obterStatusEvento(long id) {
+        EntradaEvento entrada = eventosPorId.get(id);
+        return entrada == null ? Optional.empty() : Optional.of(agenda.status(entrada.getChave()));
+    }
+    
+    /**
+     * Registra um ouvinte avisado quando eventos começam e terminam.
+     * Os avisos são feitos por uma thread em segundo plano, no horário de cada transição.
+     * @param ouvinte ouvinte a ser registrado
+     */
+    public void adicionarOuvinteStatus(OuvinteStatusEvento ouvinte) {
+        if (ouvinte != null) {
+            agenda.adicionarOuvinte(ouvinte);
+        }
+    }
+    
+    /**
+     * Remove um ouvinte das mudanças de status dos eventos
+     * @param ouvinte ouvinte a ser removido
+     */
+    public void removerOuvinteStatus(OuvinteStatusEvento ouvinte) {
+        agenda.removerOuvinte(ouvinte);
+    }
+    
+    /**
+     * Obtém uma página de uma visão ordenada dos índices de eventos. A página é lida diretamente
+     * no índice a partir da chave do cursor, em O(log n + tamanho da página), sem percorrer
+     * os eventos das páginas anteriores.
+     * @param visao visão ordenada dos eventos listados
+     * @param cursor cursor de uma página obtida anteriormente (null para a primeira página)
+     * @param tamanhoPagina quantidade máxima de eventos na página
+     * @return página de eventos
+     * @throws IllegalArgumentException se o cursor for inválido
+     */
+    private static PaginaEventos paginar(NavigableMap<ChaveEvento, EntradaEvento> visao, String cursor,
+                                         int tamanhoPagina) {
+        if (tamanhoPagina <= 0) {
+            return new PaginaEventos(List.of(), null, null);
+        }
+        CursorEventos posicao = cursor != null ? CursorEventos.decodificar(cursor) : null;
+        NavigableMap<ChaveEvento, EntradaEvento> restantes;
+        if (posicao == null) {
+            restantes = visao;
+        } else if (posicao.anterior()) {
+            // Para trás, os eventos anteriores ao cursor são percorridos em ordem inversa
+            restantes = visao.headMap(posicao.chave(), false).descendingMap();
+        } else {
+            restantes = visao.tailMap(posicao.chave(), false);
+        }
+        
+        // Um evento além da página indica se existe outra página no mesmo sentido
+        List<Evento> eventos = new ArrayList<>(tamanhoPagina);
+        ChaveEvento primeira = null;
+        ChaveEvento ultima = null;
+        boolean haMais = false;
+        for (EntradaEvento entrada : restantes.values()) {
+            if (eventos.size() == tamanhoPagina) {
+                haMais = true;
+                break;
+            }
+            eventos.add(entrada.getEvento());
+            primeira = primeira == null ? entrada.getChave() : primeira;
+            ultima = entrada.getChave();
+        }
+        
+        if (posicao == null || !posicao.anterior()) {
+            boolean temAnterior = posicao != null;
+            ChaveEvento inicio = primeira != null ? primeira : temAnterior ? posicao.chave() : null;
+            return new PaginaEventos(eventos,
+                    temAnterior ? new CursorEventos(inicio, true).codificar() : null,
+                    haMais ? new CursorEventos(ultima, false).codificar() : null);
+        }
+        if (!haMais) {
+            // Voltando ao início, a página anterior é a primeira página completa
+            return paginar(visao, null, tamanhoPagina);
+        }
+        Collections.reverse(eventos);
+        return new PaginaEventos(eventos, new CursorEventos(ultima, true).codificar(),
+                new CursorEventos(primeira, false).codificar());
+    }
+    
+    /**
+     * Copia os eventos das entradas para uma lista, decodificando os que ainda não estão em memória
+     * @param entradas entradas na ordem desejada
+     * @return lista de eventos
+     */
+    private static List<Evento> listarEventos(Collection<EntradaEvento> entradas) {
+        List<Evento> eventos = new ArrayList<>();
+        for (EntradaEvento entrada : entradas) {
+            eventos.add(entrada.getEvento());
+        }
+        return eventos;
+    }
+    
+    /**
+     * Lista as entradas indexadas em ordem cronológica para a gravação do snapshot, sem
+     * decodificar os eventos. Durante uma atualização simultânea o índice temporal pode conter
+     * por um instante as duas versões do evento; apenas a entrada vigente no índice de IDs é incluída.
+     * @return lista de entradas
+     */
+    private List<EntradaEvento> listarEntradasIndexadas() {
+        List<EntradaEvento> entradas = new ArrayList<>();
+        for (EntradaEvento entrada : eventosPorHorario.values()) {
+            if (eventosPorId.get(entrada.getId()) == entrada) {
+                entradas.add(entrada);
+            }
+        }
+        return entradas;
+    }
+    
+    /**
+     * Busca eventos por nome (cada palavra buscada deve iniciar uma palavra do nome,
+     * sem diferenciar maiúsculas nem acentos)
      * @param nome nome ou parte do nome do evento
-     * @return lista de eventos encontrados
+     * @return lista de eventos encontrados, do mais para o menos relevante
      */
     public List<Evento> buscarEventosPorNome(String nome) {
-        if (nome == null || nome.trim().isEmpty()) {
+        return buscarNoIndiceTextual(nome, CAMPO_NOME);
+    }
+    
+    /**
+     * Busca eventos por texto no nome, endereço e descrição. Cada palavra buscada deve iniciar
+     * uma palavra do evento, sem diferenciar maiúsculas nem acentos. Os eventos são ordenados
+     * por relevância: palavras encontradas no nome valem mais que no endereço, e no endereço
+     * mais que na descrição; palavras completas e raras valem mais que prefixos e palavras comuns.
+     * @param texto palavras buscadas
+     * @return lista de eventos encontrados, do mais para o menos relevante
+     */
+    public List<Evento> buscarEventos(String texto) {
+        return buscarNoIndiceTextual(texto, IndiceTextual.TODOS_CAMPOS);
+    }
+    
+    private List<Evento> buscarNoIndiceTextual(String texto, int campos) {
+        if (texto == null || texto.trim().isEmpty()) {
             return new ArrayList<>();
         }
         
-        String nomeBusca = nome.toLowerCase().trim();
-        return eventos.stream()
-                .filter(evento -> evento.getNome().toLowerCase().contains(nomeBusca))
-                .sorted(Comparator.comparing(Evento::getHorario))
-                .collect(Collectors.toList());
+        long[] ids = indiceTextual().buscar(texto, campos);
+        List<Evento> eventos = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            EntradaEvento entrada = eventosPorId.get(id);
+            if (entrada != null) {
+                eventos.add(entrada.getEvento());
+            }
+        }
+        return eventos;
     }
     
     // Métodos de participação
     
     /**
-     * Adiciona participante a um evento
+     * Inscreve um usuário em um evento.
+     * Em eventos com capacidade limitada, a vaga é reservada por CAS antes de o evento ser
+     * bloqueado, de modo que a admissão é decidida sem alterar os participantes e o bloqueio
+     * só protege o registro da inscrição. Sem vaga, o usuário entra na lista de espera.
      * @param eventoId ID do evento
-     * @param usuario usuário a ser adicionado
-     * @return true se adicionado com sucesso, false caso contrário
+     * @param usuario usuário a ser inscrito
+     * @return resultado da inscrição
      */
-    public boolean adicionarParticipante(long eventoId, Usuario usuario) {
-        Optional<Evento> eventoOpt = buscarEventoPorId(eventoId);
-        if (eventoOpt.isPresent() && usuario != null) {
-            Evento evento = eventoOpt.get();
-            
-            // Verifica se o evento já passou
-            if (evento.jaOcorreu()) {
-                System.err.println("Não é possível participar de um evento que já aconteceu.");
-                return false;
+    public ResultadoInscricao adicionarParticipante(long eventoId, Usuario usuario) {
+        EntradaEvento entrada = eventosPorId.get(eventoId);
+        if (entrada == null || usuario == null) {
+            return ResultadoInscricao.RECUSADA;
+        }
+        Evento evento = entrada.getEvento();
+        
+        // Verifica se o evento já começou, pelo status mantido pela agenda
+        if (agenda.status(entrada.getChave()) != StatusEvento.PROXIMO) {
+            System.err.println("Não é possível participar de um evento que já aconteceu.");
+            return ResultadoInscricao.RECUSADA;
+        }
+        
+        boolean vagaReservada = evento.reservarVaga();
+        ResultadoInscricao resultado;
+        CompletableFuture<Void> gravacao = CompletableFuture.completedFuture(null);
+        synchronized (evento) {
+            // O evento pode ter sido removido ou substituído enquanto o bloqueio era aguardado
+            if (eventosPorId.get(eventoId) != entrada) {
+                if (vagaReservada) {
+                    evento.liberarVaga();
+                }
+                return ResultadoInscricao.RECUSADA;
             }
-            
-            boolean adicionado = evento.adicionarParticipante(usuario);
-            if (adicionado) {
-                salvarEventos();
+            resultado = evento.inscrever(usuario, vagaReservada);
+            if (resultado == ResultadoInscricao.CONFIRMADA) {
+                indexarParticipacao(usuario, eventoId);
+                entrada.ajustarParticipacoes(1);
+                gravacao = registrarMutacao(RegistroJournal.participanteAdicionado(eventoId, usuario));
+            } else if (resultado == ResultadoInscricao.LISTA_ESPERA) {
+                gravacao = registrarMutacao(RegistroJournal.listaEsperaAdicionado(eventoId, usuario));
+            } else if (vagaReservada) {
+                // A vaga devolvida pode ter sido recusada a outra inscrição enquanto estava reservada
+                gravacao = registrarPromocoes(entrada, evento.promoverListaEspera());
+            }
+        }
+        
+        concluirMutacao(gravacao);
+        switch (resultado) {
+            case CONFIRMADA:
                 System.out.println("Participação confirmada no evento: " + evento.getNome());
-            } else {
+                break;
+            case LISTA_ESPERA:
+                System.out.println("Evento lotado. Usuário incluído na lista de espera do evento: "
+                        + evento.getNome());
+                break;
+            case JA_NA_LISTA_ESPERA:
+                System.out.println("Usuário já está na lista de espera deste evento.");
+                break;
+            case JA_INSCRITO:
                 System.out.println("Usuário já está participando deste evento.");
-            }
-            return adicionado;
+                break;
+            default:
+                System.err.println("Usuário inválido. Não foi possível realizar a inscrição.");
+                break;
         }
-        return false;
+        return resultado;
     }
     
     /**
-     * Remove participante de um evento
+     * Remove participante de um evento. A vaga liberada é transferida ao primeiro usuário da
+     * lista de espera; se o usuário apenas aguardava vaga, ele é retirado da lista de espera.
      * @param eventoId ID do evento
      * @param usuario usuário a ser removido
      * @return true se removido com sucesso, false caso contrário
      */
     public boolean removerParticipante(long eventoId, Usuario usuario) {
-        Optional<Evento> eventoOpt = buscarEventoPorId(eventoId);
-        if (eventoOpt.isPresent() && usuario != null) {
-            Evento evento = eventoOpt.get();
-            boolean removido = evento.removerParticipante(usuario);
+        EntradaEvento entrada = eventosPorId.get(eventoId);
+        if (entrada == null || usuario == null) {
+            return false;
+        }
+        Evento evento = entrada.getEvento();
+        
+        boolean removido;
+        boolean aguardava = false;
+        Optional<Usuario> promovido = Optional.empty();
+        CompletableFuture<Void> gravacao = CompletableFuture.completedFuture(null);
+        synchronized (evento) {
+            // O evento pode ter sido removido ou substituído enquanto o bloqueio era aguardado
+            if (eventosPorId.get(eventoId) != entrada) {
+                return false;
+            }
+            removido = evento.isParticipante(usuario);
             if (removido) {
-                salvarEventos();
-                System.out.println("Participação cancelada no evento: " + evento.getNome());
+                promovido = evento.cancelarParticipacao(usuario);
+                desindexarParticipacao(usuario, eventoId);
+                entrada.ajustarParticipacoes(-1);
+                gravacao = registrarMutacao(RegistroJournal.participanteRemovido(eventoId, usuario));
+                gravacao = CompletableFuture.allOf(gravacao,
+                        registrarPromocoes(entrada, promovido.map(List::of).orElse(List.of())));
             } else {
-                System.out.println("Usuário não estava participando deste evento.");
+                aguardava = evento.removerListaEspera(usuario);
+                if (aguardava) {
+                    gravacao = registrarMutacao(RegistroJournal.listaEsperaRemovido(eventoId, usuario));
+                }
             }
-            return removido;
         }
-        return false;
+        
+        if (removido || aguardava) {
+            concluirMutacao(gravacao);
+        }
+        if (removido) {
+            System.out.println("Participação cancelada no evento: " + evento.getNome());
+            promovido.ifPresent(p -> System.out.println("Vaga transferida para " + p.getEmail()
+                    + ", primeiro da lista de espera."));
+        } else if (aguardava) {
+            System.out.println("Usuário retirado da lista de espera do evento: " + evento.getNome());
+        } else {
+            System.out.println("Usuário não estava participando deste evento.");
+        }
+        return removido || aguardava;
+    }
+    
+    /**
+     * Indexa e registra no journal os usuários promovidos da lista de espera.
+     * Chamado com o evento bloqueado, logo após a promoção.
+     * @param entrada entrada do evento em que os usuários foram promovidos
+     * @param promovidos usuários promovidos
+     * @return gravação dos registros das promoções
+     */
+    private CompletableFuture<Void> registrarPromocoes(EntradaEvento entrada, List<Usuario> promovidos) {
+        Evento evento = entrada.getEvento();
+        entrada.ajustarParticipacoes(promovidos.size());
+        CompletableFuture<Void> registradas = CompletableFuture.completedFuture(null);
+        for (Usuario promovido : promovidos) {
+            indexarParticipacao(promovido, evento.getId());
+            // Os registros são gravados em ordem, então basta aguardar o último
+            registradas = registrarMutacao(RegistroJournal.participanteAdicionado(evento.getId(), promovido));
+        }
+        return registradas;
     }
     
     /**
@@ -313,10 +1478,20 @@ public class EventoController {
             return new ArrayList<>();
         }
         
-        return eventos.stream()
-                .filter(evento -> evento.isParticipante(usuario))
-                .sorted(Comparator.comparing(Evento::getHorario))
-                .collect(Collectors.toList());
+        Set<Long> ids = indiceParticipacao().get(usuario.getEmailNormalizado());
+        if (ids == null) {
+            return new ArrayList<>();
+        }
+        
+        List<EntradaEvento> entradas = new ArrayList<>(ids.size());
+        for (long id : ids) {
+            EntradaEvento entrada = eventosPorId.get(id);
+            if (entrada != null) {
+                entradas.add(entrada);
+            }
+        }
+        entradas.sort(Comparator.comparing(EntradaEvento::getChave));
+        return listarEventos(entradas);
     }
     
     // Métodos utilitários
@@ -326,7 +1501,7 @@ public class EventoController {
      * @return número total de eventos
      */
     public int getTotalEventos() {
-        return eventos.size();
+        return eventosPorId.size();
     }
     
     /**
@@ -334,7 +1509,7 @@ public class EventoController {
      * @return true se existem eventos, false caso contrário
      */
     public boolean temEventos() {
-        return !eventos.isEmpty();
+        return !eventosPorId.isEmpty();
     }
     
     /**
@@ -342,31 +1517,55 @@ public class EventoController {
      * @return true se limpou com sucesso
      */
     public boolean limparTodosEventos() {
-        eventos.clear();
+        synchronized (bloqueioEstrutura) {
+            agenda.limpar();
+            eventosPorId.clear();
+            for (Categoria categoria : Categoria.values()) {
+                eventosPorCategoria.get(categoria).clear();
+                totalPorCategoria.get(categoria).set(0);
+            }
+            // Inscrições em andamento nos eventos descartados alteram apenas o total anterior
+            totalParticipacoes = new LongAdder();
+            eventosPorParticipante = null;
+            indiceParticipacaoCompleto = false;
+            indiceTextual = null;
+        }
         return salvarEventos();
     }
     
     /**
-     * Obtém estatísticas dos eventos
+     * Obtém estatísticas dos eventos. Os totais são mantidos a cada alteração e a divisão entre
+     * eventos passados, atuais e próximos é a contagem mantida pela agenda de transições, a mesma
+     * que delimita as listagens, de modo que o custo não depende da quantidade de eventos.
      * @return string com estatísticas
      */
     public String obterEstatisticas() {
+        int total;
+        AgendaStatusEventos.Contagem contagem;
+        long participacoes;
+        synchronized (bloqueioEstrutura) {
+            total = eventosPorId.size();
+            contagem = agenda.contagem();
+            participacoes = totalParticipacoes.sum();
+        }
+        
         StringBuilder stats = new StringBuilder();
         stats.append("=== ESTATÍSTICAS DOS EVENTOS ===\n");
-        stats.append("Total de eventos: ").append(getTotalEventos()).append("\n");
-        stats.append("Eventos próximos: ").append(listarEventosProximos().size()).append("\n");
-        stats.append("Eventos passados: ").append(listarEventosPassados().size()).append("\n");
-        stats.append("Eventos acontecendo agora: ").append(listarEventosAtuais().size()).append("\n");
+        stats.append("Total de eventos: ").append(total).append("\n");
+        stats.append("Eventos próximos: ").append(total - contagem.iniciados()).append("\n");
+        stats.append("Eventos passados: ").append(contagem.iniciados()).append("\n");
+        stats.append("Eventos acontecendo agora: ").append(contagem.iniciados() - contagem.encerrados()).append("\n");
+        stats.append("Total de participações: ").append(participacoes).append("\n");
         
         // Estatísticas por categoria
-        Map<Categoria, Long> eventosPorCategoria = eventos.stream()
-                .collect(Collectors.groupingBy(Evento::getCategoria, Collectors.counting()));
-        
         stats.append("\n--- Por Categoria ---\n");
-        for (Map.Entry<Categoria, Long> entry : eventosPorCategoria.entrySet()) {
-            stats.append(entry.getKey().getDescricao()).append(": ").append(entry.getValue()).append("\n");
+        for (Map.Entry<Categoria, AtomicInteger> entry : totalPorCategoria.entrySet()) {
+            int totalCategoria = entry.getValue().get();
+            if (totalCategoria > 0) {
+                stats.append(entry.getKey().getDescricao()).append(": ").append(totalCategoria).append("\n");
+            }
         }
         
         return stats.toString();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,273 @@
+package com.example.controller;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Predicate;
+
+import com.example.model.Usuario;
+import com.example.util.NormalizadorTexto;
+
+/**
+ * Índices de busca do cadastro de usuários: trigramas (sequências de três caracteres) do nome
+ * normalizado, para a busca por parte do nome, e cidade normalizada, para a busca por cidade.
+ * Nome e cidade são comparados sem diferenciar maiúsculas nem acentos.
+ *
+ * Todos os conjuntos do índice são mantidos em ordem de nome (desempate pelo email), de modo
+ * que as buscas percorrem os usuários já ordenados e param ao completar a página pedida,
+ * sem montar nem ordenar a lista completa de resultados.
+ *
+ * O índice mantém também as estatísticas do cadastro (usuários por cidade e por faixa etária),
+ * ajustadas com os dados de cada usuário no momento da indexação, de modo que a reindexação após
+ * uma alteração desconta os dados anteriores.
+ *
+ * Buscas não bloqueiam; alterações e estatísticas são exclusivas entre si.
+ *
+ * @author Sistema de Eventos
+ * @version 1.0
+ */
+final class IndiceUsuarios {
+    
+    private static final int TAMANHO_TRIGRAMA = 3;
+    
+    // Todos os usuários, em ordem de nome
+    private final Conjunto todos = new Conjunto();
+    
+    // Trigrama do nome normalizado -> usuários cujo nome contém o trigrama
+    private final Map<String, Conjunto> porTrigrama = new ConcurrentHashMap<>();
+    
+    // Cidade normalizada -> usuários da cidade
+    private final Map<String, Conjunto> porCidade = new ConcurrentHashMap<>();
+    
+    // Email normalizado -> entrada indexada, para reindexar o usuário após alterações
+    private final Map<String, Entrada> porEmail = new ConcurrentHashMap<>();
+    
+    // Estatísticas dos usuários indexados
+    private EstatisticasUsuarios estatisticas = new EstatisticasUsuarios();
+    
+    /**
+     * Indexa o usuário, substituindo a indexação anterior do mesmo email se existir
+     * @param usuario usuário a ser indexado
+     */
+    synchronized void indexar(Usuario usuario) {
+        Entrada entrada = new Entrada(usuario);
+        Entrada anterior = porEmail.put(entrada.email, entrada);
+        if (anterior != null) {
+            desindexar(anterior);
+        }
+        
+        todos.adicionar(entrada);
+        for (String trigrama : trigramas(entrada.nomeNormalizado)) {
+            porTrigrama.computeIfAbsent(trigrama, t -> new Conjunto()).adicionar(entrada);
+        }
+        porCidade.computeIfAbsent(entrada.cidadeNormalizada, c -> new Conjunto()).adicionar(entrada);
+        estatisticas.adicionar(entrada.cidade, entrada.idade);
+    }
+    
+    /**
+     * Remove o usuário dos índices
+     * @param usuario usuário a ser removido
+     */
+    synchronized void remover(Usuario usuario) {
+        Entrada entrada = porEmail.remove(usuario.getEmailNormalizado());
+        if (entrada != null) {
+            desindexar(entrada);
+        }
+    }
+    
+    /**
+     * Remove todos os usuários dos índices
+     */
+    synchronized void limpar() {
+        porEmail.clear();
+        porTrigrama.clear();
+        porCidade.clear();
+        todos.entradas.clear();
+        todos.tamanho = 0;
+        estatisticas.limpar();
+    }
+    
+    /**
+     * Obtém as estatísticas dos usuários indexados, sem percorrê-los
+     * @return cópia das estatísticas
+     */
+    synchronized EstatisticasUsuarios estatisticas() {
+        return estatisticas.copiar();
+    }
+    
+    /**
+     * Recalcula as estatísticas em uma única passagem paralela sobre os usuários do cadastro e
+     * as compara com as mantidas a cada alteração, que são substituídas se divergirem.
+     * O recálculo usa os dados atuais dos usuários, e não os guardados na indexação, para que
+     * uma indexação desatualizada também seja percebida.
+     * @param usuarios todos os usuários do cadastro, sem alterações durante a verificação
+     * @return true se as estatísticas mantidas estavam corretas
+     */
+    synchronized boolean verificarEstatisticas(Collection<Usuario> usuarios) {
+        EstatisticasUsuarios recalculadas = EstatisticasUsuarios.calcular(usuarios,
+                usuario -> Objects.toString(usuario.getCidade(), ""), Usuario::getIdade);
+        if (recalculadas.equals(estatisticas)) {
+            return true;
+        }
+        estatisticas = recalculadas;
+        return false;
+    }
+    
+    /**
+     * Busca usuários cujo nome contém o texto
+     * @param nome texto buscado
+     * @param inicio quantidade de resultados iniciais a pular
+     * @param limite quantidade máxima de resultados
+     * @return usuários encontrados, em ordem de nome
+     */
+    List<Usuario> buscarPorNome(String nome, int inicio, int limite) {
+        String busca = NormalizadorTexto.normalizar(nome.trim());
+        if (busca.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        // Percorre o conjunto do trigrama mais raro; a verificação do texto completo descarta
+        // os nomes que contêm todos os trigramas fora da sequência buscada
+        Conjunto candidatos = todos;
+        for (String trigrama : trigramas(busca)) {
+            Conjunto conjunto = porTrigrama.get(trigrama);
+            if (conjunto == null) {
+                return new ArrayList<>();
+            }
+            if (conjunto.tamanho < candidatos.tamanho) {
+                candidatos = conjunto;
+            }
+        }
+        return paginar(candidatos, entrada -> entrada.nomeNormalizado.contains(busca), inicio, limite);
+    }
+    
+    /**
+     * Busca usuários da cidade
+     * @param cidade cidade buscada
+     * @param inicio quantidade de resultados iniciais a pular
+     * @param limite quantidade máxima de resultados
+     * @return usuários da cidade, em ordem de nome
+     */
+    List<Usuario> buscarPorCidade(String cidade, int inicio, int limite) {
+        Conjunto conjunto = porCidade.get(NormalizadorTexto.normalizar(cidade).trim());
+        if (conjunto == null) {
+            return new ArrayList<>();
+        }
+        return paginar(conjunto, entrada -> true, inicio, limite);
+    }
+    
+    /**
+     * Lista os usuários em ordem de nome
+     * @param inicio quantidade de usuários iniciais a pular
+     * @param limite quantidade máxima de usuários
+     * @return usuários, em ordem de nome
+     */
+    List<Usuario> listar(int inicio, int limite) {
+        return paginar(todos, entrada -> true, inicio, limite);
+    }
+    
+    // Métodos auxiliares
+    
+    private void desindexar(Entrada entrada) {
+        todos.remover(entrada);
+        for (String trigrama : trigramas(entrada.nomeNormalizado)) {
+            remover(porTrigrama, trigrama, entrada);
+        }
+        remover(porCidade, entrada.cidadeNormalizada, entrada);
+        estatisticas.remover(entrada.cidade, entrada.idade);
+    }
+    
+    private static void remover(Map<String, Conjunto> indice, String chave, Entrada entrada) {
+        Conjunto conjunto = indice.get(chave);
+        if (conjunto != null) {
+            conjunto.remover(entrada);
+            if (conjunto.tamanho == 0) {
+                indice.remove(chave);
+            }
+        }
+    }
+    
+    private static Set<String> trigramas(String texto) {
+        Set<String> trigramas = new HashSet<>();
+        for (int i = 0; i + TAMANHO_TRIGRAMA <= texto.length(); i++) {
+            trigramas.add(texto.substring(i, i + TAMANHO_TRIGRAMA));
+        }
+        return trigramas;
+    }
+    
+    private static List<Usuario> paginar(Conjunto conjunto, Predicate<Entrada> filtro, int inicio, int limite) {
+        List<Usuario> pagina = new ArrayList<>(Math.min(limite, 64));
+        int ignorados = 0;
+        for (Entrada entrada : conjunto.entradas) {
+            if (pagina.size() >= limite) {
+                break;
+            }
+            if (filtro.test(entrada)) {
+                if (ignorados < inicio) {
+                    ignorados++;
+                } else {
+                    pagina.add(entrada.usuario);
+                }
+            }
+        }
+        return pagina;
+    }
+    
+    /**
+     * Conjunto de usuários em ordem de nome, com o tamanho mantido à parte
+     * (o tamanho de um ConcurrentSkipListSet é calculado percorrendo o conjunto)
+     */
+    private static final class Conjunto {
+        final NavigableSet<Entrada> entradas = new ConcurrentSkipListSet<>();
+        volatile int tamanho;
+        
+        void adicionar(Entrada entrada) {
+            if (entradas.add(entrada)) {
+                tamanho++;
+            }
+        }
+        
+        void remover(Entrada entrada) {
+            if (entradas.remove(entrada)) {
+                tamanho--;
+            }
+        }
+    }
+    
+    /**
+     * Usuário indexado, com os dados usados pelos índices e estatísticas no momento da indexação.
+     * Ordenado pelo nome e, em caso de empate, pelo email.
+     */
+    private static final class Entrada implements Comparable<Entrada> {
+        final Usuario usuario;
+        final String nome;
+        final String email;
+        final String nomeNormalizado;
+        final String cidadeNormalizada;
+        final String cidade;
+        final int idade;
+        
+        Entrada(Usuario usuario) {
+            this.usuario = usuario;
+            this.nome = Objects.toString(usuario.getNome(), "");
+            this.email = usuario.getEmailNormalizado();
+            this.nomeNormalizado = NormalizadorTexto.normalizar(nome);
+            this.cidadeNormalizada = NormalizadorTexto.normalizar(usuario.getCidade()).trim();
+            this.cidade = Objects.toString(usuario.getCidade(), "");
+            this.idade = usuario.getIdade();
+        }
+        
+        @Override
+        public int compareTo(Entrada outra) {
+            int comparacao = nome.compareTo(outra.nome);
+            return comparacao != 0 ? comparacao : email.compareTo(outra.email);
+        }
+    }
+}
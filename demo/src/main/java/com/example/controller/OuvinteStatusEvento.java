@@ -0,0 +1,26 @@
+package com.example.controller;
+
+import com.example.model.Evento;
+import com.example.model.StatusEvento;
+
+/**
+ * Ouvinte das mudanças de status dos eventos (ex.: início e término), registrado no
+ * {@link EventoController}. É chamado pela thread da agenda de status, no momento da
+ * transição, e não deve bloquear por muito tempo: as transições seguintes aguardam o retorno.
+ *
+ * @author Sistema de Eventos
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface OuvinteStatusEvento {
+    
+    /**
+     * Chamado quando um evento muda de status. Um evento pode passar diretamente de
+     * {@link StatusEvento#PROXIMO} para {@link StatusEvento#ENCERRADO} se as duas transições
+     * ocorrerem antes de a agenda ser executada (ex.: com o sistema suspenso).
+     * @param evento evento que mudou de status
+     * @param anterior status anterior
+     * @param novo novo status
+     */
+    void statusAlterado(Evento evento, StatusEvento anterior, StatusEvento novo);
+}
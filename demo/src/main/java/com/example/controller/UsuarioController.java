@@ -1,67 +1,116 @@
 package com.example.controller;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
+import java.nio.file.Files;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.example.model.Usuario;
+import com.example.persistence.ArquivoBinario;
+import com.example.persistence.CodecUsuario;
+import com.example.persistence.GravacaoEmGrupo;
+import com.example.persistence.ModoGravacao;
+import com.example.persistence.SerializacaoLegada;
 
 /**
  * Controller responsável por gerenciar os usuários do sistema.
  * Implementa funcionalidades de CRUD e validação de usuários.
  * 
+ * As alterações são gravadas por uma thread em segundo plano, que agrupa as alterações
+ * feitas em sequência em uma única regravação do arquivo. Conforme o {@link ModoGravacao},
+ * as operações aguardam ou não essa gravação.
+ * 
  * @author Sistema de Eventos
  * @version 1.0
  */
 public class UsuarioController {
     
-    // Lista de usuários em memória
-    private final List<Usuario> usuarios;
+    // Usuários em memória por email normalizado. As alterações são sincronizadas no próprio mapa,
+    // junto com as do índice de busca; concorrente porque as buscas por email (inclusive as do
+    // EventoController ao decodificar participantes) são feitas sem bloqueio
+    private final Map<String, Usuario> usuarios;
+    
+    // Índices de busca por nome e por cidade, em ordem de nome (a ordem das listagens vem daqui)
+    private final IndiceUsuarios indiceBusca;
     
     // Arquivo de persistência dos usuários
     private static final String ARQUIVO_USUARIOS = "usuarios.data";
     private final File arquivo;
     
+    // Gravação em grupo do arquivo de usuários e modo de espera das alterações
+    private final GravacaoEmGrupo gravacao;
+    private volatile ModoGravacao modoGravacao = ModoGravacao.DURAVEL;
+    
+    // Serializa as regravações do arquivo (thread de gravação e salvamentos explícitos)
+    private final Object bloqueioArquivo = new Object();
+    
     // Usuário logado no sistema
     private Usuario usuarioLogado;
     
+    // Indica que o arquivo carregado estava no formato de serialização Java e deve ser migrado
+    private boolean formatoLegado;
+    
+    // Indica que o arquivo carregado estava danificado e os usuários recuperados devem ser regravados
+    private boolean arquivoRecuperado;
+    
     /**
      * Construtor que inicializa o controller e carrega usuários do arquivo
      */
     public UsuarioController() {
-        this.arquivo = new File(ARQUIVO_USUARIOS);
-        this.usuarios = carregarUsuarios();
+        this(new File("."));
+    }
+    
+    /**
+     * Construtor que inicializa o controller com o arquivo de dados em outro diretório
+     * (ex.: benchmarks, que não devem alterar os dados do diretório atual)
+     * @param diretorio diretório do arquivo de dados
+     */
+    public UsuarioController(File diretorio) {
+        this.arquivo = new File(diretorio, ARQUIVO_USUARIOS);
+        this.gravacao = new GravacaoEmGrupo("usuarios", this::gravarUsuarios);
+        this.usuarios = new ConcurrentHashMap<>();
+        this.indiceBusca = new IndiceUsuarios();
+        for (Usuario usuario : carregarUsuarios()) {
+            usuarios.put(usuario.getEmailNormalizado(), usuario);
+            indiceBusca.indexar(usuario);
+        }
         this.usuarioLogado = null;
+        
+        if (formatoLegado) {
+            migrarFormatoLegado();
+        } else if (arquivoRecuperado) {
+            salvarUsuarios();
+        }
     }
     
     // Métodos de persistência
     
     /**
-     * Carrega usuários do arquivo de dados
+     * Carrega usuários do arquivo de dados (formato binário ou serialização Java legada)
      * @return lista de usuários carregados ou lista vazia se arquivo não existir
      */
-    @SuppressWarnings("unchecked")
     private List<Usuario> carregarUsuarios() {
         List<Usuario> usuariosCarregados = new ArrayList<>();
         
         if (arquivo.exists() && arquivo.length() > 0) {
-            try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(arquivo))) {
-                Object objeto = ois.readObject();
-                if (objeto instanceof List<?>) {
-                    usuariosCarregados = (List<Usuario>) objeto;
-                    System.out.println("Usuários carregados com sucesso: " + usuariosCarregados.size() + " usuários encontrados.");
+            try {
+                if (SerializacaoLegada.isSerializacaoJava(arquivo)) {
+                    usuariosCarregados = SerializacaoLegada.lerLista(arquivo, Usuario.class);
+                    formatoLegado = true;
+                } else {
+                    usuariosCarregados = ArquivoBinario.ler(arquivo, ArquivoBinario.TIPO_USUARIOS,
+                            CodecUsuario.INSTANCIA).getRegistros();
                 }
-            } catch (IOException | ClassNotFoundException e) {
+                System.out.println("Usuários carregados com sucesso: " + usuariosCarregados.size() + " usuários encontrados.");
+            } catch (IOException e) {
                 System.err.println("Erro ao carregar usuários do arquivo: " + e.getMessage());
+                usuariosCarregados = recuperarUsuarios();
             }
         } else {
             System.out.println("Arquivo de usuários não encontrado. Iniciando com lista vazia.");
@@ -75,8 +124,8 @@ public class UsuarioController {
      * @return true se salvou com sucesso, false caso contrário
      */
     public boolean salvarUsuarios() {
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(arquivo))) {
-            oos.writeObject(usuarios);
+        try {
+            gravarUsuarios();
             System.out.println("Usuários salvos com sucesso no arquivo " + ARQUIVO_USUARIOS);
             return true;
         } catch (IOException e) {
@@ -85,6 +134,125 @@ public class UsuarioController {
         }
     }
     
+    /**
+     * Regrava o arquivo com uma cópia dos usuários (a ordem no arquivo não importa: a ordem de
+     * exibição é reconstruída pelo índice de busca ao carregar)
+     * @throws IOException se ocorrer erro de gravação
+     */
+    private void gravarUsuarios() throws IOException {
+        List<Usuario> copia;
+        synchronized (usuarios) {
+            copia = new ArrayList<>(usuarios.values());
+        }
+        synchronized (bloqueioArquivo) {
+            ArquivoBinario.gravar(arquivo, ArquivoBinario.TIPO_USUARIOS, 0, copia, CodecUsuario.INSTANCIA);
+        }
+    }
+    
+    /**
+     * Agenda a gravação das alterações no próximo lote e, no modo durável, aguarda a gravação
+     */
+    private void agendarGravacao() {
+        CompletableFuture<Void> gravado = gravacao.solicitar();
+        if (modoGravacao == ModoGravacao.DURAVEL) {
+            try {
+                gravado.join();
+            } catch (CompletionException e) {
+                System.err.println("Erro ao salvar usuários: " + e.getCause().getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Obtém o modo de gravação das alterações
+     * @return modo de gravação atual
+     */
+    public ModoGravacao getModoGravacao() {
+        return modoGravacao;
+    }
+    
+    /**
+     * Define se as alterações aguardam a gravação em disco antes de retornar
+     * @param modoGravacao modo de gravação
+     */
+    public void setModoGravacao(ModoGravacao modoGravacao) {
+        this.modoGravacao = modoGravacao;
+    }
+    
+    /**
+     * Antecipa a gravação das alterações pendentes (útil no modo assíncrono)
+     * @return future concluído quando todas as alterações feitas até agora estiverem gravadas
+     */
+    public CompletableFuture<Void> sincronizar() {
+        return gravacao.sincronizar();
+    }
+    
+    /**
+     * Grava as alterações pendentes e encerra a thread de gravação
+     */
+    public void encerrar() {
+        gravacao.close();
+    }
+    
+    /**
+     * Recupera os usuários de um arquivo danificado. O arquivo é separado para análise, os usuários
+     * lidos antes do ponto do dano são mantidos e os demais são buscados na geração anterior do arquivo.
+     * @return usuários recuperados ou lista vazia se nada puder ser recuperado
+     */
+    private List<Usuario> recuperarUsuarios() {
+        File danificado = separarArquivoDanificado();
+        try {
+            ArquivoBinario.Conteudo<Usuario> recuperado = ArquivoBinario.recuperar(danificado,
+                    ArquivoBinario.geracaoAnterior(arquivo), ArquivoBinario.TIPO_USUARIOS,
+                    CodecUsuario.INSTANCIA, Usuario::getEmailNormalizado);
+            arquivoRecuperado = true;
+            System.out.println("Usuários recuperados: " + recuperado.getRegistros().size() + " usuários ("
+                    + recuperado.getRestaurados() + " da versão anterior do arquivo).");
+            return new ArrayList<>(recuperado.getRegistros());
+        } catch (IOException e) {
+            System.err.println("Não foi possível recuperar os usuários: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+    
+    /**
+     * Move o arquivo danificado para um backup, para que a próxima gravação não o torne
+     * a geração anterior do arquivo
+     * @return arquivo danificado (o backup, ou o original se não puder ser movido)
+     */
+    private File separarArquivoDanificado() {
+        File backup = new File(arquivo.getPath() + ".backup." + System.currentTimeMillis());
+        try {
+            Files.move(arquivo.toPath(), backup.toPath());
+            System.out.println("Backup criado: " + backup.getName());
+            return backup;
+        } catch (Exception e) {
+            System.err.println("Erro ao criar backup: " + e.getMessage());
+            return arquivo;
+        }
+    }
+    
+    /**
+     * Converte o arquivo de serialização Java para o formato binário, mantendo uma cópia do original
+     */
+    private void migrarFormatoLegado() {
+        File copiaLegado = new File(arquivo.getPath() + ".serializado.bak");
+        try {
+            if (!copiaLegado.exists()) {
+                Files.copy(arquivo.toPath(), copiaLegado.toPath());
+            }
+        } catch (IOException e) {
+            System.err.println("Erro ao copiar arquivo de usuários antes da migração: " + e.getMessage());
+            return;
+        }
+        
+        if (salvarUsuarios()) {
+            formatoLegado = false;
+            System.out.println("Arquivo de usuários migrado para o formato binário. Original mantido em "
+                    + copiaLegado.getName());
+        }
+    }
+    
     // Métodos CRUD
     
     /**
@@ -98,18 +266,18 @@ public class UsuarioController {
             return false;
         }
         
-        // Verifica se já existe usuário com o mesmo email
-        if (buscarUsuarioPorEmail(usuario.getEmail()).isPresent()) {
-            System.err.println("Já existe um usuário cadastrado com este email.");
-            return false;
-        }
-        
-        boolean adicionado = usuarios.add(usuario);
-        if (adicionado) {
-            salvarUsuarios();
-            System.out.println("Usuário '" + usuario.getNome() + "' cadastrado com sucesso!");
+        // De dois cadastros simultâneos com o mesmo email, só um o obtém
+        String chave = usuario.getEmailNormalizado();
+        synchronized (usuarios) {
+            if (usuarios.putIfAbsent(chave, usuario) != null) {
+                System.err.println("Já existe um usuário cadastrado com este email.");
+                return false;
+            }
+            indiceBusca.indexar(usuario);
         }
-        return adicionado;
+        agendarGravacao();
+        System.out.println("Usuário '" + usuario.getNome() + "' cadastrado com sucesso!");
+        return true;
     }
     
     /**
@@ -122,20 +290,24 @@ public class UsuarioController {
             return false;
         }
         
-        for (int i = 0; i < usuarios.size(); i++) {
-            if (usuarios.get(i).getEmail().equals(usuarioAtualizado.getEmail())) {
-                usuarios.set(i, usuarioAtualizado);
-                salvarUsuarios();
-                System.out.println("Usuário atualizado com sucesso!");
-                
-                // Atualiza usuário logado se for o mesmo
-                if (usuarioLogado != null && usuarioLogado.getEmail().equals(usuarioAtualizado.getEmail())) {
-                    usuarioLogado = usuarioAtualizado;
-                }
-                return true;
+        String chave = usuarioAtualizado.getEmailNormalizado();
+        synchronized (usuarios) {
+            Usuario anterior = usuarios.get(chave);
+            if (anterior == null) {
+                return false;
             }
+            
+            // Atualiza a instância cadastrada, que é a mesma referenciada pelos eventos e pelo usuário
+            // logado. A atualização bloqueia o usuário, como a sua gravação no arquivo
+            if (anterior != usuarioAtualizado) {
+                anterior.atualizarDados(usuarioAtualizado);
+            }
+            // Nome e cidade podem ter mudado
+            indiceBusca.indexar(anterior);
         }
-        return false;
+        agendarGravacao();
+        System.out.println("Usuário atualizado com sucesso!");
+        return true;
     }
     
     /**
@@ -146,13 +318,20 @@ public class UsuarioController {
     public boolean removerUsuario(String email) {
         Optional<Usuario> usuarioOpt = buscarUsuarioPorEmail(email);
         if (usuarioOpt.isPresent()) {
-            boolean removido = usuarios.remove(usuarioOpt.get());
+            Usuario usuario = usuarioOpt.get();
+            boolean removido;
+            synchronized (usuarios) {
+                removido = usuarios.remove(usuario.getEmailNormalizado(), usuario);
+                if (removido) {
+                    indiceBusca.remover(usuario);
+                }
+            }
             if (removido) {
-                salvarUsuarios();
+                agendarGravacao();
                 System.out.println("Usuário removido com sucesso!");
                 
                 // Faz logout se for o usuário logado
-                if (usuarioLogado != null && usuarioLogado.getEmail().equals(email)) {
+                if (usuarioLogado == usuario) {
                     usuarioLogado = null;
                 }
             }
@@ -165,7 +344,7 @@ public class UsuarioController {
     // Métodos de busca
     
     /**
-     * Busca usuário por email
+     * Busca usuário por email (case-insensitive)
      * @param email email do usuário
      * @return Optional contendo o usuário se encontrado
      */
@@ -174,52 +353,79 @@ public class UsuarioController {
             return Optional.empty();
         }
         
-        return usuarios.stream()
-                .filter(usuario -> usuario.getEmail().equalsIgnoreCase(email.trim()))
-                .findFirst();
+        return Optional.ofNullable(usuarios.get(Usuario.normalizarEmail(email)));
     }
     
     /**
-     * Busca usuários por nome (busca parcial, case-insensitive)
+     * Busca usuários por nome (busca parcial, sem diferenciar maiúsculas nem acentos)
      * @param nome nome ou parte do nome do usuário
-     * @return lista de usuários encontrados
+     * @return lista de usuários encontrados, ordenada por nome
      */
     public List<Usuario> buscarUsuariosPorNome(String nome) {
-        if (nome == null || nome.trim().isEmpty()) {
+        return buscarUsuariosPorNome(nome, 0, Integer.MAX_VALUE);
+    }
+    
+    /**
+     * Busca uma página de usuários por nome (busca parcial, sem diferenciar maiúsculas nem acentos).
+     * Os resultados vêm do índice de trigramas já em ordem de nome, e a busca termina ao
+     * completar a página.
+     * @param nome nome ou parte do nome do usuário
+     * @param inicio quantidade de resultados iniciais a pular
+     * @param limite quantidade máxima de resultados
+     * @return página de usuários encontrados, ordenada por nome
+     */
+    public List<Usuario> buscarUsuariosPorNome(String nome, int inicio, int limite) {
+        if (nome == null || nome.trim().isEmpty() || limite <= 0) {
             return new ArrayList<>();
         }
         
-        String nomeBusca = nome.toLowerCase().trim();
-        return usuarios.stream()
-                .filter(usuario -> usuario.getNome().toLowerCase().contains(nomeBusca))
-                .sorted(Comparator.comparing(Usuario::getNome))
-                .toList();
+        return indiceBusca.buscarPorNome(nome, Math.max(0, inicio), limite);
     }
     
     /**
-     * Busca usuários por cidade
+     * Busca usuários por cidade (sem diferenciar maiúsculas nem acentos)
      * @param cidade cidade dos usuários
-     * @return lista de usuários da cidade especificada
+     * @return lista de usuários da cidade especificada, ordenada por nome
      */
     public List<Usuario> buscarUsuariosPorCidade(String cidade) {
-        if (cidade == null || cidade.trim().isEmpty()) {
+        return buscarUsuariosPorCidade(cidade, 0, Integer.MAX_VALUE);
+    }
+    
+    /**
+     * Busca uma página de usuários por cidade (sem diferenciar maiúsculas nem acentos)
+     * @param cidade cidade dos usuários
+     * @param inicio quantidade de resultados iniciais a pular
+     * @param limite quantidade máxima de resultados
+     * @return página de usuários da cidade especificada, ordenada por nome
+     */
+    public List<Usuario> buscarUsuariosPorCidade(String cidade, int inicio, int limite) {
+        if (cidade == null || cidade.trim().isEmpty() || limite <= 0) {
             return new ArrayList<>();
         }
         
-        return usuarios.stream()
-                .filter(usuario -> usuario.getCidade().equalsIgnoreCase(cidade.trim()))
-                .sorted(Comparator.comparing(Usuario::getNome))
-                .toList();
+        return indiceBusca.buscarPorCidade(cidade, Math.max(0, inicio), limite);
     }
     
     /**
      * Lista todos os usuários cadastrados
-     * @return lista de todos os usuários
+     * @return lista de todos os usuários, ordenada por nome
      */
     public List<Usuario> listarTodosUsuarios() {
-        return usuarios.stream()
-                .sorted(Comparator.comparing(Usuario::getNome))
-                .toList();
+        return listarUsuarios(0, Integer.MAX_VALUE);
+    }
+    
+    /**
+     * Lista uma página dos usuários cadastrados, em ordem de nome
+     * @param inicio quantidade de usuários iniciais a pular
+     * @param limite quantidade máxima de usuários
+     * @return página de usuários, ordenada por nome
+     */
+    public List<Usuario> listarUsuarios(int inicio, int limite) {
+        if (limite <= 0) {
+            return new ArrayList<>();
+        }
+        
+        return indiceBusca.listar(Math.max(0, inicio), limite);
     }
     
     // Métodos de autenticação/login
@@ -332,40 +538,56 @@ public class UsuarioController {
      * @return string com estatísticas
      */
     public String obterEstatisticas() {
+        // Contadores mantidos a cada alteração: apenas as cidades são ordenadas
+        EstatisticasUsuarios estatisticas = indiceBusca.estatisticas();
         StringBuilder stats = new StringBuilder();
         stats.append("=== ESTATÍSTICAS DOS USUÁRIOS ===\n");
-        stats.append("Total de usuários: ").append(getTotalUsuarios()).append("\n");
+        stats.append("Total de usuários: ").append(estatisticas.getTotal()).append("\n");
         
-        if (!usuarios.isEmpty()) {
+        if (estatisticas.getTotal() > 0) {
             // Estatísticas por cidade
-            Map<String, Long> usuariosPorCidade = usuarios.stream()
-                    .collect(Collectors.groupingBy(Usuario::getCidade, Collectors.counting()));
-            
             stats.append("\n--- Por Cidade ---\n");
-            usuariosPorCidade.entrySet().stream()
-                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+            estatisticas.getTotalPorCidade().entrySet().stream()
+                    .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
                     .forEach(entry -> stats.append(entry.getKey()).append(": ").append(entry.getValue()).append("\n"));
             
             // Estatísticas por faixa etária
-            long jovens = usuarios.stream().filter(u -> u.getIdade() <= 25).count();
-            long adultos = usuarios.stream().filter(u -> u.getIdade() > 25 && u.getIdade() <= 60).count();
-            long idosos = usuarios.stream().filter(u -> u.getIdade() > 60).count();
-            
             stats.append("\n--- Por Faixa Etária ---\n");
-            stats.append("Jovens (até 25 anos): ").append(jovens).append("\n");
-            stats.append("Adultos (26-60 anos): ").append(adultos).append("\n");
-            stats.append("Idosos (60+ anos): ").append(idosos).append("\n");
+            stats.append("Jovens (até 25 anos): ").append(estatisticas.getJovens()).append("\n");
+            stats.append("Adultos (26-60 anos): ").append(estatisticas.getAdultos()).append("\n");
+            stats.append("Idosos (60+ anos): ").append(estatisticas.getIdosos()).append("\n");
         }
         
         return stats.toString();
     }
     
+    /**
+     * Confere as estatísticas mantidas a cada alteração, recalculando-as em uma única passagem
+     * paralela sobre os usuários cadastrados. Se divergirem, as estatísticas recalculadas passam
+     * a ser usadas. O cadastro fica bloqueado durante o recálculo, para que as duas contagens
+     * correspondam ao mesmo conjunto de usuários.
+     * @return true se as estatísticas mantidas estavam corretas
+     */
+    public boolean verificarEstatisticas() {
+        boolean corretas;
+        synchronized (usuarios) {
+            corretas = indiceBusca.verificarEstatisticas(usuarios.values());
+        }
+        if (!corretas) {
+            System.err.println("Estatísticas de usuários divergentes; substituídas pelas recalculadas.");
+        }
+        return corretas;
+    }
+    
     /**
      * Limpa todos os usuários (use com cuidado!)
      * @return true se limpou com sucesso
      */
     public boolean limparTodosUsuarios() {
-        usuarios.clear();
+        synchronized (usuarios) {
+            usuarios.clear();
+            indiceBusca.limpar();
+        }
         usuarioLogado = null;
         return salvarUsuarios();
     }
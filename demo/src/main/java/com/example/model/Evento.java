@@ -1,16 +1,35 @@
 package com.example.model;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Classe que representa um evento no sistema.
  * Contém todos os atributos obrigatórios e métodos para gerenciamento de participantes.
- * Implementa Serializable para permitir persistência em arquivo.
+ * Implementa Serializable apenas para a migração do eventos.data gravado com serialização
+ * Java pelas versões anteriores do sistema.
+ * 
+ * As operações sobre os participantes são sincronizadas no próprio evento, de modo que
+ * inscrições simultâneas em eventos diferentes não disputam o mesmo bloqueio.
+ * 
+ * Eventos com capacidade limitada controlam as vagas com um contador atualizado por CAS:
+ * a vaga é reservada antes de o evento ser bloqueado, e as inscrições excedentes vão para
+ * uma lista de espera, promovida automaticamente quando uma vaga é liberada.
  * 
  * @author Sistema de Eventos
  * @version 1.0
@@ -18,6 +37,20 @@ import java.util.Objects;
 public class Evento implements Serializable {
     private static final long serialVersionUID = 1L;
     
+    // Forma serializada das versões anteriores, em que os participantes eram uma lista de Usuario
+    private static final ObjectStreamField[] serialPersistentFields = {
+        new ObjectStreamField("nome", String.class),
+        new ObjectStreamField("endereco", String.class),
+        new ObjectStreamField("categoria", Categoria.class),
+        new ObjectStreamField("horario", LocalDateTime.class),
+        new ObjectStreamField("descricao", String.class),
+        new ObjectStreamField("participantes", List.class),
+        new ObjectStreamField("id", long.class)
+    };
+    
+    // Formato de exibição do horário, imutável e compartilhado por todos os eventos
+    private static final DateTimeFormatter FORMATO_HORARIO = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+    
     // Atributos obrigatórios do evento
     private String nome;
     private String endereco;
@@ -25,19 +58,34 @@ public class Evento implements Serializable {
     private LocalDateTime horario;
     private String descricao;
     
-    // Lista de participantes confirmados
-    private List<Usuario> participantes;
+    // Horário formatado, calculado no primeiro uso e descartado quando o horário muda
+    private transient volatile String horarioFormatado;
+    
+    // Participantes confirmados, indexados pelo email normalizado e mantidos em ordem de inscrição
+    private transient Map<String, Usuario> participantes;
     
-    // ID único do evento (gerado automaticamente)
+    // Capacidade máxima de participantes (0 = sem limite). Volátil porque é lida sem bloqueio
+    // na reserva de vagas, enquanto pode ser alterada por outra thread
+    private volatile int capacidade;
+    
+    // Vagas ocupadas: participantes confirmados mais as vagas reservadas por inscrições em andamento
+    private transient AtomicInteger vagasOcupadas;
+    
+    // Usuários aguardando vaga, indexados pelo email normalizado e mantidos em ordem de chegada
+    private transient Map<String, Usuario> listaEspera;
+    
+    // ID único do evento (gerado automaticamente, sem bloqueio e seguro entre threads)
     private long id;
-    private static long contadorId = 1;
+    private static final AtomicLong contadorId = new AtomicLong(1);
     
     /**
      * Construtor padrão
      */
     public Evento() {
-        this.participantes = new ArrayList<>();
-        this.id = contadorId++;
+        this.participantes = new LinkedHashMap<>();
+        this.vagasOcupadas = new AtomicInteger();
+        this.listaEspera = new LinkedHashMap<>();
+        this.id = contadorId.getAndIncrement();
     }
     
     /**
@@ -58,6 +106,58 @@ public class Evento implements Serializable {
         this.descricao = descricao;
     }
     
+    /**
+     * Construtor usado na leitura de eventos persistidos, preservando o ID gravado
+     * @param id ID do evento
+     * @param nome Nome do evento
+     * @param endereco Endereço onde o evento ocorrerá
+     * @param categoria Categoria do evento
+     * @param horario Data e horário do evento
+     * @param descricao Descrição detalhada do evento
+     */
+    public Evento(long id, String nome, String endereco, Categoria categoria,
+                  LocalDateTime horario, String descricao) {
+        this.participantes = new LinkedHashMap<>();
+        this.vagasOcupadas = new AtomicInteger();
+        this.listaEspera = new LinkedHashMap<>();
+        this.id = id;
+        reservarId(id);
+        this.nome = nome;
+        this.endereco = endereco;
+        this.categoria = categoria;
+        this.horario = horario;
+        this.descricao = descricao;
+    }
+    
+    // Alocação de IDs
+    
+    /**
+     * Garante que o ID informado nunca será gerado para um novo evento.
+     * Chamado para todo evento carregado, de modo que os IDs continuem únicos após reiniciar o sistema.
+     * @param idExistente ID de um evento já existente
+     */
+    public static void reservarId(long idExistente) {
+        contadorId.accumulateAndGet(idExistente + 1, Math::max);
+    }
+    
+    /**
+     * Reserva um bloco de IDs consecutivos com uma única operação no contador
+     * (ex.: importação em lote, em que os eventos são criados em paralelo)
+     * @param quantidade quantidade de IDs
+     * @return primeiro ID do bloco
+     */
+    public static long reservarBlocoIds(int quantidade) {
+        return contadorId.getAndAdd(quantidade);
+    }
+    
+    /**
+     * Obtém o próximo ID que será gerado
+     * @return próximo ID disponível
+     */
+    public static long getProximoId() {
+        return contadorId.get();
+    }
+    
     // Getters e Setters
     
     /**
@@ -130,6 +230,7 @@ public class Evento implements Serializable {
      */
     public void setHorario(LocalDateTime horario) {
         this.horario = horario;
+        this.horarioFormatado = null;
     }
     
     /**
@@ -149,42 +250,263 @@ public class Evento implements Serializable {
     }
     
     /**
-     * Obtém a lista de participantes
-     * @return lista de participantes
+     * Obtém a capacidade máxima de participantes
+     * @return capacidade do evento (0 = sem limite)
+     */
+    public int getCapacidade() {
+        return capacidade;
+    }
+    
+    /**
+     * Define a capacidade máxima de participantes.
+     * Reduzir a capacidade não remove participantes já confirmados; novas inscrições
+     * só são aceitas quando o número de participantes ficar abaixo do novo limite.
+     * @param capacidade capacidade do evento (0 = sem limite)
+     */
+    public void setCapacidade(int capacidade) {
+        this.capacidade = capacidade;
+    }
+    
+    /**
+     * Obtém os participantes em ordem de inscrição
+     * @return cópia somente leitura dos participantes no momento da chamada (não uma visão, que
+     *         poderia mudar enquanto é percorrida por outra thread)
      */
-    public List<Usuario> getParticipantes() {
-        return participantes;
+    public synchronized List<Usuario> getParticipantes() {
+        return List.copyOf(participantes.values());
     }
     
     /**
-     * Define a lista de participantes
+     * Percorre os participantes em ordem de inscrição sem copiá-los. O evento fica bloqueado
+     * durante todo o percurso, então a ação não deve esperar por outras threads.
+     * @param acao ação executada para cada participante
+     */
+    public synchronized void paraCadaParticipante(Consumer<Usuario> acao) {
+        participantes.values().forEach(acao);
+    }
+    
+    /**
+     * Substitui as referências de participantes pelos usuários do cadastro,
+     * para que os dados de perfil não fiquem duplicados nem desatualizados dentro dos eventos
+     * @param resolvedor função que busca o usuário pelo email
+     */
+    public synchronized void vincularParticipantes(Function<String, Optional<Usuario>> resolvedor) {
+        for (Map.Entry<String, Usuario> participante : participantes.entrySet()) {
+            resolvedor.apply(participante.getKey()).ifPresent(participante::setValue);
+        }
+        for (Map.Entry<String, Usuario> aguardando : listaEspera.entrySet()) {
+            resolvedor.apply(aguardando.getKey()).ifPresent(aguardando::setValue);
+        }
+    }
+    
+    /**
+     * Define a lista de participantes (participantes repetidos são ignorados)
      * @param participantes lista de participantes
      */
-    public void setParticipantes(List<Usuario> participantes) {
-        this.participantes = participantes != null ? participantes : new ArrayList<>();
+    public synchronized void setParticipantes(List<Usuario> participantes) {
+        vagasOcupadas.addAndGet(-this.participantes.size());
+        this.participantes = new LinkedHashMap<>();
+        if (participantes != null) {
+            for (Usuario participante : participantes) {
+                adicionarParticipante(participante);
+            }
+        }
     }
     
     // Métodos para gerenciamento de participantes
     
     /**
-     * Adiciona um participante ao evento
+     * Adiciona um participante ao evento sem verificar a capacidade
+     * (usado ao carregar eventos persistidos). O usuário deixa a lista de espera, se estiver nela.
      * @param usuario usuário a ser adicionado
      * @return true se adicionado com sucesso, false se já participava
      */
-    public boolean adicionarParticipante(Usuario usuario) {
-        if (usuario != null && !participantes.contains(usuario)) {
-            return participantes.add(usuario);
+    public synchronized boolean adicionarParticipante(Usuario usuario) {
+        if (usuario == null || usuario.getEmail() == null) {
+            return false;
         }
-        return false;
+        String chave = usuario.getEmailNormalizado();
+        if (participantes.putIfAbsent(chave, usuario) != null) {
+            return false;
+        }
+        listaEspera.remove(chave);
+        vagasOcupadas.incrementAndGet();
+        return true;
     }
     
     /**
-     * Remove um participante do evento
+     * Remove um participante do evento, sem promover a lista de espera
      * @param usuario usuário a ser removido
      * @return true se removido com sucesso, false se não participava
      */
-    public boolean removerParticipante(Usuario usuario) {
-        return participantes.remove(usuario);
+    public synchronized boolean removerParticipante(Usuario usuario) {
+        if (usuario == null || usuario.getEmail() == null) {
+            return false;
+        }
+        if (participantes.remove(usuario.getEmailNormalizado()) == null) {
+            return false;
+        }
+        vagasOcupadas.decrementAndGet();
+        return true;
+    }
+    
+    // Métodos de capacidade e lista de espera
+    
+    /**
+     * Reserva uma vaga sem bloquear o evento: o contador de vagas só é incrementado (por CAS)
+     * se ainda houver vaga, de modo que inscrições simultâneas nunca ultrapassam a capacidade.
+     * A vaga reservada deve ser usada em {@link #inscrever(Usuario, boolean)} ou devolvida
+     * com {@link #liberarVaga()}.
+     * @return true se a vaga foi reservada, false se o evento está lotado
+     */
+    public boolean reservarVaga() {
+        int limite = capacidade;
+        while (true) {
+            int ocupadas = vagasOcupadas.get();
+            if (limite > 0 && ocupadas >= limite) {
+                return false;
+            }
+            if (vagasOcupadas.compareAndSet(ocupadas, ocupadas + 1)) {
+                return true;
+            }
+        }
+    }
+    
+    /**
+     * Devolve uma vaga reservada com {@link #reservarVaga()} e não utilizada
+     */
+    public void liberarVaga() {
+        vagasOcupadas.decrementAndGet();
+    }
+    
+    /**
+     * Inscreve o usuário no evento: com uma vaga reservada, ou se ainda houver vaga, ele passa a
+     * participar; caso contrário, entra no final da lista de espera.
+     * A vaga reservada é devolvida se o usuário já participava do evento.
+     * @param usuario usuário a ser inscrito
+     * @param vagaReservada se uma vaga já foi reservada para esta inscrição
+     * @return resultado da inscrição
+     */
+    public synchronized ResultadoInscricao inscrever(Usuario usuario, boolean vagaReservada) {
+        boolean valido = usuario != null && usuario.getEmail() != null;
+        if (!valido || participantes.containsKey(usuario.getEmailNormalizado())) {
+            if (vagaReservada) {
+                liberarVaga();
+            }
+            return valido ? ResultadoInscricao.JA_INSCRITO : ResultadoInscricao.RECUSADA;
+        }
+        
+        // Sem reserva, tenta novamente: uma vaga pode ter sido liberada depois da primeira tentativa
+        String chave = usuario.getEmailNormalizado();
+        if (vagaReservada || reservarVaga()) {
+            participantes.put(chave, usuario);
+            listaEspera.remove(chave);
+            return ResultadoInscricao.CONFIRMADA;
+        }
+        return listaEspera.putIfAbsent(chave, usuario) == null
+                ? ResultadoInscricao.LISTA_ESPERA : ResultadoInscricao.JA_NA_LISTA_ESPERA;
+    }
+    
+    /**
+     * Cancela a participação do usuário e transfere a vaga ao primeiro da lista de espera.
+     * A vaga passa diretamente ao promovido, sem voltar ao contador, para que uma inscrição
+     * nova não a ocupe antes de quem já aguardava.
+     * @param usuario participante que está saindo do evento
+     * @return usuário promovido da lista de espera, ou vazio se ninguém foi promovido
+     *         (inclusive quando o usuário não participava do evento)
+     */
+    public synchronized Optional<Usuario> cancelarParticipacao(Usuario usuario) {
+        if (usuario == null || usuario.getEmail() == null
+                || participantes.remove(usuario.getEmailNormalizado()) == null) {
+            return Optional.empty();
+        }
+        
+        // Com a capacidade reduzida abaixo dos participantes atuais, a vaga deixa de existir
+        Iterator<Usuario> aguardando = listaEspera.values().iterator();
+        if (aguardando.hasNext() && (capacidade <= 0 || vagasOcupadas.get() <= capacidade)) {
+            Usuario promovido = aguardando.next();
+            aguardando.remove();
+            participantes.put(promovido.getEmailNormalizado(), promovido);
+            return Optional.of(promovido);
+        }
+        vagasOcupadas.decrementAndGet();
+        return Optional.empty();
+    }
+    
+    /**
+     * Preenche as vagas disponíveis com os usuários da lista de espera, em ordem de chegada
+     * (ex.: após a capacidade do evento ser aumentada ou uma vaga reservada ser devolvida)
+     * @return usuários promovidos
+     */
+    public synchronized List<Usuario> promoverListaEspera() {
+        List<Usuario> promovidos = new ArrayList<>();
+        Iterator<Usuario> aguardando = listaEspera.values().iterator();
+        while (aguardando.hasNext() && reservarVaga()) {
+            Usuario promovido = aguardando.next();
+            aguardando.remove();
+            participantes.put(promovido.getEmailNormalizado(), promovido);
+            promovidos.add(promovido);
+        }
+        return promovidos;
+    }
+    
+    /**
+     * Adiciona o usuário ao final da lista de espera sem verificar as vagas
+     * (usado ao carregar eventos persistidos)
+     * @param usuario usuário a ser adicionado
+     * @return true se adicionado, false se já participava ou já estava na lista de espera
+     */
+    public synchronized boolean adicionarListaEspera(Usuario usuario) {
+        if (usuario == null || usuario.getEmail() == null) {
+            return false;
+        }
+        String chave = usuario.getEmailNormalizado();
+        return !participantes.containsKey(chave) && listaEspera.putIfAbsent(chave, usuario) == null;
+    }
+    
+    /**
+     * Remove o usuário da lista de espera
+     * @param usuario usuário a ser removido
+     * @return true se removido, false se não estava na lista de espera
+     */
+    public synchronized boolean removerListaEspera(Usuario usuario) {
+        return usuario != null && usuario.getEmail() != null
+                && listaEspera.remove(usuario.getEmailNormalizado()) != null;
+    }
+    
+    /**
+     * Obtém os usuários da lista de espera em ordem de chegada
+     * @return cópia somente leitura da lista de espera no momento da chamada
+     */
+    public synchronized List<Usuario> getListaEspera() {
+        return List.copyOf(listaEspera.values());
+    }
+    
+    /**
+     * Obtém o número de usuários na lista de espera
+     * @return tamanho da lista de espera
+     */
+    public synchronized int getTamanhoListaEspera() {
+        return listaEspera.size();
+    }
+    
+    /**
+     * Verifica se o usuário está na lista de espera do evento
+     * @param usuario usuário a ser verificado
+     * @return true se está aguardando vaga, false caso contrário
+     */
+    public synchronized boolean isNaListaEspera(Usuario usuario) {
+        return usuario != null && usuario.getEmail() != null
+                && listaEspera.containsKey(usuario.getEmailNormalizado());
+    }
+    
+    /**
+     * Verifica se todas as vagas do evento estão ocupadas (sem bloquear o evento)
+     * @return true se o evento tem capacidade limitada e não há vagas, false caso contrário
+     */
+    public boolean isLotado() {
+        int limite = capacidade;
+        return limite > 0 && vagasOcupadas.get() >= limite;
     }
     
     /**
@@ -192,23 +514,22 @@ public class Evento implements Serializable {
      * @param usuario usuário a ser verificado
      * @return true se é participante, false caso contrário
      */
-    public boolean isParticipante(Usuario usuario) {
-        return participantes.contains(usuario);
+    public synchronized boolean isParticipante(Usuario usuario) {
+        return usuario != null && usuario.getEmail() != null
+                && participantes.containsKey(usuario.getEmailNormalizado());
     }
     
     /**
      * Obtém o número de participantes
      * @return número de participantes
      */
-    public int getNumeroParticipantes() {
+    public synchronized int getNumeroParticipantes() {
         return participantes.size();
     }
     
-    // Métodos de status do evento
-    
     /**
-     * Verifica se o evento já ocorreu
-     * @return true se já ocorreu, false caso contrário
+     * Verifica se o evento já começou
+     * @return true se o horário do evento já passou, false caso contrário
      */
     public boolean jaOcorreu() {
         return horario.isBefore(LocalDateTime.now());
@@ -216,34 +537,35 @@ public class Evento implements Serializable {
     
     /**
      * Verifica se o evento está ocorrendo agora
-     * (considera uma margem de 1 hora)
+     * (considera a duração de {@link StatusEvento#DURACAO})
      * @return true se está ocorrendo, false caso contrário
      */
     public boolean estaOcorrendo() {
-        LocalDateTime agora = LocalDateTime.now();
-        return !agora.isBefore(horario) && agora.isBefore(horario.plusHours(1));
+        return getStatusAtual() == StatusEvento.ACONTECENDO;
     }
     
     /**
-     * Obtém o status do evento
+     * Obtém o status do evento, calculado pelo relógio a cada chamada. O controlador obtém
+     * o status da sua agenda de transições, sem consultar o relógio.
      * @return string com o status do evento
      */
     public String getStatus() {
-        if (estaOcorrendo()) {
-            return "Acontecendo agora";
-        } else if (jaOcorreu()) {
-            return "Já aconteceu";
-        } else {
-            return "Próximo evento";
-        }
+        return getStatusAtual().getDescricao();
     }
     
     /**
-     * Obtém o horário formatado do evento
+     * Obtém o horário formatado do evento, formatado apenas na primeira chamada
+     * após cada alteração do horário
      * @return string com data e hora formatadas
      */
     public String getHorarioFormatado() {
-        return horario.format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm"));
+        String formatado = horarioFormatado;
+        if (formatado == null) {
+            // Chamadas simultâneas podem formatar o mesmo horário mais de uma vez, com o mesmo resultado
+            formatado = horario.format(FORMATO_HORARIO);
+            horarioFormatado = formatado;
+        }
+        return formatado;
     }
     
     /**
@@ -255,7 +577,8 @@ public class Evento implements Serializable {
                endereco != null && !endereco.trim().isEmpty() &&
                categoria != null &&
                horario != null &&
-               descricao != null && !descricao.trim().isEmpty();
+               descricao != null && !descricao.trim().isEmpty() &&
+               capacidade >= 0;
     }
     
     /**
@@ -286,17 +609,26 @@ public class Evento implements Serializable {
      */
     @Override
     public String toString() {
-        return String.format("Evento{id=%d, nome='%s', endereco='%s', categoria=%s, " +
-                           "horario=%s, participantes=%d, status='%s'}",
-                id, nome, endereco, categoria, getHorarioFormatado(), 
-                getNumeroParticipantes(), getStatus());
+        return "Evento{id=" + id + ", nome='" + nome + "', endereco='" + endereco + "', categoria=" + categoria
+                + ", horario=" + getHorarioFormatado() + ", participantes=" + getNumeroParticipantes()
+                + ", status='" + getStatus() + "'}";
     }
     
     /**
-     * Retorna uma representação detalhada do evento
+     * Retorna uma representação detalhada do evento, com o status calculado pelo relógio
      * @return string com informações detalhadas
      */
     public String toStringDetalhado() {
+        return toStringDetalhado(getStatusAtual());
+    }
+    
+    /**
+     * Retorna uma representação detalhada do evento. O status não é calculado pelo evento:
+     * quem exibe o obtém da agenda de transições do controlador, sem consultar o relógio.
+     * @param status status atual do evento, ou null para omiti-lo
+     * @return string com informações detalhadas
+     */
+    public synchronized String toStringDetalhado(StatusEvento status) {
         StringBuilder sb = new StringBuilder();
         sb.append("=== EVENTO ===\n");
         sb.append("ID: ").append(id).append("\n");
@@ -305,18 +637,63 @@ public class Evento implements Serializable {
         sb.append("Categoria: ").append(categoria.getDescricao()).append("\n");
         sb.append("Data/Hora: ").append(getHorarioFormatado()).append("\n");
         sb.append("Descrição: ").append(descricao).append("\n");
-        sb.append("Status: ").append(getStatus()).append("\n");
+        if (status != null) {
+            sb.append("Status: ").append(status.getDescricao()).append("\n");
+        }
         sb.append("Participantes: ").append(getNumeroParticipantes());
+        if (capacidade > 0) {
+            sb.append("/").append(capacidade);
+        }
         
         if (!participantes.isEmpty()) {
             sb.append("\n--- Lista de Participantes ---");
-            for (int i = 0; i < participantes.size(); i++) {
-                Usuario p = participantes.get(i);
-                sb.append("\n").append(i + 1).append(". ").append(p.getNome())
-                  .append(" (").append(p.getEmail()).append(")");
+            int i = 0;
+            for (Usuario p : participantes.values()) {
+                sb.append("\n").append(++i).append(". ");
+                if (p.getNome() != null) {
+                    sb.append(p.getNome()).append(" (").append(p.getEmail()).append(")");
+                } else {
+                    sb.append(p.getEmail());
+                }
             }
         }
+        if (!listaEspera.isEmpty()) {
+            sb.append("\nLista de espera: ").append(listaEspera.size());
+        }
         
         return sb.toString();
     }
-}
\ No newline at end of file
+    
+    private StatusEvento getStatusAtual() {
+        return StatusEvento.noInstante(horario, LocalDateTime.now());
+    }
+    
+    // Métodos de serialização
+    
+    /**
+     * Lê um evento gravado com serialização Java pelas versões anteriores, reconstruindo o
+     * índice de participantes
+     * @param in stream de entrada
+     * @throws IOException se ocorrer erro de leitura
+     * @throws ClassNotFoundException se alguma classe serializada não for encontrada
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField campos = in.readFields();
+        nome = (String) campos.get("nome", null);
+        endereco = (String) campos.get("endereco", null);
+        categoria = (Categoria) campos.get("categoria", null);
+        horario = (LocalDateTime) campos.get("horario", null);
+        descricao = (String) campos.get("descricao", null);
+        id = campos.get("id", 0L);
+        reservarId(id);
+        participantes = new LinkedHashMap<>();
+        vagasOcupadas = new AtomicInteger();
+        listaEspera = new LinkedHashMap<>();
+        List<?> lidos = (List<?>) campos.get("participantes", null);
+        if (lidos != null) {
+            for (Object participante : lidos) {
+                adicionarParticipante((Usuario) participante);
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.model;
+
+import java.util.List;
+
+/**
+ * Página de uma listagem de eventos, com os cursores para as páginas vizinhas.
+ * Os cursores são textos opacos: devem apenas ser repassados ao método que gerou a página.
+ *
+ * @author Sistema de Eventos
+ * @version 1.0
+ */
+public class PaginaEventos {
+    
+    private final List<Evento> eventos;
+    private final String cursorAnterior;
+    private final String cursorProximo;
+    
+    /**
+     * Construtor
+     * @param eventos eventos da página, na ordem da listagem
+     * @param cursorAnterior cursor da página anterior (null se esta é a primeira)
+     * @param cursorProximo cursor da próxima página (null se esta é a última)
+     */
+    public PaginaEventos(List<Evento> eventos, String cursorAnterior, String cursorProximo) {
+        this.eventos = List.copyOf(eventos);
+        this.cursorAnterior = cursorAnterior;
+        this.cursorProximo = cursorProximo;
+    }
+    
+    /**
+     * Obtém os eventos da página
+     * @return eventos da página, na ordem da listagem
+     */
+    public List<Evento> getEventos() {
+        return eventos;
+    }
+    
+    /**
+     * Obtém o cursor da página anterior
+     * @return cursor da página anterior ou null se esta é a primeira página
+     */
+    public String getCursorAnterior() {
+        return cursorAnterior;
+    }
+    
+    /**
+     * Obtém o cursor da próxima página
+     * @return cursor da próxima página ou null se esta é a última página
+     */
+    public String getCursorProximo() {
+        return cursorProximo;
+    }
+    
+    /**
+     * Verifica se existe página anterior
+     * @return true se existe página anterior
+     */
+    public boolean temAnterior() {
+        return cursorAnterior != null;
+    }
+    
+    /**
+     * Verifica se existe próxima página
+     * @return true se existe próxima página
+     */
+    public boolean temProxima() {
+        return cursorProximo != null;
+    }
+    
+    /**
+     * Verifica se a página está vazia
+     * @return true se a página não tem eventos
+     */
+    public boolean isVazia() {
+        return eventos.isEmpty();
+    }
+}
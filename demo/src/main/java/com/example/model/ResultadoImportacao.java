@@ -0,0 +1,75 @@
+package com.example.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resultado de uma importação de eventos em lote: quantidade de eventos importados e as linhas
+ * rejeitadas, cada uma com o motivo. Linhas rejeitadas não interrompem a importação.
+ *
+ * @author Sistema de Eventos
+ * @version 1.0
+ */
+public class ResultadoImportacao {
+    
+    /**
+     * Linha rejeitada na importação
+     * @param linha número da linha no arquivo
+     * @param motivo motivo da rejeição
+     */
+    public record Rejeicao(long linha, String motivo) {
+        @Override
+        public String toString() {
+            return "Linha " + linha + ": " + motivo;
+        }
+    }
+    
+    private int importados;
+    private final List<Rejeicao> rejeicoes = new ArrayList<>();
+    
+    /**
+     * Registra um evento importado
+     */
+    public void registrarImportado() {
+        importados++;
+    }
+    
+    /**
+     * Registra uma linha rejeitada
+     * @param linha número da linha no arquivo
+     * @param motivo motivo da rejeição
+     */
+    public void registrarRejeicao(long linha, String motivo) {
+        rejeicoes.add(new Rejeicao(linha, motivo));
+    }
+    
+    /**
+     * Obtém a quantidade de eventos importados
+     * @return eventos importados
+     */
+    public int getImportados() {
+        return importados;
+    }
+    
+    /**
+     * Obtém as linhas rejeitadas, na ordem do arquivo
+     * @return rejeições
+     */
+    public List<Rejeicao> getRejeicoes() {
+        return Collections.unmodifiableList(rejeicoes);
+    }
+    
+    /**
+     * Obtém a quantidade de linhas rejeitadas
+     * @return linhas rejeitadas
+     */
+    public int getRejeitados() {
+        return rejeicoes.size();
+    }
+    
+    @Override
+    public String toString() {
+        return "Eventos importados: " + importados + ", linhas rejeitadas: " + rejeicoes.size();
+    }
+}
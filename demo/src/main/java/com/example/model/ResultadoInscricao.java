@@ -0,0 +1,43 @@
+package com.example.model;
+
+/**
+ * Enum que representa o resultado de uma inscrição em um evento.
+ * Eventos com capacidade limitada encaminham as inscrições excedentes para a lista de espera.
+ *
+ * @author Sistema de Eventos
+ * @version 1.0
+ */
+public enum ResultadoInscricao {
+    /**
+     * Vaga obtida: o usuário passou a participar do evento
+     */
+    CONFIRMADA,
+    
+    /**
+     * Evento lotado: o usuário entrou na lista de espera
+     */
+    LISTA_ESPERA,
+    
+    /**
+     * O usuário já participava do evento
+     */
+    JA_INSCRITO,
+    
+    /**
+     * O usuário já estava na lista de espera do evento
+     */
+    JA_NA_LISTA_ESPERA,
+    
+    /**
+     * Inscrição não realizada (evento inexistente, já ocorrido ou usuário inválido)
+     */
+    RECUSADA;
+    
+    /**
+     * Verifica se a inscrição foi registrada, com vaga ou na lista de espera
+     * @return true se confirmada ou em lista de espera, false caso contrário
+     */
+    public boolean isRegistrada() {
+        return this == CONFIRMADA || this == LISTA_ESPERA;
+    }
+}
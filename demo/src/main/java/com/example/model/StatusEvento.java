@@ -0,0 +1,73 @@
+package com.example.model;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Enum que representa as fases de um evento ao longo do tempo.
+ * Um evento está acontecendo desde o seu horário até {@link #DURACAO} depois dele.
+ *
+ * @author Sistema de Eventos
+ * @version 1.0
+ */
+public enum StatusEvento {
+    /**
+     * O evento ainda não começou e aceita inscrições
+     */
+    PROXIMO("Próximo evento"),
+    
+    /**
+     * O evento começou há menos de {@link #DURACAO}
+     */
+    ACONTECENDO("Acontecendo agora"),
+    
+    /**
+     * O evento já terminou
+     */
+    ENCERRADO("Já aconteceu");
+    
+    /**
+     * Duração considerada para todos os eventos
+     */
+    public static final Duration DURACAO = Duration.ofHours(1);
+    
+    private final String descricao;
+    
+    /**
+     * Construtor do enum
+     * @param descricao descrição legível do status
+     */
+    StatusEvento(String descricao) {
+        this.descricao = descricao;
+    }
+    
+    /**
+     * Calcula o status de um evento em um instante
+     * @param horario horário do evento
+     * @param instante instante considerado
+     * @return status do evento no instante
+     */
+    public static StatusEvento noInstante(LocalDateTime horario, LocalDateTime instante) {
+        if (instante.isBefore(horario)) {
+            return PROXIMO;
+        }
+        return instante.isBefore(horario.plus(DURACAO)) ? ACONTECENDO : ENCERRADO;
+    }
+    
+    /**
+     * Obtém a descrição do status
+     * @return descrição do status
+     */
+    public String getDescricao() {
+        return descricao;
+    }
+    
+    /**
+     * Retorna a descrição do status
+     * @return descrição do status
+     */
+    @Override
+    public String toString() {
+        return descricao;
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.model;
 
 import java.io.Serializable;
+import java.util.Locale;
 import java.util.Objects;
 
 /**
@@ -41,6 +42,19 @@ public class Usuario implements Serializable {
         this.idade = idade;
     }
     
+    /**
+     * Cria uma referência a um usuário contendo apenas o email.
+     * Usada quando apenas a chave do usuário é persistida (ex.: participantes de eventos),
+     * até que a referência seja resolvida no cadastro de usuários.
+     * @param email email do usuário
+     * @return usuário contendo apenas o email
+     */
+    public static Usuario referencia(String email) {
+        Usuario usuario = new Usuario();
+        usuario.setEmail(email);
+        return usuario;
+    }
+    
     // Getters e Setters
     
     /**
@@ -75,6 +89,24 @@ public class Usuario implements Serializable {
         this.email = email;
     }
     
+    /**
+     * Obtém o email normalizado (sem espaços nas pontas e em minúsculas),
+     * usado como chave de busca case-insensitive
+     * @return email normalizado ou null se não houver email
+     */
+    public String getEmailNormalizado() {
+        return normalizarEmail(email);
+    }
+    
+    /**
+     * Normaliza um email para comparação case-insensitive
+     * @param email email a ser normalizado
+     * @return email sem espaços nas pontas e em minúsculas, ou null se o email for nulo
+     */
+    public static String normalizarEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+    
     /**
      * Obtém o telefone do usuário
      * @return telefone do usuário
@@ -123,6 +155,19 @@ public class Usuario implements Serializable {
         this.idade = idade;
     }
     
+    /**
+     * Copia os dados de perfil de outro usuário (o email, que identifica o usuário, não é alterado).
+     * Sincronizado no próprio usuário, como a sua gravação, para que o arquivo nunca receba
+     * um perfil parcialmente atualizado.
+     * @param outro usuário com os dados atualizados
+     */
+    public synchronized void atualizarDados(Usuario outro) {
+        this.nome = outro.nome;
+        this.telefone = outro.telefone;
+        this.cidade = outro.cidade;
+        this.idade = outro.idade;
+    }
+    
     /**
      * Verifica se dois usuários são iguais baseado no email
      * @param obj objeto a ser comparado
@@ -0,0 +1,476 @@
+package com.example.persistence;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+
+/**
+ * Leitura e gravação dos arquivos de dados no formato binário versionado.
+ *
+ * Estrutura do arquivo:
+ * - cabeçalho: tipo do arquivo (int), versão (varint), metadado (long) e quantidade de registros (varint)
+ * - tabela de strings: quantidade (varint) seguida das strings
+ * - CRC32 do cabeçalho e da tabela de strings (int)
+ * - registros: cada um com prefixo de tamanho (varint) seguido dos bytes gerados pelo codec
+ *   e do CRC32 desses bytes (int)
+ * - CRC32 de todo o conteúdo anterior (int)
+ *
+ * O CRC de cada registro permite que a recuperação de um arquivo danificado descarte apenas
+ * os registros alterados, em vez de aceitá-los ou de perder todos os registros seguintes.
+ *
+ * O prefixo de tamanho permite pular campos adicionados por versões futuras do codec.
+ * Cada registro é lido em uma visão limitada ao seu tamanho, de modo que o codec pode tratar
+ * campos ao final do registro como opcionais.
+ *
+ * A gravação é atômica: o conteúdo é gravado em um arquivo temporário, sincronizado com o disco
+ * e só então renomeado sobre o arquivo de destino, cuja versão substituída é mantida como
+ * geração anterior. Uma queda durante a gravação nunca deixa o arquivo de destino incompleto.
+ *
+ * @author Sistema de Eventos
+ * @version 1.0
+ */
+public final class ArquivoBinario {
+    
+    /**
+     * Identificador dos arquivos de eventos ("SEVE")
+     */
+    public static final int TIPO_EVENTOS = 0x53455645;
+    
+    /**
+     * Identificador dos arquivos de usuários ("SEVU")
+     */
+    public static final int TIPO_USUARIOS = 0x53455655;
+    
+    /**
+     * Versão atual do formato
+     */
+    public static final int VERSAO = 1;
+    
+    /**
+     * Sufixo do arquivo que guarda a geração anterior de cada arquivo de dados
+     */
+    public static final String SUFIXO_GERACAO_ANTERIOR = ".anterior";
+    
+    // Tamanho de cada CRC gravado no arquivo
+    static final int TAMANHO_CRC = 4;
+    
+    private ArquivoBinario() {
+    }
+    
+    /**
+     * Conteúdo lido de um arquivo binário
+     *
+     * @param <T> tipo dos registros
+     */
+    public static final class Conteudo<T> {
+        private final List<T> registros;
+        private final long metadado;
+        private final int restaurados;
+        
+        Conteudo(List<T> registros, long metadado, int restaurados) {
+            this.registros = registros;
+            this.metadado = metadado;
+            this.restaurados = restaurados;
+        }
+        
+        /**
+         * Obtém os registros lidos, na ordem em que foram gravados
+         * @return lista de registros
+         */
+        public List<T> getRegistros() {
+            return registros;
+        }
+        
+        /**
+         * Obtém o metadado do cabeçalho (ex.: próximo ID de evento)
+         * @return metadado gravado
+         */
+        public long getMetadado() {
+            return metadado;
+        }
+        
+        /**
+         * Obtém a quantidade de registros que, na recuperação de um arquivo danificado,
+         * vieram da geração anterior do arquivo
+         * @return quantidade de registros restaurados (0 em uma leitura normal)
+         */
+        public int getRestaurados() {
+            return restaurados;
+        }
+    }
+    
+    /**
+     * Grava os registros no arquivo, substituindo seu conteúdo de forma atômica
+     * @param arquivo arquivo de destino
+     * @param tipo identificador do tipo de arquivo
+     * @param metadado valor livre guardado no cabeçalho
+     * @param registros registros a serem gravados
+     * @param codec codec dos registros
+     * @param <T> tipo dos registros
+     * @throws IOException se ocorrer erro de gravação
+     */
+    public static <T> void gravar(File arquivo, int tipo, long metadado, Collection<T> registros,
+                                  Codec<T> codec) throws IOException {
+        TabelaStrings tabela = new TabelaStrings();
+        EscritorBinario corpo = new EscritorBinario(tabela);
+        EscritorBinario registro = new EscritorBinario(tabela);
+        CRC32 crc = new CRC32();
+        int quantidade = 0;
+        for (T valor : registros) {
+            registro.limpar();
+            codec.escrever(registro, valor);
+            corpo.escreverRegistro(registro);
+            crc.reset();
+            crc.update(registro.getBuffer(), 0, registro.getTamanho());
+            corpo.escreverInt((int) crc.getValue());
+            quantidade++;
+        }
+        
+        EscritorBinario cabecalho = escreverCabecalho(tipo, VERSAO, metadado, quantidade, tabela);
+        crc.reset();
+        crc.update(cabecalho.getBuffer(), 0, cabecalho.getTamanho());
+        EscritorBinario crcCabecalho = new EscritorBinario();
+        crcCabecalho.escreverInt((int) crc.getValue());
+        gravarAtomico(arquivo, cabecalho, crcCabecalho, corpo);
+    }
+    
+    /**
+     * Lê todos os registros do arquivo
+     * @param arquivo arquivo de origem
+     * @param tipo identificador esperado do tipo de arquivo
+     * @param codec codec dos registros
+     * @param <T> tipo dos registros
+     * @return registros e metadado lidos
+     * @throws IOException se o arquivo não puder ser lido, estiver em formato inválido ou corrompido
+     */
+    public static <T> Conteudo<T> ler(File arquivo, int tipo, Codec<T> codec) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(arquivo.toPath()));
+        Cabecalho cabecalho = lerCabecalho(buffer, arquivo, tipo, VERSAO);
+        verificarCrc(buffer, arquivo);
+        if (!cabecalhoIntegro(buffer)) {
+            throw new IOException("Cabeçalho do arquivo " + arquivo.getName() + " corrompido (CRC não confere)");
+        }
+        
+        List<T> registros = new ArrayList<>(Math.min(cabecalho.quantidade, buffer.remaining()));
+        if (lerRegistros(buffer, cabecalho, codec, registros, arquivo) > 0) {
+            throw new IOException("Arquivo " + arquivo.getName() + " com registros corrompidos");
+        }
+        return new Conteudo<>(registros, cabecalho.metadado, 0);
+    }
+    
+    /**
+     * Recupera o que for possível de um arquivo danificado. Os registros com CRC conferindo são
+     * mantidos e os demais descartados (até o primeiro registro incompleto, a partir do qual não é
+     * possível localizar os seguintes); os registros perdidos são buscados na geração anterior
+     * pela chave. Se o cabeçalho estiver danificado, os registros lidos não são confiáveis
+     * (a tabela de strings que eles referenciam pode ter sido alterada): a geração anterior
+     * prevalece e do arquivo danificado ficam apenas as chaves que ela não tem. Registros
+     * removidos depois da geração anterior podem reaparecer, mas nenhum registro íntegro é descartado.
+     * @param arquivo arquivo danificado
+     * @param anterior geração anterior do arquivo (pode não existir)
+     * @param tipo identificador esperado do tipo de arquivo
+     * @param codec codec dos registros
+     * @param chave função que identifica cada registro
+     * @param <T> tipo dos registros
+     * @return registros recuperados e metadado do cabeçalho (ou da geração anterior, se o cabeçalho estiver ilegível)
+     * @throws IOException se nada puder ser recuperado
+     */
+    public static <T> Conteudo<T> recuperar(File arquivo, File anterior, int tipo, Codec<T> codec,
+                                            Function<T, ?> chave) throws IOException {
+        List<T> registros = new ArrayList<>();
+        Cabecalho cabecalho = null;
+        boolean confiavel = false;
+        boolean incompleto = true;
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(arquivo.toPath()));
+            cabecalho = lerCabecalho(buffer, arquivo, tipo, VERSAO);
+            confiavel = cabecalhoIntegro(buffer);
+            incompleto = lerRegistros(buffer, cabecalho, codec, registros, arquivo) > 0;
+        } catch (IOException | RuntimeException e) {
+            // Mantém os registros lidos até o ponto do dano
+        }
+        
+        long metadado = cabecalho != null ? cabecalho.metadado : 0;
+        incompleto = incompleto || !confiavel || registros.size() < cabecalho.quantidade;
+        int restaurados = 0;
+        if (incompleto && anterior != null && anterior.exists()) {
+            try {
+                Conteudo<T> geracao = ler(anterior, tipo, codec);
+                // Sem confiança nos registros lidos, a geração anterior prevalece
+                List<T> base = confiavel ? registros : geracao.getRegistros();
+                List<T> complemento = confiavel ? geracao.getRegistros() : registros;
+                List<T> combinados = new ArrayList<>(base);
+                Set<Object> recuperadas = new HashSet<>();
+                for (T registro : base) {
+                    recuperadas.add(chave.apply(registro));
+                }
+                int complementados = 0;
+                for (T registro : complemento) {
+                    if (recuperadas.add(chave.apply(registro))) {
+                        combinados.add(registro);
+                        complementados++;
+                    }
+                }
+                registros = combinados;
+                restaurados = confiavel ? complementados : base.size();
+                if (cabecalho == null) {
+                    metadado = geracao.getMetadado();
+                }
+            } catch (IOException e) {
+                // A geração anterior também está inválida: fica apenas o que foi lido do arquivo
+            }
+        }
+        
+        if (cabecalho == null && restaurados == 0) {
+            throw new IOException("Nenhum registro pôde ser recuperado do arquivo " + arquivo.getName());
+        }
+        return new Conteudo<>(registros, metadado, restaurados);
+    }
+    
+    /**
+     * Obtém o arquivo que guarda a geração anterior do arquivo informado,
+     * mantida a cada gravação para a recuperação de arquivos danificados
+     * @param arquivo arquivo de dados
+     * @return arquivo da geração anterior (pode não existir)
+     */
+    public static File geracaoAnterior(File arquivo) {
+        return new File(arquivo.getPath() + SUFIXO_GERACAO_ANTERIOR);
+    }
+    
+    // Gravação atômica e verificação de integridade
+    
+    /**
+     * Grava o conteúdo no arquivo de forma atômica. O conteúdo, seguido do seu CRC32, é gravado
+     * em um arquivo temporário e sincronizado com o disco; o arquivo atual passa a ser a geração
+     * anterior e o temporário o substitui por renomeação atômica. O arquivo de destino existe,
+     * completo, durante todo o processo.
+     * @param arquivo arquivo de destino
+     * @param partes partes do conteúdo, na ordem de gravação
+     * @throws IOException se ocorrer erro de gravação
+     */
+    static void gravarAtomico(File arquivo, EscritorBinario... partes) throws IOException {
+        substituir(arquivo, gravarTemporario(arquivo, partes));
+    }
+    
+    /**
+     * Primeira etapa da gravação atômica: grava o conteúdo, seguido do seu CRC32, em um arquivo
+     * temporário ao lado do destino e o sincroniza com o disco
+     * @param arquivo arquivo de destino
+     * @param partes partes do conteúdo, na ordem de gravação
+     * @return arquivo temporário gravado
+     * @throws IOException se ocorrer erro de gravação
+     */
+    static Path gravarTemporario(File arquivo, EscritorBinario... partes) throws IOException {
+        CRC32 crc = new CRC32();
+        for (EscritorBinario parte : partes) {
+            crc.update(parte.getBuffer(), 0, parte.getTamanho());
+        }
+        ByteBuffer rodape = ByteBuffer.allocate(TAMANHO_CRC).putInt((int) crc.getValue()).flip();
+        
+        Path destino = arquivo.toPath().toAbsolutePath();
+        Path temporario = destino.resolveSibling(destino.getFileName() + ".tmp");
+        try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (EscritorBinario parte : partes) {
+                gravarTudo(canal, ByteBuffer.wrap(parte.getBuffer(), 0, parte.getTamanho()));
+            }
+            gravarTudo(canal, rodape);
+            canal.force(true);
+        }
+        return temporario;
+    }
+    
+    /**
+     * Segunda etapa da gravação atômica: o arquivo atual passa a ser a geração anterior e o
+     * temporário o substitui por renomeação atômica. No Windows a renomeação falha enquanto
+     * o arquivo de destino estiver mapeado em memória, então o mapeamento deve ser liberado antes.
+     * @param arquivo arquivo de destino
+     * @param temporario arquivo temporário gerado por {@link #gravarTemporario}
+     * @throws IOException se ocorrer erro na substituição
+     */
+    static void substituir(File arquivo, Path temporario) throws IOException {
+        Path destino = arquivo.toPath().toAbsolutePath();
+        if (Files.exists(destino)) {
+            preservarGeracaoAnterior(destino);
+        }
+        Files.move(temporario, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        sincronizarDiretorio(destino.getParent());
+    }
+    
+    /**
+     * Verifica o CRC gravado ao final do conteúdo e limita o buffer para excluí-lo
+     * @param buffer conteúdo do arquivo
+     * @param arquivo arquivo de origem (usado nas mensagens de erro)
+     * @throws IOException se o arquivo estiver incompleto ou o CRC não conferir
+     */
+    static void verificarCrc(ByteBuffer buffer, File arquivo) throws IOException {
+        int fim = buffer.limit() - TAMANHO_CRC;
+        if (fim < buffer.position()) {
+            throw new IOException("Arquivo " + arquivo.getName() + " incompleto");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().position(0).limit(fim));
+        if ((int) crc.getValue() != buffer.getInt(fim)) {
+            throw new IOException("Arquivo " + arquivo.getName() + " corrompido (CRC não confere)");
+        }
+        buffer.limit(fim);
+    }
+    
+    private static void gravarTudo(FileChannel canal, ByteBuffer conteudo) throws IOException {
+        while (conteudo.hasRemaining()) {
+            canal.write(conteudo);
+        }
+    }
+    
+    private static void preservarGeracaoAnterior(Path destino) throws IOException {
+        Path anterior = destino.resolveSibling(destino.getFileName() + SUFIXO_GERACAO_ANTERIOR);
+        Files.deleteIfExists(anterior);
+        try {
+            // O link guarda o conteúdo atual sem copiá-lo e sem que o destino deixe de existir
+            Files.createLink(anterior, destino);
+        } catch (UnsupportedOperationException | IOException e) {
+            Files.copy(destino, anterior, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+    
+    private static void sincronizarDiretorio(Path diretorio) {
+        try (FileChannel canal = FileChannel.open(diretorio, StandardOpenOption.READ)) {
+            canal.force(true);
+        } catch (IOException e) {
+            // Nem todos os sistemas permitem sincronizar um diretório (ex.: Windows)
+        }
+    }
+    
+    /**
+     * Lê os registros a partir da posição atual do buffer, adicionando-os ao destino.
+     * Registros cujo CRC não confere são descartados e a leitura continua no registro seguinte.
+     * Em caso de erro, o destino mantém os registros lidos até o registro inválido.
+     * @return quantidade de registros descartados
+     */
+    private static <T> int lerRegistros(ByteBuffer buffer, Cabecalho cabecalho, Codec<T> codec,
+                                        List<T> destino, File arquivo) throws IOException {
+        LeitorBinario leitor = new LeitorBinario(buffer);
+        CRC32 crc = new CRC32();
+        int descartados = 0;
+        for (int i = 0; i < cabecalho.quantidade; i++) {
+            int tamanho = leitor.lerVarInt();
+            int inicio = leitor.getPosicao();
+            int fim = inicio + tamanho + TAMANHO_CRC;
+            if (tamanho < 0 || (long) fim - inicio > leitor.getRestante()) {
+                throw new IOException("Registro " + i + " incompleto no arquivo " + arquivo.getName());
+            }
+            ByteBuffer registro = buffer.slice(inicio, tamanho);
+            // Ignora campos gravados por versões mais novas do codec
+            leitor.setPosicao(fim);
+            crc.reset();
+            crc.update(registro.duplicate());
+            if ((int) crc.getValue() != buffer.getInt(inicio + tamanho)) {
+                descartados++;
+                continue;
+            }
+            try {
+                destino.add(codec.ler(new LeitorBinario(registro, cabecalho.tabela)));
+            } catch (IOException | RuntimeException e) {
+                // CRC íntegro com referências inválidas: a tabela de strings está danificada
+                descartados++;
+            }
+        }
+        return descartados;
+    }
+    
+    /**
+     * Confere o CRC do cabeçalho e da tabela de strings e posiciona o buffer após ele
+     * @return true se o CRC confere
+     */
+    private static boolean cabecalhoIntegro(ByteBuffer buffer) {
+        int fim = buffer.position();
+        if (buffer.limit() - fim < TAMANHO_CRC) {
+            return false;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().position(0).limit(fim));
+        buffer.position(fim + TAMANHO_CRC);
+        return (int) crc.getValue() == buffer.getInt(fim);
+    }
+    
+    // Cabeçalho comum aos formatos de arquivo
+    
+    /**
+     * Dados lidos do cabeçalho de um arquivo binário
+     */
+    static final class Cabecalho {
+        final long metadado;
+        final int quantidade;
+        final TabelaStrings tabela;
+        
+        Cabecalho(long metadado, int quantidade, TabelaStrings tabela) {
+            this.metadado = metadado;
+            this.quantidade = quantidade;
+            this.tabela = tabela;
+        }
+    }
+    
+    /**
+     * Gera o cabeçalho do arquivo, incluindo a tabela de strings
+     * @param tipo identificador do tipo de arquivo
+     * @param versao versão do formato
+     * @param metadado valor livre guardado no cabeçalho
+     * @param quantidade quantidade de registros
+     * @param tabela tabela de strings usada pelos registros
+     * @return escritor com o cabeçalho
+     */
+    static EscritorBinario escreverCabecalho(int tipo, int versao, long metadado, int quantidade,
+                                             TabelaStrings tabela) {
+        EscritorBinario cabecalho = new EscritorBinario();
+        cabecalho.escreverInt(tipo);
+        cabecalho.escreverVarInt(versao);
+        cabecalho.escreverLong(metadado);
+        cabecalho.escreverVarInt(quantidade);
+        cabecalho.escreverVarInt(tabela.getStrings().size());
+        for (String valor : tabela.getStrings()) {
+            cabecalho.escreverString(valor);
+        }
+        return cabecalho;
+    }
+    
+    /**
+     * Lê o cabeçalho do arquivo, deixando o buffer posicionado logo após a tabela de strings
+     * @param buffer conteúdo do arquivo
+     * @param arquivo arquivo de origem (usado nas mensagens de erro)
+     * @param tipo identificador esperado do tipo de arquivo
+     * @param versao versão esperada do formato
+     * @return dados do cabeçalho
+     * @throws IOException se o arquivo estiver em formato inválido ou em outra versão
+     */
+    static Cabecalho lerCabecalho(ByteBuffer buffer, File arquivo, int tipo, int versao) throws IOException {
+        LeitorBinario leitor = new LeitorBinario(buffer);
+        if (leitor.lerInt() != tipo) {
+            throw new IOException("Arquivo " + arquivo.getName() + " não está no formato esperado");
+        }
+        int versaoArquivo = leitor.lerVarInt();
+        if (versaoArquivo != versao) {
+            throw new IOException("Versão do arquivo não suportada: " + versaoArquivo);
+        }
+        long metadado = leitor.lerLong();
+        int quantidade = leitor.lerVarInt();
+        
+        int quantidadeStrings = leitor.lerVarInt();
+        List<String> strings = new ArrayList<>(Math.min(quantidadeStrings, leitor.getRestante()));
+        for (int i = 0; i < quantidadeStrings; i++) {
+            strings.add(leitor.lerString());
+        }
+        return new Cabecalho(metadado, quantidade, new TabelaStrings(strings));
+    }
+}
@@ -0,0 +1,737 @@
+package com.example.persistence;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongConsumer;
+import java.util.zip.CRC32;
+
+import com.example.model.Categoria;
+import com.example.model.Evento;
+
+/**
+ * Arquivo de eventos mapeado em memória, com decodificação sob demanda.
+ *
+ * Estrutura do arquivo:
+ * - cabeçalho e tabela de strings, como em {@link ArquivoBinario} (o metadado é o próximo ID de evento)
+ * - diretório de largura fixa, uma entrada por evento: ID (long), horário em segundos (long)
+ *   e nanossegundos (int), categoria (byte), posição (int), tamanho (int) e CRC32 (int) do registro
+ *   e quantidade de participantes (int)
+ * - CRC32 do cabeçalho, da tabela de strings e do diretório (int)
+ * - registros gerados pelo {@link CodecEvento}, na ordem do diretório
+ * - CRC32 de todo o conteúdo anterior (int)
+ *
+ * A abertura apenas mapeia o arquivo, confere o CRC do diretório e o valida, sem percorrer os
+ * registros. Os campos usados pelos índices e pelas estatísticas (ID, horário, categoria e
+ * quantidade de participantes) são lidos diretamente do diretório, e o evento completo (nome,
+ * descrição, endereço e participantes) só é decodificado quando solicitado, após a conferência
+ * do CRC do seu registro. O CRC de cada registro permite, em um arquivo danificado, separar os
+ * eventos íntegros dos perdidos (ver {@link #recuperar(File, File)}).
+ *
+ * Um novo arquivo é gerado por uma {@link Gravacao}, que copia do arquivo atual os registros
+ * ainda não decodificados, sem passar pelo codec. Antes de o novo arquivo substituir o atual,
+ * o mapeamento do atual é liberado (ver {@link MapeamentoArquivo}); a partir daí as leituras
+ * feitas pelo arquivo antigo são atendidas pelo novo.
+ *
+ * @author Sistema de Eventos
+ * @version 1.0
+ */
+public final class ArquivoEventos implements AutoCloseable {
+    
+    /**
+     * Versão atual do formato
+     */
+    public static final int VERSAO = 1;
+    
+    // Deslocamento de cada campo dentro de uma entrada do diretório e tamanho da entrada
+    private static final int CAMPO_SEGUNDOS = 8;
+    private static final int CAMPO_NANOS = 16;
+    private static final int CAMPO_CATEGORIA = 20;
+    private static final int CAMPO_POSICAO = 21;
+    private static final int CAMPO_TAMANHO = 25;
+    private static final int CAMPO_CRC = 29;
+    private static final int CAMPO_PARTICIPANTES = 33;
+    private static final int TAMANHO_ENTRADA = 37;
+    
+    // Intervalo de segundos representável por LocalDateTime
+    private static final long SEGUNDOS_MINIMO = LocalDateTime.MIN.toEpochSecond(ZoneOffset.UTC);
+    private static final long SEGUNDOS_MAXIMO = LocalDateTime.MAX.toEpochSecond(ZoneOffset.UTC);
+    
+    private final int quantidade;
+    private final long proximoId;
+    
+    // Arquivo mapeado e arquivo de origem do mapeamento. O buffer é null depois que o
+    // mapeamento é liberado; os acessos a ele são feitos com o bloqueio de leitura obtido
+    private ByteBuffer dados;
+    private final File origem;
+    private final TabelaStrings tabela;
+    private final int inicioDiretorio;
+    private final int inicioRegistros;
+    private final ReentrantReadWriteLock bloqueio = new ReentrantReadWriteLock();
+    
+    // Arquivo que substituiu este e nova posição de cada evento copiado para ele (-1 se não copiado)
+    private ArquivoEventos substituto;
+    private int[] remapeamento;
+    
+    // Eventos já decodificados (arquivos recuperados)
+    private final List<Evento> eventos;
+    private int restaurados;
+    
+    // Avisado com o ID de cada evento lido da geração anterior por estar danificado neste arquivo
+    private volatile LongConsumer ouvinteRecuperacao = id -> { };
+    
+    private ArquivoEventos(ByteBuffer dados, File origem, TabelaStrings tabela, int quantidade,
+                           long proximoId, int inicioDiretorio, int inicioRegistros) {
+        this.dados = dados;
+        this.origem = origem;
+        this.tabela = tabela;
+        this.quantidade = quantidade;
+        this.proximoId = proximoId;
+        this.inicioDiretorio = inicioDiretorio;
+        this.inicioRegistros = inicioRegistros;
+        this.eventos = null;
+    }
+    
+    private ArquivoEventos(List<Evento> eventos, long proximoId) {
+        this.dados = null;
+        this.origem = null;
+        this.tabela = null;
+        this.quantidade = eventos.size();
+        this.proximoId = proximoId;
+        this.inicioDiretorio = 0;
+        this.inicioRegistros = 0;
+        this.eventos = eventos;
+    }
+    
+    /**
+     * Grava os eventos no arquivo, substituindo seu conteúdo de forma atômica.
+     * Todo o conteúdo é gerado em memória antes de o arquivo ser aberto para gravação.
+     * @param arquivo arquivo de destino
+     * @param proximoId próximo ID de evento, guardado no cabeçalho
+     * @param eventos eventos a serem gravados, na ordem do diretório
+     * @throws IOException se ocorrer erro de gravação
+     */
+    public static void gravar(File arquivo, long proximoId, Collection<Evento> eventos) throws IOException {
+        Gravacao gravacao = new Gravacao(null);
+        for (Evento evento : eventos) {
+            gravacao.adicionar(evento);
+        }
+        ArquivoBinario.gravarAtomico(arquivo, gravacao.partes(proximoId));
+    }
+    
+    /**
+     * Inicia a gravação de um novo arquivo que substituirá o arquivo atual
+     * @param atual arquivo atual, de onde os registros não decodificados são copiados (pode ser null)
+     * @return gravação vazia
+     */
+    public static Gravacao gravacao(ArquivoEventos atual) {
+        return new Gravacao(atual);
+    }
+    
+    /**
+     * Gravação de um novo arquivo de eventos, na ordem em que os eventos são adicionados.
+     * Eventos em memória são codificados; registros do arquivo atual ainda não decodificados são
+     * copiados byte a byte, com o CRC do diretório, sem passar pelo codec. A tabela de strings
+     * começa com as strings do arquivo atual, para que os índices referenciados pelos registros
+     * copiados continuem válidos.
+     */
+    public static final class Gravacao {
+        private final ArquivoEventos atual;
+        private final TabelaStrings tabela;
+        private final EscritorBinario registros;
+        private final EscritorBinario diretorio = new EscritorBinario();
+        private final CRC32 crc = new CRC32();
+        private final int[] remapeamento;
+        private int quantidade;
+        
+        private Gravacao(ArquivoEventos atual) {
+            // Arquivos recuperados são atendidos da memória e não têm registros a copiar
+            this.atual = atual != null && atual.eventos == null ? atual : null;
+            this.tabela = this.atual != null ? TabelaStrings.continuacao(this.atual.tabela) : new TabelaStrings();
+            this.registros = new EscritorBinario(tabela);
+            if (this.atual != null) {
+                remapeamento = new int[this.atual.quantidade];
+                Arrays.fill(remapeamento, -1);
+            } else {
+                remapeamento = null;
+            }
+        }
+        
+        /**
+         * Adiciona um evento em memória, codificando-o
+         * @param evento evento a ser gravado
+         */
+        public void adicionar(Evento evento) {
+            int posicao = registros.getTamanho();
+            int participantes;
+            // A quantidade é obtida junto com a codificação, para corresponder aos participantes gravados
+            synchronized (evento) {
+                CodecEvento.INSTANCIA.escrever(registros, evento);
+                participantes = evento.getNumeroParticipantes();
+            }
+            int tamanho = registros.getTamanho() - posicao;
+            crc.reset();
+            crc.update(registros.getBuffer(), posicao, tamanho);
+            
+            LocalDateTime horario = evento.getHorario();
+            diretorio.escreverLong(evento.getId());
+            diretorio.escreverLong(horario.toEpochSecond(ZoneOffset.UTC));
+            diretorio.escreverInt(horario.getNano());
+            CodecCategoria.INSTANCIA.escrever(diretorio, evento.getCategoria());
+            diretorio.escreverInt(posicao);
+            diretorio.escreverInt(tamanho);
+            diretorio.escreverInt((int) crc.getValue());
+            diretorio.escreverInt(participantes);
+            quantidade++;
+        }
+        
+        /**
+         * Adiciona um evento ainda não decodificado. Se ele estiver no arquivo atual, o registro
+         * é copiado sem ser decodificado; senão, é decodificado e codificado novamente.
+         * @param arquivo arquivo em que o evento está
+         * @param posicao posição do evento no arquivo
+         * @throws IOException se o evento não puder ser lido
+         */
+        public void copiar(ArquivoEventos arquivo, int posicao) throws IOException {
+            if (arquivo == atual && copiarRegistro(posicao)) {
+                return;
+            }
+            Evento evento = arquivo.lerEvento(posicao);
+            if (arquivo == atual) {
+                remapeamento[posicao] = quantidade;
+            }
+            adicionar(evento);
+        }
+        
+        /**
+         * Grava o novo arquivo, substituindo o atual de forma atômica, e o mapeia em memória.
+         * O mapeamento do arquivo atual é liberado antes da substituição; as leituras feitas
+         * por ele passam a ser atendidas pelo novo arquivo.
+         * @param arquivo arquivo de destino
+         * @param proximoId próximo ID de evento, guardado no cabeçalho
+         * @return novo arquivo aberto, com os eventos na ordem em que foram adicionados
+         * @throws IOException se ocorrer erro de gravação (o arquivo atual continua válido)
+         */
+        public ArquivoEventos gravar(File arquivo, long proximoId) throws IOException {
+            Path temporario = ArquivoBinario.gravarTemporario(arquivo, partes(proximoId));
+            if (atual == null) {
+                ArquivoBinario.substituir(arquivo, temporario);
+                return mapearGravado(arquivo);
+            }
+            
+            atual.bloqueio.writeLock().lock();
+            try {
+                atual.liberar();
+                try {
+                    ArquivoBinario.substituir(arquivo, temporario);
+                } catch (IOException e) {
+                    try {
+                        atual.remapear();
+                    } catch (IOException erro) {
+                        e.addSuppressed(erro);
+                    }
+                    throw e;
+                }
+                ArquivoEventos novo = mapearGravado(arquivo);
+                atual.substituto = novo;
+                atual.remapeamento = remapeamento;
+                return novo;
+            } finally {
+                atual.bloqueio.writeLock().unlock();
+            }
+        }
+        
+        /**
+         * Obtém as partes do arquivo na ordem de gravação: cabeçalho, diretório, CRC do cabeçalho
+         * e do diretório, e registros
+         */
+        private EscritorBinario[] partes(long proximoId) {
+            EscritorBinario cabecalho = ArquivoBinario.escreverCabecalho(ArquivoBinario.TIPO_EVENTOS, VERSAO,
+                    proximoId, quantidade, tabela);
+            crc.reset();
+            crc.update(cabecalho.getBuffer(), 0, cabecalho.getTamanho());
+            crc.update(diretorio.getBuffer(), 0, diretorio.getTamanho());
+            EscritorBinario crcDiretorio = new EscritorBinario();
+            crcDiretorio.escreverInt((int) crc.getValue());
+            return new EscritorBinario[] {cabecalho, diretorio, crcDiretorio, registros};
+        }
+        
+        /**
+         * Copia o registro e a entrada do diretório do arquivo atual, conferindo o CRC do registro
+         * para que um registro danificado não seja levado ao novo arquivo
+         * @return false se o mapeamento do arquivo atual já foi liberado ou se o registro estiver
+         *         danificado (o evento é então lido por {@link ArquivoEventos#lerEvento(int)})
+         */
+        private boolean copiarRegistro(int posicao) {
+            atual.bloqueio.readLock().lock();
+            try {
+                ByteBuffer dados = atual.dados;
+                if (dados == null) {
+                    return false;
+                }
+                int entrada = atual.entrada(posicao);
+                int inicio = atual.inicioRegistros + dados.getInt(entrada + CAMPO_POSICAO);
+                int tamanho = dados.getInt(entrada + CAMPO_TAMANHO);
+                ByteBuffer registro = dados.slice(inicio, tamanho);
+                crc.reset();
+                crc.update(registro.duplicate());
+                int crcRegistro = (int) crc.getValue();
+                if (crcRegistro != dados.getInt(entrada + CAMPO_CRC)) {
+                    return false;
+                }
+                int novaPosicao = registros.getTamanho();
+                registros.escreverBytes(registro);
+                
+                // ID, horário e categoria
+                diretorio.escreverBytes(dados.slice(entrada, CAMPO_POSICAO));
+                diretorio.escreverInt(novaPosicao);
+                diretorio.escreverInt(tamanho);
+                diretorio.escreverInt(crcRegistro);
+                diretorio.escreverInt(dados.getInt(entrada + CAMPO_PARTICIPANTES));
+                remapeamento[posicao] = quantidade++;
+                return true;
+            } finally {
+                atual.bloqueio.readLock().unlock();
+            }
+        }
+    }
+    
+    /**
+     * Abre o arquivo de eventos, mapeando-o em memória sem decodificar os eventos
+     * @param arquivo arquivo de origem
+     * @return arquivo aberto
+     * @throws IOException se o arquivo não puder ser lido, estiver em formato inválido ou corrompido
+     */
+    public static ArquivoEventos abrir(File arquivo) throws IOException {
+        MappedByteBuffer dados = MapeamentoArquivo.mapear(arquivo);
+        ArquivoEventos arquivoEventos;
+        try {
+            arquivoEventos = mapeado(dados, arquivo, ArquivoBinario.lerCabecalho(dados, arquivo,
+                    ArquivoBinario.TIPO_EVENTOS, VERSAO));
+        } catch (IOException | RuntimeException e) {
+            MapeamentoArquivo.liberar(dados);
+            throw e;
+        }
+        try {
+            if (arquivoEventos.inicioRegistros > dados.limit()) {
+                throw new IOException("Diretório incompleto no arquivo " + arquivo.getName());
+            }
+            // Os registros não são percorridos: o CRC de cada um é conferido ao decodificá-lo
+            if (!arquivoEventos.diretorioIntegro()) {
+                throw new IOException("Diretório corrompido no arquivo " + arquivo.getName() + " (CRC não confere)");
+            }
+            arquivoEventos.validarDiretorio(arquivo);
+        } catch (IOException | RuntimeException e) {
+            arquivoEventos.close();
+            throw e;
+        }
+        return arquivoEventos;
+    }
+    
+    /**
+     * Recupera os eventos de um arquivo danificado. Os eventos cujo registro está íntegro
+     * (entrada do diretório válida e CRC conferindo) são mantidos; os eventos perdidos, assim
+     * como todos os eventos se o diretório ou o cabeçalho estiverem ilegíveis ou com o CRC
+     * divergente, são buscados na geração anterior do arquivo. O arquivo retornado é atendido da memória.
+     * @param arquivo arquivo danificado
+     * @param anterior geração anterior do arquivo (pode não existir)
+     * @return eventos recuperados
+     * @throws IOException se nenhum evento puder ser recuperado
+     */
+    public static ArquivoEventos recuperar(File arquivo, File anterior) throws IOException {
+        Map<Long, Evento> recuperados = new LinkedHashMap<>();
+        Set<Long> perdidos = new HashSet<>();
+        ArquivoBinario.Cabecalho cabecalho = null;
+        boolean diretorioConfiavel = false;
+        try {
+            ByteBuffer dados = ByteBuffer.wrap(Files.readAllBytes(arquivo.toPath()));
+            cabecalho = ArquivoBinario.lerCabecalho(dados, arquivo, ArquivoBinario.TIPO_EVENTOS, VERSAO);
+            ArquivoEventos danificado = mapeado(dados, null, cabecalho);
+            // Com o diretório incompleto ou o CRC dele divergente (o que inclui a tabela de strings),
+            // os eventos lidos podem ter campos alterados: a geração anterior prevalece
+            diretorioConfiavel = danificado.lerIntegros(arquivo, recuperados, perdidos)
+                    && danificado.inicioRegistros <= dados.limit() && danificado.diretorioIntegro();
+        } catch (IOException | RuntimeException e) {
+            // Mantém os eventos lidos até o ponto do dano
+        }
+        
+        long proximoId = cabecalho != null ? cabecalho.metadado : 0;
+        int restaurados = 0;
+        if ((!diretorioConfiavel || !perdidos.isEmpty()) && anterior != null && anterior.exists()) {
+            try (ArquivoEventos geracao = abrir(anterior)) {
+                for (int i = 0; i < geracao.getQuantidade(); i++) {
+                    long id = geracao.getId(i);
+                    if (!diretorioConfiavel || perdidos.contains(id)) {
+                        recuperados.put(id, geracao.lerEvento(i));
+                        restaurados++;
+                    }
+                }
+                proximoId = Math.max(proximoId, geracao.getProximoId());
+            } catch (IOException | RuntimeException e) {
+                // A geração anterior também está inválida: ficam apenas os eventos íntegros do arquivo
+            }
+        }
+        
+        if (cabecalho == null && restaurados == 0) {
+            throw new IOException("Nenhum evento pôde ser recuperado do arquivo " + arquivo.getName());
+        }
+        ArquivoEventos resultado = new ArquivoEventos(new ArrayList<>(recuperados.values()), proximoId);
+        resultado.restaurados = restaurados;
+        return resultado;
+    }
+    
+    /**
+     * Obtém a quantidade de eventos no arquivo
+     * @return quantidade de eventos
+     */
+    public int getQuantidade() {
+        return quantidade;
+    }
+    
+    /**
+     * Obtém o próximo ID de evento guardado no cabeçalho
+     * @return próximo ID de evento
+     */
+    public long getProximoId() {
+        return proximoId;
+    }
+    
+    /**
+     * Obtém a quantidade de eventos que, na recuperação de um arquivo danificado,
+     * vieram da geração anterior do arquivo
+     * @return quantidade de eventos restaurados (0 em uma abertura normal)
+     */
+    public int getRestaurados() {
+        return restaurados;
+    }
+    
+    /**
+     * Obtém o ID do evento na posição informada, sem decodificá-lo
+     * @param posicao posição do evento no arquivo
+     * @return ID do evento
+     */
+    public long getId(int posicao) {
+        if (eventos != null) {
+            return eventos.get(posicao).getId();
+        }
+        bloqueio.readLock().lock();
+        try {
+            if (dados == null) {
+                return substituto().getId(remapeado(posicao));
+            }
+            return dados.getLong(entrada(posicao));
+        } finally {
+            bloqueio.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Obtém o horário do evento na posição informada, sem decodificá-lo
+     * @param posicao posição do evento no arquivo
+     * @return horário do evento
+     */
+    public LocalDateTime getHorario(int posicao) {
+        if (eventos != null) {
+            return eventos.get(posicao).getHorario();
+        }
+        bloqueio.readLock().lock();
+        try {
+            if (dados == null) {
+                return substituto().getHorario(remapeado(posicao));
+            }
+            int entrada = entrada(posicao);
+            return LocalDateTime.ofEpochSecond(dados.getLong(entrada + CAMPO_SEGUNDOS),
+                    dados.getInt(entrada + CAMPO_NANOS), ZoneOffset.UTC);
+        } finally {
+            bloqueio.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Obtém a categoria do evento na posição informada, sem decodificá-lo
+     * @param posicao posição do evento no arquivo
+     * @return categoria do evento
+     */
+    public Categoria getCategoria(int posicao) {
+        if (eventos != null) {
+            return eventos.get(posicao).getCategoria();
+        }
+        bloqueio.readLock().lock();
+        try {
+            if (dados == null) {
+                return substituto().getCategoria(remapeado(posicao));
+            }
+            return CodecCategoria.porOrdinal(dados.get(entrada(posicao) + CAMPO_CATEGORIA) & 0xFF);
+        } catch (IOException e) {
+            // Não ocorre: as categorias do diretório são validadas na abertura
+            throw new IllegalStateException(e);
+        } finally {
+            bloqueio.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Obtém a quantidade de participantes do evento na posição informada, sem decodificá-lo
+     * @param posicao posição do evento no arquivo
+     * @return quantidade de participantes gravada
+     */
+    public int getNumeroParticipantes(int posicao) {
+        if (eventos != null) {
+            return eventos.get(posicao).getNumeroParticipantes();
+        }
+        bloqueio.readLock().lock();
+        try {
+            if (dados == null) {
+                return substituto().getNumeroParticipantes(remapeado(posicao));
+            }
+            return dados.getInt(entrada(posicao) + CAMPO_PARTICIPANTES);
+        } finally {
+            bloqueio.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Decodifica o evento completo na posição informada, após conferir o CRC do registro.
+     * Se o CRC não conferir, o evento é lido da geração anterior do arquivo e o ouvinte de
+     * recuperação é avisado.
+     * Cada chamada gera uma nova instância, com os participantes como referências pelo email.
+     * @param posicao posição do evento no arquivo
+     * @return evento decodificado
+     * @throws IOException se o registro estiver corrompido (e o evento não estiver na geração
+     *                     anterior) ou em formato inválido
+     */
+    public Evento lerEvento(int posicao) throws IOException {
+        if (eventos != null) {
+            return eventos.get(posicao);
+        }
+        long idDanificado;
+        bloqueio.readLock().lock();
+        try {
+            if (dados == null) {
+                if (substituto == null || remapeamento[posicao] < 0) {
+                    throw new IOException("Evento na posição " + posicao + " não está mais no arquivo de eventos");
+                }
+                return substituto.lerEvento(remapeamento[posicao]);
+            }
+            int entrada = entrada(posicao);
+            int inicio = inicioRegistros + dados.getInt(entrada + CAMPO_POSICAO);
+            int tamanho = dados.getInt(entrada + CAMPO_TAMANHO);
+            
+            // Visão própria do registro, para que leituras simultâneas não compartilhem a posição
+            ByteBuffer registro = dados.slice(inicio, tamanho);
+            if (registroIntegro(registro, entrada)) {
+                return CodecEvento.INSTANCIA.ler(new LeitorBinario(registro, tabela));
+            }
+            idDanificado = dados.getLong(entrada);
+        } finally {
+            bloqueio.readLock().unlock();
+        }
+        return lerDaGeracaoAnterior(idDanificado);
+    }
+    
+    /**
+     * Define quem é avisado quando um evento cujo registro está danificado neste arquivo é lido
+     * da geração anterior, para que a recuperação seja informada ao usuário
+     * @param ouvinte função que recebe o ID do evento recuperado
+     */
+    public void setOuvinteRecuperacao(LongConsumer ouvinte) {
+        this.ouvinteRecuperacao = ouvinte;
+    }
+    
+    /**
+     * Libera o mapeamento do arquivo. Eventos ainda não lidos deixam de poder ser lidos,
+     * a menos que o arquivo já tenha sido substituído por uma {@link Gravacao}.
+     */
+    @Override
+    public void close() {
+        bloqueio.writeLock().lock();
+        try {
+            if (eventos == null && liberar()) {
+                dados = null;
+            }
+        } finally {
+            bloqueio.writeLock().unlock();
+        }
+    }
+    
+    // Métodos auxiliares
+    
+    /**
+     * Cria o arquivo mapeado a partir do cabeçalho lido, com o diretório logo após a tabela de strings
+     */
+    private static ArquivoEventos mapeado(ByteBuffer dados, File origem, ArquivoBinario.Cabecalho cabecalho) {
+        int inicioDiretorio = dados.position();
+        long inicioRegistros = inicioDiretorio + (long) cabecalho.quantidade * TAMANHO_ENTRADA
+                + ArquivoBinario.TAMANHO_CRC;
+        if (dados.limit() - ArquivoBinario.TAMANHO_CRC >= inicioDiretorio) {
+            // Exclui o CRC do arquivo, que não é conferido na abertura
+            dados.limit(dados.limit() - ArquivoBinario.TAMANHO_CRC);
+        }
+        return new ArquivoEventos(dados, origem, cabecalho.tabela, cabecalho.quantidade, cabecalho.metadado,
+                inicioDiretorio, (int) Math.min(inicioRegistros, Integer.MAX_VALUE));
+    }
+    
+    /**
+     * Mapeia um arquivo recém-gravado por uma {@link Gravacao}, sem validá-lo novamente
+     */
+    private static ArquivoEventos mapearGravado(File arquivo) throws IOException {
+        MappedByteBuffer dados = MapeamentoArquivo.mapear(arquivo);
+        ArquivoBinario.Cabecalho cabecalho = ArquivoBinario.lerCabecalho(dados, arquivo,
+                ArquivoBinario.TIPO_EVENTOS, VERSAO);
+        return mapeado(dados, arquivo, cabecalho);
+    }
+    
+    /**
+     * Libera o mapeamento, se for possível fazê-lo explicitamente. Deve ser chamado com o
+     * bloqueio de escrita obtido; o buffer passa a ser null se o mapeamento foi liberado.
+     * @return true se o buffer não pode mais ser acessado
+     */
+    private boolean liberar() {
+        if (dados instanceof MappedByteBuffer && MapeamentoArquivo.liberar((MappedByteBuffer) dados)) {
+            dados = null;
+            return true;
+        }
+        return dados == null;
+    }
+    
+    /**
+     * Mapeia novamente o arquivo de origem após uma substituição que falhou
+     */
+    private void remapear() throws IOException {
+        if (dados == null && origem != null) {
+            dados = MapeamentoArquivo.mapear(origem);
+        }
+    }
+    
+    private ArquivoEventos substituto() {
+        if (substituto == null) {
+            throw new IllegalStateException("Arquivo de eventos fechado");
+        }
+        return substituto;
+    }
+    
+    private int remapeado(int posicao) {
+        if (remapeamento[posicao] < 0) {
+            throw new IllegalStateException("Evento na posição " + posicao + " não está mais no arquivo de eventos");
+        }
+        return remapeamento[posicao];
+    }
+    
+    private int entrada(int posicao) {
+        return inicioDiretorio + posicao * TAMANHO_ENTRADA;
+    }
+    
+    /**
+     * Confere o CRC do registro com o gravado na entrada do diretório
+     */
+    private boolean registroIntegro(ByteBuffer registro, int entrada) {
+        CRC32 crc = new CRC32();
+        crc.update(registro.duplicate());
+        return (int) crc.getValue() == dados.getInt(entrada + CAMPO_CRC);
+    }
+    
+    /**
+     * Lê da geração anterior do arquivo um evento cujo registro está danificado neste arquivo.
+     * Apenas o diretório da geração anterior é percorrido; o evento lido pode não ter as
+     * alterações gravadas depois dela, mas é regravado íntegro na próxima compactação.
+     * O ouvinte de recuperação é avisado de cada evento lido da geração anterior.
+     */
+    private Evento lerDaGeracaoAnterior(long id) throws IOException {
+        IOException erro = new IOException("Registro do evento " + id + " corrompido (CRC não confere)");
+        File anterior = origem != null ? ArquivoBinario.geracaoAnterior(origem) : null;
+        if (anterior == null || !anterior.exists()) {
+            throw erro;
+        }
+        try (ArquivoEventos geracao = abrir(anterior)) {
+            for (int i = 0; i < geracao.getQuantidade(); i++) {
+                if (geracao.getId(i) == id) {
+                    Evento evento = geracao.lerEvento(i);
+                    ouvinteRecuperacao.accept(id);
+                    return evento;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            erro.addSuppressed(e);
+        }
+        throw erro;
+    }
+    
+    /**
+     * Confere o CRC do cabeçalho, da tabela de strings e do diretório.
+     * Deve ser chamado apenas se o diretório estiver dentro do arquivo.
+     * @return true se o CRC confere
+     */
+    private boolean diretorioIntegro() {
+        int fim = inicioRegistros - ArquivoBinario.TAMANHO_CRC;
+        CRC32 crc = new CRC32();
+        crc.update(dados.slice(0, fim));
+        return (int) crc.getValue() == dados.getInt(fim);
+    }
+    
+    /**
+     * Verifica se todas as entradas do diretório apontam para registros dentro do arquivo
+     * e possuem horário, categoria e quantidade de participantes válidos, para que os acessos
+     * posteriores não falhem
+     */
+    private void validarDiretorio(File arquivo) throws IOException {
+        for (int i = 0; i < quantidade; i++) {
+            validarEntrada(i, arquivo);
+        }
+    }
+    
+    private void validarEntrada(int posicao, File arquivo) throws IOException {
+        int entrada = entrada(posicao);
+        long segundos = dados.getLong(entrada + CAMPO_SEGUNDOS);
+        int nanos = dados.getInt(entrada + CAMPO_NANOS);
+        int inicio = dados.getInt(entrada + CAMPO_POSICAO);
+        int tamanho = dados.getInt(entrada + CAMPO_TAMANHO);
+        boolean horarioValido = segundos >= SEGUNDOS_MINIMO && segundos <= SEGUNDOS_MAXIMO
+                && nanos >= 0 && nanos <= 999_999_999;
+        if (!horarioValido || dados.getInt(entrada + CAMPO_PARTICIPANTES) < 0 || inicio < 0 || tamanho < 0
+                || (long) inicio + tamanho > dados.limit() - inicioRegistros) {
+            throw new IOException("Entrada " + posicao + " do diretório inválida no arquivo " + arquivo.getName());
+        }
+        CodecCategoria.porOrdinal(dados.get(entrada + CAMPO_CATEGORIA) & 0xFF);
+    }
+    
+    /**
+     * Lê os eventos íntegros de um arquivo danificado: entradas do diretório válidas, com
+     * CRC conferindo, registro decodificável e ID igual ao do diretório.
+     * Os IDs das demais entradas legíveis são adicionados aos perdidos.
+     * @return true se todas as entradas do diretório puderam ser lidas
+     */
+    private boolean lerIntegros(File arquivo, Map<Long, Evento> recuperados, Set<Long> perdidos) {
+        for (int i = 0; i < quantidade; i++) {
+            int entrada = entrada(i);
+            if ((long) entrada + TAMANHO_ENTRADA > dados.limit()) {
+                return false;
+            }
+            long id = dados.getLong(entrada);
+            try {
+                validarEntrada(i, arquivo);
+                Evento evento = lerEvento(i);
+                if (evento.getId() != id) {
+                    throw new IOException("Registro " + i + " não corresponde ao diretório");
+                }
+                recuperados.put(id, evento);
+            } catch (IOException | RuntimeException e) {
+                perdidos.add(id);
+            }
+        }
+        return true;
+    }
+}
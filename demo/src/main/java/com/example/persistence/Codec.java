@@ -0,0 +1,29 @@
+package com.example.persistence;
+
+import java.io.IOException;
+
+/**
+ * Codec que converte um objeto do modelo para o formato binário e vice-versa.
+ * Cada codec grava os campos explicitamente, sem depender da serialização Java.
+ *
+ * @param <T> tipo do objeto codificado
+ * @author Sistema de Eventos
+ * @version 1.0
+ */
+public interface Codec<T> {
+    
+    /**
+     * Grava o objeto no escritor
+     * @param escritor destino dos dados
+     * @param valor objeto a ser gravado
+     */
+    void escrever(EscritorBinario escritor, T valor);
+    
+    /**
+     * Lê um objeto do leitor
+     * @param leitor origem dos dados
+     * @return objeto lido
+     * @throws IOException se os dados forem inválidos
+     */
+    T ler(LeitorBinario leitor) throws IOException;
+}
@@ -0,0 +1,62 @@
+package com.example.persistence;
+
+import java.io.IOException;
+
+import com.example.model.Categoria;
+
+/**
+ * Codec da categoria do evento, gravada como o ordinal do enum em um único byte.
+ * Novas categorias devem ser adicionadas ao final do enum para manter os arquivos compatíveis.
+ *
+ * @author Sistema de Eventos
+ * @version 1.0
+ */
+public class CodecCategoria implements Codec<Categoria> {
+    
+    /**
+     * Instância compartilhada (o codec não possui estado)
+     */
+    public static final CodecCategoria INSTANCIA = new CodecCategoria();
+    
+    // Valor gravado quando não há categoria
+    private static final int SEM_CATEGORIA = 0xFF;
+    
+    private static final Categoria[] CATEGORIAS = Categoria.values();
+    
+    /**
+     * Grava a categoria como ordinal (ou 0xFF quando nula)
+     * @param escritor destino dos dados
+     * @param categoria categoria a ser gravada
+     */
+    @Override
+    public void escrever(EscritorBinario escritor, Categoria categoria) {
+        escritor.escreverByte(categoria == null ? SEM_CATEGORIA : categoria.ordinal());
+    }
+    
+    /**
+     * Lê a categoria gravada
+     * @param leitor origem dos dados
+     * @return categoria lida
+     * @throws IOException se os dados forem inválidos
+     */
+    @Override
+    public Categoria ler(LeitorBinario leitor) throws IOException {
+        return porOrdinal(leitor.lerByte());
+    }
+    
+    /**
+     * Obtém a categoria correspondente ao valor gravado
+     * @param ordinal ordinal da categoria (ou 0xFF quando nula)
+     * @return categoria correspondente
+     * @throws IOException se o valor não corresponder a nenhuma categoria
+     */
+    static Categoria porOrdinal(int ordinal) throws IOException {
+        if (ordinal == SEM_CATEGORIA) {
+            return null;
+        }
+        if (ordinal >= CATEGORIAS.length) {
+            throw new IOException("Categoria desconhecida: " + ordinal);
+        }
+        return CATEGORIAS[ordinal];
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.persistence;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+
+import com.example.model.Evento;
+import com.example.model.Usuario;
+
+/**
+ * Codec do evento. O horário é gravado como segundos desde a época (mais os nanossegundos),
+ * a categoria pelo {@link CodecCategoria} e os participantes apenas pelo email, que é internado
+ * por se repetir entre os eventos. Endereços também são internados, pois os locais se repetem.
+ * A capacidade e a lista de espera ficam no final do registro e são opcionais na leitura:
+ * registros gravados antes delas terminam logo após os participantes.
+ *
+ * @author Sistema de Eventos
+ * @version 1.0
+ */
+public class CodecEvento implements Codec<Evento> {
+    
+    /**
+     * Instância compartilhada (o codec não possui estado)
+     */
+    public static final CodecEvento INSTANCIA = new CodecEvento();
+    
+    /**
+     * Grava o evento, os emails dos participantes, a capacidade e a lista de espera
+     * @param escritor destino dos dados
+     * @param evento evento a ser gravado
+     */
+    @Override
+    public void escrever(EscritorBinario escritor, Evento evento) {
+        escritor.escreverVarLong(evento.getId());
+        escritor.escreverString(evento.getNome());
+        escritor.escreverStringInternada(evento.getEndereco());
+        CodecCategoria.INSTANCIA.escrever(escritor, evento.getCategoria());
+        escreverHorario(escritor, evento.getHorario());
+        escritor.escreverString(evento.getDescricao());
+        
+        // Cópias obtidas juntas, para que uma promoção simultânea não deixe o usuário nas duas listas
+        Collection<Usuario> participantes;
+        List<Usuario> listaEspera;
+        synchronized (evento) {
+            participantes = evento.getParticipantes();
+            listaEspera = evento.getListaEspera();
+        }
+        escritor.escreverVarInt(participantes.size());
+        for (Usuario participante : participantes) {
+            escritor.escreverStringInternada(participante.getEmail());
+        }
+        
+        escritor.escreverVarInt(evento.getCapacidade());
+        escritor.escreverVarInt(listaEspera.size());
+        for (Usuario aguardando : listaEspera) {
+            escritor.escreverStringInternada(aguardando.getEmail());
+        }
+    }
+    
+    /**
+     * Lê o evento, com os participantes e a lista de espera como referências pelo email.
+     * O leitor deve estar limitado ao registro, para que a ausência dos campos opcionais seja detectada.
+     * @param leitor origem dos dados
+     * @return evento lido
+     * @throws IOException se os dados forem inválidos
+     */
+    @Override
+    public Evento ler(LeitorBinario leitor) throws IOException {
+        long id = leitor.lerVarLong();
+        String nome = leitor.lerString();
+        String endereco = leitor.lerStringInternada();
+        Evento evento = new Evento(id, nome, endereco, CodecCategoria.INSTANCIA.ler(leitor),
+                lerHorario(leitor), leitor.lerString());
+        
+        int participantes = leitor.lerVarInt();
+        for (int i = 0; i < participantes; i++) {
+            evento.adicionarParticipante(Usuario.referencia(leitor.lerStringInternada()));
+        }
+        
+        if (leitor.getRestante() > 0) {
+            evento.setCapacidade(leitor.lerVarInt());
+            int listaEspera = leitor.lerVarInt();
+            for (int i = 0; i < listaEspera; i++) {
+                evento.adicionarListaEspera(Usuario.referencia(leitor.lerStringInternada()));
+            }
+        }
+        return evento;
+    }
+    
+    /**
+     * Grava um horário (sem fuso) como segundos desde a época e nanossegundos
+     * @param escritor destino dos dados
+     * @param horario horário a ser gravado (null é permitido)
+     */
+    static void escreverHorario(EscritorBinario escritor, LocalDateTime horario) {
+        if (horario == null) {
+            escritor.escreverByte(0);
+            return;
+        }
+        escritor.escreverByte(1);
+        escritor.escreverLong(horario.toEpochSecond(ZoneOffset.UTC));
+        escritor.escreverVarInt(horario.getNano());
+    }
+    
+    /**
+     * Lê um horário gravado com {@link #escreverHorario(EscritorBinario, LocalDateTime)}
+     * @param leitor origem dos dados
+     * @return horário lido ou null
+     * @throws IOException se os dados forem inválidos
+     */
+    static LocalDateTime lerHorario(LeitorBinario leitor) throws IOException {
+        if (leitor.lerByte() == 0) {
+            return null;
+        }
+        long segundos = leitor.lerLong();
+        int nanos = leitor.lerVarInt();
+        return LocalDateTime.ofEpochSecond(segundos, nanos, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.persistence;
+
+import java.io.IOException;
+
+import com.example.model.Usuario;
+
+/**
+ * Codec do usuário. A cidade é internada, pois se repete entre muitos usuários.
+ *
+ * @author Sistema de Eventos
+ * @version 1.0
+ */
+public class CodecUsuario implements Codec<Usuario> {
+    
+    /**
+     * Instância compartilhada (o codec não possui estado)
+     */
+    public static final CodecUsuario INSTANCIA = new CodecUsuario();
+    
+    /**
+     * Grava os dados do usuário
+     * @param escritor destino dos dados
+     * @param usuario usuário a ser gravado
+     */
+    @Override
+    public void escrever(EscritorBinario escritor, Usuario usuario) {
+        // Campos lidos juntos, para que uma atualização simultânea do perfil não seja gravada pela metade
+        synchronized (usuario) {
+            escritor.escreverString(usuario.getNome());
+            escritor.escreverString(usuario.getEmail());
+            escritor.escreverString(usuario.getTelefone());
+            escritor.escreverStringInternada(usuario.getCidade());
+            escritor.escreverVarInt(usuario.getIdade());
+        }
+    }
+    
+    /**
+     * Lê o usuário gravado
+     * @param leitor origem dos dados
+     * @return usuário lido
+     * @throws IOException se os dados forem inválidos
+     */
+    @Override
+    public Usuario ler(LeitorBinario leitor) throws IOException {
+        String nome = leitor.lerString();
+        String email = leitor.lerString();
+        String telefone = leitor.lerString();
+        String cidade = leitor.lerStringInternada();
+        int idade = leitor.lerVarInt();
+        return new Usuario(nome, email, telefone, cidade, idade);
+    }
+}
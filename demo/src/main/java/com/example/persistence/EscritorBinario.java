@@ -0,0 +1,184 @@
+package com.example.persistence;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Escritor de dados no formato binário dos arquivos do sistema.
+ * Inteiros são gravados como varint (1 a 10 bytes conforme o valor) e strings com
+ * prefixo de tamanho em UTF-8. Strings internadas são gravadas como referência
+ * à tabela de strings do arquivo, quando houver uma.
+ *
+ * @author Sistema de Eventos
+ * @version 1.0
+ */
+public class EscritorBinario {
+    
+    private byte[] dados;
+    private int tamanho;
+    private final TabelaStrings tabela;
+    
+    /**
+     * Construtor de um escritor sem tabela de strings (strings internadas são gravadas por extenso)
+     */
+    public EscritorBinario() {
+        this(null);
+    }
+    
+    /**
+     * Construtor de um escritor que interna strings na tabela informada
+     * @param tabela tabela de strings do arquivo
+     */
+    public EscritorBinario(TabelaStrings tabela) {
+        this.dados = new byte[256];
+        this.tabela = tabela;
+    }
+    
+    /**
+     * Grava um byte
+     * @param valor byte a ser gravado
+     */
+    public void escreverByte(int valor) {
+        garantirCapacidade(1);
+        dados[tamanho++] = (byte) valor;
+    }
+    
+    /**
+     * Grava um inteiro de 4 bytes (big-endian)
+     * @param valor inteiro a ser gravado
+     */
+    public void escreverInt(int valor) {
+        garantirCapacidade(Integer.BYTES);
+        for (int deslocamento = 24; deslocamento >= 0; deslocamento -= 8) {
+            dados[tamanho++] = (byte) (valor >>> deslocamento);
+        }
+    }
+    
+    /**
+     * Grava um long de 8 bytes (big-endian)
+     * @param valor long a ser gravado
+     */
+    public void escreverLong(long valor) {
+        garantirCapacidade(Long.BYTES);
+        for (int deslocamento = 56; deslocamento >= 0; deslocamento -= 8) {
+            dados[tamanho++] = (byte) (valor >>> deslocamento);
+        }
+    }
+    
+    /**
+     * Grava um inteiro não negativo como varint
+     * @param valor inteiro a ser gravado
+     */
+    public void escreverVarInt(int valor) {
+        escreverVarLong(valor & 0xFFFFFFFFL);
+    }
+    
+    /**
+     * Grava um long não negativo como varint
+     * @param valor long a ser gravado
+     */
+    public void escreverVarLong(long valor) {
+        garantirCapacidade(10);
+        while ((valor & ~0x7FL) != 0) {
+            dados[tamanho++] = (byte) ((valor & 0x7F) | 0x80);
+            valor >>>= 7;
+        }
+        dados[tamanho++] = (byte) valor;
+    }
+    
+    /**
+     * Grava uma string (null é permitido)
+     * @param valor string a ser gravada
+     */
+    public void escreverString(String valor) {
+        if (valor == null) {
+            escreverVarInt(0);
+            return;
+        }
+        byte[] bytes = valor.getBytes(StandardCharsets.UTF_8);
+        escreverVarInt(bytes.length + 1);
+        escreverBytes(bytes, 0, bytes.length);
+    }
+    
+    /**
+     * Grava uma string com valores frequentemente repetidos, como referência à tabela de strings
+     * @param valor string a ser gravada (null é permitido)
+     */
+    public void escreverStringInternada(String valor) {
+        if (tabela == null) {
+            escreverString(valor);
+        } else {
+            escreverVarInt(valor == null ? 0 : tabela.internar(valor) + 1);
+        }
+    }
+    
+    /**
+     * Grava um trecho de bytes
+     * @param bytes origem dos bytes
+     * @param inicio posição inicial
+     * @param quantidade quantidade de bytes
+     */
+    public void escreverBytes(byte[] bytes, int inicio, int quantidade) {
+        garantirCapacidade(quantidade);
+        System.arraycopy(bytes, inicio, dados, tamanho, quantidade);
+        tamanho += quantidade;
+    }
+    
+    /**
+     * Grava os bytes restantes do buffer, sem alterar a sua posição
+     * @param bytes origem dos bytes
+     */
+    public void escreverBytes(ByteBuffer bytes) {
+        int quantidade = bytes.remaining();
+        garantirCapacidade(quantidade);
+        bytes.get(bytes.position(), dados, tamanho, quantidade);
+        tamanho += quantidade;
+    }
+    
+    /**
+     * Grava o conteúdo de outro escritor precedido do seu tamanho (registro com prefixo de tamanho)
+     * @param registro escritor com o conteúdo do registro
+     */
+    public void escreverRegistro(EscritorBinario registro) {
+        escreverVarInt(registro.tamanho);
+        escreverBytes(registro.dados, 0, registro.tamanho);
+    }
+    
+    /**
+     * Descarta o conteúdo gravado, mantendo o buffer para reutilização
+     */
+    public void limpar() {
+        tamanho = 0;
+    }
+    
+    /**
+     * Obtém o número de bytes gravados
+     * @return tamanho do conteúdo
+     */
+    public int getTamanho() {
+        return tamanho;
+    }
+    
+    /**
+     * Obtém uma cópia dos bytes gravados
+     * @return conteúdo gravado
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(dados, tamanho);
+    }
+    
+    /**
+     * Obtém o buffer interno (válido até a posição {@link #getTamanho()})
+     * @return buffer interno
+     */
+    byte[] getBuffer() {
+        return dados;
+    }
+    
+    private void garantirCapacidade(int adicional) {
+        if (tamanho + adicional > dados.length) {
+            dados = Arrays.copyOf(dados, Math.max(dados.length * 2, tamanho + adicional));
+        }
+    }
+}
@@ -0,0 +1,347 @@
+package com.example.persistence;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+import com.example.model.Evento;
+import com.example.model.Usuario;
+
+/**
+ * Escrita de eventos ou de listas de participantes para exportação, em CSV (com cabeçalho)
+ * ou JSON Lines (um objeto por linha).
+ *
+ * Os registros são codificados em UTF-8 diretamente em um buffer de tamanho fixo, que é gravado
+ * no canal sempre que enche: nenhum texto intermediário é montado, nem mesmo para a lista de
+ * participantes de um evento, de modo que a memória usada não depende do tamanho da exportação.
+ *
+ * As colunas dos eventos são as aceitas pelo {@link LeitorImportacao} (mais o ID, que a importação
+ * ignora), para que um arquivo exportado possa ser importado novamente.
+ *
+ * @author Sistema de Eventos
+ * @version 1.0
+ */
+public final class EscritorExportacao {
+    
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+    
+    private static final String[] COLUNAS_EVENTOS = {
+        "id", "nome", "endereco", "categoria", "horario", "descricao", "capacidade", "participantes"
+    };
+    private static final String[] COLUNAS_PARTICIPANTES = {"nome", "email", "cidade"};
+    
+    private static final char SEPARADOR_CSV = ',';
+    private static final char SEPARADOR_PARTICIPANTES_CSV = ';';
+    
+    private final WritableByteChannel canal;
+    private final FormatoImportacao formato;
+    private final String[] colunas;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(TAMANHO_BUFFER);
+    
+    // Próxima coluna da linha atual e se a lista em escrita ainda não tem itens
+    private int coluna;
+    private boolean listaVazia;
+    private int registros;
+    
+    private EscritorExportacao(WritableByteChannel canal, FormatoImportacao formato, String[] colunas)
+            throws IOException {
+        this.canal = canal;
+        this.formato = formato;
+        this.colunas = colunas;
+        if (formato == FormatoImportacao.CSV) {
+            for (int i = 0; i < colunas.length; i++) {
+                if (i > 0) {
+                    escreverCaractere(SEPARADOR_CSV);
+                }
+                escreverTexto(colunas[i]);
+            }
+            escreverCaractere('\n');
+        }
+    }
+    
+    /**
+     * Cria um escritor de eventos. No CSV, escreve a linha de cabeçalho.
+     * @param canal canal de destino (não é fechado pelo escritor)
+     * @param formato formato da exportação
+     * @return escritor de eventos
+     * @throws IOException se ocorrer erro de gravação
+     */
+    public static EscritorExportacao eventos(WritableByteChannel canal, FormatoImportacao formato) throws IOException {
+        return new EscritorExportacao(canal, formato, COLUNAS_EVENTOS);
+    }
+    
+    /**
+     * Cria um escritor da lista de participantes de um evento. No CSV, escreve a linha de cabeçalho.
+     * @param canal canal de destino (não é fechado pelo escritor)
+     * @param formato formato da exportação
+     * @return escritor de participantes
+     * @throws IOException se ocorrer erro de gravação
+     */
+    public static EscritorExportacao participantes(WritableByteChannel canal, FormatoImportacao formato)
+            throws IOException {
+        return new EscritorExportacao(canal, formato, COLUNAS_PARTICIPANTES);
+    }
+    
+    /**
+     * Escreve um evento, com os emails dos participantes em ordem de inscrição.
+     * Os participantes são percorridos com o evento bloqueado.
+     * @param evento evento a ser escrito
+     * @throws IOException se ocorrer erro de gravação
+     */
+    public void escreverEvento(Evento evento) throws IOException {
+        iniciarRegistro();
+        escreverNumero(evento.getId());
+        escreverCampo(evento.getNome());
+        escreverCampo(evento.getEndereco());
+        escreverCampo(evento.getCategoria() != null ? evento.getCategoria().name() : null);
+        escreverCampo(evento.getHorario() != null
+                ? evento.getHorario().format(LeitorImportacao.FORMATO_HORARIO) : null);
+        escreverCampo(evento.getDescricao());
+        escreverNumero(evento.getCapacidade());
+        
+        iniciarLista();
+        paraCadaParticipante(evento, participante -> escreverItemLista(participante.getEmail()));
+        encerrarLista();
+        encerrarRegistro();
+    }
+    
+    /**
+     * Escreve os participantes de um evento, em ordem de inscrição.
+     * Os participantes são percorridos com o evento bloqueado.
+     * @param evento evento cujos participantes serão escritos
+     * @throws IOException se ocorrer erro de gravação
+     */
+    public void escreverParticipantes(Evento evento) throws IOException {
+        paraCadaParticipante(evento, this::escreverParticipante);
+    }
+    
+    /**
+     * Escreve um participante da lista de um evento
+     * @param participante participante a ser escrito
+     * @throws IOException se ocorrer erro de gravação
+     */
+    public void escreverParticipante(Usuario participante) throws IOException {
+        iniciarRegistro();
+        escreverCampo(participante.getNome());
+        escreverCampo(participante.getEmail());
+        escreverCampo(participante.getCidade());
+        encerrarRegistro();
+    }
+    
+    /**
+     * Obtém a quantidade de registros (eventos ou participantes) escritos, sem contar o cabeçalho
+     * @return registros escritos
+     */
+    public int getRegistros() {
+        return registros;
+    }
+    
+    /**
+     * Grava no canal o conteúdo ainda no buffer. Deve ser chamado ao final da exportação.
+     * @throws IOException se ocorrer erro de gravação
+     */
+    public void descarregar() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+        buffer.clear();
+    }
+    
+    // Métodos auxiliares
+    
+    /**
+     * Ação de escrita sobre um participante
+     */
+    private interface EscritaParticipante {
+        void escrever(Usuario participante) throws IOException;
+    }
+    
+    /**
+     * Executa a escrita para cada participante do evento, repassando os erros de gravação
+     * ocorridos durante o percurso
+     */
+    private static void paraCadaParticipante(Evento evento, EscritaParticipante escrita) throws IOException {
+        try {
+            evento.paraCadaParticipante(participante -> {
+                try {
+                    escrita.escrever(participante);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+    
+    private void iniciarRegistro() throws IOException {
+        coluna = 0;
+        if (formato == FormatoImportacao.JSON_LINHAS) {
+            escreverCaractere('{');
+        }
+    }
+    
+    private void encerrarRegistro() throws IOException {
+        if (formato == FormatoImportacao.JSON_LINHAS) {
+            escreverCaractere('}');
+        }
+        escreverCaractere('\n');
+        registros++;
+    }
+    
+    /**
+     * Inicia a próxima coluna: o separador e, no JSON, a chave
+     */
+    private void iniciarColuna() throws IOException {
+        if (formato == FormatoImportacao.CSV) {
+            if (coluna > 0) {
+                escreverCaractere(SEPARADOR_CSV);
+            }
+        } else {
+            if (coluna > 0) {
+                escreverCaractere(',');
+            }
+            escreverCaractere('"');
+            escreverTexto(colunas[coluna]);
+            escreverCaractere('"');
+            escreverCaractere(':');
+        }
+        coluna++;
+    }
+    
+    private void escreverNumero(long valor) throws IOException {
+        iniciarColuna();
+        escreverTexto(Long.toString(valor));
+    }
+    
+    /**
+     * Escreve um campo de texto. No CSV, o campo só fica entre aspas se contiver separador,
+     * aspas ou quebra de linha; no JSON, um campo nulo é escrito como null.
+     */
+    private void escreverCampo(String valor) throws IOException {
+        iniciarColuna();
+        if (formato == FormatoImportacao.JSON_LINHAS) {
+            if (valor == null) {
+                escreverTexto("null");
+            } else {
+                escreverCaractere('"');
+                escreverTexto(valor);
+                escreverCaractere('"');
+            }
+        } else if (valor != null) {
+            boolean aspas = precisaAspas(valor);
+            if (aspas) {
+                escreverCaractere('"');
+            }
+            escreverTexto(valor);
+            if (aspas) {
+                escreverCaractere('"');
+            }
+        }
+    }
+    
+    /**
+     * Inicia um campo de lista: no CSV, um campo entre aspas com os itens separados por ";";
+     * no JSON, uma lista de textos
+     */
+    private void iniciarLista() throws IOException {
+        iniciarColuna();
+        escreverCaractere(formato == FormatoImportacao.CSV ? '"' : '[');
+        listaVazia = true;
+    }
+    
+    private void escreverItemLista(String valor) throws IOException {
+        if (!listaVazia) {
+            escreverCaractere(formato == FormatoImportacao.CSV ? SEPARADOR_PARTICIPANTES_CSV : ',');
+        }
+        listaVazia = false;
+        if (formato == FormatoImportacao.JSON_LINHAS) {
+            escreverCaractere('"');
+            escreverTexto(valor);
+            escreverCaractere('"');
+        } else {
+            escreverTexto(valor);
+        }
+    }
+    
+    private void encerrarLista() throws IOException {
+        escreverCaractere(formato == FormatoImportacao.CSV ? '"' : ']');
+    }
+    
+    private static boolean precisaAspas(String valor) {
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c == SEPARADOR_CSV || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Escreve o conteúdo de um texto, com os escapes do formato: no CSV, aspas em dobro
+     * (o texto deve estar entre aspas se as contiver); no JSON, aspas, barra invertida e
+     * caracteres de controle
+     */
+    private void escreverTexto(String texto) throws IOException {
+        for (int i = 0; i < texto.length(); ) {
+            int c = texto.codePointAt(i);
+            i += Character.charCount(c);
+            if (formato == FormatoImportacao.CSV) {
+                if (c == '"') {
+                    escreverCaractere('"');
+                }
+                escreverCaractere(c);
+            } else if (c == '"' || c == '\\') {
+                escreverCaractere('\\');
+                escreverCaractere(c);
+            } else if (c == '\n') {
+                escreverCaractere('\\');
+                escreverCaractere('n');
+            } else if (c == '\r') {
+                escreverCaractere('\\');
+                escreverCaractere('r');
+            } else if (c == '\t') {
+                escreverCaractere('\\');
+                escreverCaractere('t');
+            } else if (c < 0x20) {
+                escreverCaractere('\\');
+                escreverCaractere('u');
+                for (int deslocamento = 12; deslocamento >= 0; deslocamento -= 4) {
+                    escreverCaractere(Character.forDigit((c >>> deslocamento) & 0xF, 16));
+                }
+            } else {
+                escreverCaractere(c);
+            }
+        }
+    }
+    
+    /**
+     * Codifica um caractere em UTF-8 no buffer, gravando o buffer no canal quando ele enche.
+     * Surrogates sem par são substituídos por "?".
+     */
+    private void escreverCaractere(int c) throws IOException {
+        if (buffer.remaining() < 4) {
+            descarregar();
+        }
+        if (c < 0x80) {
+            buffer.put((byte) c);
+        } else if (c < 0x800) {
+            buffer.put((byte) (0xC0 | (c >>> 6)));
+            buffer.put((byte) (0x80 | (c & 0x3F)));
+        } else if (Character.isSurrogate((char) c) && c < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+            buffer.put((byte) '?');
+        } else if (c < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+            buffer.put((byte) (0xE0 | (c >>> 12)));
+            buffer.put((byte) (0x80 | ((c >>> 6) & 0x3F)));
+            buffer.put((byte) (0x80 | (c & 0x3F)));
+        } else {
+            buffer.put((byte) (0xF0 | (c >>> 18)));
+            buffer.put((byte) (0x80 | ((c >>> 12) & 0x3F)));
+            buffer.put((byte) (0x80 | ((c >>> 6) & 0x3F)));
+            buffer.put((byte) (0x80 | (c & 0x3F)));
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.persistence;
+
+import java.util.Locale;
+
+/**
+ * Formatos aceitos na importação de eventos em lote e usados na exportação
+ * de eventos e de listas de participantes.
+ *
+ * @author Sistema de Eventos
+ * @version 1.0
+ */
+public enum FormatoImportacao {
+    /**
+     * Valores separados por vírgula, com uma linha de cabeçalho com os nomes das colunas
+     */
+    CSV,
+    
+    /**
+     * Um objeto JSON por linha (JSON Lines), com os nomes das colunas como chaves
+     */
+    JSON_LINHAS;
+    
+    /**
+     * Identifica o formato pela extensão do arquivo (.csv, .jsonl ou .ndjson)
+     * @param nomeArquivo nome do arquivo
+     * @return formato do arquivo ou null se a extensão não for reconhecida
+     */
+    public static FormatoImportacao porExtensao(String nomeArquivo) {
+        String nome = nomeArquivo.toLowerCase(Locale.ROOT);
+        if (nome.endsWith(".csv")) {
+            return CSV;
+        }
+        if (nome.endsWith(".jsonl") || nome.endsWith(".ndjson")) {
+            return JSON_LINHAS;
+        }
+        return null;
+    }
+}
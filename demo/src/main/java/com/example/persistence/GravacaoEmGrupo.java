@@ -0,0 +1,234 @@
+package com.example.persistence;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Gravação em grupo (group commit) executada por uma thread em segundo plano.
+ * As solicitações de gravação são acumuladas durante uma janela de tempo, ou até um limite de
+ * solicitações, e atendidas por uma única execução da ação de gravação. Cada solicitação recebe
+ * um CompletableFuture, concluído quando o lote que a contém termina de ser gravado: quem
+ * precisa da garantia de gravação aguarda o resultado, e quem não precisa apenas o ignora.
+ *
+ * A janela e o limite padrão podem ser configurados pelas propriedades de sistema
+ * {@code gravacao.janelaMs} e {@code gravacao.limite}.
+ *
+ * @author Sistema de Eventos
+ * @version 1.0
+ */
+public final class GravacaoEmGrupo implements Closeable {
+    
+    /**
+     * Janela padrão de acúmulo de solicitações, em milissegundos. Por padrão a gravação começa
+     * assim que possível e agrupa as solicitações que chegam enquanto o lote anterior é gravado,
+     * o que não acrescenta espera a uma solicitação isolada.
+     */
+    public static final long JANELA_PADRAO_MS = Long.getLong("gravacao.janelaMs", 0);
+    
+    /**
+     * Número padrão de solicitações que dispara a gravação antes do fim da janela
+     */
+    public static final int LIMITE_PADRAO = Integer.getInteger("gravacao.limite", 256);
+    
+    /**
+     * Ação executada a cada lote de solicitações
+     */
+    @FunctionalInterface
+    public interface Acao {
+        /**
+         * Grava todas as alterações pendentes
+         * @throws IOException se ocorrer erro de gravação
+         */
+        void executar() throws IOException;
+    }
+    
+    private final String nome;
+    private final long janelaNanos;
+    private final int limite;
+    private final Acao acao;
+    
+    private final ReentrantLock bloqueio = new ReentrantLock();
+    private final Condition sinal = bloqueio.newCondition();
+    
+    // Estado protegido pelo bloqueio
+    private CompletableFuture<Void> proximoLote = new CompletableFuture<>();
+    private CompletableFuture<Void> loteEmGravacao;
+    private int pendentes;
+    private long inicioJanela;
+    private boolean urgente;
+    private boolean encerrada;
+    private Thread gravador;
+    
+    /**
+     * Construtor com a janela e o limite padrão
+     * @param nome nome usado na thread de gravação
+     * @param acao ação que grava as alterações pendentes
+     */
+    public GravacaoEmGrupo(String nome, Acao acao) {
+        this(nome, JANELA_PADRAO_MS, LIMITE_PADRAO, acao);
+    }
+    
+    /**
+     * Construtor
+     * @param nome nome usado na thread de gravação
+     * @param janelaMs tempo máximo, em milissegundos, que uma solicitação aguarda outras antes da gravação
+     *                 (0 grava assim que possível, agrupando apenas o que chegar durante a gravação anterior)
+     * @param limite número de solicitações que dispara a gravação antes do fim da janela
+     * @param acao ação que grava as alterações pendentes
+     */
+    public GravacaoEmGrupo(String nome, long janelaMs, int limite, Acao acao) {
+        this.nome = nome;
+        this.janelaNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, janelaMs));
+        this.limite = Math.max(1, limite);
+        this.acao = acao;
+    }
+    
+    /**
+     * Solicita a gravação das alterações feitas até agora
+     * @return future concluído quando as alterações estiverem gravadas (ou com o erro de gravação)
+     */
+    public CompletableFuture<Void> solicitar() {
+        bloqueio.lock();
+        try {
+            if (!encerrada) {
+                iniciarGravador();
+                if (pendentes++ == 0) {
+                    inicioJanela = System.nanoTime();
+                    sinal.signal();
+                } else if (pendentes >= limite) {
+                    sinal.signal();
+                }
+                return proximoLote.copy();
+            }
+        } finally {
+            bloqueio.unlock();
+        }
+        
+        // Após o encerramento, a gravação é feita na própria thread que a solicitou
+        return executar();
+    }
+    
+    /**
+     * Antecipa a gravação das solicitações pendentes, sem aguardar o fim da janela
+     * @return future concluído quando todas as solicitações feitas até agora estiverem gravadas
+     */
+    public CompletableFuture<Void> sincronizar() {
+        bloqueio.lock();
+        try {
+            if (pendentes > 0) {
+                urgente = true;
+                sinal.signal();
+                return proximoLote.copy();
+            }
+            return loteEmGravacao != null ? loteEmGravacao.copy() : CompletableFuture.completedFuture(null);
+        } finally {
+            bloqueio.unlock();
+        }
+    }
+    
+    /**
+     * Grava as solicitações pendentes e encerra a thread de gravação.
+     * Solicitações posteriores são gravadas na própria thread que as fizer.
+     */
+    @Override
+    public void close() {
+        Thread thread;
+        bloqueio.lock();
+        try {
+            encerrada = true;
+            sinal.signal();
+            thread = gravador;
+        } finally {
+            bloqueio.unlock();
+        }
+        
+        if (thread != null) {
+            boolean interrompida = false;
+            while (thread.isAlive()) {
+                try {
+                    thread.join();
+                } catch (InterruptedException e) {
+                    interrompida = true;
+                }
+            }
+            if (interrompida) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+    
+    // Métodos auxiliares
+    
+    private void iniciarGravador() {
+        if (gravador == null) {
+            gravador = new Thread(this::gravarLotes, "gravacao-" + nome);
+            gravador.setDaemon(true);
+            gravador.start();
+        }
+    }
+    
+    /**
+     * Laço da thread de gravação: aguarda a primeira solicitação, completa a janela
+     * (ou o limite) e grava todas as solicitações acumuladas de uma só vez
+     */
+    private void gravarLotes() {
+        bloqueio.lock();
+        try {
+            while (true) {
+                while (pendentes == 0 && !encerrada) {
+                    sinal.awaitUninterruptibly();
+                }
+                if (pendentes == 0) {
+                    return;
+                }
+                
+                long restante = inicioJanela + janelaNanos - System.nanoTime();
+                while (restante > 0 && pendentes < limite && !urgente && !encerrada) {
+                    try {
+                        restante = sinal.awaitNanos(restante);
+                    } catch (InterruptedException e) {
+                        // A thread de gravação só termina pelo encerramento
+                        restante = inicioJanela + janelaNanos - System.nanoTime();
+                    }
+                }
+                
+                CompletableFuture<Void> lote = proximoLote;
+                proximoLote = new CompletableFuture<>();
+                loteEmGravacao = lote;
+                pendentes = 0;
+                urgente = false;
+                
+                bloqueio.unlock();
+                try {
+                    concluir(lote);
+                } finally {
+                    bloqueio.lock();
+                }
+                if (loteEmGravacao == lote) {
+                    loteEmGravacao = null;
+                }
+            }
+        } finally {
+            bloqueio.unlock();
+        }
+    }
+    
+    private CompletableFuture<Void> executar() {
+        CompletableFuture<Void> lote = new CompletableFuture<>();
+        concluir(lote);
+        return lote;
+    }
+    
+    private void concluir(CompletableFuture<Void> lote) {
+        try {
+            acao.executar();
+            lote.complete(null);
+        } catch (IOException | RuntimeException e) {
+            lote.completeExceptionally(e);
+        }
+    }
+}
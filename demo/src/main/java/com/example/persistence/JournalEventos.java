@@ -0,0 +1,405 @@
+package com.example.persistence;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+import com.example.model.Usuario;
+
+/**
+ * Journal (write-ahead log) de mutações dos eventos.
+ * Cada alteração é anexada ao final do arquivo como um registro tipado, de modo que o custo
+ * de gravação depende apenas do tamanho da alteração e não do total de eventos.
+ * O journal é reproduzido sobre o último snapshot na inicialização e, a cada compactação,
+ * os registros já contidos no novo snapshot são descartados.
+ *
+ * Formato de cada registro: tamanho do corpo (int), CRC32 do corpo (int) e corpo
+ * (tipo, ID do evento e, quando houver, o evento gravado pelo
+ * {@link CodecEvento} ou o email do participante ou do usuário da lista de espera).
+ *
+ * Os registros anexados são acumulados em memória e gravados em lote pela thread de
+ * {@link GravacaoEmGrupo}, com uma única escrita e uma única sincronização com o disco (fsync)
+ * por lote. Se a gravação de um lote falhar, o arquivo volta ao último registro íntegro e o lote
+ * é mantido para ser gravado novamente junto com o próximo.
+ *
+ * @author Sistema de Eventos
+ * @version 1.0
+ */
+public class JournalEventos implements Closeable {
+    
+    // Limite de segurança para o tamanho de um registro (protege contra cauda corrompida)
+    private static final int TAMANHO_MAXIMO_REGISTRO = 64 * 1024 * 1024;
+    
+    private final File arquivo;
+    private final GravacaoEmGrupo gravacao;
+    
+    // Serializa as escritas no arquivo (obtido sempre antes do bloqueio do próprio journal)
+    private final Object bloqueioGravacao = new Object();
+    private FileChannel canal;
+    private long tamanhoGravado;
+    
+    // Protegidos pelo bloqueio do journal: registros ainda não gravados e totais incluindo-os
+    private EscritorBinario pendentes;
+    private int totalRegistros;
+    private long tamanho;
+    
+    /**
+     * Construtor que associa o journal ao arquivo informado, com a janela e o limite
+     * padrão de gravação em grupo
+     * @param arquivo arquivo do journal
+     */
+    public JournalEventos(File arquivo) {
+        this(arquivo, GravacaoEmGrupo.JANELA_PADRAO_MS, GravacaoEmGrupo.LIMITE_PADRAO);
+    }
+    
+    /**
+     * Construtor que associa o journal ao arquivo informado
+     * @param arquivo arquivo do journal
+     * @param janelaMs tempo máximo que um registro aguarda outros antes de o lote ser gravado
+     * @param limite número de registros que dispara a gravação do lote antes do fim da janela
+     */
+    public JournalEventos(File arquivo, long janelaMs, int limite) {
+        this.arquivo = arquivo;
+        this.gravacao = new GravacaoEmGrupo("journal-eventos", janelaMs, limite, this::descarregar);
+        this.pendentes = new EscritorBinario();
+        this.tamanho = arquivo.length();
+        this.tamanhoGravado = tamanho;
+    }
+    
+    /**
+     * Reproduz todos os registros válidos do journal, em ordem de gravação.
+     * Registros incompletos ou corrompidos no final do arquivo (ex.: queda durante a gravação)
+     * são descartados e o arquivo é truncado no último registro íntegro.
+     * @param aplicador função que aplica cada registro ao estado em memória
+     * @return número de registros reproduzidos
+     * @throws IOException se não for possível ler o arquivo
+     */
+    public synchronized int reproduzir(Consumer<RegistroJournal> aplicador) throws IOException {
+        totalRegistros = 0;
+        tamanho = 0;
+        tamanhoGravado = 0;
+        if (!arquivo.exists() || arquivo.length() == 0) {
+            return 0;
+        }
+        
+        long offsetValido = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(arquivo)))) {
+            while (true) {
+                RegistroJournal registro;
+                int tamanhoCorpo;
+                try {
+                    tamanhoCorpo = in.readInt();
+                    int crcEsperado = in.readInt();
+                    if (tamanhoCorpo <= 0 || tamanhoCorpo > TAMANHO_MAXIMO_REGISTRO) {
+                        break;
+                    }
+                    byte[] corpo = new byte[tamanhoCorpo];
+                    in.readFully(corpo);
+                    if (calcularCrc(corpo) != crcEsperado) {
+                        break;
+                    }
+                    registro = decodificar(corpo);
+                } catch (EOFException e) {
+                    break;
+                }
+                if (registro == null) {
+                    break;
+                }
+                
+                aplicador.accept(registro);
+                totalRegistros++;
+                offsetValido += Integer.BYTES * 2 + tamanhoCorpo;
+            }
+        }
+        
+        if (offsetValido < arquivo.length()) {
+            System.err.println("Journal de eventos com registro incompleto. Descartando "
+                    + (arquivo.length() - offsetValido) + " bytes finais.");
+            try (FileChannel ch = FileChannel.open(arquivo.toPath(), StandardOpenOption.WRITE)) {
+                ch.truncate(offsetValido);
+            }
+        }
+        tamanho = offsetValido;
+        tamanhoGravado = offsetValido;
+        return totalRegistros;
+    }
+    
+    /**
+     * Anexa um registro ao final do journal. O registro entra no próximo lote de gravação;
+     * a ordem dos registros no arquivo é a ordem das chamadas.
+     * O registro é codificado antes de obter o bloqueio do journal, de modo que a leitura do
+     * evento (que bloqueia o próprio evento) nunca ocorre com o journal bloqueado.
+     * @param registro mutação a ser registrada
+     * @return future concluído quando o registro estiver gravado em disco
+     */
+    public CompletableFuture<Void> anexar(RegistroJournal registro) {
+        byte[] corpo = codificar(registro);
+        synchronized (this) {
+            pendentes.escreverInt(corpo.length);
+            pendentes.escreverInt(calcularCrc(corpo));
+            pendentes.escreverBytes(corpo, 0, corpo.length);
+            tamanho += Integer.BYTES * 2 + corpo.length;
+            totalRegistros++;
+        }
+        return gravacao.solicitar();
+    }
+    
+    /**
+     * Antecipa a gravação dos registros pendentes
+     * @return future concluído quando todos os registros anexados até agora estiverem gravados
+     */
+    public CompletableFuture<Void> sincronizar() {
+        return gravacao.sincronizar();
+    }
+    
+    /**
+     * Obtém a posição atual do final do journal (incluindo registros ainda não gravados),
+     * usada como ponto de corte de uma compactação: todo registro anexado até aqui teve
+     * sua mutação aplicada antes da chamada
+     * @return tamanho do journal em bytes
+     */
+    public synchronized long getTamanho() {
+        return tamanho;
+    }
+    
+    /**
+     * Descarta os registros anteriores à posição informada (usado após gravar um snapshot que já
+     * contém essas mutações). Registros anexados depois da posição são mantidos.
+     * Os registros pendentes são gravados antes, para que o arquivo contenha o ponto de corte.
+     * @param posicao ponto de corte obtido com {@link #getTamanho()}
+     * @throws IOException se não for possível reescrever o arquivo
+     */
+    public void descartarAte(long posicao) throws IOException {
+        synchronized (bloqueioGravacao) {
+            synchronized (this) {
+                gravarPendentes();
+                descartarGravadosAte(posicao);
+            }
+        }
+    }
+    
+    private void descartarGravadosAte(long posicao) throws IOException {
+        if (posicao >= tamanho) {
+            if (canal != null) {
+                canal.truncate(0);
+            } else if (arquivo.exists()) {
+                try (FileChannel ch = FileChannel.open(arquivo.toPath(), StandardOpenOption.WRITE)) {
+                    ch.truncate(0);
+                }
+            }
+            tamanho = 0;
+            tamanhoGravado = 0;
+            totalRegistros = 0;
+            return;
+        }
+        
+        // Copia os registros posteriores ao corte para um novo arquivo, que substitui o atual
+        ByteBuffer restante = ByteBuffer.allocate((int) (tamanho - posicao));
+        try (FileChannel ch = FileChannel.open(arquivo.toPath(), StandardOpenOption.READ)) {
+            while (restante.hasRemaining()) {
+                if (ch.read(restante, posicao + restante.position()) < 0) {
+                    throw new EOFException("Journal de eventos menor que o esperado");
+                }
+            }
+        }
+        restante.flip();
+        int registrosRestantes = contarRegistros(restante);
+        
+        File temporario = new File(arquivo.getPath() + ".tmp");
+        try (FileChannel ch = FileChannel.open(temporario.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (restante.hasRemaining()) {
+                ch.write(restante);
+            }
+            ch.force(false);
+        }
+        fecharCanal();
+        Files.move(temporario.toPath(), arquivo.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        tamanho = restante.limit();
+        tamanhoGravado = tamanho;
+        totalRegistros = registrosRestantes;
+    }
+    
+    /**
+     * Obtém o número de registros acumulados desde a última compactação
+     * @return número de registros no journal
+     */
+    public synchronized int getTotalRegistros() {
+        return totalRegistros;
+    }
+    
+    /**
+     * Grava os registros pendentes, encerra a thread de gravação e fecha o arquivo do journal.
+     * Registros anexados depois do fechamento são gravados na própria thread que os anexar.
+     * @throws IOException se ocorrer erro ao gravar os registros pendentes ou ao fechar o arquivo
+     */
+    @Override
+    public void close() throws IOException {
+        gravacao.close();
+        synchronized (bloqueioGravacao) {
+            synchronized (this) {
+                gravarPendentes();
+            }
+            fecharCanal();
+        }
+    }
+    
+    // Métodos auxiliares
+    
+    /**
+     * Ação da gravação em grupo: grava em uma única escrita os registros acumulados desde o
+     * lote anterior. Os registros são retirados sob o bloqueio do journal, mas a escrita e a
+     * sincronização ocorrem fora dele, para que novos registros continuem sendo anexados.
+     */
+    private void descarregar() throws IOException {
+        synchronized (bloqueioGravacao) {
+            EscritorBinario lote;
+            synchronized (this) {
+                if (pendentes.getTamanho() == 0) {
+                    return;
+                }
+                lote = pendentes;
+                pendentes = new EscritorBinario();
+            }
+            
+            try {
+                gravarLote(lote);
+            } catch (IOException e) {
+                // Devolve o lote à frente dos registros anexados durante a tentativa
+                synchronized (this) {
+                    lote.escreverBytes(pendentes.getBuffer(), 0, pendentes.getTamanho());
+                    pendentes = lote;
+                }
+                throw e;
+            }
+        }
+    }
+    
+    /**
+     * Grava os registros pendentes com o journal já bloqueado (compactação e fechamento)
+     */
+    private void gravarPendentes() throws IOException {
+        if (pendentes.getTamanho() > 0) {
+            gravarLote(pendentes);
+            pendentes = new EscritorBinario();
+        }
+    }
+    
+    /**
+     * Escreve o lote no final do arquivo e sincroniza com o disco. Em caso de erro, o arquivo
+     * é truncado no fim do lote anterior para não deixar um registro parcial antes dos próximos.
+     * Deve ser chamado com o bloqueio de gravação obtido.
+     */
+    private void gravarLote(EscritorBinario lote) throws IOException {
+        FileChannel ch = abrirCanal();
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(lote.getBuffer(), 0, lote.getTamanho());
+            while (buffer.hasRemaining()) {
+                ch.write(buffer);
+            }
+            ch.force(false);
+        } catch (IOException e) {
+            try {
+                ch.truncate(tamanhoGravado);
+            } catch (IOException erroTruncar) {
+                e.addSuppressed(erroTruncar);
+            }
+            throw e;
+        }
+        tamanhoGravado += lote.getTamanho();
+    }
+    
+    private void fecharCanal() throws IOException {
+        if (canal != null) {
+            canal.close();
+            canal = null;
+        }
+    }
+    
+    private FileChannel abrirCanal() throws IOException {
+        if (canal == null) {
+            canal = FileChannel.open(arquivo.toPath(), StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        return canal;
+    }
+    
+    private static int contarRegistros(ByteBuffer registros) {
+        int quantidade = 0;
+        for (int posicao = 0; posicao + Integer.BYTES <= registros.limit(); quantidade++) {
+            posicao += Integer.BYTES * 2 + registros.getInt(posicao);
+        }
+        return quantidade;
+    }
+    
+    private static int calcularCrc(byte[] dados) {
+        CRC32 crc = new CRC32();
+        crc.update(dados);
+        return (int) crc.getValue();
+    }
+    
+    private static byte[] codificar(RegistroJournal registro) {
+        EscritorBinario escritor = new EscritorBinario();
+        escritor.escreverByte(registro.getTipo().ordinal());
+        escritor.escreverVarLong(registro.getEventoId());
+        switch (registro.getTipo()) {
+            case EVENTO_CRIADO:
+            case EVENTO_ATUALIZADO:
+                CodecEvento.INSTANCIA.escrever(escritor, registro.getEvento());
+                break;
+            case PARTICIPANTE_ADICIONADO:
+            case PARTICIPANTE_REMOVIDO:
+            case LISTA_ESPERA_ADICIONADO:
+            case LISTA_ESPERA_REMOVIDO:
+                // Apenas a chave do participante; os dados de perfil ficam no cadastro de usuários
+                escritor.escreverString(registro.getUsuario().getEmail());
+                break;
+            default:
+                break;
+        }
+        return escritor.toByteArray();
+    }
+    
+    private static RegistroJournal decodificar(byte[] corpo) {
+        try {
+            LeitorBinario leitor = new LeitorBinario(ByteBuffer.wrap(corpo));
+            RegistroJournal.Tipo tipo = RegistroJournal.Tipo.porCodigo(leitor.lerByte());
+            if (tipo == null) {
+                return null;
+            }
+            long eventoId = leitor.lerVarLong();
+            switch (tipo) {
+                case EVENTO_CRIADO:
+                    return RegistroJournal.eventoCriado(CodecEvento.INSTANCIA.ler(leitor));
+                case EVENTO_ATUALIZADO:
+                    return RegistroJournal.eventoAtualizado(CodecEvento.INSTANCIA.ler(leitor));
+                case EVENTO_REMOVIDO:
+                    return RegistroJournal.eventoRemovido(eventoId);
+                case PARTICIPANTE_ADICIONADO:
+                    return RegistroJournal.participanteAdicionado(eventoId, Usuario.referencia(leitor.lerString()));
+                case PARTICIPANTE_REMOVIDO:
+                    return RegistroJournal.participanteRemovido(eventoId, Usuario.referencia(leitor.lerString()));
+                case LISTA_ESPERA_ADICIONADO:
+                    return RegistroJournal.listaEsperaAdicionado(eventoId, Usuario.referencia(leitor.lerString()));
+                case LISTA_ESPERA_REMOVIDO:
+                    return RegistroJournal.listaEsperaRemovido(eventoId, Usuario.referencia(leitor.lerString()));
+                default:
+                    return null;
+            }
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.persistence;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Leitor de dados no formato binário dos arquivos do sistema.
+ * Espelha o {@link EscritorBinario} e lê diretamente de um ByteBuffer,
+ * que pode ser um arquivo inteiro em memória ou um arquivo mapeado.
+ *
+ * @author Sistema de Eventos
+ * @version 1.0
+ */
+public class LeitorBinario {
+    
+    private final ByteBuffer buffer;
+    private final TabelaStrings tabela;
+    
+    /**
+     * Construtor de um leitor sem tabela de strings
+     * @param buffer dados a serem lidos (a leitura começa na posição atual)
+     */
+    public LeitorBinario(ByteBuffer buffer) {
+        this(buffer, null);
+    }
+    
+    /**
+     * Construtor de um leitor que resolve strings internadas na tabela informada
+     * @param buffer dados a serem lidos (a leitura começa na posição atual)
+     * @param tabela tabela de strings do arquivo
+     */
+    public LeitorBinario(ByteBuffer buffer, TabelaStrings tabela) {
+        this.buffer = buffer;
+        this.tabela = tabela;
+    }
+    
+    /**
+     * Lê um byte sem sinal
+     * @return byte lido (0 a 255)
+     * @throws IOException se os dados terminarem antes do esperado
+     */
+    public int lerByte() throws IOException {
+        try {
+            return buffer.get() & 0xFF;
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Fim inesperado dos dados", e);
+        }
+    }
+    
+    /**
+     * Lê um inteiro de 4 bytes
+     * @return inteiro lido
+     * @throws IOException se os dados terminarem antes do esperado
+     */
+    public int lerInt() throws IOException {
+        try {
+            return buffer.getInt();
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Fim inesperado dos dados", e);
+        }
+    }
+    
+    /**
+     * Lê um long de 8 bytes
+     * @return long lido
+     * @throws IOException se os dados terminarem antes do esperado
+     */
+    public long lerLong() throws IOException {
+        try {
+            return buffer.getLong();
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Fim inesperado dos dados", e);
+        }
+    }
+    
+    /**
+     * Lê um inteiro gravado como varint
+     * @return inteiro lido
+     * @throws IOException se o valor for inválido ou os dados terminarem antes do esperado
+     */
+    public int lerVarInt() throws IOException {
+        long valor = lerVarLong();
+        if (valor > 0xFFFFFFFFL) {
+            throw new IOException("Varint fora do intervalo de int: " + valor);
+        }
+        return (int) valor;
+    }
+    
+    /**
+     * Lê um long gravado como varint
+     * @return long lido
+     * @throws IOException se o valor for inválido ou os dados terminarem antes do esperado
+     */
+    public long lerVarLong() throws IOException {
+        long valor = 0;
+        for (int deslocamento = 0; deslocamento < 64; deslocamento += 7) {
+            int b = lerByte();
+            valor |= (long) (b & 0x7F) << deslocamento;
+            if ((b & 0x80) == 0) {
+                return valor;
+            }
+        }
+        throw new IOException("Varint malformado");
+    }
+    
+    /**
+     * Lê uma string
+     * @return string lida ou null
+     * @throws IOException se os dados forem inválidos
+     */
+    public String lerString() throws IOException {
+        int tamanho = lerVarInt();
+        if (tamanho == 0) {
+            return null;
+        }
+        tamanho--;
+        if (tamanho < 0 || tamanho > buffer.remaining()) {
+            throw new IOException("Tamanho de string inválido: " + tamanho);
+        }
+        byte[] bytes = new byte[tamanho];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * Lê uma string gravada com {@link EscritorBinario#escreverStringInternada(String)}
+     * @return string lida ou null
+     * @throws IOException se os dados forem inválidos
+     */
+    public String lerStringInternada() throws IOException {
+        if (tabela == null) {
+            return lerString();
+        }
+        int referencia = lerVarInt();
+        return referencia == 0 ? null : tabela.obter(referencia - 1);
+    }
+    
+    /**
+     * Obtém a posição atual de leitura
+     * @return posição no buffer
+     */
+    public int getPosicao() {
+        return buffer.position();
+    }
+    
+    /**
+     * Move a posição de leitura
+     * @param posicao nova posição no buffer
+     */
+    public void setPosicao(int posicao) {
+        buffer.position(posicao);
+    }
+    
+    /**
+     * Obtém o número de bytes ainda não lidos
+     * @return bytes restantes
+     */
+    public int getRestante() {
+        return buffer.remaining();
+    }
+}
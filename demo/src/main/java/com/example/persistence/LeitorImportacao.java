@@ -0,0 +1,443 @@
+package com.example.persistence;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.example.model.Categoria;
+import com.example.util.NormalizadorTexto;
+
+/**
+ * Leitura de eventos para importação em lote, em CSV ou JSON Lines (um evento por linha).
+ *
+ * Colunas (ou chaves JSON), sem diferenciar maiúsculas nem acentos:
+ * - nome, endereco, categoria, horario e descricao: obrigatórias
+ * - capacidade: opcional (0 ou ausente = sem limite)
+ * - participantes: opcional, emails dos participantes confirmados separados por ";"
+ *   (no JSON, também uma lista de strings)
+ *
+ * O horário usa o formato dd/MM/yyyy HH:mm ou o ISO (yyyy-MM-ddTHH:mm). No CSV, um campo entre
+ * aspas pode conter quebras de linha: o registro continua nas linhas seguintes até as aspas
+ * serem fechadas (um campo com aspas não fechadas vai até o fim do arquivo).
+ *
+ * As linhas são lidas em lotes, em sequência, e convertidas separadamente: a conversão não
+ * altera o leitor e pode ser feita em paralelo. Erros de conversão afetam apenas a linha.
+ *
+ * @author Sistema de Eventos
+ * @version 1.0
+ */
+public final class LeitorImportacao {
+    
+    /**
+     * Formato principal do horário dos eventos
+     */
+    public static final DateTimeFormatter FORMATO_HORARIO = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+    
+    // Colunas na ordem dos campos do registro; as cinco primeiras são obrigatórias
+    private static final String[] COLUNAS = {
+        "nome", "endereco", "categoria", "horario", "descricao", "capacidade", "participantes"
+    };
+    private static final int COLUNAS_OBRIGATORIAS = 5;
+    private static final int CAPACIDADE = 5;
+    private static final int PARTICIPANTES = 6;
+    
+    private static final char SEPARADOR_CSV = ',';
+    private static final String SEPARADOR_PARTICIPANTES = "[;\\s]+";
+    
+    /**
+     * Linha do arquivo ainda não convertida (no CSV, um registro que pode ocupar várias linhas)
+     * @param numero número da linha no arquivo (a partir de 1) em que o registro começa
+     * @param texto conteúdo da linha
+     */
+    public record Linha(long numero, String texto) {
+    }
+    
+    /**
+     * Dados de um evento lidos de uma linha
+     * @param nome nome do evento
+     * @param endereco endereço do evento
+     * @param categoria categoria do evento
+     * @param horario horário do evento
+     * @param descricao descrição do evento
+     * @param capacidade capacidade (0 = sem limite)
+     * @param participantes emails dos participantes confirmados
+     */
+    public record Registro(String nome, String endereco, Categoria categoria, LocalDateTime horario,
+                           String descricao, int capacidade, List<String> participantes) {
+    }
+    
+    private final BufferedReader leitor;
+    private final FormatoImportacao formato;
+    private long numeroLinha;
+    
+    // CSV: posição de cada coluna na linha (-1 se a coluna não existe no arquivo)
+    private final int[] posicoes;
+    
+    /**
+     * Construtor. No CSV, lê a linha de cabeçalho.
+     * @param entrada conteúdo a ser importado
+     * @param formato formato do conteúdo
+     * @throws IOException se ocorrer erro de leitura ou faltar uma coluna obrigatória no cabeçalho
+     */
+    public LeitorImportacao(Reader entrada, FormatoImportacao formato) throws IOException {
+        this.leitor = entrada instanceof BufferedReader ? (BufferedReader) entrada : new BufferedReader(entrada);
+        this.formato = formato;
+        this.posicoes = formato == FormatoImportacao.CSV ? lerCabecalho() : null;
+    }
+    
+    /**
+     * Lê as próximas linhas não vazias
+     * @param limite quantidade máxima de linhas
+     * @return linhas lidas (vazia ao fim do conteúdo)
+     * @throws IOException se ocorrer erro de leitura
+     */
+    public List<Linha> lerLote(int limite) throws IOException {
+        List<Linha> lote = new ArrayList<>(Math.min(limite, 1024));
+        String texto;
+        while (lote.size() < limite && (texto = leitor.readLine()) != null) {
+            numeroLinha++;
+            long inicio = numeroLinha;
+            if (formato == FormatoImportacao.CSV && aspasAbertas(texto)) {
+                texto = continuarRegistro(texto);
+            }
+            if (!texto.isBlank()) {
+                lote.add(new Linha(inicio, texto));
+            }
+        }
+        return lote;
+    }
+    
+    /**
+     * Converte uma linha nos dados do evento. Pode ser chamado por várias threads ao mesmo tempo.
+     * @param linha linha lida
+     * @return dados do evento
+     * @throws IllegalArgumentException se a linha for inválida (a mensagem descreve o problema)
+     */
+    public Registro converter(Linha linha) {
+        String[] valores = formato == FormatoImportacao.CSV ? valoresCsv(linha.texto()) : valoresJson(linha.texto());
+        for (int i = 0; i < COLUNAS_OBRIGATORIAS; i++) {
+            if (valores[i] == null || valores[i].isBlank()) {
+                throw new IllegalArgumentException("Campo obrigatório ausente: " + COLUNAS[i]);
+            }
+        }
+        
+        Categoria categoria = Categoria.buscarPorNome(valores[2]);
+        if (categoria == null) {
+            throw new IllegalArgumentException("Categoria desconhecida: " + valores[2]);
+        }
+        return new Registro(valores[0].trim(), valores[1].trim(), categoria, converterHorario(valores[3].trim()),
+                valores[4].trim(), converterCapacidade(valores[CAPACIDADE]), converterParticipantes(valores[PARTICIPANTES]));
+    }
+    
+    // Métodos auxiliares
+    
+    private int[] lerCabecalho() throws IOException {
+        String cabecalho = leitor.readLine();
+        numeroLinha++;
+        if (cabecalho == null) {
+            throw new IOException("Arquivo vazio: cabeçalho ausente");
+        }
+        // Remove a marca de ordem de bytes que alguns editores gravam no início do arquivo
+        if (cabecalho.startsWith("\uFEFF")) {
+            cabecalho = cabecalho.substring(1);
+        }
+        
+        List<String> nomes = new ArrayList<>();
+        for (String nome : dividirCsv(cabecalho)) {
+            nomes.add(NormalizadorTexto.normalizar(nome).trim());
+        }
+        int[] indices = new int[COLUNAS.length];
+        for (int i = 0; i < COLUNAS.length; i++) {
+            indices[i] = nomes.indexOf(COLUNAS[i]);
+            if (indices[i] < 0 && i < COLUNAS_OBRIGATORIAS) {
+                throw new IOException("Coluna obrigatória ausente no cabeçalho: " + COLUNAS[i]);
+            }
+        }
+        return indices;
+    }
+    
+    /**
+     * Junta ao registro CSV as linhas seguintes, até que as aspas abertas sejam fechadas
+     */
+    private String continuarRegistro(String inicio) throws IOException {
+        StringBuilder registro = new StringBuilder(inicio);
+        boolean abertas = true;
+        String continuacao;
+        while (abertas && (continuacao = leitor.readLine()) != null) {
+            numeroLinha++;
+            registro.append('\n').append(continuacao);
+            // Aspas em dobro dentro do campo não mudam a paridade
+            abertas ^= aspasAbertas(continuacao);
+        }
+        return registro.toString();
+    }
+    
+    /**
+     * Verifica se o texto tem uma quantidade ímpar de aspas
+     */
+    private static boolean aspasAbertas(String texto) {
+        boolean abertas = false;
+        for (int i = 0; i < texto.length(); i++) {
+            if (texto.charAt(i) == '"') {
+                abertas = !abertas;
+            }
+        }
+        return abertas;
+    }
+    
+    private String[] valoresCsv(String texto) {
+        List<String> campos = dividirCsv(texto);
+        String[] valores = new String[COLUNAS.length];
+        for (int i = 0; i < COLUNAS.length; i++) {
+            if (posicoes[i] >= 0 && posicoes[i] < campos.size()) {
+                valores[i] = campos.get(posicoes[i]);
+            }
+        }
+        return valores;
+    }
+    
+    /**
+     * Divide uma linha CSV em campos. Campos entre aspas podem conter vírgulas,
+     * e aspas dentro deles são escritas em dobro.
+     */
+    private static List<String> dividirCsv(String texto) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (entreAspas) {
+                if (c == '"' && i + 1 < texto.length() && texto.charAt(i + 1) == '"') {
+                    campo.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreAspas = false;
+                } else {
+                    campo.append(c);
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == SEPARADOR_CSV) {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else {
+                campo.append(c);
+            }
+        }
+        if (entreAspas) {
+            throw new IllegalArgumentException("Aspas não fechadas");
+        }
+        campos.add(campo.toString());
+        return campos;
+    }
+    
+    private static String[] valoresJson(String texto) {
+        Map<String, Object> objeto = new ObjetoJson(texto).ler();
+        String[] valores = new String[COLUNAS.length];
+        for (int i = 0; i < COLUNAS.length; i++) {
+            Object valor = objeto.get(COLUNAS[i]);
+            if (valor instanceof List<?> lista) {
+                valores[i] = String.join(";", lista.stream().map(String::valueOf).toList());
+            } else if (valor != null) {
+                valores[i] = valor.toString();
+            }
+        }
+        return valores;
+    }
+    
+    private static LocalDateTime converterHorario(String texto) {
+        try {
+            return LocalDateTime.parse(texto, FORMATO_HORARIO);
+        } catch (DateTimeParseException e) {
+            try {
+                return LocalDateTime.parse(texto);
+            } catch (DateTimeParseException e2) {
+                throw new IllegalArgumentException("Horário inválido: " + texto + " (use dd/MM/yyyy HH:mm)");
+            }
+        }
+    }
+    
+    private static int converterCapacidade(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return 0;
+        }
+        try {
+            // No JSON, números inteiros podem vir como 10.0
+            double capacidade = Double.parseDouble(texto.trim());
+            if (capacidade < 0 || capacidade != Math.floor(capacidade) || capacidade > Integer.MAX_VALUE) {
+                throw new NumberFormatException();
+            }
+            return (int) capacidade;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Capacidade inválida: " + texto);
+        }
+    }
+    
+    private static List<String> converterParticipantes(String texto) {
+        List<String> emails = new ArrayList<>();
+        if (texto != null) {
+            for (String email : texto.trim().split(SEPARADOR_PARTICIPANTES)) {
+                if (!email.isEmpty()) {
+                    emails.add(email);
+                }
+            }
+        }
+        return emails;
+    }
+    
+    /**
+     * Leitor de um objeto JSON sem objetos aninhados: valores de texto, números, booleanos,
+     * null e listas desses valores. As chaves são normalizadas (sem acentos, em minúsculas).
+     */
+    private static final class ObjetoJson {
+        private final String texto;
+        private int posicao;
+        
+        ObjetoJson(String texto) {
+            this.texto = texto;
+        }
+        
+        Map<String, Object> ler() {
+            Map<String, Object> objeto = new HashMap<>();
+            esperar('{');
+            if (!consumir('}')) {
+                do {
+                    String chave = NormalizadorTexto.normalizar(lerTexto()).trim();
+                    esperar(':');
+                    objeto.put(chave, lerValor());
+                } while (consumir(','));
+                esperar('}');
+            }
+            pularEspacos();
+            if (posicao < texto.length()) {
+                throw erro("conteúdo após o fim do objeto");
+            }
+            return objeto;
+        }
+        
+        private Object lerValor() {
+            pularEspacos();
+            if (posicao >= texto.length()) {
+                throw erro("valor ausente");
+            }
+            char c = texto.charAt(posicao);
+            if (c == '"') {
+                return lerTexto();
+            }
+            if (c == '[') {
+                posicao++;
+                List<Object> lista = new ArrayList<>();
+                if (!consumir(']')) {
+                    do {
+                        lista.add(lerValor());
+                    } while (consumir(','));
+                    esperar(']');
+                }
+                return lista;
+            }
+            if (c == '{') {
+                throw erro("objetos aninhados não são suportados");
+            }
+            int inicio = posicao;
+            while (posicao < texto.length() && ",]} \t".indexOf(texto.charAt(posicao)) < 0) {
+                posicao++;
+            }
+            String literal = texto.substring(inicio, posicao);
+            if (literal.equals("null")) {
+                return null;
+            }
+            if (literal.equals("true") || literal.equals("false")) {
+                return literal;
+            }
+            try {
+                Double.parseDouble(literal);
+                return literal;
+            } catch (NumberFormatException e) {
+                throw erro("valor inválido '" + literal + "'");
+            }
+        }
+        
+        private String lerTexto() {
+            esperar('"');
+            StringBuilder valor = new StringBuilder();
+            while (posicao < texto.length()) {
+                char c = texto.charAt(posicao++);
+                if (c == '"') {
+                    return valor.toString();
+                }
+                if (c != '\\') {
+                    valor.append(c);
+                    continue;
+                }
+                if (posicao >= texto.length()) {
+                    break;
+                }
+                char escape = texto.charAt(posicao++);
+                switch (escape) {
+                    case 'b':
+                        valor.append('\b');
+                        break;
+                    case 'f':
+                        valor.append('\f');
+                        break;
+                    case 'n':
+                        valor.append('\n');
+                        break;
+                    case 'r':
+                        valor.append('\r');
+                        break;
+                    case 't':
+                        valor.append('\t');
+                        break;
+                    case 'u':
+                        if (posicao + 4 > texto.length()) {
+                            throw erro("escape \\u incompleto");
+                        }
+                        try {
+                            valor.append((char) Integer.parseInt(texto.substring(posicao, posicao + 4), 16));
+                        } catch (NumberFormatException e) {
+                            throw erro("escape \\u inválido");
+                        }
+                        posicao += 4;
+                        break;
+                    default:
+                        valor.append(escape);
+                        break;
+                }
+            }
+            throw erro("texto não fechado");
+        }
+        
+        private void esperar(char esperado) {
+            if (!consumir(esperado)) {
+                throw erro("esperado '" + esperado + "'");
+            }
+        }
+        
+        private boolean consumir(char esperado) {
+            pularEspacos();
+            if (posicao < texto.length() && texto.charAt(posicao) == esperado) {
+                posicao++;
+                return true;
+            }
+            return false;
+        }
+        
+        private void pularEspacos() {
+            while (posicao < texto.length() && Character.isWhitespace(texto.charAt(posicao))) {
+                posicao++;
+            }
+        }
+        
+        private IllegalArgumentException erro(String problema) {
+            return new IllegalArgumentException("JSON inválido na posição " + (posicao + 1) + ": " + problema);
+        }
+    }
+}
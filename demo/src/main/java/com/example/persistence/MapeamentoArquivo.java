@@ -0,0 +1,87 @@
+package com.example.persistence;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Mapeamento de arquivos em memória para leitura, com liberação explícita do mapeamento.
+ *
+ * A API padrão do Java 21 não oferece como desfazer um mapeamento: ele só é liberado quando o
+ * buffer é coletado pelo garbage collector, em um momento imprevisível. No Linux e no macOS isso
+ * não impede que o arquivo seja substituído, mas no Windows um arquivo mapeado não pode ser
+ * apagado nem ter outro arquivo renomeado sobre ele, e a compactação precisa fazer as duas coisas
+ * com o events.data e com a sua geração anterior. Por isso a liberação recorre a
+ * sun.misc.Unsafe.invokeCleaner (módulo jdk.unsupported), o único meio de liberar um mapeamento
+ * sem recursos em preview. Este é o único ponto do sistema que usa essa classe; se ela não estiver
+ * disponível, a liberação não é feita e o mapeamento fica a cargo do garbage collector.
+ *
+ * Depois de liberado, o buffer não pode mais ser acessado (o acesso derruba a JVM), então quem
+ * libera deve garantir que nenhuma outra thread o esteja usando.
+ *
+ * @author Sistema de Eventos
+ * @version 1.0
+ */
+final class MapeamentoArquivo {
+    
+    // Instância de sun.misc.Unsafe e seu método invokeCleaner, null se indisponíveis
+    private static final Object UNSAFE;
+    private static final Method LIBERAR;
+    
+    static {
+        Object unsafe = null;
+        Method liberar = null;
+        try {
+            Class<?> classe = Class.forName("sun.misc.Unsafe");
+            Field instancia = classe.getDeclaredField("theUnsafe");
+            instancia.setAccessible(true);
+            unsafe = instancia.get(null);
+            liberar = classe.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            unsafe = null;
+            liberar = null;
+        }
+        UNSAFE = unsafe;
+        LIBERAR = liberar;
+    }
+    
+    private MapeamentoArquivo() {
+    }
+    
+    /**
+     * Mapeia o arquivo inteiro em memória para leitura
+     * @param arquivo arquivo a ser mapeado
+     * @return buffer mapeado, válido mesmo depois de o canal ser fechado
+     * @throws IOException se o arquivo não puder ser lido ou exceder 2 GB
+     */
+    static MappedByteBuffer mapear(File arquivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo.toPath(), StandardOpenOption.READ)) {
+            if (canal.size() > Integer.MAX_VALUE) {
+                throw new IOException("Arquivo " + arquivo.getName() + " excede o tamanho suportado");
+            }
+            return canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+        }
+    }
+    
+    /**
+     * Libera o mapeamento imediatamente, se possível
+     * @param mapeamento buffer mapeado que não será mais acessado
+     * @return true se o mapeamento foi liberado, false se ficou a cargo do garbage collector
+     */
+    static boolean liberar(MappedByteBuffer mapeamento) {
+        if (LIBERAR == null) {
+            return false;
+        }
+        try {
+            LIBERAR.invoke(UNSAFE, mapeamento);
+            return true;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return false;
+        }
+    }
+}
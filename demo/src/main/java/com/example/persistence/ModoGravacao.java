@@ -0,0 +1,20 @@
+package com.example.persistence;
+
+/**
+ * Enum que define quando uma alteração é considerada concluída em relação à gravação em disco.
+ *
+ * @author Sistema de Eventos
+ * @version 1.0
+ */
+public enum ModoGravacao {
+    /**
+     * A operação retorna assim que a alteração é aplicada em memória; a gravação ocorre
+     * no próximo lote da thread de gravação (fire-and-forget)
+     */
+    ASSINCRONO,
+    
+    /**
+     * A operação só retorna depois que o lote que contém a alteração foi gravado em disco
+     */
+    DURAVEL
+}
@@ -0,0 +1,148 @@
+package com.example.persistence;
+
+import com.example.model.Evento;
+import com.example.model.Usuario;
+
+/**
+ * Representa uma mutação registrada no journal de eventos.
+ * Cada registro descreve apenas a alteração realizada, e não o estado completo do sistema.
+ *
+ * @author Sistema de Eventos
+ * @version 1.0
+ */
+public final class RegistroJournal {
+    
+    /**
+     * Tipos de mutação suportados pelo journal
+     */
+    public enum Tipo {
+        EVENTO_CRIADO,
+        EVENTO_ATUALIZADO,
+        EVENTO_REMOVIDO,
+        PARTICIPANTE_ADICIONADO,
+        PARTICIPANTE_REMOVIDO,
+        LISTA_ESPERA_ADICIONADO,
+        LISTA_ESPERA_REMOVIDO;
+        
+        /**
+         * Obtém o tipo a partir do código gravado no arquivo
+         * @param codigo código do tipo
+         * @return tipo correspondente ou null se o código for desconhecido
+         */
+        static Tipo porCodigo(int codigo) {
+            Tipo[] tipos = values();
+            return codigo >= 0 && codigo < tipos.length ? tipos[codigo] : null;
+        }
+    }
+    
+    private final Tipo tipo;
+    private final long eventoId;
+    private final Evento evento;
+    private final Usuario usuario;
+    
+    private RegistroJournal(Tipo tipo, long eventoId, Evento evento, Usuario usuario) {
+        this.tipo = tipo;
+        this.eventoId = eventoId;
+        this.evento = evento;
+        this.usuario = usuario;
+    }
+    
+    /**
+     * Cria registro de evento cadastrado
+     * @param evento evento cadastrado
+     * @return registro da mutação
+     */
+    public static RegistroJournal eventoCriado(Evento evento) {
+        return new RegistroJournal(Tipo.EVENTO_CRIADO, evento.getId(), evento, null);
+    }
+    
+    /**
+     * Cria registro de evento atualizado
+     * @param evento evento com os dados atualizados
+     * @return registro da mutação
+     */
+    public static RegistroJournal eventoAtualizado(Evento evento) {
+        return new RegistroJournal(Tipo.EVENTO_ATUALIZADO, evento.getId(), evento, null);
+    }
+    
+    /**
+     * Cria registro de evento removido
+     * @param eventoId ID do evento removido
+     * @return registro da mutação
+     */
+    public static RegistroJournal eventoRemovido(long eventoId) {
+        return new RegistroJournal(Tipo.EVENTO_REMOVIDO, eventoId, null, null);
+    }
+    
+    /**
+     * Cria registro de participante adicionado a um evento
+     * @param eventoId ID do evento
+     * @param usuario participante adicionado
+     * @return registro da mutação
+     */
+    public static RegistroJournal participanteAdicionado(long eventoId, Usuario usuario) {
+        return new RegistroJournal(Tipo.PARTICIPANTE_ADICIONADO, eventoId, null, usuario);
+    }
+    
+    /**
+     * Cria registro de participante removido de um evento
+     * @param eventoId ID do evento
+     * @param usuario participante removido
+     * @return registro da mutação
+     */
+    public static RegistroJournal participanteRemovido(long eventoId, Usuario usuario) {
+        return new RegistroJournal(Tipo.PARTICIPANTE_REMOVIDO, eventoId, null, usuario);
+    }
+    
+    /**
+     * Cria registro de usuário adicionado à lista de espera de um evento
+     * @param eventoId ID do evento
+     * @param usuario usuário que passou a aguardar vaga
+     * @return registro da mutação
+     */
+    public static RegistroJournal listaEsperaAdicionado(long eventoId, Usuario usuario) {
+        return new RegistroJournal(Tipo.LISTA_ESPERA_ADICIONADO, eventoId, null, usuario);
+    }
+    
+    /**
+     * Cria registro de usuário que deixou a lista de espera de um evento sem ser promovido
+     * @param eventoId ID do evento
+     * @param usuario usuário removido da lista de espera
+     * @return registro da mutação
+     */
+    public static RegistroJournal listaEsperaRemovido(long eventoId, Usuario usuario) {
+        return new RegistroJournal(Tipo.LISTA_ESPERA_REMOVIDO, eventoId, null, usuario);
+    }
+    
+    /**
+     * Obtém o tipo da mutação
+     * @return tipo do registro
+     */
+    public Tipo getTipo() {
+        return tipo;
+    }
+    
+    /**
+     * Obtém o ID do evento afetado
+     * @return ID do evento
+     */
+    public long getEventoId() {
+        return eventoId;
+    }
+    
+    /**
+     * Obtém o evento criado ou atualizado
+     * @return evento do registro ou null para os demais tipos
+     */
+    public Evento getEvento() {
+        return evento;
+    }
+    
+    /**
+     * Obtém o participante (ou usuário da lista de espera) adicionado ou removido
+     * @return usuário do registro ou null para os demais tipos
+     */
+    public Usuario getUsuario() {
+        return usuario;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.persistence;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Leitura dos arquivos gravados com serialização Java pelas versões anteriores do sistema.
+ * Usada apenas para a migração única para o formato binário. A desserialização é restrita
+ * às classes do modelo e da biblioteca padrão, evitando a instanciação de classes arbitrárias.
+ *
+ * @author Sistema de Eventos
+ * @version 1.0
+ */
+public final class SerializacaoLegada {
+    
+    // Cabeçalho de todo stream de serialização Java
+    private static final int MAGICO_SERIALIZACAO = 0xACED;
+    
+    private static final ObjectInputFilter FILTRO = ObjectInputFilter.Config.createFilter(
+            "maxdepth=20;com.example.model.*;java.util.*;java.time.*;java.lang.*;!*");
+    
+    private SerializacaoLegada() {
+    }
+    
+    /**
+     * Verifica se o arquivo foi gravado com serialização Java
+     * @param arquivo arquivo a ser verificado
+     * @return true se o arquivo começa com o cabeçalho da serialização Java
+     */
+    public static boolean isSerializacaoJava(File arquivo) {
+        if (!arquivo.exists() || arquivo.length() < 2) {
+            return false;
+        }
+        try (InputStream in = new FileInputStream(arquivo)) {
+            return ((in.read() << 8) | in.read()) == MAGICO_SERIALIZACAO;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+    
+    /**
+     * Lê uma lista serializada de um arquivo legado
+     * @param arquivo arquivo legado
+     * @param tipo tipo esperado dos elementos
+     * @param <T> tipo dos elementos
+     * @return elementos da lista
+     * @throws IOException se o arquivo não puder ser lido ou não contiver uma lista do tipo esperado
+     */
+    public static <T> List<T> lerLista(File arquivo, Class<T> tipo) throws IOException {
+        try (InputStream in = new FileInputStream(arquivo)) {
+            Object objeto = lerObjeto(in, Object.class);
+            if (!(objeto instanceof List<?>)) {
+                throw new IOException("Arquivo " + arquivo.getName() + " não contém uma lista");
+            }
+            List<T> lista = new ArrayList<>();
+            for (Object elemento : (List<?>) objeto) {
+                lista.add(tipo.cast(elemento));
+            }
+            return lista;
+        } catch (ClassCastException e) {
+            throw new IOException("Arquivo " + arquivo.getName() + " contém dados de tipo inesperado", e);
+        }
+    }
+    
+    /**
+     * Lê um objeto serializado
+     * @param in stream de origem
+     * @param tipo tipo esperado do objeto
+     * @param <T> tipo do objeto
+     * @return objeto lido
+     * @throws IOException se o objeto não puder ser lido ou não for do tipo esperado
+     */
+    private static <T> T lerObjeto(InputStream in, Class<T> tipo) throws IOException {
+        try {
+            ObjectInputStream ois = new ObjectInputStream(in);
+            ois.setObjectInputFilter(FILTRO);
+            return tipo.cast(ois.readObject());
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new IOException("Objeto serializado inválido: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.persistence;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tabela de strings compartilhada por todos os registros de um arquivo binário.
+ * Valores repetidos (cidades, endereços, emails de participantes) são gravados uma única vez
+ * no início do arquivo e referenciados pelos registros através do índice na tabela.
+ * Na leitura, os registros passam a compartilhar a mesma instância de cada string.
+ *
+ * @author Sistema de Eventos
+ * @version 1.0
+ */
+public class TabelaStrings {
+    
+    private final List<String> strings;
+    private final Map<String, Integer> indices;
+    
+    /**
+     * Construtor de uma tabela vazia, usada na gravação
+     */
+    public TabelaStrings() {
+        this.strings = new ArrayList<>();
+        this.indices = new HashMap<>();
+    }
+    
+    /**
+     * Construtor de uma tabela com strings já lidas do arquivo
+     * @param strings strings na ordem dos índices
+     */
+    public TabelaStrings(List<String> strings) {
+        this.strings = strings;
+        this.indices = null;
+    }
+    
+    /**
+     * Cria uma tabela para gravação que começa com as strings de outra tabela, nos mesmos índices.
+     * Permite copiar para um novo arquivo registros já codificados, que referenciam esses índices.
+     * @param base tabela cujas strings são mantidas
+     * @return tabela para gravação
+     */
+    public static TabelaStrings continuacao(TabelaStrings base) {
+        TabelaStrings tabela = new TabelaStrings();
+        for (String valor : base.strings) {
+            tabela.indices.putIfAbsent(valor, tabela.strings.size());
+            tabela.strings.add(valor);
+        }
+        return tabela;
+    }
+    
+    /**
+     * Obtém o índice da string, incluindo-a na tabela se ainda não existir
+     * @param valor string a ser internada
+     * @return índice da string na tabela
+     */
+    public int internar(String valor) {
+        Integer indice = indices.get(valor);
+        if (indice == null) {
+            indice = strings.size();
+            strings.add(valor);
+            indices.put(valor, indice);
+        }
+        return indice;
+    }
+    
+    /**
+     * Obtém a string associada ao índice
+     * @param indice índice da string
+     * @return string da tabela
+     * @throws IOException se o índice não existir na tabela
+     */
+    public String obter(int indice) throws IOException {
+        if (indice < 0 || indice >= strings.size()) {
+            throw new IOException("Referência inválida para a tabela de strings: " + indice);
+        }
+        return strings.get(indice);
+    }
+    
+    /**
+     * Obtém todas as strings na ordem dos índices
+     * @return lista de strings
+     */
+    public List<String> getStrings() {
+        return strings;
+    }
+}
@@ -0,0 +1,265 @@
+package com.example.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido para busca textual em documentos identificados por um long (ex.: ID do evento).
+ * Cada documento tem até 31 campos de texto, cada um com um peso de relevância.
+ *
+ * Os termos são normalizados pelo {@link NormalizadorTexto} e mantidos em ordem, de modo que
+ * a busca por prefixo percorre apenas os termos que começam com a palavra buscada. Para cada
+ * termo o índice guarda os documentos que o contêm e em quais campos, e para cada documento
+ * os seus termos, o que permite atualizar ou remover um documento sem reprocessar o índice.
+ *
+ * Buscas podem ser feitas por várias threads ao mesmo tempo; alterações são exclusivas.
+ *
+ * @author Sistema de Eventos
+ * @version 1.0
+ */
+public class IndiceTextual {
+    
+    /**
+     * Máscara que seleciona todos os campos na busca
+     */
+    public static final int TODOS_CAMPOS = -1;
+    
+    private static final int MAXIMO_CAMPOS = 31;
+    
+    // Peso de cada campo, na ordem em que os campos são informados na indexação
+    private final int[] pesos;
+    
+    // Termo -> documentos que contêm o termo, com a máscara dos campos em que ele aparece
+    private final NavigableMap<String, MapaLong<Integer>> documentosPorTermo;
+    
+    // Documento -> termos indexados, para remover o documento sem reprocessar o texto
+    private final MapaLong<String[]> termosPorDocumento;
+    
+    private final ReentrantReadWriteLock bloqueio;
+    
+    /**
+     * Construtor
+     * @param pesos peso de cada campo na relevância, na ordem em que os campos são indexados
+     */
+    public IndiceTextual(int... pesos) {
+        if (pesos.length == 0 || pesos.length > MAXIMO_CAMPOS) {
+            throw new IllegalArgumentException("Quantidade de campos inválida: " + pesos.length);
+        }
+        this.pesos = pesos.clone();
+        this.documentosPorTermo = new TreeMap<>();
+        this.termosPorDocumento = new MapaLong<>();
+        this.bloqueio = new ReentrantReadWriteLock();
+    }
+    
+    /**
+     * Indexa o documento, substituindo a indexação anterior se existir
+     * @param documento identificador do documento
+     * @param campos textos dos campos, na ordem dos pesos (campos nulos são ignorados)
+     */
+    public void indexar(long documento, String... campos) {
+        // Termo -> máscara dos campos em que aparece, calculada fora do bloqueio
+        Map<String, Integer> termos = new HashMap<>();
+        for (int i = 0; i < campos.length && i < pesos.length; i++) {
+            for (String termo : NormalizadorTexto.tokenizar(campos[i])) {
+                termos.merge(termo, 1 << i, (a, b) -> a | b);
+            }
+        }
+        
+        bloqueio.writeLock().lock();
+        try {
+            removerDocumento(documento);
+            for (Map.Entry<String, Integer> termo : termos.entrySet()) {
+                documentosPorTermo.computeIfAbsent(termo.getKey(), t -> new MapaLong<>())
+                        .put(documento, termo.getValue());
+            }
+            termosPorDocumento.put(documento, termos.keySet().toArray(new String[0]));
+        } finally {
+            bloqueio.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Remove o documento do índice
+     * @param documento identificador do documento
+     */
+    public void remover(long documento) {
+        bloqueio.writeLock().lock();
+        try {
+            removerDocumento(documento);
+        } finally {
+            bloqueio.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Busca em todos os campos
+     * @param consulta palavras buscadas
+     * @return identificadores dos documentos encontrados, do mais para o menos relevante
+     * @see #buscar(String, int)
+     */
+    public long[] buscar(String consulta) {
+        return buscar(consulta, TODOS_CAMPOS);
+    }
+    
+    /**
+     * Busca os documentos que contêm todas as palavras da consulta nos campos selecionados.
+     * Cada palavra encontra os termos iguais a ela ou que começam com ela. A relevância soma,
+     * para cada palavra, o peso dos campos em que o termo aparece, multiplicado pela raridade
+     * do termo e pela fração do termo coberta pela palavra (termos completos valem mais).
+     * @param consulta palavras buscadas
+     * @param campos máscara dos campos considerados (bit i para o campo i)
+     * @return identificadores dos documentos encontrados, do mais para o menos relevante
+     *         (empates pelo menor identificador)
+     */
+    public long[] buscar(String consulta, int campos) {
+        // Palavras mais longas primeiro: são as mais seletivas e reduzem os candidatos mais cedo
+        List<String> ordenadas = new ArrayList<>(new LinkedHashSet<>(NormalizadorTexto.tokenizar(consulta)));
+        ordenadas.sort(Comparator.comparingInt(String::length).reversed());
+        if (ordenadas.isEmpty()) {
+            return new long[0];
+        }
+        
+        bloqueio.readLock().lock();
+        try {
+            MapaLong<double[]> candidatos = null;
+            for (String palavra : ordenadas) {
+                candidatos = pontuar(palavra, campos, candidatos);
+                if (candidatos.isEmpty()) {
+                    return new long[0];
+                }
+            }
+            return ordenar(candidatos);
+        } finally {
+            bloqueio.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Obtém a quantidade de documentos indexados
+     * @return quantidade de documentos
+     */
+    public int getQuantidadeDocumentos() {
+        bloqueio.readLock().lock();
+        try {
+            return termosPorDocumento.size();
+        } finally {
+            bloqueio.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Remove todos os documentos do índice
+     */
+    public void limpar() {
+        bloqueio.writeLock().lock();
+        try {
+            documentosPorTermo.clear();
+            termosPorDocumento.clear();
+        } finally {
+            bloqueio.writeLock().unlock();
+        }
+    }
+    
+    // Métodos auxiliares
+    
+    private void removerDocumento(long documento) {
+        String[] termos = termosPorDocumento.remove(documento);
+        if (termos == null) {
+            return;
+        }
+        for (String termo : termos) {
+            MapaLong<Integer> documentos = documentosPorTermo.get(termo);
+            documentos.remove(documento);
+            if (documentos.isEmpty()) {
+                documentosPorTermo.remove(termo);
+            }
+        }
+    }
+    
+    /**
+     * Pontua os documentos que contêm a palavra (ou um termo que começa com ela).
+     * A partir da segunda palavra, apenas os candidatos anteriores são considerados,
+     * e a pontuação acumulada é levada adiante.
+     * @return candidatos que contêm a palavra, com a pontuação acumulada na posição 0
+     */
+    private MapaLong<double[]> pontuar(String palavra, int campos, MapaLong<double[]> anteriores) {
+        MapaLong<double[]> candidatos = new MapaLong<>();
+        double totalDocumentos = Math.max(1, termosPorDocumento.size());
+        
+        for (Map.Entry<String, MapaLong<Integer>> entrada
+                : documentosPorTermo.subMap(palavra, true, palavra + Character.MAX_VALUE, false).entrySet()) {
+            MapaLong<Integer> documentos = entrada.getValue();
+            double raridade = Math.log(1 + totalDocumentos / documentos.size());
+            double cobertura = (double) palavra.length() / entrada.getKey().length();
+            double relevancia = raridade * cobertura;
+            
+            documentos.forEach((documento, camposTermo) -> {
+                int camposEncontrados = camposTermo & campos;
+                if (camposEncontrados == 0) {
+                    return;
+                }
+                double acumulado = 0;
+                if (anteriores != null) {
+                    double[] anterior = anteriores.get(documento);
+                    if (anterior == null) {
+                        return;
+                    }
+                    acumulado = anterior[0];
+                }
+                
+                // Entre os termos que a palavra encontra no documento, vale o mais relevante
+                double pontos = acumulado + relevancia * peso(camposEncontrados);
+                double[] candidato = candidatos.get(documento);
+                if (candidato == null) {
+                    candidatos.put(documento, new double[] {pontos});
+                } else if (pontos > candidato[0]) {
+                    candidato[0] = pontos;
+                }
+            });
+        }
+        return candidatos;
+    }
+    
+    private int peso(int campos) {
+        int total = 0;
+        for (int i = 0; i < pesos.length; i++) {
+            if ((campos & (1 << i)) != 0) {
+                total += pesos[i];
+            }
+        }
+        return total;
+    }
+    
+    private static long[] ordenar(MapaLong<double[]> candidatos) {
+        long[] documentos = new long[candidatos.size()];
+        double[] pontuacoes = new double[candidatos.size()];
+        int[] posicao = {0};
+        candidatos.forEach((documento, pontuacao) -> {
+            documentos[posicao[0]] = documento;
+            pontuacoes[posicao[0]++] = pontuacao[0];
+        });
+        
+        Integer[] ordem = new Integer[documentos.length];
+        for (int i = 0; i < ordem.length; i++) {
+            ordem[i] = i;
+        }
+        Arrays.sort(ordem, (a, b) -> {
+            int comparacao = Double.compare(pontuacoes[b], pontuacoes[a]);
+            return comparacao != 0 ? comparacao : Long.compare(documentos[a], documentos[b]);
+        });
+        
+        long[] resultado = new long[ordem.length];
+        for (int i = 0; i < ordem.length; i++) {
+            resultado[i] = documentos[ordem[i]];
+        }
+        return resultado;
+    }
+}
@@ -0,0 +1,238 @@
+package com.example.util;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Mapa de chaves primitivas long para valores, usando endereçamento aberto com sondagem linear.
+ * Evita o boxing das chaves em Long e as entradas alocadas por um HashMap,
+ * sendo usado como índice de chave primária (ex.: ID do evento).
+ * Valores nulos não são permitidos.
+ *
+ * @param <V> tipo dos valores
+ * @author Sistema de Eventos
+ * @version 1.0
+ */
+public class MapaLong<V> {
+    
+    private static final int CAPACIDADE_INICIAL = 16;
+    private static final float FATOR_CARGA = 0.5f;
+    
+    private long[] chaves;
+    private Object[] valores;
+    private int tamanho;
+    private int limiteRedimensionamento;
+    
+    /**
+     * Construtor padrão
+     */
+    public MapaLong() {
+        this(CAPACIDADE_INICIAL);
+    }
+    
+    /**
+     * Construtor com capacidade esperada
+     * @param capacidadeEsperada número de entradas esperadas
+     */
+    public MapaLong(int capacidadeEsperada) {
+        int capacidade = Integer.highestOneBit(Math.max(CAPACIDADE_INICIAL, (int) (capacidadeEsperada / FATOR_CARGA)) * 2 - 1);
+        alocar(capacidade);
+    }
+    
+    /**
+     * Obtém o valor associado à chave
+     * @param chave chave buscada
+     * @return valor associado ou null se não existir
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long chave) {
+        int mascara = chaves.length - 1;
+        int i = indice(chave, mascara);
+        while (valores[i] != null) {
+            if (chaves[i] == chave) {
+                return (V) valores[i];
+            }
+            i = (i + 1) & mascara;
+        }
+        return null;
+    }
+    
+    /**
+     * Verifica se a chave está presente
+     * @param chave chave buscada
+     * @return true se a chave existe, false caso contrário
+     */
+    public boolean containsKey(long chave) {
+        return get(chave) != null;
+    }
+    
+    /**
+     * Associa o valor à chave, substituindo o valor anterior se existir
+     * @param chave chave
+     * @param valor valor (não pode ser nulo)
+     * @return valor anterior ou null se a chave não existia
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long chave, V valor) {
+        if (valor == null) {
+            throw new IllegalArgumentException("Valor não pode ser nulo");
+        }
+        
+        int mascara = chaves.length - 1;
+        int i = indice(chave, mascara);
+        while (valores[i] != null) {
+            if (chaves[i] == chave) {
+                V anterior = (V) valores[i];
+                valores[i] = valor;
+                return anterior;
+            }
+            i = (i + 1) & mascara;
+        }
+        
+        chaves[i] = chave;
+        valores[i] = valor;
+        if (++tamanho > limiteRedimensionamento) {
+            redimensionar(chaves.length * 2);
+        }
+        return null;
+    }
+    
+    /**
+     * Remove a chave do mapa
+     * @param chave chave a ser removida
+     * @return valor removido ou null se a chave não existia
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long chave) {
+        int mascara = chaves.length - 1;
+        int i = indice(chave, mascara);
+        while (valores[i] != null) {
+            if (chaves[i] == chave) {
+                V removido = (V) valores[i];
+                removerPosicao(i, mascara);
+                tamanho--;
+                return removido;
+            }
+            i = (i + 1) & mascara;
+        }
+        return null;
+    }
+    
+    /**
+     * Obtém o número de entradas
+     * @return número de entradas no mapa
+     */
+    public int size() {
+        return tamanho;
+    }
+    
+    /**
+     * Verifica se o mapa está vazio
+     * @return true se não há entradas, false caso contrário
+     */
+    public boolean isEmpty() {
+        return tamanho == 0;
+    }
+    
+    /**
+     * Remove todas as entradas
+     */
+    public void clear() {
+        Arrays.fill(valores, null);
+        tamanho = 0;
+    }
+    
+    /**
+     * Percorre todos os valores (sem ordem definida)
+     * @param acao ação executada para cada valor
+     */
+    @SuppressWarnings("unchecked")
+    public void forEachValor(Consumer<? super V> acao) {
+        for (int i = 0; i < valores.length; i++) {
+            if (valores[i] != null) {
+                acao.accept((V) valores[i]);
+            }
+        }
+    }
+    
+    /**
+     * Percorre todas as entradas (sem ordem definida)
+     * @param acao ação executada para cada chave e valor
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(AcaoEntrada<? super V> acao) {
+        for (int i = 0; i < valores.length; i++) {
+            if (valores[i] != null) {
+                acao.executar(chaves[i], (V) valores[i]);
+            }
+        }
+    }
+    
+    /**
+     * Ação executada para cada entrada do mapa, sem boxing da chave
+     *
+     * @param <V> tipo dos valores
+     */
+    @FunctionalInterface
+    public interface AcaoEntrada<V> {
+        /**
+         * Executa a ação para uma entrada
+         * @param chave chave da entrada
+         * @param valor valor da entrada
+         */
+        void executar(long chave, V valor);
+    }
+    
+    // Métodos auxiliares
+    
+    private void alocar(int capacidade) {
+        chaves = new long[capacidade];
+        valores = new Object[capacidade];
+        limiteRedimensionamento = (int) (capacidade * FATOR_CARGA);
+    }
+    
+    private void redimensionar(int novaCapacidade) {
+        long[] chavesAntigas = chaves;
+        Object[] valoresAntigos = valores;
+        alocar(novaCapacidade);
+        
+        int mascara = novaCapacidade - 1;
+        for (int j = 0; j < valoresAntigos.length; j++) {
+            if (valoresAntigos[j] != null) {
+                int i = indice(chavesAntigas[j], mascara);
+                while (valores[i] != null) {
+                    i = (i + 1) & mascara;
+                }
+                chaves[i] = chavesAntigas[j];
+                valores[i] = valoresAntigos[j];
+            }
+        }
+    }
+    
+    /**
+     * Remove a entrada da posição informada deslocando as entradas seguintes do mesmo
+     * agrupamento, para que a sondagem linear continue encontrando-as (sem marcadores de remoção)
+     */
+    private void removerPosicao(int livre, int mascara) {
+        int i = livre;
+        while (true) {
+            i = (i + 1) & mascara;
+            if (valores[i] == null) {
+                break;
+            }
+            int ideal = indice(chaves[i], mascara);
+            // Move a entrada se sua posição ideal não estiver entre a posição livre e a atual
+            if (((i - ideal) & mascara) >= ((i - livre) & mascara)) {
+                chaves[livre] = chaves[i];
+                valores[livre] = valores[i];
+                livre = i;
+            }
+        }
+        valores[livre] = null;
+    }
+    
+    private static int indice(long chave, int mascara) {
+        long h = chave * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mascara;
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.util;
+
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+
+/**
+ * Versão segura entre threads do {@link MapaLong}, para índices muito lidos e pouco alterados.
+ * Leituras são otimistas (sem bloqueio): a consulta é feita diretamente sobre a tabela e só é
+ * repetida com bloqueio de leitura se uma escrita ocorrer ao mesmo tempo.
+ * Escritas são exclusivas entre si.
+ * Valores nulos não são permitidos.
+ *
+ * @param <V> tipo dos valores
+ * @author Sistema de Eventos
+ * @version 1.0
+ */
+public class MapaLongConcorrente<V> {
+    
+    private final MapaLong<V> mapa;
+    private final StampedLock bloqueio;
+    
+    /**
+     * Construtor padrão
+     */
+    public MapaLongConcorrente() {
+        this.mapa = new MapaLong<>();
+        this.bloqueio = new StampedLock();
+    }
+    
+    /**
+     * Obtém o valor associado à chave
+     * @param chave chave buscada
+     * @return valor associado ou null se não existir
+     */
+    public V get(long chave) {
+        long marca = bloqueio.tryOptimisticRead();
+        if (marca != 0) {
+            try {
+                V valor = mapa.get(chave);
+                if (bloqueio.validate(marca)) {
+                    return valor;
+                }
+            } catch (RuntimeException e) {
+                // Tabela lida durante um redimensionamento: repete a consulta com bloqueio
+            }
+        }
+        
+        marca = bloqueio.readLock();
+        try {
+            return mapa.get(chave);
+        } finally {
+            bloqueio.unlockRead(marca);
+        }
+    }
+    
+    /**
+     * Verifica se a chave está presente
+     * @param chave chave buscada
+     * @return true se a chave existe, false caso contrário
+     */
+    public boolean containsKey(long chave) {
+        return get(chave) != null;
+    }
+    
+    /**
+     * Associa o valor à chave, substituindo o valor anterior se existir
+     * @param chave chave
+     * @param valor valor (não pode ser nulo)
+     * @return valor anterior ou null se a chave não existia
+     */
+    public V put(long chave, V valor) {
+        long marca = bloqueio.writeLock();
+        try {
+            return mapa.put(chave, valor);
+        } finally {
+            bloqueio.unlockWrite(marca);
+        }
+    }
+    
+    /**
+     * Associa o valor à chave apenas se ela ainda não existir
+     * @param chave chave
+     * @param valor valor (não pode ser nulo)
+     * @return valor já existente ou null se o valor foi associado
+     */
+    public V putIfAbsent(long chave, V valor) {
+        long marca = bloqueio.writeLock();
+        try {
+            V existente = mapa.get(chave);
+            if (existente == null) {
+                mapa.put(chave, valor);
+            }
+            return existente;
+        } finally {
+            bloqueio.unlockWrite(marca);
+        }
+    }
+    
+    /**
+     * Remove a chave do mapa
+     * @param chave chave a ser removida
+     * @return valor removido ou null se a chave não existia
+     */
+    public V remove(long chave) {
+        long marca = bloqueio.writeLock();
+        try {
+            return mapa.remove(chave);
+        } finally {
+            bloqueio.unlockWrite(marca);
+        }
+    }
+    
+    /**
+     * Obtém o número de entradas
+     * @return número de entradas no mapa
+     */
+    public int size() {
+        long marca = bloqueio.tryOptimisticRead();
+        int tamanho = mapa.size();
+        if (bloqueio.validate(marca)) {
+            return tamanho;
+        }
+        
+        marca = bloqueio.readLock();
+        try {
+            return mapa.size();
+        } finally {
+            bloqueio.unlockRead(marca);
+        }
+    }
+    
+    /**
+     * Verifica se o mapa está vazio
+     * @return true se não há entradas, false caso contrário
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+    
+    /**
+     * Remove todas as entradas
+     */
+    public void clear() {
+        long marca = bloqueio.writeLock();
+        try {
+            mapa.clear();
+        } finally {
+            bloqueio.unlockWrite(marca);
+        }
+    }
+    
+    /**
+     * Percorre todos os valores (sem ordem definida), bloqueando escritas durante o percurso
+     * @param acao ação executada para cada valor
+     */
+    public void forEachValor(Consumer<? super V> acao) {
+        long marca = bloqueio.readLock();
+        try {
+            mapa.forEachValor(acao);
+        } finally {
+            bloqueio.unlockRead(marca);
+        }
+    }
+}
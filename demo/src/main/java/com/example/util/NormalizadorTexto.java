@@ -0,0 +1,84 @@
+package com.example.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normalização de textos para busca: remove acentos (ex.: "São João" e "sao joao" são
+ * equivalentes), converte para minúsculas e separa o texto em termos.
+ *
+ * @author Sistema de Eventos
+ * @version 1.0
+ */
+public final class NormalizadorTexto {
+    
+    // Marcas diacríticas separadas das letras pela decomposição canônica (NFD)
+    private static final Pattern DIACRITICOS = Pattern.compile("\\p{M}+");
+    
+    // Letra sem acento e em minúsculas de cada caractere até o fim do Latim Estendido-A
+    // (que cobre o português), calculada uma vez para evitar a decomposição a cada texto
+    private static final char[] TABELA = new char[0x180];
+    
+    static {
+        for (char c = 0; c < TABELA.length; c++) {
+            String normalizado = decompor(String.valueOf(c));
+            TABELA[c] = normalizado.length() == 1 ? normalizado.charAt(0) : c;
+        }
+    }
+    
+    private NormalizadorTexto() {
+    }
+    
+    /**
+     * Normaliza o texto: sem acentos e em minúsculas
+     * @param texto texto original (pode ser nulo)
+     * @return texto normalizado (vazio se o texto for nulo)
+     */
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        char[] caracteres = new char[texto.length()];
+        for (int i = 0; i < caracteres.length; i++) {
+            char c = texto.charAt(i);
+            if (c >= TABELA.length) {
+                return decompor(texto);
+            }
+            caracteres[i] = TABELA[c];
+        }
+        return new String(caracteres);
+    }
+    
+    /**
+     * Separa o texto normalizado em termos (sequências de letras e dígitos)
+     * @param texto texto original (pode ser nulo)
+     * @return termos na ordem em que aparecem, com repetições
+     */
+    public static List<String> tokenizar(String texto) {
+        String normalizado = normalizar(texto);
+        List<String> termos = new ArrayList<>();
+        int inicio = -1;
+        for (int i = 0; i < normalizado.length(); i++) {
+            if (Character.isLetterOrDigit(normalizado.charAt(i))) {
+                if (inicio < 0) {
+                    inicio = i;
+                }
+            } else if (inicio >= 0) {
+                termos.add(normalizado.substring(inicio, i));
+                inicio = -1;
+            }
+        }
+        if (inicio >= 0) {
+            termos.add(normalizado.substring(inicio));
+        }
+        return termos;
+    }
+    
+    private static String decompor(String texto) {
+        String semAcentos = DIACRITICOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return semAcentos.toLowerCase(Locale.ROOT);
+    }
+}
@@ -5,11 +5,15 @@ import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Scanner;
+import java.util.function.Function;
 
 import com.example.controller.EventoController;
 import com.example.controller.UsuarioController;
 import com.example.model.Categoria;
 import com.example.model.Evento;
+import com.example.model.PaginaEventos;
+import com.example.model.ResultadoInscricao;
+import com.example.model.StatusEvento;
 import com.example.model.Usuario;
 
 /**
@@ -31,12 +35,15 @@ public class MenuPrincipal {
     // Formatador de data/hora
     private static final DateTimeFormatter FORMATO_DATA = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
     
+    // Quantidade de eventos exibidos por página nas listagens
+    private static final int TAMANHO_PAGINA = 10;
+    
     /**
      * Construtor que inicializa os controllers e o scanner
      */
     public MenuPrincipal() {
-        this.eventoController = new EventoController();
         this.usuarioController = new UsuarioController();
+        this.eventoController = new EventoController(usuarioController::buscarUsuarioPorEmail);
         this.scanner = new Scanner(System.in);
     }
     
@@ -387,6 +394,21 @@ public class MenuPrincipal {
         }
         novoEvento.setDescricao(descricao);
         
+        // Capacidade
+        int capacidade = -1;
+        do {
+            System.out.print("Capacidade máxima (0 para ilimitada): ");
+            try {
+                capacidade = Integer.parseInt(scanner.nextLine().trim());
+                if (capacidade < 0) {
+                    System.out.println("A capacidade não pode ser negativa!");
+                }
+            } catch (NumberFormatException e) {
+                System.out.println("Digite um número válido!");
+            }
+        } while (capacidade < 0);
+        novoEvento.setCapacidade(capacidade);
+        
         // Cadastra o evento
         if (eventoController.adicionarEvento(novoEvento)) {
             System.out.println("\nEvento cadastrado com sucesso!");
@@ -399,38 +421,18 @@ public class MenuPrincipal {
      * Visualiza todos os eventos
      */
     private void visualizarTodosEventos() {
-        limparTela();
-        System.out.println("=== TODOS OS EVENTOS ===\n");
-        
-        List<Evento> eventos = eventoController.listarEventosOrdenados();
-        
-        if (eventos.isEmpty()) {
-            System.out.println("Nenhum evento cadastrado ainda.");
-        } else {
-            exibirListaEventos(eventos, true);
-        }
-        
-        pausar();
+        navegarEventos("=== TODOS OS EVENTOS ===",
+                cursor -> eventoController.listarEventosOrdenados(cursor, TAMANHO_PAGINA),
+                true, "Nenhum evento cadastrado ainda.", null);
     }
     
     /**
      * Permite visualizar eventos sem estar logado
      */
     private void visualizarEventosSemLogin() {
-        limparTela();
-        System.out.println("=== EVENTOS DISPONÍVEIS ===\n");
-        
-        List<Evento> eventosProximos = eventoController.listarEventosProximos();
-        
-        if (eventosProximos.isEmpty()) {
-            System.out.println("Nenhum evento próximo encontrado.");
-        } else {
-            System.out.println("Eventos próximos:");
-            exibirListaEventos(eventosProximos, false);
-            System.out.println("\n💡 Faça login para participar dos eventos!");
-        }
-        
-        pausar();
+        navegarEventos("=== EVENTOS DISPONÍVEIS ===\n\nEventos próximos:",
+                cursor -> eventoController.listarEventosProximos(cursor, TAMANHO_PAGINA),
+                false, "Nenhum evento próximo encontrado.", "💡 Faça login para participar dos eventos!");
     }
     
     /**
@@ -439,7 +441,7 @@ public class MenuPrincipal {
     private void buscarEventos() {
         limparTela();
         System.out.println("=== BUSCAR EVENTOS ===\n");
-        System.out.println("1. Buscar por nome");
+        System.out.println("1. Buscar por texto (nome, endereço ou descrição)");
         System.out.println("2. Buscar por categoria");
         System.out.println("3. Eventos próximos");
         System.out.println("4. Eventos passados");
@@ -448,27 +450,29 @@ public class MenuPrincipal {
         
         int opcao = lerOpcao();
         List<Evento> resultados = null;
+        // Listagens ordenadas pelo horário são exibidas página a página
+        Function<String, PaginaEventos> consulta = null;
         
         switch (opcao) {
             case 1:
-                System.out.print("Digite o nome (ou parte do nome): ");
-                String nome = scanner.nextLine().trim();
-                resultados = eventoController.buscarEventosPorNome(nome);
+                System.out.print("Digite as palavras buscadas (ou o início delas): ");
+                String texto = scanner.nextLine().trim();
+                resultados = eventoController.buscarEventos(texto);
                 break;
             case 2:
                 Categoria categoria = escolherCategoria();
                 if (categoria != null) {
-                    resultados = eventoController.listarEventosPorCategoria(categoria);
+                    consulta = cursor -> eventoController.listarEventosPorCategoria(categoria, cursor, TAMANHO_PAGINA);
                 }
                 break;
             case 3:
-                resultados = eventoController.listarEventosProximos();
+                consulta = cursor -> eventoController.listarEventosProximos(cursor, TAMANHO_PAGINA);
                 break;
             case 4:
-                resultados = eventoController.listarEventosPassados();
+                consulta = cursor -> eventoController.listarEventosPassados(cursor, TAMANHO_PAGINA);
                 break;
             case 5:
-                resultados = eventoController.listarEventosAtuais();
+                consulta = cursor -> eventoController.listarEventosAtuais(cursor, TAMANHO_PAGINA);
                 break;
             default:
                 System.out.println("Opção inválida!");
@@ -476,6 +480,10 @@ public class MenuPrincipal {
                 return;
         }
         
+        if (consulta != null) {
+            navegarEventos("=== RESULTADOS DA BUSCA ===", consulta, true, "Nenhum evento encontrado.", null);
+            return;
+        }
         if (resultados != null) {
             limparTela();
             System.out.println("=== RESULTADOS DA BUSCA ===\n");
@@ -507,8 +515,9 @@ public class MenuPrincipal {
         System.out.println("Eventos disponíveis para participação:");
         for (int i = 0; i < eventosProximos.size(); i++) {
             Evento evento = eventosProximos.get(i);
-            System.out.printf("%d. %s - %s (%s)\n", 
-                    i + 1, evento.getNome(), evento.getHorarioFormatado(), evento.getStatus());
+            System.out.printf("%d. %s - %s (%s)%s\n", 
+                    i + 1, evento.getNome(), evento.getHorarioFormatado(), descricaoStatus(evento),
+                    evento.isLotado() ? " - LOTADO, inscrição em lista de espera" : "");
         }
         
         System.out.print("\nEscolha um evento (número) ou 0 para voltar: ");
@@ -519,15 +528,19 @@ public class MenuPrincipal {
             
             // Exibe detalhes do evento
             limparTela();
-            System.out.println(eventoEscolhido.toStringDetalhado());
+            System.out.println(eventoEscolhido.toStringDetalhado(statusDe(eventoEscolhido)));
             
             System.out.print("\nConfirma participação neste evento? (s/n): ");
             String confirmacao = scanner.nextLine().trim().toLowerCase();
             
             if (confirmacao.equals("s") || confirmacao.equals("sim")) {
-                if (eventoController.adicionarParticipante(eventoEscolhido.getId(), 
-                        usuarioController.getUsuarioLogado())) {
+                ResultadoInscricao resultado = eventoController.adicionarParticipante(eventoEscolhido.getId(), 
+                        usuarioController.getUsuarioLogado());
+                if (resultado == ResultadoInscricao.CONFIRMADA) {
                     System.out.println("✅ Participação confirmada com sucesso!");
+                } else if (resultado == ResultadoInscricao.LISTA_ESPERA) {
+                    System.out.println("⏳ Evento lotado. Você está na lista de espera e será confirmado "
+                            + "automaticamente quando uma vaga for liberada.");
                 } else {
                     System.out.println("❌ Erro ao confirmar participação.");
                 }
@@ -581,7 +594,7 @@ public class MenuPrincipal {
         for (int i = 0; i < meusEventos.size(); i++) {
             Evento evento = meusEventos.get(i);
             System.out.printf("%d. %s - %s (%s)\n", 
-                    i + 1, evento.getNome(), evento.getHorarioFormatado(), evento.getStatus());
+                    i + 1, evento.getNome(), evento.getHorarioFormatado(), descricaoStatus(evento));
         }
         
         System.out.print("\nEscolha um evento para cancelar participação (número) ou 0 para voltar: ");
@@ -612,6 +625,77 @@ public class MenuPrincipal {
     
     // Métodos utilitários
     
+    /**
+     * Exibe uma listagem de eventos página a página, permitindo avançar e voltar entre as páginas
+     * @param titulo título da listagem
+     * @param consulta consulta de uma página a partir de um cursor (null para a primeira página)
+     * @param mostrarDetalhes se deve mostrar detalhes completos
+     * @param mensagemVazia mensagem exibida quando não há eventos
+     * @param rodape mensagem exibida após os eventos de cada página (ou null)
+     */
+    private void navegarEventos(String titulo, Function<String, PaginaEventos> consulta,
+                                boolean mostrarDetalhes, String mensagemVazia, String rodape) {
+        PaginaEventos pagina = consulta.apply(null);
+        int numeroPagina = 1;
+        while (true) {
+            limparTela();
+            System.out.println(titulo + "\n");
+            if (pagina.isVazia()) {
+                System.out.println(mensagemVazia);
+                pausar();
+                return;
+            }
+            
+            exibirListaEventos(pagina.getEventos(), mostrarDetalhes);
+            if (rodape != null) {
+                System.out.println("\n" + rodape);
+            }
+            if (!pagina.temAnterior() && !pagina.temProxima()) {
+                pausar();
+                return;
+            }
+            
+            System.out.println("\nPágina " + numeroPagina);
+            if (pagina.temProxima()) {
+                System.out.println("P. Próxima página");
+            }
+            if (pagina.temAnterior()) {
+                System.out.println("A. Página anterior");
+            }
+            System.out.print("Escolha uma opção (Enter para voltar): ");
+            String opcao = scanner.nextLine().trim().toUpperCase();
+            if (opcao.equals("P") && pagina.temProxima()) {
+                pagina = consulta.apply(pagina.getCursorProximo());
+                numeroPagina++;
+            } else if (opcao.equals("A") && pagina.temAnterior()) {
+                pagina = consulta.apply(pagina.getCursorAnterior());
+                // Eventos removidos entre as consultas podem antecipar a volta à primeira página
+                numeroPagina = pagina.temAnterior() ? Math.max(numeroPagina - 1, 2) : 1;
+            } else if (opcao.isEmpty()) {
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Obtém o status do evento pela agenda do controlador, sem consultar o relógio
+     * @param evento evento exibido
+     * @return status do evento, ou null se ele não estiver mais cadastrado
+     */
+    private StatusEvento statusDe(Evento evento) {
+        return eventoController.obterStatusEvento(evento.getId()).orElse(null);
+    }
+    
+    /**
+     * Obtém a descrição do status do evento para exibição
+     * @param evento evento exibido
+     * @return descrição do status
+     */
+    private String descricaoStatus(Evento evento) {
+        StatusEvento status = statusDe(evento);
+        return status == null ? "Removido" : status.getDescricao();
+    }
+    
     /**
      * Exibe lista de eventos formatada
      * @param eventos lista de eventos
@@ -623,13 +707,13 @@ public class MenuPrincipal {
             System.out.println("─".repeat(60));
             
             if (mostrarDetalhes) {
-                System.out.println(evento.toStringDetalhado());
+                System.out.println(evento.toStringDetalhado(statusDe(evento)));
             } else {
                 System.out.printf("📅 %s\n", evento.getNome());
                 System.out.printf("📍 %s\n", evento.getEndereco());
                 System.out.printf("🏷️  %s\n", evento.getCategoria().getDescricao());
                 System.out.printf("⏰ %s\n", evento.getHorarioFormatado());
-                System.out.printf("📊 Status: %s\n", evento.getStatus());
+                System.out.printf("📊 Status: %s\n", descricaoStatus(evento));
                 System.out.printf("👥 Participantes: %d\n", evento.getNumeroParticipantes());
             }
             
@@ -850,9 +934,11 @@ public class MenuPrincipal {
     private void finalizarSistema() {
         System.out.println("\n=== FINALIZANDO SISTEMA ===");
         
-        // Salva dados antes de sair
+        // Salva dados antes de sair e encerra as threads de gravação
         eventoController.salvarEventos();
         usuarioController.salvarUsuarios();
+        eventoController.encerrar();
+        usuarioController.encerrar();
         
         System.out.println("Dados salvos com sucesso!");
         System.out.println("Obrigado por usar o Sistema de Eventos!");
@@ -0,0 +1,179 @@
+package com.example.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.example.model.Categoria;
+import com.example.model.Evento;
+import com.example.model.StatusEvento;
+import com.example.persistence.ModoGravacao;
+
+/**
+ * Transições de status mantidas pela agenda: o status e as quantidades por faixa seguem as
+ * fronteiras, a thread avisa as transições no horário, e eventos remarcados para mais cedo
+ * antecipam a thread ou, se a transição já passou, nunca são vistos com o status anterior.
+ */
+public class AgendaStatusEventosTest {
+
+    private static final LocalDateTime INSTANTE = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    @Rule
+    public TemporaryFolder pasta = new TemporaryFolder();
+
+    private EventoController controller;
+    private final List<String> transicoes = new CopyOnWriteArrayList<>();
+
+    @Before
+    public void preparar() {
+        controller = new EventoController(pasta.getRoot(), email -> Optional.empty());
+        controller.setModoGravacao(ModoGravacao.ASSINCRONO);
+    }
+
+    @After
+    public void encerrar() {
+        controller.encerrar();
+    }
+
+    @Test
+    public void statusEQuantidadesSeguemAsFronteiras() {
+        // Agenda não iniciada: as fronteiras ficam paradas no instante informado
+        AgendaStatusEventos agenda = new AgendaStatusEventos(new ConcurrentSkipListMap<>(), INSTANTE);
+        EntradaEvento proximo = entrada(INSTANTE.plusMinutes(1));
+        EntradaEvento comecando = entrada(INSTANTE);
+        EntradaEvento acontecendo = entrada(INSTANTE.minusMinutes(30));
+        EntradaEvento terminando = entrada(INSTANTE.minus(StatusEvento.DURACAO));
+        EntradaEvento encerrado = entrada(INSTANTE.minusHours(2));
+        for (EntradaEvento entrada : List.of(proximo, comecando, acontecendo, terminando, encerrado)) {
+            assertTrue(agenda.inserir(entrada));
+        }
+
+        assertEquals(StatusEvento.PROXIMO, agenda.status(proximo.getChave()));
+        assertEquals(StatusEvento.ACONTECENDO, agenda.status(comecando.getChave()));
+        assertEquals(StatusEvento.ACONTECENDO, agenda.status(acontecendo.getChave()));
+        assertEquals(StatusEvento.ENCERRADO, agenda.status(terminando.getChave()));
+        assertEquals(StatusEvento.ENCERRADO, agenda.status(encerrado.getChave()));
+        assertEquals(new AgendaStatusEventos.Contagem(4, 2), agenda.contagem());
+
+        assertTrue(agenda.remover(acontecendo));
+        assertTrue(agenda.remover(encerrado));
+        assertFalse(agenda.remover(encerrado));
+        assertEquals(new AgendaStatusEventos.Contagem(2, 1), agenda.contagem());
+
+        agenda.limpar();
+        assertEquals(new AgendaStatusEventos.Contagem(0, 0), agenda.contagem());
+    }
+
+    @Test
+    public void transicaoNoHorarioEAvisadaEContada() throws InterruptedException {
+        CountDownLatch iniciado = aguardarTransicao(StatusEvento.ACONTECENDO);
+        Evento evento = adicionar(LocalDateTime.now().plusNanos(TimeUnit.MILLISECONDS.toNanos(300)));
+        assertEquals(Optional.of(StatusEvento.PROXIMO), controller.obterStatusEvento(evento.getId()));
+
+        assertTrue(iniciado.await(10, TimeUnit.SECONDS));
+        assertEquals(Optional.of(StatusEvento.ACONTECENDO), controller.obterStatusEvento(evento.getId()));
+        assertEquals(List.of(evento.getId() + ": PROXIMO -> ACONTECENDO"), transicoes);
+        assertEquals(List.of(evento), controller.listarEventosAtuais());
+        assertTrue(controller.listarEventosProximos().isEmpty());
+        assertTrue(controller.obterEstatisticas().contains("Eventos acontecendo agora: 1\n"));
+    }
+
+    @Test
+    public void eventoAntecipadoDespertaAAgenda() throws InterruptedException {
+        CountDownLatch iniciado = aguardarTransicao(StatusEvento.ACONTECENDO);
+        Evento evento = adicionar(LocalDateTime.now().plusDays(1));
+        // Dá tempo para a thread passar a aguardar o início do evento, daqui a um dia
+        Thread.sleep(100);
+
+        evento.setHorario(LocalDateTime.now().plusNanos(TimeUnit.MILLISECONDS.toNanos(300)));
+        assertTrue(controller.atualizarEvento(evento));
+        assertTrue(iniciado.await(10, TimeUnit.SECONDS));
+        assertEquals(Optional.of(StatusEvento.ACONTECENDO), controller.obterStatusEvento(evento.getId()));
+    }
+
+    @Test
+    public void eventoComInicioJaPassadoNuncaEVistoComoProximo() throws InterruptedException {
+        // Sem eventos, a thread move as fronteiras na inicialização e depois aguarda
+        Thread.sleep(200);
+        Evento cadastrado = adicionar(LocalDateTime.now().minusNanos(TimeUnit.MILLISECONDS.toNanos(100)));
+        assertEquals(Optional.of(StatusEvento.ACONTECENDO), controller.obterStatusEvento(cadastrado.getId()));
+
+        Evento remarcado = adicionar(LocalDateTime.now().plusDays(1));
+        Thread.sleep(100);
+        remarcado.setHorario(LocalDateTime.now().minusNanos(TimeUnit.MILLISECONDS.toNanos(50)));
+        assertTrue(controller.atualizarEvento(remarcado));
+        assertEquals(Optional.of(StatusEvento.ACONTECENDO), controller.obterStatusEvento(remarcado.getId()));
+
+        assertTrue(controller.listarEventosProximos().isEmpty());
+        assertEquals(2, controller.listarEventosAtuais().size());
+        String estatisticas = controller.obterEstatisticas();
+        assertTrue(estatisticas.contains("Eventos próximos: 0\n"));
+        assertTrue(estatisticas.contains("Eventos acontecendo agora: 2\n"));
+    }
+
+    @Test
+    public void eventoJaEncerradoEContadoComoPassado() {
+        Evento evento = adicionar(LocalDateTime.now().minusDays(1));
+        assertEquals(Optional.of(StatusEvento.ENCERRADO), controller.obterStatusEvento(evento.getId()));
+        assertEquals(List.of(evento), controller.listarEventosPassados());
+
+        assertTrue(controller.removerEvento(evento.getId()));
+        assertEquals(Optional.empty(), controller.obterStatusEvento(evento.getId()));
+        assertTrue(controller.obterEstatisticas().contains("Eventos passados: 0\n"));
+    }
+
+    @Test
+    public void statusCalculadoPeloEventoSegueAsMesmasFronteiras() {
+        assertEquals(StatusEvento.PROXIMO, StatusEvento.noInstante(INSTANTE.plusMinutes(1), INSTANTE));
+        assertEquals(StatusEvento.ACONTECENDO, StatusEvento.noInstante(INSTANTE, INSTANTE));
+        assertEquals(StatusEvento.ACONTECENDO, StatusEvento.noInstante(INSTANTE.minusMinutes(30), INSTANTE));
+        assertEquals(StatusEvento.ENCERRADO, StatusEvento.noInstante(INSTANTE.minus(StatusEvento.DURACAO), INSTANTE));
+
+        Evento futuro = new Evento("Evento", "Local", Categoria.FESTA, LocalDateTime.now().plusDays(1), "Descrição");
+        assertFalse(futuro.jaOcorreu());
+        assertFalse(futuro.estaOcorrendo());
+        assertEquals("Próximo evento", futuro.getStatus());
+        assertTrue(futuro.toString().endsWith(", status='Próximo evento'}"));
+        assertTrue(futuro.toStringDetalhado().contains("Status: Próximo evento\n"));
+
+        Evento acontecendo = new Evento("Evento", "Local", Categoria.FESTA, LocalDateTime.now().minusMinutes(30), "Descrição");
+        assertTrue(acontecendo.jaOcorreu());
+        assertTrue(acontecendo.estaOcorrendo());
+        assertEquals("Acontecendo agora", acontecendo.getStatus());
+    }
+
+    private Evento adicionar(LocalDateTime horario) {
+        Evento evento = new Evento("Evento", "Local", Categoria.FESTA, horario, "Descrição");
+        assertTrue(controller.adicionarEvento(evento));
+        return evento;
+    }
+
+    private CountDownLatch aguardarTransicao(StatusEvento status) {
+        CountDownLatch latch = new CountDownLatch(1);
+        controller.adicionarOuvinteStatus((evento, anterior, novo) -> {
+            transicoes.add(evento.getId() + ": " + anterior.name() + " -> " + novo.name());
+            if (novo == status) {
+                latch.countDown();
+            }
+        });
+        return latch;
+    }
+
+    private static EntradaEvento entrada(LocalDateTime horario) {
+        return EntradaEvento.de(new Evento("Evento", "Local", Categoria.FESTA, horario, "Descrição"));
+    }
+}
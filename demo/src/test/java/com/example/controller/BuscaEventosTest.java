@@ -0,0 +1,112 @@
+package com.example.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.example.model.Categoria;
+import com.example.model.Evento;
+import com.example.persistence.ModoGravacao;
+import com.example.util.NormalizadorTexto;
+
+/**
+ * Busca textual de eventos: acentos e maiúsculas são ignorados, os resultados seguem a
+ * relevância (campo, palavra completa ou prefixo) e o índice acompanha atualizações e remoções.
+ */
+public class BuscaEventosTest {
+
+    @Rule
+    public TemporaryFolder pasta = new TemporaryFolder();
+
+    private EventoController controller;
+
+    @Before
+    public void preparar() {
+        controller = new EventoController(pasta.getRoot(), email -> Optional.empty());
+        controller.setModoGravacao(ModoGravacao.ASSINCRONO);
+    }
+
+    @After
+    public void encerrar() {
+        controller.encerrar();
+    }
+
+    @Test
+    public void normalizacaoRemoveAcentosEMaiusculas() {
+        assertEquals("sao joao", NormalizadorTexto.normalizar("São João"));
+        assertEquals(NormalizadorTexto.normalizar("sao joao"), NormalizadorTexto.normalizar("SÃO JOÃO"));
+        assertEquals(List.of("festa", "junina", "sao", "2025"), NormalizadorTexto.tokenizar("Festa-Junina, São (2025)!"));
+        // Fora da tabela pré-calculada, o texto é decomposto
+        assertEquals("exito", NormalizadorTexto.normalizar("Ẽxito"));
+    }
+
+    @Test
+    public void buscaIgnoraAcentosNosDoisSentidos() {
+        Evento saoPaulo = adicionar("Show em São Paulo", "Av. Paulista", "Música ao vivo");
+        Evento recife = adicionar("Show no Recife", "Marco Zero", "Musica ao vivo");
+
+        assertEquals(List.of(saoPaulo), controller.buscarEventos("sao"));
+        assertEquals(List.of(saoPaulo), controller.buscarEventos("SÃO paulo"));
+        assertEquals(List.of(recife), controller.buscarEventosPorNome("récife"));
+        assertEquals(2, controller.buscarEventos("música").size());
+        assertEquals(2, controller.buscarEventos("musica").size());
+    }
+
+    @Test
+    public void relevanciaPrefereNomeAoEnderecoEEnderecoADescricao() {
+        Evento naDescricao = adicionar("Encontro", "Centro", "Apresentação de teatro");
+        Evento noEndereco = adicionar("Encontro", "Teatro Municipal", "Apresentação");
+        Evento noNome = adicionar("Teatro de bonecos", "Centro", "Apresentação");
+
+        assertEquals(List.of(noNome, noEndereco, naDescricao), controller.buscarEventos("teatro"));
+        assertEquals(List.of(noNome), controller.buscarEventosPorNome("teatro"));
+        // Todas as palavras precisam ser encontradas
+        assertEquals(List.of(noNome), controller.buscarEventos("teatro bonecos"));
+        assertEquals(List.of(), controller.buscarEventos("teatro circo"));
+    }
+
+    @Test
+    public void relevanciaPrefereAPalavraCompletaAoPrefixo() {
+        Evento prefixo = adicionar("Teatrologia", "Centro", "Apresentação");
+        Evento completo = adicionar("Teatro", "Centro", "Apresentação");
+
+        assertEquals(List.of(completo, prefixo), controller.buscarEventos("teatro"));
+        assertEquals(List.of(completo, prefixo), controller.buscarEventos("teat"));
+        assertEquals(List.of(prefixo), controller.buscarEventos("teatrol"));
+    }
+
+    @Test
+    public void indiceAcompanhaAtualizacaoERemocao() {
+        Evento evento = adicionar("Feira de livros", "Praça Central", "Autores locais");
+        Evento outro = adicionar("Feira gastronômica", "Praça Central", "Comidas típicas");
+        // Constrói o índice antes das alterações
+        assertEquals(2, controller.buscarEventos("feira").size());
+
+        Evento atualizado = new Evento(evento.getId(), "Festival de quadrinhos", "Praça Central",
+                Categoria.OUTROS, evento.getHorario(), "Autores locais");
+        assertTrue(controller.atualizarEvento(atualizado));
+        assertEquals(List.of(outro), controller.buscarEventos("feira"));
+        assertEquals(List.of(atualizado), controller.buscarEventos("quadrinhos"));
+        assertEquals(List.of(atualizado), controller.buscarEventos("autores"));
+
+        assertTrue(controller.removerEvento(outro.getId()));
+        assertEquals(List.of(), controller.buscarEventos("feira"));
+        assertEquals(List.of(), controller.buscarEventos("gastronomica"));
+        assertEquals(List.of(atualizado), controller.buscarEventos("praca"));
+    }
+
+    private Evento adicionar(String nome, String endereco, String descricao) {
+        Evento evento = new Evento(nome, endereco, Categoria.OUTROS, LocalDateTime.now().plusDays(1).withNano(0), descricao);
+        assertTrue(controller.adicionarEvento(evento));
+        return evento;
+    }
+}
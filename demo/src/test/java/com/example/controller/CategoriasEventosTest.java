@@ -0,0 +1,111 @@
+package com.example.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.example.model.Categoria;
+import com.example.model.Evento;
+import com.example.persistence.ModoGravacao;
+
+/**
+ * Índice por categoria: cada categoria lista os seus eventos em ordem cronológica e mantém a sua
+ * contagem ao cadastrar, mudar a categoria, remover e limpar eventos, e ao carregá-los novamente.
+ */
+public class CategoriasEventosTest {
+
+    @Rule
+    public TemporaryFolder pasta = new TemporaryFolder();
+
+    private EventoController controller;
+    private Evento festa;
+    private Evento show;
+    private Evento outroShow;
+
+    @Before
+    public void preparar() {
+        controller = abrir();
+        LocalDateTime base = LocalDateTime.now().plusDays(1).withNano(0);
+        outroShow = adicionar("Outro show", Categoria.SHOW, base.plusDays(2));
+        festa = adicionar("Festa", Categoria.FESTA, base.plusDays(1));
+        show = adicionar("Show", Categoria.SHOW, base);
+    }
+
+    @After
+    public void encerrar() {
+        controller.encerrar();
+    }
+
+    @Test
+    public void categoriaListaSeusEventosEmOrdemCronologica() {
+        assertEquals(List.of(show, outroShow), controller.listarEventosPorCategoria(Categoria.SHOW));
+        assertEquals(List.of(festa), controller.listarEventosPorCategoria(Categoria.FESTA));
+        assertEquals(List.of(), controller.listarEventosPorCategoria(Categoria.PALESTRA));
+        assertEquals(2, controller.contarEventosPorCategoria(Categoria.SHOW));
+        assertEquals(1, controller.contarEventosPorCategoria(Categoria.FESTA));
+        assertEquals(0, controller.contarEventosPorCategoria(Categoria.PALESTRA));
+    }
+
+    @Test
+    public void mudancaDeCategoriaMoveOEvento() {
+        show.setCategoria(Categoria.FESTA);
+        assertTrue(controller.atualizarEvento(show));
+
+        assertEquals(List.of(outroShow), controller.listarEventosPorCategoria(Categoria.SHOW));
+        assertEquals(List.of(show, festa), controller.listarEventosPorCategoria(Categoria.FESTA));
+        assertEquals(1, controller.contarEventosPorCategoria(Categoria.SHOW));
+        assertEquals(2, controller.contarEventosPorCategoria(Categoria.FESTA));
+    }
+
+    @Test
+    public void remocaoELimpezaAtualizamAsContagens() {
+        assertTrue(controller.removerEvento(outroShow.getId()));
+        assertEquals(List.of(show), controller.listarEventosPorCategoria(Categoria.SHOW));
+        assertEquals(1, controller.contarEventosPorCategoria(Categoria.SHOW));
+
+        assertTrue(controller.limparTodosEventos());
+        for (Categoria categoria : Categoria.values()) {
+            assertEquals(List.of(), controller.listarEventosPorCategoria(categoria));
+            assertEquals(0, controller.contarEventosPorCategoria(categoria));
+        }
+    }
+
+    @Test
+    public void indiceReconstruidoAoCarregarOsEventos() {
+        outroShow.setCategoria(Categoria.PALESTRA);
+        assertTrue(controller.atualizarEvento(outroShow));
+        controller.encerrar();
+
+        controller = abrir();
+        assertEquals(List.of(show.getId()), ids(controller.listarEventosPorCategoria(Categoria.SHOW)));
+        assertEquals(List.of(outroShow.getId()), ids(controller.listarEventosPorCategoria(Categoria.PALESTRA)));
+        assertEquals(1, controller.contarEventosPorCategoria(Categoria.SHOW));
+        assertEquals(1, controller.contarEventosPorCategoria(Categoria.PALESTRA));
+        assertEquals(1, controller.contarEventosPorCategoria(Categoria.FESTA));
+    }
+
+    private EventoController abrir() {
+        EventoController aberto = new EventoController(pasta.getRoot(), email -> Optional.empty());
+        aberto.setModoGravacao(ModoGravacao.ASSINCRONO);
+        return aberto;
+    }
+
+    private Evento adicionar(String nome, Categoria categoria, LocalDateTime horario) {
+        Evento evento = new Evento(nome, "Local", categoria, horario, "Descrição");
+        assertTrue(controller.adicionarEvento(evento));
+        return evento;
+    }
+
+    private static List<Long> ids(List<Evento> eventos) {
+        return eventos.stream().map(Evento::getId).toList();
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Cursores de paginação: a codificação é reversível e qualquer texto que não tenha sido
+ * gerado por ela (base64 inválido, sentido, horário ou ID adulterados) é rejeitado.
+ */
+public class CursorEventosTest {
+
+    private static final ChaveEvento CHAVE = new ChaveEvento(LocalDateTime.of(2030, 5, 1, 20, 30, 15, 123_000_000), 42);
+
+    @Test
+    public void cursorCodificadoEDecodificadoSemPerdas() {
+        for (boolean anterior : new boolean[] {false, true}) {
+            CursorEventos cursor = new CursorEventos(CHAVE, anterior);
+            String codificado = cursor.codificar();
+
+            assertEquals(cursor, CursorEventos.decodificar(codificado));
+            // Seguro para URLs, sem preenchimento
+            assertEquals(codificado, codificado.replaceAll("[^A-Za-z0-9_-]", ""));
+        }
+    }
+
+    @Test
+    public void cursorMalformadoOuAdulteradoERejeitado() {
+        List<String> invalidos = List.of(
+                "",
+                "não é base64!",
+                "QUJD=====",
+                codificar("X2030-05-01T20:30:15/42"),
+                codificar("P2030-05-01T20:30:15"),
+                codificar("P2030-13-01T20:30:15/42"),
+                codificar("Pontem/42"),
+                codificar("P2030-05-01T20:30:15/quarenta"),
+                codificar("P2030-05-01T20:30:15/"),
+                codificar("A/42"));
+        for (String cursor : invalidos) {
+            try {
+                CursorEventos.decodificar(cursor);
+                fail("Cursor deveria ser rejeitado: " + cursor);
+            } catch (IllegalArgumentException e) {
+                // Esperado
+            }
+        }
+    }
+
+    private static String codificar(String texto) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.controller;
+
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.example.model.Categoria;
+import com.example.model.Evento;
+import com.example.model.Usuario;
+
+/**
+ * Total de participações nas estatísticas: os eventos do arquivo são somados pela quantidade
+ * guardada no diretório, sem decodificá-los, e o total acompanha as inscrições posteriores.
+ */
+public class EstatisticasEventosTest {
+
+    @Rule
+    public TemporaryFolder pasta = new TemporaryFolder();
+
+    @Test
+    public void participacoesDoArquivoSaoSomadasSemDecodificarOsEventos() throws IOException {
+        File diretorio = pasta.getRoot();
+        EventoController controller = abrir(diretorio);
+        long ultimo = 0;
+        for (int i = 0; i < 3; i++) {
+            Evento evento = new Evento("Evento " + i, "Local", Categoria.SHOW, LocalDateTime.now().plusDays(i + 1),
+                    "Descrição");
+            assertTrue(controller.adicionarEvento(evento));
+            for (int p = 0; p <= i; p++) {
+                controller.adicionarParticipante(evento.getId(), usuario(p));
+            }
+            ultimo = evento.getId();
+        }
+        assertTrue(controller.salvarEventos());
+        controller.encerrar();
+
+        // Sem a geração anterior e com o último registro danificado, decodificá-lo falharia
+        Files.deleteIfExists(new File(diretorio, "events.data.anterior").toPath());
+        File arquivo = new File(diretorio, "events.data");
+        byte[] dados = Files.readAllBytes(arquivo.toPath());
+        dados[dados.length - 10] ^= 0x01;
+        Files.write(arquivo.toPath(), dados);
+
+        EventoController reaberto = abrir(diretorio);
+        try {
+            assertTrue(reaberto.obterEstatisticas().contains("Total de participações: 6\n"));
+
+            reaberto.removerParticipante(ultimo - 1, usuario(0));
+            assertTrue(reaberto.obterEstatisticas().contains("Total de participações: 5\n"));
+        } finally {
+            reaberto.encerrar();
+        }
+    }
+
+    private static EventoController abrir(File diretorio) {
+        return new EventoController(diretorio, email -> Optional.empty());
+    }
+
+    private static Usuario usuario(int indice) {
+        return new Usuario("Usuário " + indice, "usuario" + indice + "@teste.com", "11987654321", "São Paulo", 30);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.example.model.Usuario;
+import com.example.persistence.ModoGravacao;
+
+/**
+ * A verificação das estatísticas de usuários recalcula a partir do cadastro, e não da
+ * indexação, de modo que uma indexação desatualizada é percebida e corrigida.
+ */
+public class EstatisticasUsuariosTest {
+
+    @Rule
+    public TemporaryFolder pasta = new TemporaryFolder();
+
+    private UsuarioController controller;
+
+    @Before
+    public void preparar() {
+        controller = new UsuarioController(pasta.getRoot());
+        controller.setModoGravacao(ModoGravacao.ASSINCRONO);
+        assertTrue(controller.cadastrarUsuario(new Usuario("Ana", "ana@teste.com", "11987654321", "São Paulo", 22)));
+        assertTrue(controller.cadastrarUsuario(new Usuario("Bruno", "bruno@teste.com", "11987654321", "Recife", 40)));
+    }
+
+    @After
+    public void encerrar() {
+        controller.encerrar();
+    }
+
+    @Test
+    public void estatisticasMantidasConferemComOCadastro() {
+        controller.removerUsuario("bruno@teste.com");
+
+        assertTrue(controller.verificarEstatisticas());
+        assertTrue(controller.obterEstatisticas().contains("Total de usuários: 1\n"));
+    }
+
+    @Test
+    public void indexacaoDesatualizadaEhCorrigidaPeloCadastro() {
+        // Alteração feita diretamente na instância cadastrada, sem passar pelo controller
+        Usuario ana = controller.buscarUsuarioPorEmail("ana@teste.com").get();
+        ana.setCidade("Curitiba");
+        ana.setIdade(70);
+
+        assertFalse(controller.verificarEstatisticas());
+        String estatisticas = controller.obterEstatisticas();
+        assertTrue(estatisticas.contains("Curitiba: 1\n"));
+        assertFalse(estatisticas.contains("São Paulo"));
+        assertTrue(estatisticas.contains("Idosos (60+ anos): 1\n"));
+        assertTrue(controller.verificarEstatisticas());
+    }
+
+    @Test
+    public void remocaoDeCidadeNaoContadaNaoCriaContagemNegativa() {
+        EstatisticasUsuarios estatisticas = new EstatisticasUsuarios();
+        estatisticas.adicionar("Recife", 30);
+        estatisticas.remover("Natal", 30);
+        estatisticas.remover("Recife", 30);
+
+        assertEquals(Map.of(), estatisticas.getTotalPorCidade());
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.example.model.Categoria;
+import com.example.model.Evento;
+import com.example.model.ResultadoImportacao;
+import com.example.model.Usuario;
+import com.example.persistence.ModoGravacao;
+
+/**
+ * Exportação de eventos e participantes: um arquivo exportado é importado de volta com os
+ * mesmos dados, em CSV e em JSON Lines, inclusive com vírgulas, aspas e quebras de linha.
+ */
+public class ExportacaoEventosTest {
+
+    @Rule
+    public TemporaryFolder pasta = new TemporaryFolder();
+
+    private final Usuario ana = new Usuario("Ana \"Aninha\" Souza", "ana@teste.com", "11987654321", "São Paulo, SP", 30);
+    private final Usuario bia = new Usuario("Bia", "bia@teste.com", "11987654321", "Recife", 25);
+    private final Map<String, Usuario> usuarios = Map.of("ana@teste.com", ana, "bia@teste.com", bia);
+
+    private EventoController origem;
+
+    @Before
+    public void preparar() throws IOException {
+        origem = novoController(pasta.newFolder("origem"));
+        LocalDateTime horario = LocalDateTime.of(2030, 6, 1, 19, 30);
+        Evento especial = new Evento("Show \"Rock, Blues\" & cia", "Rua A, 10\nFundos", Categoria.SHOW,
+                horario, "Primeira linha\r\nSegunda, com \"aspas\" e \\barra\\\n\ttabulação");
+        especial.setCapacidade(50);
+        especial.adicionarParticipante(ana);
+        especial.adicionarParticipante(bia);
+        assertTrue(origem.adicionarEvento(especial));
+        assertTrue(origem.adicionarEvento(new Evento("Palestra", "Auditório", Categoria.PALESTRA,
+                horario.plusDays(1), "Sem caracteres especiais")));
+    }
+
+    @After
+    public void encerrar() {
+        origem.encerrar();
+    }
+
+    @Test
+    public void exportacaoCsvEImportadaComOsMesmosDados() throws IOException {
+        conferirIdaEVolta("eventos.csv");
+    }
+
+    @Test
+    public void exportacaoJsonLinhasEImportadaComOsMesmosDados() throws IOException {
+        conferirIdaEVolta("eventos.jsonl");
+    }
+
+    @Test
+    public void participantesSaoExportadosComCamposEscapados() throws IOException {
+        long id = origem.listarEventosOrdenados().get(0).getId();
+        File csv = pasta.newFile("participantes.csv");
+        File json = pasta.newFile("participantes.jsonl");
+
+        assertTrue(origem.exportarParticipantes(id, csv));
+        assertTrue(origem.exportarParticipantes(id, json));
+        assertEquals("nome,email,cidade\n"
+                + "\"Ana \"\"Aninha\"\" Souza\",ana@teste.com,\"São Paulo, SP\"\n"
+                + "Bia,bia@teste.com,Recife\n", ler(csv));
+        assertEquals("{\"nome\":\"Ana \\\"Aninha\\\" Souza\",\"email\":\"ana@teste.com\",\"cidade\":\"São Paulo, SP\"}\n"
+                + "{\"nome\":\"Bia\",\"email\":\"bia@teste.com\",\"cidade\":\"Recife\"}\n", ler(json));
+    }
+
+    private void conferirIdaEVolta(String nomeArquivo) throws IOException {
+        File exportado = new File(pasta.getRoot(), nomeArquivo);
+        assertEquals(2, origem.exportarEventos(exportado));
+
+        EventoController destino = novoController(pasta.newFolder("destino"));
+        try {
+            ResultadoImportacao resultado = destino.importarEventos(exportado);
+            assertEquals(List.of(), resultado.getRejeicoes());
+            assertEquals(2, resultado.getImportados());
+
+            List<Evento> esperados = origem.listarEventosOrdenados();
+            List<Evento> importados = destino.listarEventosOrdenados();
+            for (int i = 0; i < esperados.size(); i++) {
+                Evento esperado = esperados.get(i);
+                Evento importado = importados.get(i);
+                assertEquals(esperado.getNome(), importado.getNome());
+                assertEquals(esperado.getEndereco(), importado.getEndereco());
+                assertEquals(esperado.getCategoria(), importado.getCategoria());
+                assertEquals(esperado.getHorario(), importado.getHorario());
+                assertEquals(esperado.getCapacidade(), importado.getCapacidade());
+                assertEquals(esperado.getParticipantes(), importado.getParticipantes());
+                // A leitura de linhas do CSV troca a quebra \r\n por \n
+                assertEquals(esperado.getDescricao().replace("\r\n", nomeArquivo.endsWith(".csv") ? "\n" : "\r\n"),
+                        importado.getDescricao());
+            }
+        } finally {
+            destino.encerrar();
+        }
+    }
+
+    private EventoController novoController(File diretorio) {
+        EventoController controller = new EventoController(diretorio,
+                email -> Optional.ofNullable(usuarios.get(Usuario.normalizarEmail(email))));
+        controller.setModoGravacao(ModoGravacao.ASSINCRONO);
+        return controller;
+    }
+
+    private static String ler(File arquivo) throws IOException {
+        return new String(Files.readAllBytes(arquivo.toPath()), StandardCharsets.UTF_8);
+    }
+}
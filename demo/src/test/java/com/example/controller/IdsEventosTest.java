@@ -0,0 +1,123 @@
+package com.example.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.example.model.Categoria;
+import com.example.model.Evento;
+import com.example.persistence.ArquivoEventos;
+import com.example.persistence.FormatoImportacao;
+import com.example.persistence.ModoGravacao;
+
+/**
+ * Alocação de IDs: o próximo ID é gravado no events.data, de modo que nem o ID de um evento
+ * removido é reutilizado após carregar os eventos, e a reserva de um ID existente nunca faz o
+ * contador voltar.
+ */
+public class IdsEventosTest {
+
+    @Rule
+    public TemporaryFolder pasta = new TemporaryFolder();
+
+    private EventoController controller;
+    private Evento primeiro;
+    private Evento ultimo;
+
+    @Before
+    public void preparar() {
+        controller = abrir();
+        primeiro = adicionar("Primeiro");
+        adicionar("Segundo");
+        ultimo = adicionar("Último");
+    }
+
+    @After
+    public void encerrar() {
+        controller.encerrar();
+    }
+
+    @Test
+    public void idDoEventoRemovidoContinuaReservadoNoArquivo() throws IOException {
+        assertTrue(controller.removerEvento(ultimo.getId()));
+        assertTrue(controller.salvarEventos());
+        controller.encerrar();
+
+        // O arquivo, e não apenas o contador desta execução, guarda o ID do evento removido
+        try (ArquivoEventos arquivo = ArquivoEventos.abrir(new File(pasta.getRoot(), "events.data"))) {
+            assertEquals(2, arquivo.getQuantidade());
+            assertTrue(arquivo.getProximoId() > ultimo.getId());
+        }
+
+        controller = abrir();
+        assertTrue(adicionar("Depois de carregar").getId() > ultimo.getId());
+    }
+
+    @Test
+    public void reservaDeIdCarregadoNaoReemiteIds() {
+        controller.encerrar();
+        controller = abrir();
+        long proximo = Evento.getProximoId();
+
+        // Reservar IDs já carregados (menores que o contador) não altera o contador
+        Evento.reservarId(primeiro.getId());
+        Evento.reservarId(ultimo.getId());
+        assertEquals(proximo, Evento.getProximoId());
+
+        Set<Long> ids = new HashSet<>(List.of(primeiro.getId(), ultimo.getId()));
+        for (Evento evento : controller.listarEventosOrdenados()) {
+            ids.add(evento.getId());
+        }
+        Evento novo = adicionar("Novo");
+        assertTrue(ids.add(novo.getId()));
+        assertTrue(novo.getId() >= proximo);
+
+        // Um ID acima do contador passa a ser o último emitido
+        Evento.reservarId(novo.getId() + 10);
+        assertEquals(novo.getId() + 11, adicionar("Depois da reserva").getId());
+    }
+
+    @Test
+    public void eventosImportadosRecebemIdsNovos() throws IOException {
+        Set<Long> ids = new HashSet<>();
+        for (Evento evento : controller.listarEventosOrdenados()) {
+            ids.add(evento.getId());
+        }
+        String csv = "nome,endereco,categoria,horario,descricao\n"
+                + "Importado 1,Local,SHOW,2031-01-01T20:00,Descrição\n"
+                + "Importado 2,Local,SHOW,2031-01-02T20:00,Descrição\n";
+        assertEquals(2, controller.importarEventos(new StringReader(csv), FormatoImportacao.CSV).getImportados());
+
+        for (Evento evento : controller.listarEventosOrdenados()) {
+            ids.add(evento.getId());
+        }
+        assertEquals(5, ids.size());
+        assertTrue(ids.add(adicionar("Depois da importação").getId()));
+    }
+
+    private EventoController abrir() {
+        EventoController aberto = new EventoController(pasta.getRoot(), email -> Optional.empty());
+        aberto.setModoGravacao(ModoGravacao.ASSINCRONO);
+        return aberto;
+    }
+
+    private Evento adicionar(String nome) {
+        Evento evento = new Evento(nome, "Local", Categoria.FESTA, LocalDateTime.now().plusDays(1), "Descrição");
+        assertTrue(controller.adicionarEvento(evento));
+        return evento;
+    }
+}
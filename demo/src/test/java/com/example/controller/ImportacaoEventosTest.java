@@ -0,0 +1,172 @@
+package com.example.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.example.model.Categoria;
+import com.example.model.Evento;
+import com.example.model.ResultadoImportacao;
+import com.example.model.Usuario;
+import com.example.persistence.FormatoImportacao;
+import com.example.persistence.ModoGravacao;
+
+/**
+ * Importação em lote: campos entre aspas, linhas inválidas rejeitadas com o número da linha
+ * sem interromper a importação, linhas e participantes repetidos, e persistência apenas dos
+ * eventos válidos de um arquivo parcialmente inválido.
+ */
+public class ImportacaoEventosTest {
+
+    private static final String CABECALHO = "nome,endereco,categoria,horario,descricao,capacidade,participantes\n";
+
+    @Rule
+    public TemporaryFolder pasta = new TemporaryFolder();
+
+    private final Map<String, Usuario> usuarios = Map.of(
+            "ana@teste.com", new Usuario("Ana", "ana@teste.com", "11987654321", "São Paulo", 30),
+            "bia@teste.com", new Usuario("Bia", "bia@teste.com", "11987654321", "Recife", 25));
+
+    private EventoController controller;
+
+    @Before
+    public void preparar() {
+        controller = novoController();
+    }
+
+    @After
+    public void encerrar() {
+        controller.encerrar();
+    }
+
+    @Test
+    public void camposEntreAspasPodemConterVirgulasEAspas() throws IOException {
+        ResultadoImportacao resultado = importarCsv(CABECALHO
+                + "\"Show \"\"Rock\"\" ao vivo\",\"Av. Paulista, 1000\",SHOW,20/12/2030 21:00,\"Bandas, locais\",200,"
+                + "\"ana@teste.com;bia@teste.com\"\n");
+
+        assertEquals(1, resultado.getImportados());
+        Evento evento = controller.listarEventosOrdenados().get(0);
+        assertEquals("Show \"Rock\" ao vivo", evento.getNome());
+        assertEquals("Av. Paulista, 1000", evento.getEndereco());
+        assertEquals("Bandas, locais", evento.getDescricao());
+        assertEquals(Categoria.SHOW, evento.getCategoria());
+        assertEquals(LocalDateTime.of(2030, 12, 20, 21, 0), evento.getHorario());
+        assertEquals(200, evento.getCapacidade());
+        assertEquals(List.of(usuarios.get("ana@teste.com"), usuarios.get("bia@teste.com")), evento.getParticipantes());
+    }
+
+    @Test
+    public void linhasInvalidasSaoRejeitadasComONumeroDaLinha() throws IOException {
+        ResultadoImportacao resultado = importarCsv(CABECALHO
+                + "Válido,Local,FESTA,01/01/2030 20:00,Descrição,,\n"
+                + ",Local,FESTA,01/01/2030 20:00,Descrição,,\n"
+                + "Categoria,Local,CIRCO,01/01/2030 20:00,Descrição,,\n"
+                + "\n"
+                + "Horário,Local,FESTA,31/02/2030 25:00,Descrição,,\n"
+                + "Capacidade,Local,FESTA,01/01/2030 20:00,Descrição,-3,\n"
+                + "Participante,Local,FESTA,01/01/2030 20:00,Descrição,,zoe@teste.com\n"
+                + "Lotado,Local,FESTA,01/01/2030 20:00,Descrição,1,ana@teste.com;bia@teste.com\n"
+                + "ISO,Local,palestra,2030-01-02T09:30,Descrição,,\n"
+                + "\"Aspas,Local,FESTA,01/01/2030 20:00,Descrição,,\n");
+
+        assertEquals(2, resultado.getImportados());
+        List<ResultadoImportacao.Rejeicao> rejeicoes = resultado.getRejeicoes();
+        assertEquals(List.of(3L, 4L, 6L, 7L, 8L, 9L, 11L), rejeicoes.stream().map(ResultadoImportacao.Rejeicao::linha).toList());
+        assertTrue(rejeicoes.get(0).motivo().contains("nome"));
+        assertTrue(rejeicoes.get(1).motivo().contains("CIRCO"));
+        assertTrue(rejeicoes.get(2).motivo().contains("Horário inválido"));
+        assertTrue(rejeicoes.get(3).motivo().contains("Capacidade inválida"));
+        assertTrue(rejeicoes.get(4).motivo().contains("zoe@teste.com"));
+        assertTrue(rejeicoes.get(5).motivo().contains("capacidade"));
+        assertTrue(rejeicoes.get(6).motivo().contains("Aspas"));
+    }
+
+    @Test
+    public void campoEntreAspasPodeOcuparVariasLinhas() throws IOException {
+        ResultadoImportacao resultado = importarCsv(CABECALHO
+                + "Oficina,Local,PALESTRA,01/01/2030 20:00,\"Primeira linha\n\n\"\"Terceira\"\", linha\",,\n"
+                + ",Local,FESTA,01/01/2030 20:00,Descrição,,\n");
+
+        assertEquals(1, resultado.getImportados());
+        assertEquals("Primeira linha\n\n\"Terceira\", linha", controller.listarEventosOrdenados().get(0).getDescricao());
+        // As linhas seguintes mantêm a numeração do arquivo
+        assertEquals(5, resultado.getRejeicoes().get(0).linha());
+    }
+
+    @Test
+    public void linhasRepetidasRecebemIdsDistintosEParticipantesRepetidosContamUmaVez() throws IOException {
+        String linha = "Feira,Praça,FESTA,01/01/2030 10:00,Descrição,,ana@teste.com;ANA@teste.com bia@teste.com\n";
+        ResultadoImportacao resultado = importarCsv("id," + CABECALHO + "7," + linha + "7," + linha);
+
+        assertEquals(2, resultado.getImportados());
+        List<Evento> eventos = controller.listarEventosOrdenados();
+        assertNotEquals(eventos.get(0).getId(), eventos.get(1).getId());
+        for (Evento evento : eventos) {
+            assertEquals(2, evento.getNumeroParticipantes());
+        }
+        assertTrue(controller.obterEstatisticas().contains("Total de participações: 4"));
+    }
+
+    @Test
+    public void arquivoParcialmenteInvalidoPersisteApenasOsEventosValidos() throws IOException {
+        StringBuilder conteudo = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            String categoria = i % 10 == 0 ? "INEXISTENTE" : "ESPORTE";
+            conteudo.append("{\"nome\": \"Corrida ").append(i).append("\", \"endereço\": \"Parque\", \"categoria\": \"")
+                    .append(categoria).append("\", \"horario\": \"2030-03-01T07:").append(String.format("%02d", i))
+                    .append("\", \"descricao\": \"5 km\", \"participantes\": [\"ana@teste.com\"]}\n");
+        }
+        conteudo.append("{\"nome\": \"Sem fim\"\n");
+        ResultadoImportacao resultado = controller.importarEventos(new StringReader(conteudo.toString()),
+                FormatoImportacao.JSON_LINHAS);
+
+        assertEquals(45, resultado.getImportados());
+        assertEquals(List.of(1L, 11L, 21L, 31L, 41L, 51L),
+                resultado.getRejeicoes().stream().map(ResultadoImportacao.Rejeicao::linha).toList());
+
+        // A importação grava um snapshot: os eventos válidos são carregados por outro controller
+        controller.encerrar();
+        controller = novoController();
+        List<Evento> carregados = controller.listarEventosOrdenados();
+        assertEquals(45, carregados.size());
+        assertEquals("Corrida 1", carregados.get(0).getNome());
+        assertEquals(List.of(usuarios.get("ana@teste.com")), carregados.get(0).getParticipantes());
+    }
+
+    @Test
+    public void cabecalhoSemColunaObrigatoriaInterrompeAImportacao() {
+        try {
+            importarCsv("nome,endereco,categoria,descricao\nShow,Local,SHOW,Descrição\n");
+            fail("A coluna horario é obrigatória");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("horario"));
+        }
+        assertTrue(controller.listarEventosOrdenados().isEmpty());
+    }
+
+    private ResultadoImportacao importarCsv(String conteudo) throws IOException {
+        return controller.importarEventos(new StringReader(conteudo), FormatoImportacao.CSV);
+    }
+
+    private EventoController novoController() {
+        EventoController novo = new EventoController(pasta.getRoot(),
+                email -> Optional.ofNullable(usuarios.get(Usuario.normalizarEmail(email))));
+        novo.setModoGravacao(ModoGravacao.ASSINCRONO);
+        return novo;
+    }
+}
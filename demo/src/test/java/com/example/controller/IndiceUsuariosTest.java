@@ -0,0 +1,94 @@
+package com.example.controller;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.example.model.Usuario;
+
+/**
+ * Buscas do índice de usuários: por trigramas do nome (e sem trigramas para textos curtos),
+ * por cidade, sempre em ordem de nome e paginadas, acompanhando as alterações do cadastro.
+ */
+public class IndiceUsuariosTest {
+
+    private IndiceUsuarios indice;
+    private Usuario ana;
+    private Usuario joao;
+    private Usuario joana;
+    private Usuario mariana;
+
+    @Before
+    public void preparar() {
+        indice = new IndiceUsuarios();
+        mariana = usuario("Mariana Souza", "mariana@teste.com", "Recife");
+        joao = usuario("João Silva", "joao@teste.com", "São Paulo");
+        ana = usuario("Ana Lima", "ana@teste.com", "sao paulo");
+        joana = usuario("Joana Prado", "joana@teste.com", "Curitiba");
+        for (Usuario usuario : List.of(mariana, joao, ana, joana)) {
+            indice.indexar(usuario);
+        }
+    }
+
+    @Test
+    public void buscaPorParteDoNomeIgnoraAcentosEMaiusculas() {
+        assertEquals(List.of(joana, joao), indice.buscarPorNome("JOA", 0, 10));
+        assertEquals(List.of(joao), indice.buscarPorNome("joão s", 0, 10));
+        assertEquals(List.of(ana, joana, mariana), indice.buscarPorNome("ana", 0, 10));
+        assertEquals(List.of(), indice.buscarPorNome("xyz", 0, 10));
+    }
+
+    @Test
+    public void trigramasForaDeSequenciaNaoEncontramONome() {
+        // "lim" e "ima" estão em "Ana Lima", mas não "lima s"
+        assertEquals(List.of(), indice.buscarPorNome("lima s", 0, 10));
+    }
+
+    @Test
+    public void buscaComMenosDeTresCaracteresPercorreTodosOsNomes() {
+        assertEquals(List.of(ana, joana, mariana), indice.buscarPorNome("an", 0, 10));
+        assertEquals(List.of(joana, joao), indice.buscarPorNome("Jo", 0, 10));
+        assertEquals(List.of(ana, joana, joao, mariana), indice.buscarPorNome("a", 0, 10));
+    }
+
+    @Test
+    public void buscaPorCidadeIgnoraAcentosEMaiusculas() {
+        assertEquals(List.of(ana, joao), indice.buscarPorCidade("SÃO PAULO", 0, 10));
+        assertEquals(List.of(mariana), indice.buscarPorCidade("recife", 0, 10));
+        assertEquals(List.of(), indice.buscarPorCidade("Natal", 0, 10));
+    }
+
+    @Test
+    public void paginasSeguemAOrdemDeNome() {
+        List<Usuario> paginas = new ArrayList<>();
+        for (int inicio = 0; inicio < 4; inicio += 3) {
+            paginas.addAll(indice.listar(inicio, 3));
+        }
+        assertEquals(List.of(ana, joana, joao, mariana), paginas);
+        assertEquals(List.of(joana, mariana), indice.buscarPorNome("ana", 1, 2));
+        assertEquals(List.of(joao), indice.buscarPorCidade("São Paulo", 1, 5));
+        assertEquals(List.of(), indice.listar(4, 3));
+    }
+
+    @Test
+    public void reindexacaoERemocaoAtualizamAsBuscas() {
+        joao.setNome("Pedro Silva");
+        joao.setCidade("Recife");
+        indice.indexar(joao);
+        indice.remover(mariana);
+
+        assertEquals(List.of(joana), indice.buscarPorNome("jo", 0, 10));
+        assertEquals(List.of(joao), indice.buscarPorNome("pedro", 0, 10));
+        assertEquals(List.of(joao), indice.buscarPorCidade("Recife", 0, 10));
+        assertEquals(List.of(ana), indice.buscarPorCidade("São Paulo", 0, 10));
+        assertEquals(List.of(ana, joana, joao), indice.listar(0, 10));
+    }
+
+    private static Usuario usuario(String nome, String email, String cidade) {
+        return new Usuario(nome, email, "11987654321", cidade, 30);
+    }
+}
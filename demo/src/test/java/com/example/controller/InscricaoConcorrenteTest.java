@@ -0,0 +1,140 @@
+package com.example.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.example.model.Categoria;
+import com.example.model.Evento;
+import com.example.model.ResultadoInscricao;
+import com.example.model.Usuario;
+import com.example.persistence.ModoGravacao;
+
+/**
+ * Inscrições simultâneas em um evento com capacidade limitada: exatamente a capacidade é
+ * admitida, os demais ficam na lista de espera e a lista é promovida em ordem de chegada.
+ */
+public class InscricaoConcorrenteTest {
+
+    private static final int CAPACIDADE = 10;
+    private static final int INSCRICOES = 64;
+
+    @Rule
+    public TemporaryFolder pasta = new TemporaryFolder();
+
+    private EventoController controller;
+    private Evento evento;
+
+    @Before
+    public void preparar() {
+        controller = new EventoController(pasta.getRoot(), email -> Optional.empty());
+        controller.setModoGravacao(ModoGravacao.ASSINCRONO);
+        evento = new Evento("Show lotado", "Arena", Categoria.SHOW, LocalDateTime.now().plusDays(1), "Ingressos limitados");
+        evento.setCapacidade(CAPACIDADE);
+        assertTrue(controller.adicionarEvento(evento));
+    }
+
+    @After
+    public void encerrar() {
+        controller.encerrar();
+    }
+
+    @Test
+    public void inscricoesSimultaneasAdmitemExatamenteACapacidade() throws Exception {
+        List<Usuario> usuarios = gerarUsuarios(INSCRICOES);
+        List<ResultadoInscricao> resultados = inscreverAoMesmoTempo(usuarios);
+
+        assertEquals(CAPACIDADE, resultados.stream().filter(r -> r == ResultadoInscricao.CONFIRMADA).count());
+        assertEquals(INSCRICOES - CAPACIDADE,
+                resultados.stream().filter(r -> r == ResultadoInscricao.LISTA_ESPERA).count());
+        assertEquals(CAPACIDADE, evento.getNumeroParticipantes());
+
+        // Cada usuário está em exatamente uma das listas, e os que aguardam na ordem em que entraram
+        List<Usuario> listaEspera = evento.getListaEspera();
+        assertEquals(INSCRICOES - CAPACIDADE, listaEspera.size());
+        Set<Usuario> todos = new HashSet<>(evento.getParticipantes());
+        for (Usuario aguardando : listaEspera) {
+            assertTrue(todos.add(aguardando));
+        }
+        assertEquals(new HashSet<>(usuarios), todos);
+    }
+
+    @Test
+    public void vagasLiberadasSaoTransferidasEmOrdemDeChegada() throws Exception {
+        inscreverAoMesmoTempo(gerarUsuarios(INSCRICOES));
+
+        List<Usuario> listaEspera = evento.getListaEspera();
+        for (Usuario participante : new ArrayList<>(evento.getParticipantes())) {
+            Usuario primeiro = evento.getListaEspera().get(0);
+            assertTrue(controller.removerParticipante(evento.getId(), participante));
+            assertTrue(evento.isParticipante(primeiro));
+            assertFalse(evento.getListaEspera().contains(primeiro));
+        }
+
+        assertEquals(CAPACIDADE, evento.getNumeroParticipantes());
+        assertEquals(listaEspera.subList(CAPACIDADE, listaEspera.size()), evento.getListaEspera());
+    }
+
+    @Test
+    public void inscricoesAposLotarEntramNaListaDeEsperaEmOrdem() {
+        List<Usuario> usuarios = gerarUsuarios(CAPACIDADE + 5);
+        for (Usuario usuario : usuarios) {
+            controller.adicionarParticipante(evento.getId(), usuario);
+        }
+
+        assertEquals(usuarios.subList(0, CAPACIDADE), new ArrayList<>(evento.getParticipantes()));
+        assertEquals(usuarios.subList(CAPACIDADE, usuarios.size()), evento.getListaEspera());
+        assertEquals(ResultadoInscricao.JA_NA_LISTA_ESPERA,
+                controller.adicionarParticipante(evento.getId(), usuarios.get(CAPACIDADE)));
+        assertEquals(ResultadoInscricao.JA_INSCRITO, controller.adicionarParticipante(evento.getId(), usuarios.get(0)));
+    }
+
+    private List<ResultadoInscricao> inscreverAoMesmoTempo(List<Usuario> usuarios) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(usuarios.size());
+        try {
+            CountDownLatch largada = new CountDownLatch(1);
+            List<Future<ResultadoInscricao>> inscricoes = new ArrayList<>();
+            for (Usuario usuario : usuarios) {
+                inscricoes.add(executor.submit(() -> {
+                    largada.await();
+                    return controller.adicionarParticipante(evento.getId(), usuario);
+                }));
+            }
+            largada.countDown();
+
+            List<ResultadoInscricao> resultados = new ArrayList<>();
+            for (Future<ResultadoInscricao> inscricao : inscricoes) {
+                resultados.add(inscricao.get(30, TimeUnit.SECONDS));
+            }
+            return resultados;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static List<Usuario> gerarUsuarios(int quantidade) {
+        List<Usuario> usuarios = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            usuarios.add(new Usuario("Usuário " + i, "usuario" + i + "@teste.com", "11987654321", "São Paulo", 30));
+        }
+        return usuarios;
+    }
+}
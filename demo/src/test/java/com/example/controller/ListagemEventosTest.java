@@ -0,0 +1,96 @@
+package com.example.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.example.model.Categoria;
+import com.example.model.Evento;
+import com.example.persistence.ModoGravacao;
+
+/**
+ * Listagens pelo índice ordenado por horário: a ordem é cronológica (e, no empate, por ID),
+ * próximos, atuais e passados são delimitados pelo horário, e alterações de horário ou remoções
+ * aparecem na listagem seguinte.
+ */
+public class ListagemEventosTest {
+
+    @Rule
+    public TemporaryFolder pasta = new TemporaryFolder();
+
+    private EventoController controller;
+    private Evento passado;
+    private Evento atual;
+    private Evento amanha;
+    private Evento amanhaTambem;
+    private Evento semanaQueVem;
+
+    @Before
+    public void preparar() {
+        controller = new EventoController(pasta.getRoot(), email -> Optional.empty());
+        controller.setModoGravacao(ModoGravacao.ASSINCRONO);
+        LocalDateTime agora = LocalDateTime.now().withNano(0);
+        // Criado antes (ID menor), mas cadastrado depois do outro evento no mesmo horário
+        amanha = new Evento("Amanhã", "Local", Categoria.FESTA, agora.plusDays(1), "Descrição");
+        // Cadastrados fora de ordem
+        semanaQueVem = adicionar("Semana que vem", agora.plusDays(7));
+        amanhaTambem = adicionar("Amanhã também", agora.plusDays(1));
+        passado = adicionar("Passado", agora.minusDays(2));
+        assertTrue(controller.adicionarEvento(amanha));
+        atual = adicionar("Atual", agora.minusMinutes(10));
+    }
+
+    @After
+    public void encerrar() {
+        controller.encerrar();
+    }
+
+    @Test
+    public void eventosListadosEmOrdemCronologicaEDesempatadosPeloId() {
+        assertEquals(List.of(passado, atual, amanha, amanhaTambem, semanaQueVem), controller.listarEventosOrdenados());
+    }
+
+    @Test
+    public void proximosAtuaisEPassadosSaoDelimitadosPeloHorario() {
+        assertEquals(List.of(amanha, amanhaTambem, semanaQueVem), controller.listarEventosProximos());
+        assertEquals(List.of(atual), controller.listarEventosAtuais());
+        // Os passados incluem os que já começaram, do mais recente ao mais antigo
+        assertEquals(List.of(atual, passado), controller.listarEventosPassados());
+    }
+
+    @Test
+    public void alteracaoDeHorarioReposicionaOEvento() {
+        semanaQueVem.setHorario(passado.getHorario().minusDays(1));
+        assertTrue(controller.atualizarEvento(semanaQueVem));
+
+        assertEquals(List.of(semanaQueVem, passado, atual, amanha, amanhaTambem), controller.listarEventosOrdenados());
+        assertEquals(List.of(amanha, amanhaTambem), controller.listarEventosProximos());
+        assertEquals(List.of(atual, passado, semanaQueVem), controller.listarEventosPassados());
+    }
+
+    @Test
+    public void eventoRemovidoDeixaAsListagens() {
+        assertTrue(controller.removerEvento(amanha.getId()));
+        assertTrue(controller.removerEvento(atual.getId()));
+
+        assertEquals(List.of(passado, amanhaTambem, semanaQueVem), controller.listarEventosOrdenados());
+        assertEquals(List.of(amanhaTambem, semanaQueVem), controller.listarEventosProximos());
+        assertEquals(List.of(), controller.listarEventosAtuais());
+        assertEquals(List.of(passado), controller.listarEventosPassados());
+    }
+
+    private Evento adicionar(String nome, LocalDateTime horario) {
+        Evento evento = new Evento(nome, "Local", Categoria.FESTA, horario, "Descrição");
+        assertTrue(controller.adicionarEvento(evento));
+        return evento;
+    }
+}
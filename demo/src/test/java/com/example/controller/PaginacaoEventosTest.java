@@ -0,0 +1,151 @@
+package com.example.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.example.model.Categoria;
+import com.example.model.Evento;
+import com.example.model.PaginaEventos;
+import com.example.persistence.ModoGravacao;
+
+/**
+ * Paginação por cursor: as páginas percorrem os eventos em ordem (horário e, no empate, ID)
+ * para frente e para trás, sem repetir nem pular eventos com o mesmo horário, e não são
+ * deslocadas por eventos cadastrados entre as consultas.
+ */
+public class PaginacaoEventosTest {
+
+    private static final int TAMANHO_PAGINA = 3;
+
+    @Rule
+    public TemporaryFolder pasta = new TemporaryFolder();
+
+    private EventoController controller;
+
+    // Eventos cadastrados, na ordem esperada da listagem
+    private final List<Evento> ordenados = new ArrayList<>();
+
+    @Before
+    public void preparar() {
+        controller = new EventoController(pasta.getRoot(), email -> Optional.empty());
+        controller.setModoGravacao(ModoGravacao.ASSINCRONO);
+        LocalDateTime base = LocalDateTime.now().plusDays(10).withNano(0);
+        // Quatro eventos no mesmo horário, cruzando a fronteira entre a primeira e a segunda página
+        for (int i = 0; i < 4; i++) {
+            ordenados.add(adicionar("Simultâneo " + i, base.plusHours(1), Categoria.SHOW));
+        }
+        ordenados.add(0, adicionar("Primeiro", base, Categoria.FESTA));
+        for (int i = 0; i < 3; i++) {
+            ordenados.add(adicionar("Depois " + i, base.plusHours(2 + i), Categoria.FESTA));
+        }
+    }
+
+    @After
+    public void encerrar() {
+        controller.encerrar();
+    }
+
+    @Test
+    public void paginasParaFrentePercorremTodosOsEventosEmOrdem() {
+        List<Evento> percorridos = new ArrayList<>();
+        PaginaEventos pagina = controller.listarEventosOrdenados(null, TAMANHO_PAGINA);
+        assertFalse(pagina.temAnterior());
+        int paginas = 1;
+        percorridos.addAll(pagina.getEventos());
+        while (pagina.temProxima()) {
+            pagina = controller.listarEventosOrdenados(pagina.getCursorProximo(), TAMANHO_PAGINA);
+            assertTrue(pagina.temAnterior());
+            percorridos.addAll(pagina.getEventos());
+            paginas++;
+        }
+
+        assertEquals(ordenados, percorridos);
+        assertEquals(3, paginas);
+        assertEquals(2, pagina.getEventos().size());
+        assertNull(pagina.getCursorProximo());
+    }
+
+    @Test
+    public void paginasParaTrasVoltamPelasMesmasPaginas() {
+        List<List<Evento>> paraFrente = new ArrayList<>();
+        PaginaEventos pagina = controller.listarEventosOrdenados(null, TAMANHO_PAGINA);
+        paraFrente.add(pagina.getEventos());
+        while (pagina.temProxima()) {
+            pagina = controller.listarEventosOrdenados(pagina.getCursorProximo(), TAMANHO_PAGINA);
+            paraFrente.add(pagina.getEventos());
+        }
+
+        // A última página tem dois eventos; a anterior a ela volta à página completa do meio
+        pagina = controller.listarEventosOrdenados(pagina.getCursorAnterior(), TAMANHO_PAGINA);
+        assertEquals(paraFrente.get(1), pagina.getEventos());
+        assertTrue(pagina.temProxima());
+        assertEquals(paraFrente.get(2), controller.listarEventosOrdenados(pagina.getCursorProximo(), TAMANHO_PAGINA).getEventos());
+
+        pagina = controller.listarEventosOrdenados(pagina.getCursorAnterior(), TAMANHO_PAGINA);
+        assertEquals(paraFrente.get(0), pagina.getEventos());
+        assertFalse(pagina.temAnterior());
+    }
+
+    @Test
+    public void eventosNoMesmoHorarioSaoDesempatadosPeloId() {
+        PaginaEventos primeira = controller.listarEventosOrdenados(null, TAMANHO_PAGINA);
+        PaginaEventos segunda = controller.listarEventosOrdenados(primeira.getCursorProximo(), TAMANHO_PAGINA);
+
+        // A primeira página termina no meio dos eventos simultâneos e a segunda continua no seguinte
+        assertEquals(ordenados.subList(0, 3), primeira.getEventos());
+        assertEquals(ordenados.subList(3, 6), segunda.getEventos());
+        assertEquals(primeira.getEventos().get(2).getHorario(), segunda.getEventos().get(0).getHorario());
+        assertTrue(primeira.getEventos().get(2).getId() < segunda.getEventos().get(0).getId());
+    }
+
+    @Test
+    public void eventoCadastradoAntesDoCursorNaoDeslocaAProximaPagina() {
+        PaginaEventos primeira = controller.listarEventosOrdenados(null, TAMANHO_PAGINA);
+        adicionar("Antes de tudo", ordenados.get(0).getHorario().minusDays(1), Categoria.FESTA);
+
+        PaginaEventos segunda = controller.listarEventosOrdenados(primeira.getCursorProximo(), TAMANHO_PAGINA);
+        assertEquals(ordenados.subList(3, 6), segunda.getEventos());
+    }
+
+    @Test
+    public void paginasPorCategoriaUsamOIndiceDaCategoria() {
+        PaginaEventos pagina = controller.listarEventosPorCategoria(Categoria.SHOW, null, TAMANHO_PAGINA);
+        assertEquals(ordenados.subList(1, 4), pagina.getEventos());
+        pagina = controller.listarEventosPorCategoria(Categoria.SHOW, pagina.getCursorProximo(), TAMANHO_PAGINA);
+        assertEquals(ordenados.subList(4, 5), pagina.getEventos());
+        assertFalse(pagina.temProxima());
+
+        assertTrue(controller.listarEventosPorCategoria(Categoria.PALESTRA, null, TAMANHO_PAGINA).isVazia());
+        assertTrue(controller.listarEventosOrdenados(null, 0).isVazia());
+    }
+
+    @Test
+    public void cursorInvalidoERejeitado() {
+        try {
+            controller.listarEventosOrdenados("cursor-adulterado", TAMANHO_PAGINA);
+            fail("Cursor inválido deveria ser rejeitado");
+        } catch (IllegalArgumentException e) {
+            // Esperado
+        }
+    }
+
+    private Evento adicionar(String nome, LocalDateTime horario, Categoria categoria) {
+        Evento evento = new Evento(nome, "Local", categoria, horario, "Descrição");
+        assertTrue(controller.adicionarEvento(evento));
+        return evento;
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.example.model.Categoria;
+import com.example.model.Evento;
+import com.example.model.ResultadoInscricao;
+import com.example.model.Usuario;
+import com.example.persistence.ModoGravacao;
+
+/**
+ * Índice reverso de participação: os eventos do usuário acompanham inscrições, cancelamentos e
+ * remoções de eventos, são encontrados pelo email sem distinguir maiúsculas e são reconstruídos
+ * ao carregar os eventos.
+ */
+public class ParticipacaoUsuarioTest {
+
+    @Rule
+    public TemporaryFolder pasta = new TemporaryFolder();
+
+    private EventoController controller;
+    private Usuario ana;
+    private Evento show;
+    private Evento palestra;
+    private Evento festa;
+
+    @Before
+    public void preparar() {
+        controller = abrir();
+        LocalDateTime base = LocalDateTime.now().plusDays(1).withNano(0);
+        festa = adicionar("Festa", base.plusDays(2));
+        show = adicionar("Show", base);
+        palestra = adicionar("Palestra", base.plusDays(1));
+        ana = new Usuario("Ana Lima", "ana@teste.com", "11987654321", "São Paulo", 30);
+    }
+
+    @After
+    public void encerrar() {
+        controller.encerrar();
+    }
+
+    @Test
+    public void eventosDoUsuarioEmOrdemCronologica() {
+        assertEquals(List.of(), controller.listarEventosDoUsuario(ana));
+        for (Evento evento : List.of(festa, show, palestra)) {
+            assertEquals(ResultadoInscricao.CONFIRMADA, controller.adicionarParticipante(evento.getId(), ana));
+        }
+
+        assertEquals(List.of(show, palestra, festa), controller.listarEventosDoUsuario(ana));
+        Usuario mesmoEmail = new Usuario("Ana", "ANA@Teste.com", "11987654321", "Recife", 31);
+        assertEquals(List.of(show, palestra, festa), controller.listarEventosDoUsuario(mesmoEmail));
+    }
+
+    @Test
+    public void cancelamentoERemocaoDoEventoSaemDaLista() {
+        controller.adicionarParticipante(show.getId(), ana);
+        controller.adicionarParticipante(palestra.getId(), ana);
+        controller.adicionarParticipante(festa.getId(), ana);
+
+        assertTrue(controller.removerParticipante(palestra.getId(), ana));
+        assertFalse(controller.removerParticipante(palestra.getId(), ana));
+        assertTrue(controller.removerEvento(festa.getId()));
+
+        assertEquals(List.of(show), controller.listarEventosDoUsuario(ana));
+    }
+
+    @Test
+    public void indiceReconstruidoAoCarregarOsEventos() {
+        controller.adicionarParticipante(show.getId(), ana);
+        controller.adicionarParticipante(festa.getId(), ana);
+        controller.adicionarParticipante(palestra.getId(), ana);
+        controller.removerParticipante(palestra.getId(), ana);
+        controller.encerrar();
+
+        controller = abrir();
+        assertEquals(List.of(show.getId(), festa.getId()),
+                controller.listarEventosDoUsuario(ana).stream().map(Evento::getId).toList());
+    }
+
+    private EventoController abrir() {
+        EventoController aberto = new EventoController(pasta.getRoot(), email -> Optional.empty());
+        aberto.setModoGravacao(ModoGravacao.ASSINCRONO);
+        return aberto;
+    }
+
+    private Evento adicionar(String nome, LocalDateTime horario) {
+        Evento evento = new Evento(nome, "Local", Categoria.SHOW, horario, "Descrição");
+        assertTrue(controller.adicionarEvento(evento));
+        return evento;
+    }
+}
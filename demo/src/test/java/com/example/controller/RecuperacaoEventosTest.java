@@ -0,0 +1,124 @@
+package com.example.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.example.model.Categoria;
+import com.example.model.Evento;
+import com.example.persistence.ArquivoEventos;
+
+/**
+ * Inicialização com o events.data danificado: um registro danificado é lido da geração anterior
+ * e regravado na próxima compactação; um diretório danificado faz o arquivo ser separado como
+ * backup e os eventos serem restaurados da geração anterior e regravados.
+ */
+public class RecuperacaoEventosTest {
+
+    @Rule
+    public TemporaryFolder pasta = new TemporaryFolder();
+
+    private File diretorio;
+    private File arquivo;
+
+    @Before
+    public void preparar() {
+        diretorio = pasta.getRoot();
+        arquivo = new File(diretorio, "events.data");
+        EventoController controller = abrir();
+        try {
+            List<Evento> eventos = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                Evento evento = new Evento("Evento " + i, "Local", Categoria.FESTA, LocalDateTime.now().plusDays(i + 1),
+                        "versão 1");
+                assertTrue(controller.adicionarEvento(evento));
+                eventos.add(evento);
+            }
+            // A segunda gravação preserva a primeira como geração anterior
+            assertTrue(controller.salvarEventos());
+            for (Evento evento : eventos) {
+                Evento atualizado = new Evento(evento.getId(), evento.getNome(), evento.getEndereco(),
+                        evento.getCategoria(), evento.getHorario(), "versão 2");
+                assertTrue(controller.atualizarEvento(atualizado));
+            }
+            assertTrue(controller.salvarEventos());
+        } finally {
+            controller.encerrar();
+        }
+    }
+
+    @Test
+    public void registroDanificadoELidoDaGeracaoAnteriorERegravado() throws IOException {
+        // Os últimos bytes são o CRC do arquivo; antes dele está o último registro
+        inverterBit(arquivo.length() - 10);
+
+        EventoController controller = abrir();
+        try {
+            assertEquals(List.of("versão 1", "versão 2", "versão 2"), descricoes(controller.listarEventosOrdenados()));
+            assertTrue(controller.salvarEventos());
+        } finally {
+            controller.encerrar();
+        }
+
+        // O arquivo regravado tem todos os registros íntegros, mesmo sem a geração anterior
+        Files.delete(new File(diretorio, "events.data.anterior").toPath());
+        try (ArquivoEventos regravado = ArquivoEventos.abrir(arquivo)) {
+            List<Evento> eventos = new ArrayList<>();
+            for (int i = 0; i < regravado.getQuantidade(); i++) {
+                eventos.add(regravado.lerEvento(i));
+            }
+            assertEquals(List.of("versão 1", "versão 2", "versão 2"), descricoes(eventos));
+        }
+    }
+
+    @Test
+    public void diretorioDanificadoSeparaOArquivoERestauraDaGeracaoAnterior() throws IOException {
+        // Posição na tabela de strings, coberta pelo CRC do diretório
+        inverterBit(20);
+
+        EventoController controller = abrir();
+        try {
+            assertEquals(3, controller.getTotalEventos());
+            assertEquals(List.of("versão 1", "versão 1", "versão 1"), descricoes(controller.listarEventosOrdenados()));
+        } finally {
+            controller.encerrar();
+        }
+
+        File[] backups = diretorio.listFiles((pai, nome) -> nome.startsWith("events.data.backup."));
+        assertEquals(1, backups.length);
+        try (ArquivoEventos regravado = ArquivoEventos.abrir(arquivo)) {
+            assertEquals(3, regravado.getQuantidade());
+        }
+    }
+
+    private EventoController abrir() {
+        return new EventoController(diretorio, email -> Optional.empty());
+    }
+
+    private void inverterBit(long posicao) throws IOException {
+        byte[] dados = Files.readAllBytes(arquivo.toPath());
+        dados[(int) posicao] ^= 0x01;
+        Files.write(arquivo.toPath(), dados);
+    }
+
+    private static List<String> descricoes(List<Evento> eventos) {
+        List<String> descricoes = new ArrayList<>();
+        for (Evento evento : eventos) {
+            descricoes.add(evento.getDescricao());
+        }
+        descricoes.sort(null);
+        return descricoes;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.example.model.Categoria;
+import com.example.model.Evento;
+import com.example.model.Usuario;
+import com.example.persistence.ModoGravacao;
+
+/**
+ * Participantes gravados como referências (email): ao carregar os eventos, cada participante é
+ * o próprio usuário do cadastro, de modo que alterações de perfil aparecem nos eventos; emails
+ * sem cadastro continuam inscritos.
+ */
+public class ReferenciaParticipantesTest {
+
+    @Rule
+    public TemporaryFolder pasta = new TemporaryFolder();
+
+    private UsuarioController usuarios;
+    private EventoController eventos;
+    private Evento evento;
+
+    @Before
+    public void preparar() {
+        usuarios = new UsuarioController(pasta.getRoot());
+        usuarios.setModoGravacao(ModoGravacao.ASSINCRONO);
+        eventos = abrirEventos();
+        evento = new Evento("Show", "Local", Categoria.SHOW, LocalDateTime.now().plusDays(1), "Descrição");
+        assertTrue(eventos.adicionarEvento(evento));
+    }
+
+    @After
+    public void encerrar() {
+        eventos.encerrar();
+        usuarios.encerrar();
+    }
+
+    @Test
+    public void participantesCarregadosSaoOsUsuariosDoCadastro() {
+        Usuario ana = new Usuario("Ana Lima", "ana@teste.com", "11987654321", "São Paulo", 30);
+        assertTrue(usuarios.cadastrarUsuario(ana));
+        // Um email sem cadastro também pode se inscrever
+        Usuario visitante = new Usuario("Visitante", "visitante@teste.com", "11987654321", "Recife", 40);
+        eventos.adicionarParticipante(evento.getId(), ana);
+        eventos.adicionarParticipante(evento.getId(), visitante);
+        reabrir();
+
+        List<Usuario> participantes = eventos.buscarEventoPorId(evento.getId()).orElseThrow().getParticipantes();
+        assertEquals(2, participantes.size());
+        assertSame(usuarios.buscarUsuarioPorEmail("ana@teste.com").orElseThrow(), participantes.get(0));
+        assertEquals("visitante@teste.com", participantes.get(1).getEmail());
+    }
+
+    @Test
+    public void alteracaoDePerfilApareceNosEventosCarregados() {
+        assertTrue(usuarios.cadastrarUsuario(new Usuario("Ana Lima", "ana@teste.com", "11987654321", "São Paulo", 30)));
+        eventos.adicionarParticipante(evento.getId(), usuarios.buscarUsuarioPorEmail("ana@teste.com").orElseThrow());
+        reabrir();
+
+        assertTrue(usuarios.atualizarUsuario(new Usuario("Ana Souza", "ana@teste.com", "11912345678", "Curitiba", 31)));
+        Usuario participante = eventos.buscarEventoPorId(evento.getId()).orElseThrow().getParticipantes().get(0);
+        assertEquals("Ana Souza", participante.getNome());
+        assertEquals("Curitiba", participante.getCidade());
+    }
+
+    private void reabrir() {
+        eventos.encerrar();
+        usuarios.encerrar();
+        usuarios = new UsuarioController(pasta.getRoot());
+        usuarios.setModoGravacao(ModoGravacao.ASSINCRONO);
+        eventos = abrirEventos();
+    }
+
+    private EventoController abrirEventos() {
+        // Lê o controller atual a cada chamada, pois ele é substituído ao reabrir
+        EventoController aberto = new EventoController(pasta.getRoot(), email -> usuarios.buscarUsuarioPorEmail(email));
+        aberto.setModoGravacao(ModoGravacao.ASSINCRONO);
+        return aberto;
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.example.model.Categoria;
+import com.example.model.Evento;
+import com.example.model.Usuario;
+import com.example.persistence.ModoGravacao;
+
+/**
+ * Reprodução do journal sobre o snapshot: reproduzir mutações que o snapshot já contém
+ * (ex.: queda entre a gravação do snapshot e o descarte do journal) não altera os eventos.
+ */
+public class ReproducaoJournalTest {
+
+    @Rule
+    public TemporaryFolder pasta = new TemporaryFolder();
+
+    private File diretorio;
+    private Usuario ana;
+    private Usuario bruno;
+    private Usuario carla;
+
+    @Before
+    public void preparar() {
+        diretorio = pasta.getRoot();
+        ana = new Usuario("Ana", "ana@teste.com", "11987654321", "São Paulo", 30);
+        bruno = new Usuario("Bruno", "bruno@teste.com", "11987654321", "Campinas", 25);
+        carla = new Usuario("Carla", "carla@teste.com", "11987654321", "Santos", 40);
+    }
+
+    @Test
+    public void journalReproduzidoSobreSnapshotQueJaOContemNaoDuplicaMutacoes() throws IOException {
+        long id = criarEventoComMutacoes();
+        byte[] journal = Files.readAllBytes(journal().toPath());
+
+        // Grava o snapshot, que passa a conter todas as mutações e esvazia o journal
+        EventoController compactador = abrir();
+        assertTrue(compactador.salvarEventos());
+        compactador.encerrar();
+        assertEquals(0, journal().length());
+
+        // Simula a queda antes do descarte: o journal antigo volta a ser reproduzido sobre o snapshot
+        Files.write(journal().toPath(), journal);
+        for (int vez = 0; vez < 2; vez++) {
+            EventoController controller = abrir();
+            try {
+                verificarEstado(controller, id);
+            } finally {
+                controller.encerrar();
+            }
+        }
+    }
+
+    @Test
+    public void journalSemSnapshotReconstroiOsEventos() {
+        long id = criarEventoComMutacoes();
+        assertFalse(new File(diretorio, "events.data").exists());
+
+        EventoController controller = abrir();
+        try {
+            verificarEstado(controller, id);
+        } finally {
+            controller.encerrar();
+        }
+    }
+
+    @Test
+    public void mutacaoDuravelEstaGravadaQuandoRetorna() {
+        EventoController controller = abrir();
+        try {
+            assertEquals(ModoGravacao.DURAVEL, controller.getModoGravacao());
+            Evento evento = new Evento("Feira", "Praça", Categoria.FESTA, LocalDateTime.now().plusDays(3), "Sem snapshot");
+            assertTrue(controller.adicionarEvento(evento));
+            controller.adicionarParticipante(evento.getId(), ana);
+
+            // Sem encerrar o primeiro controller, a leitura do journal por outro já encontra as mutações
+            EventoController leitor = abrir();
+            try {
+                Evento lido = leitor.buscarEventoPorId(evento.getId()).orElseThrow();
+                assertEquals(List.of(ana), List.copyOf(lido.getParticipantes()));
+            } finally {
+                leitor.encerrar();
+            }
+        } finally {
+            controller.encerrar();
+        }
+    }
+
+    /**
+     * Cria um evento de uma vaga, inscreve três usuários e cancela a inscrição do primeiro,
+     * o que promove o primeiro da lista de espera
+     */
+    private long criarEventoComMutacoes() {
+        EventoController controller = abrir();
+        try {
+            Evento evento = new Evento("Oficina", "Sala 1", Categoria.OUTROS, LocalDateTime.now().plusDays(2), "Vaga única");
+            evento.setCapacidade(1);
+            assertTrue(controller.adicionarEvento(evento));
+            controller.adicionarParticipante(evento.getId(), ana);
+            controller.adicionarParticipante(evento.getId(), bruno);
+            controller.adicionarParticipante(evento.getId(), carla);
+            assertTrue(controller.removerParticipante(evento.getId(), ana));
+            return evento.getId();
+        } finally {
+            controller.encerrar();
+        }
+    }
+
+    private void verificarEstado(EventoController controller, long id) {
+        assertEquals(1, controller.getTotalEventos());
+        Evento evento = controller.buscarEventoPorId(id).orElseThrow();
+        assertEquals(List.of(bruno), List.copyOf(evento.getParticipantes()));
+        assertEquals(List.of(carla), evento.getListaEspera());
+        assertEquals(List.of(evento), controller.listarEventosDoUsuario(bruno));
+        assertTrue(controller.listarEventosDoUsuario(ana).isEmpty());
+    }
+
+    private EventoController abrir() {
+        return new EventoController(diretorio, email -> Optional.empty());
+    }
+
+    private File journal() {
+        return new File(diretorio, "events.journal");
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDateTime;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Exibição de eventos: o horário é formatado uma vez e refeito apenas quando muda, o status é
+ * calculado a partir do horário e da duração, e o detalhamento usa o status recebido.
+ */
+public class ExibicaoEventoTest {
+
+    private static final LocalDateTime HORARIO = LocalDateTime.of(2030, 5, 1, 20, 30);
+
+    private Evento evento;
+
+    @Before
+    public void preparar() {
+        evento = new Evento("Show", "Local", Categoria.SHOW, HORARIO, "Descrição");
+    }
+
+    @Test
+    public void horarioFormatadoUmaVezERefeitoAoMudarOHorario() {
+        String formatado = evento.getHorarioFormatado();
+        assertEquals("01/05/2030 20:30", formatado);
+        assertSame(formatado, evento.getHorarioFormatado());
+
+        evento.setHorario(HORARIO.plusDays(1).withHour(9).withMinute(5));
+        assertEquals("02/05/2030 09:05", evento.getHorarioFormatado());
+        assertTrue(evento.toString().contains("horario=02/05/2030 09:05"));
+    }
+
+    @Test
+    public void statusCalculadoPeloHorarioEPelaDuracao() {
+        assertEquals(StatusEvento.PROXIMO, StatusEvento.noInstante(HORARIO, HORARIO.minusNanos(1)));
+        assertEquals(StatusEvento.ACONTECENDO, StatusEvento.noInstante(HORARIO, HORARIO));
+        assertEquals(StatusEvento.ACONTECENDO,
+                StatusEvento.noInstante(HORARIO, HORARIO.plus(StatusEvento.DURACAO).minusNanos(1)));
+        assertEquals(StatusEvento.ENCERRADO, StatusEvento.noInstante(HORARIO, HORARIO.plus(StatusEvento.DURACAO)));
+
+        assertEquals(StatusEvento.PROXIMO.getDescricao(), evento.getStatus());
+        assertFalse(evento.jaOcorreu());
+        evento.setHorario(LocalDateTime.now().minusMinutes(10));
+        assertTrue(evento.jaOcorreu());
+        assertTrue(evento.estaOcorrendo());
+        assertEquals(StatusEvento.ACONTECENDO.getDescricao(), evento.getStatus());
+    }
+
+    @Test
+    public void detalhamentoUsaOStatusRecebido() {
+        String detalhado = evento.toStringDetalhado(StatusEvento.ENCERRADO);
+        assertTrue(detalhado.contains("Data/Hora: 01/05/2030 20:30\n"));
+        assertTrue(detalhado.contains("Status: " + StatusEvento.ENCERRADO.getDescricao() + "\n"));
+
+        assertFalse(evento.toStringDetalhado(null).contains("Status:"));
+        assertTrue(evento.toStringDetalhado().contains("Status: " + StatusEvento.PROXIMO.getDescricao() + "\n"));
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Participantes de um evento, indexados pelo email normalizado: a ordem de inscrição é mantida,
+ * a verificação não distingue maiúsculas e repetidos são ignorados.
+ */
+public class ParticipantesEventoTest {
+
+    private Evento evento;
+    private Usuario ana;
+    private Usuario joao;
+    private Usuario maria;
+
+    @Before
+    public void preparar() {
+        evento = new Evento("Show", "Local", Categoria.SHOW, LocalDateTime.now().plusDays(1), "Descrição");
+        ana = usuario("Ana", "ana@teste.com");
+        joao = usuario("João", "joao@teste.com");
+        maria = usuario("Maria", "maria@teste.com");
+    }
+
+    @Test
+    public void participantesMantemAOrdemDeInscricao() {
+        assertTrue(evento.adicionarParticipante(maria));
+        assertTrue(evento.adicionarParticipante(ana));
+        assertTrue(evento.adicionarParticipante(joao));
+
+        assertEquals(List.of(maria, ana, joao), evento.getParticipantes());
+        assertEquals(3, evento.getNumeroParticipantes());
+    }
+
+    @Test
+    public void participacaoVerificadaPeloEmailSemDistinguirMaiusculas() {
+        evento.adicionarParticipante(ana);
+
+        assertTrue(evento.isParticipante(usuario("Outra Ana", " ANA@Teste.COM ")));
+        assertFalse(evento.isParticipante(joao));
+        assertFalse(evento.adicionarParticipante(usuario("Ana", "Ana@teste.com")));
+        assertEquals(List.of(ana), evento.getParticipantes());
+    }
+
+    @Test
+    public void removidoEInscritoNovamenteVaiParaOFim() {
+        evento.adicionarParticipante(ana);
+        evento.adicionarParticipante(joao);
+        evento.adicionarParticipante(maria);
+
+        assertTrue(evento.removerParticipante(usuario("Ana", "ANA@teste.com")));
+        assertFalse(evento.removerParticipante(ana));
+        assertFalse(evento.isParticipante(ana));
+        assertTrue(evento.adicionarParticipante(ana));
+
+        assertEquals(List.of(joao, maria, ana), evento.getParticipantes());
+        assertEquals(3, evento.getNumeroParticipantes());
+    }
+
+    @Test
+    public void listaDeParticipantesNaoAcompanhaNemAlteraOEvento() {
+        evento.adicionarParticipante(ana);
+        List<Usuario> participantes = evento.getParticipantes();
+        evento.adicionarParticipante(joao);
+
+        assertEquals(List.of(ana), participantes);
+        try {
+            participantes.add(maria);
+            fail("A lista de participantes deveria ser somente leitura");
+        } catch (UnsupportedOperationException e) {
+            // Esperado
+        }
+    }
+
+    private static Usuario usuario(String nome, String email) {
+        return new Usuario(nome, email, "11987654321", "São Paulo", 30);
+    }
+}
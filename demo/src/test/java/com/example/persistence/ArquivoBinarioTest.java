@@ -0,0 +1,112 @@
+package com.example.persistence;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.example.model.Usuario;
+
+/**
+ * Integridade do usuarios.data: cada registro tem o próprio CRC, e a recuperação de um arquivo
+ * danificado mantém os registros íntegros e busca os demais na geração anterior (.anterior).
+ */
+public class ArquivoBinarioTest {
+
+    private static final int QUANTIDADE = 5;
+
+    @Rule
+    public TemporaryFolder pasta = new TemporaryFolder();
+
+    private File arquivo;
+
+    @Before
+    public void preparar() throws IOException {
+        arquivo = new File(pasta.getRoot(), "usuarios.data");
+        List<Usuario> usuarios = new ArrayList<>();
+        for (int i = 0; i < QUANTIDADE; i++) {
+            usuarios.add(new Usuario("Usuário " + i, "usuario" + i + "@teste.com", "11987654321", "versão 1", 20 + i));
+        }
+        // Duas gerações: a anterior com a cidade "versão 1" e a atual com "versão 2"
+        gravar(usuarios);
+        for (Usuario usuario : usuarios) {
+            usuario.setCidade("versão 2");
+        }
+        gravar(usuarios);
+    }
+
+    @Test
+    public void registroDanificadoImpedeALeituraESoEleVemDaGeracaoAnterior() throws IOException {
+        // Os últimos bytes são o CRC do arquivo; antes dele está o último registro
+        inverterBit(arquivo.length() - 10);
+        verificarLeituraFalha();
+
+        ArquivoBinario.Conteudo<Usuario> recuperado = recuperar();
+        assertEquals(QUANTIDADE, recuperado.getRegistros().size());
+        assertEquals(1, recuperado.getRestaurados());
+        assertEquals(List.of("versão 1", "versão 2", "versão 2", "versão 2", "versão 2"), cidadesOrdenadas(recuperado));
+    }
+
+    @Test
+    public void cabecalhoDanificadoTornaAGeracaoAnteriorABase() throws IOException {
+        inverterBit(20);
+        verificarLeituraFalha();
+
+        ArquivoBinario.Conteudo<Usuario> recuperado = recuperar();
+        assertEquals(QUANTIDADE, recuperado.getRegistros().size());
+        assertEquals(QUANTIDADE, recuperado.getRestaurados());
+        assertEquals(List.of("versão 1", "versão 1", "versão 1", "versão 1", "versão 1"), cidadesOrdenadas(recuperado));
+    }
+
+    @Test
+    public void semGeracaoAnteriorFicamApenasOsRegistrosIntegros() throws IOException {
+        Files.delete(ArquivoBinario.geracaoAnterior(arquivo).toPath());
+        inverterBit(arquivo.length() - 10);
+
+        ArquivoBinario.Conteudo<Usuario> recuperado = recuperar();
+        assertEquals(QUANTIDADE - 1, recuperado.getRegistros().size());
+        assertEquals(0, recuperado.getRestaurados());
+    }
+
+    private void gravar(List<Usuario> usuarios) throws IOException {
+        ArquivoBinario.gravar(arquivo, ArquivoBinario.TIPO_USUARIOS, 0, usuarios, CodecUsuario.INSTANCIA);
+    }
+
+    private ArquivoBinario.Conteudo<Usuario> recuperar() throws IOException {
+        return ArquivoBinario.recuperar(arquivo, ArquivoBinario.geracaoAnterior(arquivo),
+                ArquivoBinario.TIPO_USUARIOS, CodecUsuario.INSTANCIA, Usuario::getEmail);
+    }
+
+    private void verificarLeituraFalha() {
+        try {
+            ArquivoBinario.ler(arquivo, ArquivoBinario.TIPO_USUARIOS, CodecUsuario.INSTANCIA);
+            fail("O arquivo danificado não deveria ser lido");
+        } catch (IOException e) {
+            // Esperado
+        }
+    }
+
+    private void inverterBit(long posicao) throws IOException {
+        byte[] dados = Files.readAllBytes(arquivo.toPath());
+        dados[(int) posicao] ^= 0x01;
+        Files.write(arquivo.toPath(), dados);
+    }
+
+    private static List<String> cidadesOrdenadas(ArquivoBinario.Conteudo<Usuario> conteudo) {
+        List<String> cidades = new ArrayList<>();
+        for (Usuario usuario : conteudo.getRegistros()) {
+            cidades.add(usuario.getCidade());
+        }
+        cidades.sort(null);
+        return cidades;
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.persistence;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.example.model.Categoria;
+import com.example.model.Evento;
+import com.example.model.Usuario;
+
+/**
+ * Integridade do events.data: um registro danificado é detectado ao decodificá-lo e lido da
+ * geração anterior (.anterior), um diretório danificado impede a abertura, e a recuperação
+ * busca na geração anterior o que se perdeu.
+ */
+public class ArquivoEventosTest {
+
+    private static final int QUANTIDADE = 5;
+
+    @Rule
+    public TemporaryFolder pasta = new TemporaryFolder();
+
+    private File arquivo;
+    private List<Evento> eventos;
+
+    @Before
+    public void preparar() throws IOException {
+        arquivo = new File(pasta.getRoot(), "events.data");
+        eventos = new ArrayList<>();
+        for (int i = 0; i < QUANTIDADE; i++) {
+            eventos.add(new Evento("Evento " + i, "Local " + i, Categoria.SHOW,
+                    LocalDateTime.now().plusDays(i + 1).withNano(0), "versão 1"));
+        }
+        // Duas gerações: a anterior com a descrição "versão 1" e a atual com "versão 2"
+        ArquivoEventos.gravar(arquivo, 100, eventos);
+        for (Evento evento : eventos) {
+            evento.setDescricao("versão 2");
+        }
+        ArquivoEventos.gravar(arquivo, 100, eventos);
+    }
+
+    @Test
+    public void arquivoIntegroEAbertoComTodosOsEventos() throws IOException {
+        try (ArquivoEventos aberto = ArquivoEventos.abrir(arquivo)) {
+            assertEquals(QUANTIDADE, aberto.getQuantidade());
+            assertEquals(100, aberto.getProximoId());
+            for (int i = 0; i < QUANTIDADE; i++) {
+                Evento lido = aberto.lerEvento(i);
+                assertEquals(eventos.get(i).getId(), lido.getId());
+                assertEquals(eventos.get(i).getHorario(), lido.getHorario());
+                assertEquals("versão 2", lido.getDescricao());
+            }
+        }
+    }
+
+    @Test
+    public void registroDanificadoELidoDaGeracaoAnterior() throws IOException {
+        // Os últimos bytes são o CRC do arquivo; antes dele está o último registro
+        inverterBit(arquivo.length() - 10);
+
+        List<Long> recuperados = new ArrayList<>();
+        try (ArquivoEventos aberto = ArquivoEventos.abrir(arquivo)) {
+            aberto.setOuvinteRecuperacao(recuperados::add);
+            assertEquals(List.of("versão 1", "versão 2", "versão 2", "versão 2", "versão 2"), descricoesOrdenadas(aberto));
+        }
+        assertEquals(List.of(eventos.get(QUANTIDADE - 1).getId()), recuperados);
+    }
+
+    @Test
+    public void registroDanificadoSemGeracaoAnteriorNaoEDecodificado() throws IOException {
+        Files.delete(ArquivoBinario.geracaoAnterior(arquivo).toPath());
+        inverterBit(arquivo.length() - 10);
+
+        int danificados = 0;
+        try (ArquivoEventos aberto = ArquivoEventos.abrir(arquivo)) {
+            for (int i = 0; i < QUANTIDADE; i++) {
+                try {
+                    assertEquals("versão 2", aberto.lerEvento(i).getDescricao());
+                } catch (IOException e) {
+                    danificados++;
+                }
+            }
+        }
+        assertEquals(1, danificados);
+    }
+
+    @Test
+    public void recuperacaoRestauraDaGeracaoAnteriorApenasORegistroDanificado() throws IOException {
+        inverterBit(arquivo.length() - 10);
+
+        ArquivoEventos recuperado = ArquivoEventos.recuperar(arquivo, ArquivoBinario.geracaoAnterior(arquivo));
+        assertEquals(QUANTIDADE, recuperado.getQuantidade());
+        assertEquals(1, recuperado.getRestaurados());
+        assertEquals(List.of("versão 1", "versão 2", "versão 2", "versão 2", "versão 2"),
+                descricoesOrdenadas(recuperado));
+    }
+
+    @Test
+    public void diretorioDanificadoImpedeAAberturaETudoVemDaGeracaoAnterior() throws IOException {
+        // Posição na tabela de strings: os registros continuam íntegros, mas o texto deles não
+        inverterBit(40);
+
+        try {
+            ArquivoEventos.abrir(arquivo).close();
+            fail("O diretório danificado deveria impedir a abertura");
+        } catch (IOException e) {
+            // Esperado
+        }
+
+        ArquivoEventos recuperado = ArquivoEventos.recuperar(arquivo, ArquivoBinario.geracaoAnterior(arquivo));
+        assertEquals(QUANTIDADE, recuperado.getQuantidade());
+        assertEquals(QUANTIDADE, recuperado.getRestaurados());
+        for (int i = 0; i < recuperado.getQuantidade(); i++) {
+            Evento lido = recuperado.lerEvento(i);
+            assertEquals("versão 1", lido.getDescricao());
+            assertTrue(eventos.stream().anyMatch(evento -> evento.getId() == lido.getId()
+                    && evento.getEndereco().equals(lido.getEndereco())));
+        }
+    }
+
+    @Test
+    public void semGeracaoAnteriorFicamApenasOsEventosIntegros() throws IOException {
+        Files.delete(ArquivoBinario.geracaoAnterior(arquivo).toPath());
+        inverterBit(arquivo.length() - 10);
+
+        ArquivoEventos recuperado = ArquivoEventos.recuperar(arquivo, ArquivoBinario.geracaoAnterior(arquivo));
+        assertEquals(QUANTIDADE - 1, recuperado.getQuantidade());
+        assertEquals(0, recuperado.getRestaurados());
+    }
+
+    @Test
+    public void quantidadeDeParticipantesELidaDoDiretorio() throws IOException {
+        for (int i = 0; i < QUANTIDADE; i++) {
+            for (int p = 0; p < i; p++) {
+                eventos.get(i).adicionarParticipante(new Usuario("Participante", "p" + p + "@teste.com",
+                        "11987654321", "São Paulo", 30));
+            }
+        }
+        ArquivoEventos.gravar(arquivo, 100, eventos);
+        Files.delete(ArquivoBinario.geracaoAnterior(arquivo).toPath());
+        // Com o último registro danificado, a quantidade continua disponível sem decodificá-lo
+        inverterBit(arquivo.length() - 10);
+
+        try (ArquivoEventos aberto = ArquivoEventos.abrir(arquivo)) {
+            for (int i = 0; i < QUANTIDADE; i++) {
+                assertEquals(i, aberto.getNumeroParticipantes(i));
+            }
+        }
+    }
+
+    @Test
+    public void quantidadeDeParticipantesEMantidaNaCopiaDosRegistros() throws IOException {
+        eventos.get(0).adicionarParticipante(new Usuario("Ana", "ana@teste.com", "11987654321", "São Paulo", 30));
+        ArquivoEventos.gravar(arquivo, 100, eventos);
+
+        ArquivoEventos atual = ArquivoEventos.abrir(arquivo);
+        ArquivoEventos.Gravacao gravacao = ArquivoEventos.gravacao(atual);
+        for (int i = QUANTIDADE - 1; i >= 0; i--) {
+            gravacao.copiar(atual, i);
+        }
+        try (ArquivoEventos gravado = gravacao.gravar(arquivo, 100)) {
+            assertEquals(1, gravado.getNumeroParticipantes(QUANTIDADE - 1));
+            assertEquals(0, gravado.getNumeroParticipantes(0));
+            // O arquivo substituído passa a ler do novo
+            assertEquals(1, atual.getNumeroParticipantes(0));
+            assertEquals(1, gravado.lerEvento(QUANTIDADE - 1).getNumeroParticipantes());
+        } finally {
+            atual.close();
+        }
+    }
+
+    private void inverterBit(long posicao) throws IOException {
+        byte[] dados = Files.readAllBytes(arquivo.toPath());
+        dados[(int) posicao] ^= 0x01;
+        Files.write(arquivo.toPath(), dados);
+    }
+
+    private static List<String> descricoesOrdenadas(ArquivoEventos arquivoEventos) throws IOException {
+        List<String> descricoes = new ArrayList<>();
+        for (int i = 0; i < arquivoEventos.getQuantidade(); i++) {
+            descricoes.add(arquivoEventos.lerEvento(i).getDescricao());
+        }
+        descricoes.sort(null);
+        return descricoes;
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.persistence;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Gravação em grupo: as solicitações acumuladas são atendidas por uma única execução da ação,
+ * e cada future só é concluído depois que a ação que grava a sua solicitação termina.
+ */
+public class GravacaoEmGrupoTest {
+
+    private static final long JANELA_LONGA_MS = TimeUnit.MINUTES.toMillis(1);
+
+    private final AtomicInteger execucoes = new AtomicInteger();
+    private GravacaoEmGrupo gravacao;
+
+    @After
+    public void encerrar() {
+        if (gravacao != null) {
+            gravacao.close();
+        }
+    }
+
+    @Test
+    public void limiteDeSolicitacoesDisparaUmaUnicaGravacao() throws Exception {
+        gravacao = new GravacaoEmGrupo("teste", JANELA_LONGA_MS, 100, execucoes::incrementAndGet);
+
+        List<CompletableFuture<Void>> solicitacoes = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            solicitacoes.add(gravacao.solicitar());
+        }
+        for (CompletableFuture<Void> solicitacao : solicitacoes) {
+            solicitacao.get(10, TimeUnit.SECONDS);
+        }
+        assertEquals(1, execucoes.get());
+    }
+
+    @Test
+    public void solicitacaoSoEConcluidaDepoisDaGravacao() throws Exception {
+        CompletableFuture<Void> liberar = new CompletableFuture<>();
+        gravacao = new GravacaoEmGrupo("teste", 0, 1, () -> {
+            liberar.join();
+            execucoes.incrementAndGet();
+        });
+
+        CompletableFuture<Void> solicitacao = gravacao.solicitar();
+        Thread.sleep(50);
+        assertFalse(solicitacao.isDone());
+
+        liberar.complete(null);
+        solicitacao.get(10, TimeUnit.SECONDS);
+        assertEquals(1, execucoes.get());
+    }
+
+    @Test
+    public void sincronizarAntecipaOFimDaJanela() throws Exception {
+        gravacao = new GravacaoEmGrupo("teste", JANELA_LONGA_MS, 1000, execucoes::incrementAndGet);
+
+        // Sem a antecipação, a solicitação aguardaria a janela de um minuto
+        CompletableFuture<Void> solicitacao = gravacao.solicitar();
+        gravacao.sincronizar().get(10, TimeUnit.SECONDS);
+        solicitacao.get(10, TimeUnit.SECONDS);
+        assertEquals(1, execucoes.get());
+    }
+
+    @Test
+    public void erroDeGravacaoEEntregueASolicitacaoEOProximoLoteContinua() throws Exception {
+        IOException erro = new IOException("disco cheio");
+        gravacao = new GravacaoEmGrupo("teste", 0, 1, () -> {
+            if (execucoes.incrementAndGet() == 1) {
+                throw erro;
+            }
+        });
+
+        try {
+            gravacao.solicitar().get(10, TimeUnit.SECONDS);
+            fail("A falha da gravação deveria ser entregue à solicitação");
+        } catch (ExecutionException e) {
+            assertSame(erro, e.getCause());
+        }
+        gravacao.solicitar().get(10, TimeUnit.SECONDS);
+        assertEquals(2, execucoes.get());
+    }
+
+    @Test
+    public void fecharGravaAsSolicitacoesPendentes() {
+        gravacao = new GravacaoEmGrupo("teste", JANELA_LONGA_MS, 1000, execucoes::incrementAndGet);
+
+        CompletableFuture<Void> pendente = gravacao.solicitar();
+        gravacao.close();
+        assertTrue(pendente.isDone());
+        assertEquals(1, execucoes.get());
+
+        // Após o encerramento, a gravação ocorre na própria thread
+        assertTrue(gravacao.solicitar().isDone());
+        assertEquals(2, execucoes.get());
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.persistence;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.example.model.Categoria;
+import com.example.model.Evento;
+import com.example.model.Usuario;
+
+/**
+ * Reprodução do journal de eventos: a ordem dos registros é preservada, reproduzir novamente
+ * produz os mesmos registros e uma cauda incompleta ou corrompida é descartada e truncada.
+ */
+public class JournalEventosTest {
+
+    @Rule
+    public TemporaryFolder pasta = new TemporaryFolder();
+
+    private File arquivo;
+    private Evento evento;
+    private Usuario usuario;
+
+    @Before
+    public void preparar() {
+        arquivo = new File(pasta.getRoot(), "events.journal");
+        evento = new Evento("Palestra", "Auditório", Categoria.PALESTRA, LocalDateTime.now().plusDays(1), "Sobre journals");
+        usuario = new Usuario("Ana", "ana@teste.com", "11987654321", "São Paulo", 30);
+    }
+
+    @Test
+    public void reproducaoRepetidaDevolveOsMesmosRegistrosEmOrdem() throws IOException {
+        anexar(RegistroJournal.eventoCriado(evento),
+                RegistroJournal.participanteAdicionado(evento.getId(), usuario),
+                RegistroJournal.participanteRemovido(evento.getId(), usuario),
+                RegistroJournal.eventoRemovido(evento.getId()));
+
+        for (int vez = 0; vez < 2; vez++) {
+            JournalEventos journal = new JournalEventos(arquivo);
+            List<RegistroJournal> registros = new ArrayList<>();
+            assertEquals(4, journal.reproduzir(registros::add));
+            journal.close();
+
+            assertEquals(List.of(RegistroJournal.Tipo.EVENTO_CRIADO, RegistroJournal.Tipo.PARTICIPANTE_ADICIONADO,
+                    RegistroJournal.Tipo.PARTICIPANTE_REMOVIDO, RegistroJournal.Tipo.EVENTO_REMOVIDO), tipos(registros));
+            assertEquals(evento.getNome(), registros.get(0).getEvento().getNome());
+            assertEquals(evento.getHorario(), registros.get(0).getEvento().getHorario());
+            assertEquals(usuario.getEmail(), registros.get(1).getUsuario().getEmail());
+            for (RegistroJournal registro : registros) {
+                assertEquals(evento.getId(), registro.getEventoId());
+            }
+        }
+    }
+
+    @Test
+    public void caudaIncompletaEDescartadaETruncada() throws IOException {
+        anexar(RegistroJournal.eventoCriado(evento),
+                RegistroJournal.participanteAdicionado(evento.getId(), usuario));
+        long tamanhoIntegro = arquivo.length();
+
+        // Queda no meio da gravação: cabeçalho de um registro de 100 bytes e só parte do corpo
+        ByteBuffer parcial = ByteBuffer.allocate(Integer.BYTES * 2 + 10).putInt(100).putInt(0x12345678);
+        Files.write(arquivo.toPath(), parcial.array(), StandardOpenOption.APPEND);
+
+        JournalEventos journal = new JournalEventos(arquivo);
+        List<RegistroJournal> registros = new ArrayList<>();
+        assertEquals(2, journal.reproduzir(registros::add));
+        assertEquals(tamanhoIntegro, arquivo.length());
+        assertEquals(tamanhoIntegro, journal.getTamanho());
+
+        // Os registros seguintes são anexados logo após o último registro íntegro
+        journal.anexar(RegistroJournal.participanteRemovido(evento.getId(), usuario)).join();
+        journal.close();
+        assertEquals(List.of(RegistroJournal.Tipo.EVENTO_CRIADO, RegistroJournal.Tipo.PARTICIPANTE_ADICIONADO,
+                RegistroJournal.Tipo.PARTICIPANTE_REMOVIDO), tipos(reproduzir()));
+    }
+
+    @Test
+    public void registroFinalCorrompidoEDescartado() throws IOException {
+        anexar(RegistroJournal.eventoCriado(evento));
+        long tamanhoIntegro = arquivo.length();
+        anexar(RegistroJournal.participanteAdicionado(evento.getId(), usuario));
+
+        // Inverte um bit do último byte do corpo, sem alterar o CRC gravado
+        try (RandomAccessFile acesso = new RandomAccessFile(arquivo, "rw")) {
+            acesso.seek(acesso.length() - 1);
+            int ultimo = acesso.read();
+            acesso.seek(acesso.length() - 1);
+            acesso.write(ultimo ^ 0x01);
+        }
+
+        assertEquals(List.of(RegistroJournal.Tipo.EVENTO_CRIADO), tipos(reproduzir()));
+        assertEquals(tamanhoIntegro, arquivo.length());
+    }
+
+    @Test
+    public void descarteAteOCorteMantemApenasOsRegistrosPosteriores() throws IOException {
+        JournalEventos journal = new JournalEventos(arquivo);
+        journal.anexar(RegistroJournal.eventoCriado(evento));
+        long corte = journal.getTamanho();
+        journal.anexar(RegistroJournal.participanteAdicionado(evento.getId(), usuario));
+        journal.descartarAte(corte);
+        assertEquals(1, journal.getTotalRegistros());
+        journal.close();
+
+        assertEquals(List.of(RegistroJournal.Tipo.PARTICIPANTE_ADICIONADO), tipos(reproduzir()));
+    }
+
+    @Test
+    public void registrosConcluidosEstaoNoArquivoSemFecharOJournal() throws Exception {
+        JournalEventos journal = new JournalEventos(arquivo, 5, 64);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> threads = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                threads.add(executor.submit(() -> {
+                    for (int i = 0; i < 50; i++) {
+                        journal.anexar(RegistroJournal.participanteAdicionado(evento.getId(), usuario)).join();
+                    }
+                }));
+            }
+            for (Future<?> thread : threads) {
+                thread.get(30, TimeUnit.SECONDS);
+            }
+
+            // Todo future concluído corresponde a um registro já gravado: outro leitor encontra os 400
+            assertEquals(400, reproduzir().size());
+
+            CompletableFuture<Void> ultimo = journal.anexar(RegistroJournal.eventoRemovido(evento.getId()));
+            ultimo.get(10, TimeUnit.SECONDS);
+            assertEquals(401, reproduzir().size());
+        } finally {
+            executor.shutdownNow();
+            journal.close();
+        }
+    }
+
+    private void anexar(RegistroJournal... registros) throws IOException {
+        JournalEventos journal = new JournalEventos(arquivo);
+        journal.reproduzir(registro -> { });
+        for (RegistroJournal registro : registros) {
+            journal.anexar(registro);
+        }
+        journal.close();
+    }
+
+    private List<RegistroJournal> reproduzir() throws IOException {
+        JournalEventos journal = new JournalEventos(arquivo);
+        List<RegistroJournal> registros = new ArrayList<>();
+        journal.reproduzir(registros::add);
+        journal.close();
+        return registros;
+    }
+
+    private static List<RegistroJournal.Tipo> tipos(List<RegistroJournal> registros) {
+        List<RegistroJournal.Tipo> tipos = new ArrayList<>();
+        for (RegistroJournal registro : registros) {
+            tipos.add(registro.getTipo());
+        }
+        return tipos;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+/**
+ * Mapa de chaves long seguro entre threads: leituras otimistas feitas durante escritas e
+ * redimensionamentos nunca veem valores de outras chaves nem perdem chaves estáveis.
+ */
+public class MapaLongConcorrenteTest {
+
+    private static final int ESCRITORES = 4;
+    private static final int LEITORES = 4;
+    private static final int CHAVES_POR_ESCRITOR = 20_000;
+    private static final int CHAVES_ESTAVEIS = 1_000;
+
+    @Test
+    public void leiturasConcorrentesComEscritasERedimensionamentos() throws Exception {
+        MapaLongConcorrente<Long> mapa = new MapaLongConcorrente<>();
+        // Chaves negativas nunca são alteradas: precisam ser encontradas durante todo o teste
+        for (long chave = 1; chave <= CHAVES_ESTAVEIS; chave++) {
+            mapa.put(-chave, -chave);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(ESCRITORES + LEITORES);
+        AtomicBoolean escrevendo = new AtomicBoolean(true);
+        try {
+            List<Future<?>> escritores = new ArrayList<>();
+            for (int e = 0; e < ESCRITORES; e++) {
+                long base = (long) e * CHAVES_POR_ESCRITOR;
+                escritores.add(executor.submit(() -> {
+                    for (long chave = base; chave < base + CHAVES_POR_ESCRITOR; chave++) {
+                        assertNull(mapa.putIfAbsent(chave, chave));
+                        if (chave % 2 == 1) {
+                            assertEquals(Long.valueOf(chave), mapa.remove(chave));
+                        }
+                    }
+                }));
+            }
+            List<Future<Integer>> leitores = new ArrayList<>();
+            for (int l = 0; l < LEITORES; l++) {
+                leitores.add(executor.submit((Callable<Integer>) () -> {
+                    int leituras = 0;
+                    while (escrevendo.get() || leituras == 0) {
+                        for (long chave = 1; chave <= CHAVES_ESTAVEIS; chave++) {
+                            assertEquals(Long.valueOf(-chave), mapa.get(-chave));
+                        }
+                        for (long chave = 0; chave < ESCRITORES * CHAVES_POR_ESCRITOR; chave += 97) {
+                            Long valor = mapa.get(chave);
+                            assertTrue(valor == null || valor == chave);
+                        }
+                        leituras++;
+                    }
+                    return leituras;
+                }));
+            }
+
+            for (Future<?> escritor : escritores) {
+                escritor.get(60, TimeUnit.SECONDS);
+            }
+            escrevendo.set(false);
+            for (Future<Integer> leitor : leitores) {
+                assertTrue(leitor.get(60, TimeUnit.SECONDS) > 0);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(CHAVES_ESTAVEIS + ESCRITORES * CHAVES_POR_ESCRITOR / 2, mapa.size());
+        for (long chave = 0; chave < ESCRITORES * CHAVES_POR_ESCRITOR; chave++) {
+            assertEquals(chave % 2 == 0 ? Long.valueOf(chave) : null, mapa.get(chave));
+        }
+    }
+
+    @Test
+    public void putIfAbsentMantemOPrimeiroValor() {
+        MapaLongConcorrente<String> mapa = new MapaLongConcorrente<>();
+        assertNull(mapa.putIfAbsent(1, "primeiro"));
+        assertEquals("primeiro", mapa.putIfAbsent(1, "segundo"));
+        assertEquals("primeiro", mapa.get(1));
+        assertEquals("primeiro", mapa.put(1, "terceiro"));
+        assertEquals(1, mapa.size());
+
+        mapa.clear();
+        assertTrue(mapa.isEmpty());
+        assertNull(mapa.get(1));
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Mapa de chaves long: redimensionamento, remoção sem marcadores (as entradas seguintes do
+ * agrupamento são deslocadas) e chaves que disputam as mesmas posições, comparando com um HashMap.
+ */
+public class MapaLongTest {
+
+    @Test
+    public void redimensionamentoMantemTodasAsEntradas() {
+        MapaLong<String> mapa = new MapaLong<>();
+        for (long chave = 1; chave <= 10_000; chave++) {
+            assertNull(mapa.put(chave, "v" + chave));
+        }
+
+        assertEquals(10_000, mapa.size());
+        for (long chave = 1; chave <= 10_000; chave++) {
+            assertEquals("v" + chave, mapa.get(chave));
+        }
+        assertNull(mapa.get(0));
+        assertNull(mapa.get(10_001));
+        assertEquals("v7", mapa.put(7, "novo"));
+        assertEquals("novo", mapa.get(7));
+        assertEquals(10_000, mapa.size());
+    }
+
+    @Test
+    public void remocaoMantemAcessiveisAsEntradasDoMesmoAgrupamento() {
+        // Sem redimensionamento (até 8 entradas na capacidade inicial), as chaves se agrupam
+        // e cada remoção precisa deslocar as seguintes
+        Random aleatorio = new Random(42);
+        for (int rodada = 0; rodada < 1_000; rodada++) {
+            MapaLong<Long> mapa = new MapaLong<>();
+            Map<Long, Long> esperado = new HashMap<>();
+            for (int i = 0; i < 8; i++) {
+                long chave = aleatorio.nextInt(64) - 32;
+                mapa.put(chave, chave);
+                esperado.put(chave, chave);
+            }
+            for (int i = 0; i < 4; i++) {
+                long chave = aleatorio.nextInt(64) - 32;
+                assertEquals(esperado.remove(chave), mapa.remove(chave));
+            }
+            conferir(esperado, mapa);
+        }
+    }
+
+    @Test
+    public void insercoesERemocoesAlternadasNaoDeixamResiduos() {
+        MapaLong<Long> mapa = new MapaLong<>();
+        Map<Long, Long> esperado = new HashMap<>();
+        Random aleatorio = new Random(7);
+        for (int i = 0; i < 100_000; i++) {
+            long chave = aleatorio.nextInt(200);
+            if (aleatorio.nextBoolean()) {
+                assertEquals(esperado.put(chave, (long) i), mapa.put(chave, (long) i));
+            } else {
+                assertEquals(esperado.remove(chave), mapa.remove(chave));
+            }
+        }
+        conferir(esperado, mapa);
+
+        for (Long chave : esperado.keySet()) {
+            mapa.remove(chave);
+        }
+        assertTrue(mapa.isEmpty());
+        for (long chave = 0; chave < 200; chave++) {
+            assertFalse(mapa.containsKey(chave));
+        }
+    }
+
+    @Test
+    public void chavesExtremasENegativasSaoDistintas() {
+        MapaLong<String> mapa = new MapaLong<>();
+        long[] chaves = {0, -1, 1, Long.MIN_VALUE, Long.MAX_VALUE, 1L << 32, -(1L << 32)};
+        for (long chave : chaves) {
+            mapa.put(chave, Long.toString(chave));
+        }
+        for (long chave : chaves) {
+            assertEquals(Long.toString(chave), mapa.get(chave));
+        }
+        assertEquals("0", mapa.remove(0));
+        assertEquals(chaves.length - 1, mapa.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void valorNuloNaoEPermitido() {
+        new MapaLong<String>().put(1, null);
+    }
+
+    private static void conferir(Map<Long, Long> esperado, MapaLong<Long> mapa) {
+        assertEquals(esperado.size(), mapa.size());
+        for (long chave = -40; chave < 240; chave++) {
+            assertEquals(esperado.get(chave), mapa.get(chave));
+        }
+        Map<Long, Long> percorrido = new HashMap<>();
+        mapa.forEach(percorrido::put);
+        assertEquals(esperado, percorrido);
+    }
+}